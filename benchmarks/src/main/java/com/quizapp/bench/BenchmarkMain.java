@@ -0,0 +1,46 @@
+package com.quizapp.bench;
+
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.ChainedOptionsBuilder;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+
+/**
+ * Entry point of benchmarks.jar. Takes the usual JMH command line, but unless
+ * -rf/-rff are given it also writes a JSON report to
+ * reports/jmh-&lt;version&gt;-&lt;timestamp&gt;.json (directory from
+ * -Dquizapp.bench.reportDir, version from -Dquizapp.bench.version) so results
+ * can be compared between releases with CompareReports.
+ */
+public final class BenchmarkMain {
+
+    private BenchmarkMain() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        CommandLineOptions cmd = new CommandLineOptions(args);
+        if (cmd.shouldHelp() || cmd.shouldList() || cmd.shouldListWithParams() || cmd.shouldListProfilers()
+                || cmd.shouldListResultFormats()) {
+            org.openjdk.jmh.Main.main(args);
+            return;
+        }
+        ChainedOptionsBuilder options = new OptionsBuilder().parent(cmd);
+        if (!cmd.getResultFormat().hasValue() && !cmd.getResult().hasValue()) {
+            Path dir = Paths.get(System.getProperty("quizapp.bench.reportDir", "reports"));
+            Files.createDirectories(dir);
+            String version = System.getProperty("quizapp.bench.version", "dev");
+            String stamp = LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss"));
+            Path report = dir.resolve("jmh-" + version + "-" + stamp + ".json");
+            options.resultFormat(ResultFormatType.JSON).result(report.toString());
+            System.out.println("Writing JSON report to " + report);
+        }
+        new Runner(options.build()).run();
+    }
+}
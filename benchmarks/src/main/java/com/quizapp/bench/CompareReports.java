@@ -0,0 +1,84 @@
+package com.quizapp.bench;
+
+import com.quizapp.Json;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Compares two JMH JSON reports and flags benchmarks that got slower by more
+ * than a threshold (default 10%). Exits with status 1 if any did:
+ * java -cp target/benchmarks.jar com.quizapp.bench.CompareReports old.json new.json [thresholdPercent]
+ */
+public final class CompareReports {
+
+    private CompareReports() {
+    }
+
+    public static void main(String[] args) throws IOException {
+        if (args.length < 2) {
+            System.err.println("Usage: CompareReports <baseline.json> <candidate.json> [thresholdPercent]");
+            System.exit(2);
+        }
+        double threshold = args.length > 2 ? Double.parseDouble(args[2]) : 10.0;
+        Map<String, Map<String, Object>> baseline = load(args[0]);
+        Map<String, Map<String, Object>> candidate = load(args[1]);
+
+        int regressions = 0;
+        for (Map.Entry<String, Map<String, Object>> e : candidate.entrySet()) {
+            Map<String, Object> before = baseline.get(e.getKey());
+            if (before == null) {
+                System.out.printf("  new        %s%n", e.getKey());
+                continue;
+            }
+            double oldScore = score(before);
+            double newScore = score(e.getValue());
+            // Throughput is better when higher; every other JMH mode reports time per operation
+            boolean higherIsBetter = "thrpt".equals(e.getValue().get("mode"));
+            double change = oldScore == 0 ? 0 : (newScore - oldScore) / oldScore * 100;
+            double slowdown = higherIsBetter ? -change : change;
+            boolean regressed = slowdown > threshold;
+            if (regressed) {
+                regressions++;
+            }
+            System.out.printf("%s %+8.1f%%  %s  (%.3f -> %.3f %s)%n", regressed ? "REGRESSED" : "  ok     ",
+                    change, e.getKey(), oldScore, newScore, unit(e.getValue()));
+        }
+        System.out.printf("%d regression(s) beyond %.1f%%%n", regressions, threshold);
+        System.exit(regressions > 0 ? 1 : 0);
+    }
+
+    // Keyed by benchmark name plus its parameters
+    private static Map<String, Map<String, Object>> load(String file) throws IOException {
+        Object parsed;
+        try (Reader reader = Files.newBufferedReader(Paths.get(file), StandardCharsets.UTF_8)) {
+            parsed = Json.parse(reader);
+        }
+        Map<String, Map<String, Object>> runs = new LinkedHashMap<>();
+        for (Object item : (List<?>) parsed) {
+            @SuppressWarnings("unchecked")
+            Map<String, Object> run = (Map<String, Object>) item;
+            String key = (String) run.get("benchmark");
+            Object params = run.get("params");
+            if (params instanceof Map<?, ?> p && !p.isEmpty()) {
+                key += " " + p;
+            }
+            runs.put(key, run);
+        }
+        return runs;
+    }
+
+    private static double score(Map<String, Object> run) {
+        return ((Number) ((Map<?, ?>) run.get("primaryMetric")).get("score")).doubleValue();
+    }
+
+    private static Object unit(Map<String, Object> run) {
+        return ((Map<?, ?>) run.get("primaryMetric")).get("scoreUnit");
+    }
+}
@@ -0,0 +1,128 @@
+package com.quizapp.bench;
+
+import com.quizapp.*;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * Single-threaded latency of the DatabaseManager hot paths against a seeded
+ * synthetic database. Sizes are parameters, e.g. for a production-sized run:
+ * java -jar target/benchmarks.jar DatabaseManager -p users=10000 -p quizzes=1000 -p results=5000000
+ * DatabaseManagerContendedBenchmark runs the same operations from many threads.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@Threads(1)
+public class DatabaseManagerBenchmark {
+
+    @Param({"10000"})
+    public int users;
+
+    @Param({"1000"})
+    public int quizzes;
+
+    @Param({"10"})
+    public int questionsPerQuiz;
+
+    @Param({"100000"})
+    public long results;
+
+    private Path dir;
+    private DatabaseManager db;
+    private int[] userIds;
+    private int[] quizIds;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException, SQLException {
+        dir = Files.createTempDirectory("quizapp-bench");
+        Path file = SyntheticDatabase.copyOf(dir, users, quizzes, questionsPerQuiz, results);
+        StorageConfig config = new StorageConfig();
+        config.setUrl("jdbc:sqlite:" + file);
+        config.setPasswordIterations(SyntheticDatabase.PASSWORD_ITERATIONS);
+        db = new DatabaseManager(config);
+        try (Connection conn = db.getReadPool().getConnection()) {
+            userIds = SyntheticDatabase.ids(conn, "SELECT id FROM users WHERE username LIKE 'user%'");
+            quizIds = SyntheticDatabase.ids(conn, "SELECT id FROM quizzes");
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        db.close();
+        try (Stream<Path> files = Files.walk(dir)) {
+            files.sorted(Comparator.reverseOrder()).forEach(p -> p.toFile().delete());
+        }
+    }
+
+    private int randomUser() {
+        return userIds[ThreadLocalRandom.current().nextInt(userIds.length)];
+    }
+
+    private int randomQuiz() {
+        return quizIds[ThreadLocalRandom.current().nextInt(quizIds.length)];
+    }
+
+    private QuizResult newResult() {
+        int score = ThreadLocalRandom.current().nextInt(questionsPerQuiz + 1);
+        int quizId = randomQuiz();
+        return new QuizResult(0, randomUser(), quizId, "Quiz " + quizId, score, questionsPerQuiz,
+                ScoringEngine.percentage(score, questionsPerQuiz), "2025-01-01 12:00:00");
+    }
+
+    @Benchmark
+    public User authenticateUser() {
+        return db.authenticateUser("user" + ThreadLocalRandom.current().nextInt(users), SyntheticDatabase.PASSWORD);
+    }
+
+    @Benchmark
+    public List<Question> getQuestionsForQuiz() {
+        return db.getQuestionsForQuiz(randomQuiz());
+    }
+
+    @Benchmark
+    public List<Question> getQuestionsForQuizUncached() {
+        int quizId = randomQuiz();
+        db.getQuestionCache().invalidate(quizId);
+        return db.getQuestionsForQuiz(quizId);
+    }
+
+    @Benchmark
+    public boolean saveQuizResult() {
+        return db.saveQuizResult(newResult());
+    }
+
+    @Benchmark
+    public boolean saveQuizResultGroupCommit() {
+        return db.saveQuizResultAsync(newResult()).join();
+    }
+
+    @Benchmark
+    public List<QuizResult> getUserQuizResults() {
+        return db.getUserQuizResults(randomUser());
+    }
+
+    @Benchmark
+    public List<LeaderboardEntry> getLeaderboard() {
+        return db.getLeaderboard();
+    }
+
+    @Benchmark
+    public List<LeaderboardEntry> leaderboardPage() {
+        RankedLeaderboard board = db.getGlobalLeaderboard();
+        return board.page(ThreadLocalRandom.current().nextInt(Math.max(1, board.size() / 25)), 25);
+    }
+}
@@ -0,0 +1,18 @@
+package com.quizapp.bench;
+
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Threads;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The DatabaseManagerBenchmark operations run from eight threads sharing one
+ * DatabaseManager, reported as total throughput; override with -t.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Threads(8)
+public class DatabaseManagerContendedBenchmark extends DatabaseManagerBenchmark {
+}
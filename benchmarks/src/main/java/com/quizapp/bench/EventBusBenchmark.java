@@ -0,0 +1,57 @@
+package com.quizapp.bench;
+
+import com.quizapp.*;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Events published per second from four threads at once, with consumers
+ * that only look at each event, so the ring itself is what is measured.
+ * Publishers wait while the slowest consumer is a full ring behind, so the
+ * score is what the consumers keep up with. maxBatch 1 hands every event
+ * over on its own.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@Threads(4)
+public class EventBusBenchmark {
+
+    @Param({"1", "3"})
+    public int consumers;
+
+    @Param({"1", "256"})
+    public int maxBatch;
+
+    private EventBus bus;
+    private QuizEvent event;
+
+    @Setup(Level.Trial)
+    public void setUp(Blackhole blackhole) {
+        bus = new EventBus("bench", EventBus.DEFAULT_CAPACITY, maxBatch, 1_000);
+        for (int i = 0; i < consumers; i++) {
+            bus.subscribe("consumer" + i, batch -> {
+                for (QuizEvent e : batch) {
+                    blackhole.consume(e);
+                }
+            });
+        }
+        bus.start();
+        event = new QuizEvent.QuizEdited(1, QuizEvent.QuizEdited.Change.QUIZ_UPDATED);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        bus.close();
+    }
+
+    @Benchmark
+    public boolean publish() {
+        return bus.publish(event);
+    }
+}
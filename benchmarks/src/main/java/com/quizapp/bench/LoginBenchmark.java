@@ -0,0 +1,79 @@
+package com.quizapp.bench;
+
+import com.quizapp.*;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * Logins per second through DatabaseManager.authenticateUser for each PBKDF2
+ * cost, with every hardware thread logging in at once so the bounded hashing
+ * pool is the limit. Pick the highest cost whose rate still covers the
+ * expected login peak:
+ * java -jar target/benchmarks.jar Login -p iterations=100000,600000 -p hashThreads=4
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2, time = 3)
+@Measurement(iterations = 3, time = 5)
+@Fork(1)
+@Threads(Threads.MAX)
+public class LoginBenchmark {
+    private static final int USERS = 100;
+
+    @Param({"10000", "100000", "310000", "600000"})
+    public int iterations;
+
+    @Param({"PBKDF2WithHmacSHA256"})
+    public String algorithm;
+
+    // 0 keeps the StorageConfig default
+    @Param({"0"})
+    public int hashThreads;
+
+    private Path dir;
+    private DatabaseManager db;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        dir = Files.createTempDirectory("quizapp-bench");
+        StorageConfig config = new StorageConfig();
+        config.setUrl("jdbc:sqlite:" + dir.resolve("bench.db"));
+        config.setPasswordAlgorithm(algorithm);
+        config.setPasswordIterations(iterations);
+        if (hashThreads > 0) {
+            config.setPasswordHashThreads(hashThreads);
+        }
+        // Every benchmark thread may be waiting on the pool at once
+        config.setPasswordHashQueueCapacity(Runtime.getRuntime().availableProcessors() * 4);
+        db = new DatabaseManager(config);
+        for (int i = 0; i < USERS; i++) {
+            db.registerUser("user" + i, "user" + i + "@bench", SyntheticDatabase.PASSWORD, false);
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        db.close();
+        try (Stream<Path> files = Files.walk(dir)) {
+            files.sorted(Comparator.reverseOrder()).forEach(p -> p.toFile().delete());
+        }
+    }
+
+    @Benchmark
+    public User login() {
+        return db.authenticateUser("user" + ThreadLocalRandom.current().nextInt(USERS), SyntheticDatabase.PASSWORD);
+    }
+
+    @Benchmark
+    public User failedLogin() {
+        return db.authenticateUser("user" + ThreadLocalRandom.current().nextInt(USERS), "wrong");
+    }
+}
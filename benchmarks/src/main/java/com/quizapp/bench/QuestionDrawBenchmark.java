@@ -0,0 +1,87 @@
+package com.quizapp.bench;
+
+import com.quizapp.*;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * Attempts started per second at a quiz that draws drawCount questions from a
+ * bank of bankSize, with every thread starting attempts at once:
+ * startAttempt is the full path (draw, load the drawn rows, record the
+ * attempt), draw is the in-memory sampling alone, and shuffleWholeBank is
+ * the naive alternative of shuffling the whole cached bank per attempt.
+ * java -jar target/benchmarks.jar QuestionDraw -p bankSize=300,3000
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Threads(8)
+@Fork(1)
+public class QuestionDrawBenchmark {
+
+    @Param({"3000"})
+    public int bankSize;
+
+    @Param({"30"})
+    public int drawCount;
+
+    private Path dir;
+    private DatabaseManager db;
+    private Quiz quiz;
+    private int userId;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        dir = Files.createTempDirectory("quizapp-bench");
+        Path file = SyntheticDatabase.copyOf(dir, 100, 1, bankSize, 0);
+        StorageConfig config = new StorageConfig();
+        config.setUrl("jdbc:sqlite:" + file);
+        config.setPasswordIterations(SyntheticDatabase.PASSWORD_ITERATIONS);
+        db = new DatabaseManager(config);
+        quiz = db.getAllQuizzes().get(0);
+        quiz.setDrawCount(drawCount);
+        quiz.setShuffleOptions(true);
+        if (!db.updateQuiz(quiz)) {
+            throw new IOException("Could not configure the quiz");
+        }
+        userId = db.authenticateUser("user0", SyntheticDatabase.PASSWORD).getId();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        db.close();
+        try (Stream<Path> files = Files.walk(dir)) {
+            files.sorted(Comparator.reverseOrder()).forEach(p -> p.toFile().delete());
+        }
+    }
+
+    @Benchmark
+    public QuestionDraw startAttempt() {
+        return db.startAttempt(userId, quiz);
+    }
+
+    @Benchmark
+    public QuestionDraw draw() throws SQLException {
+        return db.getQuestionSampler().draw(quiz, ThreadLocalRandom.current().nextLong());
+    }
+
+    @Benchmark
+    public List<Question> shuffleWholeBank() {
+        List<Question> bank = new ArrayList<>(db.getQuestionsForQuiz(quiz.getId()));
+        Collections.shuffle(bank, ThreadLocalRandom.current());
+        return bank.subList(0, Math.min(drawCount, bank.size()));
+    }
+}
@@ -0,0 +1,93 @@
+package com.quizapp.bench;
+
+import com.quizapp.*;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Item analytics over synthetic submitted attempts, with no database in the
+ * way: a full recompute on one thread and across every core, and the cost
+ * of adding one submission incrementally. Each attempt draws drawCount of
+ * the quiz's questions with shuffled options.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@Threads(1)
+public class QuizAnalyticsBenchmark {
+
+    @Param({"100000"})
+    public int attempts;
+
+    @Param({"500"})
+    public int questions;
+
+    @Param({"30"})
+    public int drawCount;
+
+    private List<Question> bank;
+    private List<QuestionDraw> submitted;
+    private ForkJoinPool single;
+    private ForkJoinPool parallel;
+    private ItemStatistics incremental;
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        SplittableRandom random = new SplittableRandom(42);
+        bank = new ArrayList<>(questions);
+        for (int i = 1; i <= questions; i++) {
+            bank.add(new Question(i, 1, "Question " + i, "A", "B", "C", "D", random.nextInt(4)));
+        }
+        Quiz quiz = new Quiz(1, "Quiz", "Synthetic quiz", 1);
+        quiz.setDrawCount(drawCount);
+        quiz.setShuffleOptions(true);
+        int[] ids = bank.stream().mapToInt(Question::getId).toArray();
+        QuestionSampler sampler = new QuestionSampler(quizId -> ids);
+        submitted = new ArrayList<>(attempts);
+        for (int i = 1; i <= attempts; i++) {
+            QuestionDraw draw = sampler.draw(quiz, random.nextLong());
+            draw.setAttemptId(i);
+            byte[] answers = new byte[draw.getQuestionCount()];
+            for (int q = 0; q < answers.length; q++) {
+                answers[q] = (byte) (random.nextInt(10) == 0 ? AnswerKey.NO_ANSWER : random.nextInt(4));
+            }
+            draw.restoreAnswers(answers);
+            submitted.add(draw);
+        }
+        single = new ForkJoinPool(1);
+        parallel = new ForkJoinPool(Runtime.getRuntime().availableProcessors());
+        incremental = new ItemStatistics(1, bank);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        single.shutdown();
+        parallel.shutdown();
+    }
+
+    @Benchmark
+    public ItemStatistics recomputeSingleThread() {
+        return QuizAnalytics.compute(1, bank, submitted, single);
+    }
+
+    @Benchmark
+    public ItemStatistics recomputeForkJoin() {
+        return QuizAnalytics.compute(1, bank, submitted, parallel);
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.NANOSECONDS)
+    public boolean recordSubmission() {
+        QuestionDraw draw = submitted.get(ThreadLocalRandom.current().nextInt(submitted.size()));
+        return incremental.add(draw, draw.getSavedAnswers());
+    }
+}
@@ -0,0 +1,91 @@
+package com.quizapp.bench;
+
+import com.quizapp.*;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * Loading a quiz's questions from a memory-mapped quiz pack against the JDBC
+ * path (with the question cache bypassed, as on a cold or read-only node),
+ * plus reading a correct answer straight from the pack records:
+ * java -jar target/benchmarks.jar QuizPack -p questionsPerQuiz=10,100,1000
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class QuizPackBenchmark {
+
+    @Param({"200"})
+    public int quizzes;
+
+    @Param({"10", "100"})
+    public int questionsPerQuiz;
+
+    private Path dir;
+    private DatabaseManager db;
+    private QuizPack pack;
+    private int[] quizIds;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException, SQLException {
+        dir = Files.createTempDirectory("quizapp-bench");
+        Path file = SyntheticDatabase.copyOf(dir, 100, quizzes, questionsPerQuiz, 0);
+        StorageConfig config = new StorageConfig();
+        config.setUrl("jdbc:sqlite:" + file);
+        config.setPasswordIterations(SyntheticDatabase.PASSWORD_ITERATIONS);
+        db = new DatabaseManager(config);
+        try (Connection conn = db.getReadPool().getConnection()) {
+            quizIds = SyntheticDatabase.ids(conn, "SELECT id FROM quizzes");
+        }
+        Path packFile = dir.resolve("bench.qpk");
+        QuizPackBuilder.build(db, packFile);
+        pack = QuizPack.open(packFile);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        db.close();
+        try (Stream<Path> files = Files.walk(dir)) {
+            files.sorted(Comparator.reverseOrder()).forEach(p -> p.toFile().delete());
+        }
+    }
+
+    private int randomQuiz() {
+        return quizIds[ThreadLocalRandom.current().nextInt(quizIds.length)];
+    }
+
+    @Benchmark
+    public List<Question> packQuestions() {
+        return pack.getQuestions(randomQuiz());
+    }
+
+    @Benchmark
+    public List<Question> jdbcQuestionsUncached() {
+        int quizId = randomQuiz();
+        db.getQuestionCache().invalidate(quizId);
+        return db.getQuestionsForQuiz(quizId);
+    }
+
+    @Benchmark
+    public int packCorrectOption() {
+        return pack.getCorrectOption(randomQuiz(), ThreadLocalRandom.current().nextInt(questionsPerQuiz));
+    }
+
+    @Benchmark
+    public QuizPack packOpen() throws IOException {
+        return QuizPack.open(pack.getFile());
+    }
+}
@@ -0,0 +1,152 @@
+package com.quizapp.bench;
+
+import com.quizapp.*;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * The same repository calls against each storage engine. Both engines are
+ * seeded through the QuizStore interface from one fixed seed, so they hold
+ * the same data, and the difference is the cost of the engine itself:
+ * java -jar target/benchmarks.jar QuizStore -p engine=sqlite,memory
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@Threads(1)
+public class QuizStoreBenchmark {
+    private static final int BATCH = 1_000;
+
+    @Param({StorageConfig.ENGINE_SQLITE, StorageConfig.ENGINE_MEMORY})
+    public String engine;
+
+    @Param({"1000"})
+    public int users;
+
+    @Param({"100"})
+    public int quizzes;
+
+    @Param({"10"})
+    public int questionsPerQuiz;
+
+    @Param({"100000"})
+    public int results;
+
+    private Path dir;
+    private QuizStore store;
+    private int[] userIds;
+    private Quiz[] quizList;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        dir = Files.createTempDirectory("quizapp-bench");
+        StorageConfig config = new StorageConfig();
+        config.setEngine(engine);
+        config.setUrl("jdbc:sqlite:" + dir.resolve("store.db"));
+        config.setPasswordIterations(SyntheticDatabase.PASSWORD_ITERATIONS);
+        store = QuizStore.open(config);
+        seed(new SplittableRandom(42));
+    }
+
+    private void seed(SplittableRandom random) throws IOException {
+        userIds = new int[users];
+        for (int i = 0; i < users; i++) {
+            store.registerUser("user" + i, "user" + i + "@bench", SyntheticDatabase.PASSWORD, false);
+            User user = store.authenticateUser("user" + i, SyntheticDatabase.PASSWORD);
+            if (user == null) {
+                throw new IOException("Could not register user" + i);
+            }
+            userIds[i] = user.getId();
+        }
+        for (int i = 0; i < quizzes; i++) {
+            store.addQuiz(new Quiz(0, "Quiz " + i, "Synthetic quiz " + i, 1));
+        }
+        quizList = store.getAllQuizzes().toArray(new Quiz[0]);
+        for (Quiz quiz : quizList) {
+            List<Question> questions = new ArrayList<>(questionsPerQuiz);
+            for (int i = 0; i < questionsPerQuiz; i++) {
+                questions.add(new Question(0, quiz.getId(), "Question " + i + " of quiz " + quiz.getId(),
+                        "A" + i, "B" + i, "C" + i, "D" + i, random.nextInt(4)));
+            }
+            store.addQuestions(questions);
+        }
+        List<QuizResult> batch = new ArrayList<>(BATCH);
+        for (int i = 1; i <= results; i++) {
+            Quiz quiz = quizList[random.nextInt(quizList.length)];
+            int score = random.nextInt(questionsPerQuiz + 1);
+            batch.add(new QuizResult(0, userIds[random.nextInt(userIds.length)], quiz.getId(), quiz.getTitle(),
+                    score, questionsPerQuiz, ScoringEngine.percentage(score, questionsPerQuiz),
+                    String.format("2024-%02d-%02d %02d:%02d:00", 1 + random.nextInt(12), 1 + random.nextInt(28),
+                            random.nextInt(24), random.nextInt(60))));
+            if (batch.size() == BATCH || i == results) {
+                if (!store.saveQuizResults(batch)) {
+                    throw new IOException("Could not seed results");
+                }
+                batch.clear();
+            }
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        store.close();
+        try (Stream<Path> files = Files.walk(dir)) {
+            files.sorted(Comparator.reverseOrder()).forEach(p -> p.toFile().delete());
+        }
+    }
+
+    private int randomUser() {
+        return userIds[ThreadLocalRandom.current().nextInt(userIds.length)];
+    }
+
+    private Quiz randomQuiz() {
+        return quizList[ThreadLocalRandom.current().nextInt(quizList.length)];
+    }
+
+    @Benchmark
+    public List<Question> getQuestionsForQuiz() {
+        return store.getQuestionsForQuiz(randomQuiz().getId());
+    }
+
+    @Benchmark
+    public List<QuizResult> getUserQuizResultsPage() {
+        return store.getUserQuizResultsPage(randomUser(), null, 0, 20);
+    }
+
+    @Benchmark
+    public RankedLeaderboard getQuizLeaderboard() {
+        return store.getQuizLeaderboard(randomQuiz().getId());
+    }
+
+    // Titles are "Quiz <id>", so this matches the quiz and those whose ids start with its id
+    @Benchmark
+    public List<Quiz> searchQuizzes() {
+        return store.searchQuizzes("quiz " + randomQuiz().getId(), 50);
+    }
+
+    @Benchmark
+    public QuestionDraw startAttempt() {
+        return store.startAttempt(randomUser(), randomQuiz());
+    }
+
+    @Benchmark
+    public boolean saveQuizResult() {
+        Quiz quiz = randomQuiz();
+        int score = ThreadLocalRandom.current().nextInt(questionsPerQuiz + 1);
+        return store.saveQuizResult(new QuizResult(0, randomUser(), quiz.getId(), quiz.getTitle(), score,
+                questionsPerQuiz, ScoringEngine.percentage(score, questionsPerQuiz), "2025-01-01 12:00:00"));
+    }
+}
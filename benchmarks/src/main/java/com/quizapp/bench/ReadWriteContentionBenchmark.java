@@ -0,0 +1,115 @@
+package com.quizapp.bench;
+
+import com.quizapp.*;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * Read throughput of the leaderboard and history queries while result inserts
+ * run concurrently, compared against the same reads with no writer active.
+ * Run with the journal mode as a parameter to see what WAL buys:
+ * java -jar target/benchmarks.jar ReadWriteContention
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ReadWriteContentionBenchmark {
+    private static final int USERS = 50;
+
+    @Param({"WAL", "DELETE"})
+    public String journalMode;
+
+    @Param({"2000"})
+    public int seedResults;
+
+    private Path dir;
+    private DatabaseManager db;
+    private int[] userIds;
+    private int quizId;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        dir = Files.createTempDirectory("quizapp-bench");
+        StorageConfig config = new StorageConfig();
+        config.setUrl("jdbc:sqlite:" + dir.resolve("bench.db"));
+        config.setJournalMode(journalMode);
+        config.setPasswordIterations(SyntheticDatabase.PASSWORD_ITERATIONS);
+        db = new DatabaseManager(config);
+
+        userIds = new int[USERS];
+        for (int i = 0; i < USERS; i++) {
+            db.registerUser("user" + i, "user" + i + "@bench", "secret", false);
+            userIds[i] = db.authenticateUser("user" + i, "secret").getId();
+        }
+        db.addQuiz(new Quiz(0, "Bench Quiz", "", userIds[0]));
+        quizId = db.getAllQuizzes().get(0).getId();
+        for (int i = 0; i < seedResults; i++) {
+            db.saveQuizResult(newResult());
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        db.close();
+        try (Stream<Path> files = Files.walk(dir)) {
+            files.sorted(Comparator.reverseOrder()).forEach(p -> p.toFile().delete());
+        }
+    }
+
+    private QuizResult newResult() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        int score = random.nextInt(11);
+        return new QuizResult(0, userIds[random.nextInt(USERS)], quizId, "Bench Quiz",
+                score, 10, score * 10.0, "2024-01-01 12:00:00");
+    }
+
+    // --- Readers with a concurrent writer ---
+
+    @Benchmark
+    @Group("mixed")
+    @GroupThreads(3)
+    public List<LeaderboardEntry> leaderboardWhileWriting() {
+        return db.getLeaderboard();
+    }
+
+    @Benchmark
+    @Group("mixed")
+    @GroupThreads(1)
+    public List<QuizResult> historyWhileWriting() {
+        return db.getUserQuizResults(userIds[ThreadLocalRandom.current().nextInt(USERS)]);
+    }
+
+    @Benchmark
+    @Group("mixed")
+    @GroupThreads(1)
+    public boolean insertResult() {
+        return db.saveQuizResult(newResult());
+    }
+
+    // --- Baseline: the same readers alone ---
+
+    @Benchmark
+    @Group("readOnly")
+    @GroupThreads(3)
+    public List<LeaderboardEntry> leaderboardAlone() {
+        return db.getLeaderboard();
+    }
+
+    @Benchmark
+    @Group("readOnly")
+    @GroupThreads(1)
+    public List<QuizResult> historyAlone() {
+        return db.getUserQuizResults(userIds[ThreadLocalRandom.current().nextInt(USERS)]);
+    }
+}
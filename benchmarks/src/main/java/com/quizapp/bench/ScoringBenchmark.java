@@ -0,0 +1,87 @@
+package com.quizapp.bench;
+
+import com.quizapp.*;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Submissions scored per second by ScoringEngine, against the old approach of
+ * comparing the chosen option text to the stored answer for every question:
+ * java -jar target/benchmarks.jar Scoring
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ScoringBenchmark {
+    private static final int BATCH = 1024;
+
+    @Param({"10", "100", "1000"})
+    public int questions;
+
+    private AnswerKey key;
+    private List<Question> questionList;
+    private byte[] packed;
+    private String[][] textAnswers;
+    private int[] scores;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        SplittableRandom random = new SplittableRandom(42);
+        questionList = new ArrayList<>(questions);
+        for (int i = 0; i < questions; i++) {
+            String[] options = {"Option A " + i, "Option B " + i, "Option C " + i, "Option D " + i};
+            questionList.add(new Question(i, 1, "Question " + i, options[0], options[1], options[2], options[3],
+                    random.nextInt(4)));
+        }
+        key = AnswerKey.of(1, questionList);
+
+        packed = new byte[BATCH * questions];
+        textAnswers = new String[BATCH][questions];
+        for (int s = 0; s < BATCH; s++) {
+            for (int i = 0; i < questions; i++) {
+                // Roughly one in ten questions left unanswered
+                int option = random.nextInt(10) == 0 ? -1 : random.nextInt(4);
+                packed[s * questions + i] = (byte) option;
+                Question q = questionList.get(i);
+                textAnswers[s][i] = switch (option) {
+                    case 0 -> q.getOptionA();
+                    case 1 -> q.getOptionB();
+                    case 2 -> q.getOptionC();
+                    case 3 -> q.getOptionD();
+                    default -> null;
+                };
+            }
+        }
+        scores = new int[BATCH];
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BATCH)
+    public int[] scoreBatch() {
+        ScoringEngine.scoreBatch(key, packed, BATCH, scores);
+        return scores;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BATCH)
+    public int[] stringCompare() {
+        for (int s = 0; s < BATCH; s++) {
+            String[] answers = textAnswers[s];
+            int score = 0;
+            for (int i = 0; i < questions; i++) {
+                if (answers[i] != null && answers[i].equals(questionList.get(i).getCorrectAnswer())) {
+                    score++;
+                }
+            }
+            scores[s] = score;
+        }
+        return scores;
+    }
+}
@@ -0,0 +1,178 @@
+package com.quizapp.bench;
+
+import com.quizapp.*;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+
+/**
+ * Builds synthetic SQLite databases for the benchmarks. A template is seeded
+ * once per size and kept under quizapp.bench.dataDir (default
+ * target/bench-data), so multi-million-row databases are only generated the
+ * first time; every trial then works on its own copy.
+ */
+public final class SyntheticDatabase {
+    public static final String PASSWORD = "secret";
+    // Password hashing has its own benchmark; keep it cheap everywhere else
+    public static final int PASSWORD_ITERATIONS = 1_000;
+
+    private static final int COMMIT_EVERY = 50_000;
+    private static final DateTimeFormatter DATE_TAKEN = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
+
+    private SyntheticDatabase() {
+    }
+
+    /** Copies the template for these sizes (seeding it if needed) into dir and returns the copy. */
+    public static Path copyOf(Path dir, int users, int quizzes, int questionsPerQuiz, long results) throws IOException {
+        Path template = template(users, quizzes, questionsPerQuiz, results);
+        Path copy = dir.resolve("bench.db");
+        Files.copy(template, copy, StandardCopyOption.REPLACE_EXISTING);
+        return copy;
+    }
+
+    public static synchronized Path template(int users, int quizzes, int questionsPerQuiz, long results) throws IOException {
+        Path dataDir = Paths.get(System.getProperty("quizapp.bench.dataDir", "target/bench-data"));
+        Files.createDirectories(dataDir);
+        Path template = dataDir.resolve(String.format("quizapp-u%d-q%d-n%d-r%d-i%d.db",
+                users, quizzes, questionsPerQuiz, results, PASSWORD_ITERATIONS));
+        if (Files.exists(template)) {
+            return template;
+        }
+        Path building = dataDir.resolve(template.getFileName() + ".building");
+        Files.deleteIfExists(building);
+        System.out.printf("Seeding %s (%d users, %d quizzes, %d results)...%n", template.getFileName(), users, quizzes, results);
+        seed(building, users, quizzes, questionsPerQuiz, results);
+        Files.move(building, template, StandardCopyOption.ATOMIC_MOVE);
+        return template;
+    }
+
+    private static void seed(Path file, int users, int quizzes, int questionsPerQuiz, long results) throws IOException {
+        StorageConfig config = new StorageConfig();
+        config.setUrl("jdbc:sqlite:" + file);
+        // The template is copied as a single file, so keep everything out of a WAL
+        config.setJournalMode("DELETE");
+        config.setPasswordIterations(PASSWORD_ITERATIONS);
+        DatabaseManager db = new DatabaseManager(config);
+        try {
+            SplittableRandom random = new SplittableRandom(42);
+            // The schema and password scheme belong to DatabaseManager; seed the
+            // bulky tables directly but reuse one real credential for every user
+            db.registerUser("user0", "user0@bench", PASSWORD, false);
+            try (Connection conn = db.getWriter().getConnection()) {
+                insertUsers(conn, users);
+            }
+            int admin = db.authenticateUser("admin", "admin123").getId();
+            for (int q = 0; q < quizzes; q++) {
+                db.addQuiz(new Quiz(0, "Quiz " + q, "Synthetic quiz " + q, admin));
+            }
+            for (Quiz quiz : db.getAllQuizzes()) {
+                for (int i = 0; i < questionsPerQuiz; i++) {
+                    String[] options = {"A" + i, "B" + i, "C" + i, "D" + i};
+                    db.addQuestion(new Question(0, quiz.getId(), "Question " + i + " of quiz " + quiz.getId(),
+                            options[0], options[1], options[2], options[3], random.nextInt(4)));
+                }
+            }
+            try (Connection conn = db.getWriter().getConnection()) {
+                insertResults(conn, random, questionsPerQuiz, results);
+                try (Statement stmt = conn.createStatement()) {
+                    stmt.execute("ANALYZE");
+                }
+            }
+            if (!db.rebuildUserStats()) {
+                throw new IOException("Could not build user_stats for " + file);
+            }
+        } catch (SQLException e) {
+            throw new IOException("Could not seed " + file, e);
+        } finally {
+            db.close();
+        }
+    }
+
+    private static void insertUsers(Connection conn, int users) throws SQLException {
+        String hash;
+        String salt;
+        try (Statement stmt = conn.createStatement();
+             ResultSet rs = stmt.executeQuery("SELECT password_hash, salt FROM users WHERE username = 'user0'")) {
+            rs.next();
+            hash = rs.getString(1);
+            salt = rs.getString(2);
+        }
+        conn.setAutoCommit(false);
+        try (PreparedStatement insert = conn.prepareStatement(
+                "INSERT INTO users(username, email, password_hash, salt, is_admin) VALUES(?, ?, ?, ?, 0)")) {
+            for (int i = 1; i < users; i++) {
+                insert.setString(1, "user" + i);
+                insert.setString(2, "user" + i + "@bench");
+                insert.setString(3, hash);
+                insert.setString(4, salt);
+                insert.addBatch();
+                if (i % COMMIT_EVERY == 0) {
+                    insert.executeBatch();
+                    conn.commit();
+                }
+            }
+            insert.executeBatch();
+            conn.commit();
+        } finally {
+            conn.setAutoCommit(true);
+        }
+    }
+
+    private static void insertResults(Connection conn, SplittableRandom random, int questionsPerQuiz, long results)
+            throws SQLException {
+        int[] userIds = ids(conn, "SELECT id FROM users WHERE username LIKE 'user%'");
+        int[] quizIds = ids(conn, "SELECT id FROM quizzes");
+        conn.setAutoCommit(false);
+        try (PreparedStatement insert = conn.prepareStatement(
+                "INSERT INTO quiz_results(user_id, quiz_id, quiz_title, score, total_questions, percentage, date_taken, taken_at) VALUES(?,?,?,?,?,?,?,?)")) {
+            for (long i = 1; i <= results; i++) {
+                int quizId = quizIds[random.nextInt(quizIds.length)];
+                int score = random.nextInt(questionsPerQuiz + 1);
+                insert.setInt(1, userIds[random.nextInt(userIds.length)]);
+                insert.setInt(2, quizId);
+                insert.setString(3, "Quiz " + quizId);
+                insert.setInt(4, score);
+                insert.setInt(5, questionsPerQuiz);
+                insert.setDouble(6, ScoringEngine.percentage(score, questionsPerQuiz));
+                String dateTaken = String.format("2024-%02d-%02d %02d:%02d:00",
+                        1 + random.nextInt(12), 1 + random.nextInt(28), random.nextInt(24), random.nextInt(60));
+                insert.setString(7, dateTaken);
+                insert.setLong(8, LocalDateTime.parse(dateTaken, DATE_TAKEN).atZone(ZoneId.systemDefault()).toEpochSecond());
+                insert.addBatch();
+                if (i % COMMIT_EVERY == 0) {
+                    insert.executeBatch();
+                    conn.commit();
+                }
+            }
+            insert.executeBatch();
+            conn.commit();
+        } finally {
+            conn.setAutoCommit(true);
+        }
+    }
+
+    static int[] ids(Connection conn, String sql) throws SQLException {
+        try (Statement stmt = conn.createStatement();
+             ResultSet rs = stmt.executeQuery(sql)) {
+            List<Integer> ids = new ArrayList<>();
+            while (rs.next()) {
+                ids.add(rs.getInt(1));
+            }
+            return ids.stream().mapToInt(Integer::intValue).toArray();
+        }
+    }
+}
@@ -0,0 +1,67 @@
+package com.quizapp.bench;
+
+import com.quizapp.*;
+import org.openjdk.jmh.annotations.*;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Windowed leaderboards with every retained day populated: reading the
+ * live weekly board, merging a window that is not kept live, and adding a
+ * result. resultsPerDay sets how many user-days each bucket holds.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@Threads(1)
+public class WindowedLeaderboardBenchmark {
+
+    @Param({"10000"})
+    public int users;
+
+    @Param({"5000"})
+    public int resultsPerDay;
+
+    private WindowedLeaderboards windows;
+    private String today;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        windows = new WindowedLeaderboards(id -> "user" + id);
+        SplittableRandom random = new SplittableRandom(42);
+        LocalDate date = LocalDate.now();
+        today = date + " 12:00:00";
+        for (int back = WindowedLeaderboards.RETAINED_DAYS - 1; back >= 0; back--) {
+            long day = date.toEpochDay() - back;
+            for (int i = 0; i < resultsPerDay; i++) {
+                int score = random.nextInt(11);
+                windows.add(1 + random.nextInt(users), day, 1, score, score * 10.0);
+            }
+        }
+    }
+
+    @Benchmark
+    public List<LeaderboardEntry> weeklyTop25() {
+        return windows.board(WindowedLeaderboards.WEEKLY).top(25);
+    }
+
+    @Benchmark
+    public List<LeaderboardEntry> mergedTop25Over45Days() {
+        return windows.top(45, 25);
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.NANOSECONDS)
+    public void recordResult() {
+        int score = ThreadLocalRandom.current().nextInt(11);
+        windows.record(new QuizResult(0, 1 + ThreadLocalRandom.current().nextInt(users), 1, "Quiz", score, 10,
+                score * 10.0, today));
+    }
+}
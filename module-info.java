@@ -1,9 +0,0 @@
-// module-info.java
-module quizapp {
-    requires javafx.controls;
-    requires javafx.fxml;
-    requires java.sql;
-    requires java.desktop;
-    
-    exports com.quizapp;
-}
\ No newline at end of file
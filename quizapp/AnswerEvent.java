@@ -0,0 +1,31 @@
+package com.quizapp;
+
+/**
+ * One change to an attempt's answer for a question, as appended to the
+ * attempt_answers log. The option is the index in the question's stored
+ * option order, whatever order the attempt showed them in, or
+ * AnswerKey.NO_ANSWER when the answer was cleared. Sequence numbers are
+ * per attempt and give the order in which changes were made.
+ */
+public final class AnswerEvent {
+    private final long attemptId;
+    private final int seq;
+    private final int questionId;
+    private final int option;
+    private final long answeredAt;
+
+    public AnswerEvent(long attemptId, int seq, int questionId, int option, long answeredAt) {
+        this.attemptId = attemptId;
+        this.seq = seq;
+        this.questionId = questionId;
+        this.option = option;
+        this.answeredAt = answeredAt;
+    }
+
+    public long getAttemptId() { return attemptId; }
+    public int getSeq() { return seq; }
+    public int getQuestionId() { return questionId; }
+    public int getOption() { return option; }
+    /** Epoch milliseconds. */
+    public long getAnsweredAt() { return answeredAt; }
+}
@@ -0,0 +1,48 @@
+package com.quizapp;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Precomputed correct option index (0-3) for every question of a quiz, in the
+ * same order as the question list it was built from. Submissions are scored
+ * against it as byte arrays, one option index per question.
+ */
+public final class AnswerKey {
+    /** Answer byte for a question the user skipped. */
+    public static final byte NO_ANSWER = -1;
+    // Key byte for a question with no correct option; no answer can equal it
+    static final byte NO_CORRECT_OPTION = (byte) Question.NO_CORRECT_OPTION;
+
+    private final int quizId;
+    private final List<Question> questions;
+    // Padded to a multiple of 8 so the scorer can always read whole words
+    private final byte[] correct;
+
+    private AnswerKey(int quizId, List<Question> questions, byte[] correct) {
+        this.quizId = quizId;
+        this.questions = questions;
+        this.correct = correct;
+    }
+
+    public static AnswerKey of(int quizId, List<Question> questions) {
+        byte[] correct = new byte[(questions.size() + 7) & ~7];
+        Arrays.fill(correct, NO_CORRECT_OPTION);
+        for (int i = 0; i < questions.size(); i++) {
+            correct[i] = (byte) questions.get(i).getCorrectOption();
+        }
+        return new AnswerKey(quizId, questions, correct);
+    }
+
+    public int getQuizId() { return quizId; }
+    public List<Question> getQuestions() { return questions; }
+    public int getQuestionCount() { return questions.size(); }
+
+    public int getCorrectOption(int questionIndex) {
+        return correct[questionIndex];
+    }
+
+    byte[] correctBytes() {
+        return correct;
+    }
+}
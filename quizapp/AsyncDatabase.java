@@ -0,0 +1,138 @@
+package com.quizapp;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Asynchronous facade over a QuizStore. Every call runs on a dedicated
+ * pool of data-access threads and completes a CompletableFuture, so UI code
+ * never blocks on JDBC or password hashing. Nothing here depends on JavaFX;
+ * callers hop back to their own thread when the future completes.
+ */
+public class AsyncDatabase implements AutoCloseable {
+    private final QuizStore store;
+    private final ExecutorService executor;
+
+    public AsyncDatabase(QuizStore store) {
+        // Enough threads to keep every reader connection and the writer busy; the
+        // in-memory engine never waits on I/O, so one per core is plenty
+        this(store, store instanceof DatabaseManager db
+                ? db.getReadPool().getMaxSize() + db.getWriter().getMaxSize()
+                : Runtime.getRuntime().availableProcessors());
+    }
+
+    public AsyncDatabase(QuizStore store, int threads) {
+        this.store = store;
+        AtomicInteger counter = new AtomicInteger();
+        this.executor = Executors.newFixedThreadPool(threads, r -> {
+            Thread t = new Thread(r, "quizapp-db-" + counter.incrementAndGet());
+            t.setDaemon(true);
+            return t;
+        });
+    }
+
+    public QuizStore getStore() {
+        return store;
+    }
+
+    public <T> CompletableFuture<T> submit(Supplier<T> call) {
+        return CompletableFuture.supplyAsync(call, executor);
+    }
+
+    // --- Authentication ---
+
+    public CompletableFuture<User> authenticateUser(String username, String password) {
+        return submit(() -> store.authenticateUser(username, password));
+    }
+
+    public CompletableFuture<Boolean> registerUser(String username, String email, String password, boolean isAdmin) {
+        return submit(() -> store.registerUser(username, email, password, isAdmin));
+    }
+
+    // --- Quizzes ---
+
+    public CompletableFuture<List<Quiz>> getAllQuizzes() {
+        return submit(store::getAllQuizzes);
+    }
+
+    public CompletableFuture<List<Quiz>> searchQuizzes(String text, int limit) {
+        return submit(() -> store.searchQuizzes(text, limit));
+    }
+
+    public CompletableFuture<Boolean> addQuiz(Quiz quiz) {
+        return submit(() -> store.addQuiz(quiz));
+    }
+
+    public CompletableFuture<Boolean> updateQuiz(Quiz quiz) {
+        return submit(() -> store.updateQuiz(quiz));
+    }
+
+    public CompletableFuture<Boolean> deleteQuiz(int quizId) {
+        return submit(() -> store.deleteQuiz(quizId));
+    }
+
+    // --- Questions ---
+
+    public CompletableFuture<List<Question>> getQuestionsForQuiz(int quizId) {
+        return submit(() -> store.getQuestionsForQuiz(quizId));
+    }
+
+    public CompletableFuture<Boolean> addQuestion(Question question) {
+        return submit(() -> store.addQuestion(question));
+    }
+
+    public CompletableFuture<Boolean> updateQuestion(Question question) {
+        return submit(() -> store.updateQuestion(question));
+    }
+
+    public CompletableFuture<Boolean> deleteQuestion(int questionId) {
+        return submit(() -> store.deleteQuestion(questionId));
+    }
+
+    public CompletableFuture<QuestionDraw> startAttempt(int userId, Quiz quiz) {
+        return submit(() -> store.startAttempt(userId, quiz));
+    }
+
+    public CompletableFuture<QuestionDraw> resumeAttempt(int userId, Quiz quiz) {
+        return submit(() -> store.resumeAttempt(userId, quiz));
+    }
+
+    // Enqueued on the caller's thread: the answer queue never blocks
+    public CompletableFuture<Boolean> logAnswer(AnswerEvent event) {
+        return store.logAnswer(event);
+    }
+
+    // --- Results ---
+
+    // Goes through the group-commit queue, enqueuing off the caller's thread since a
+    // full queue blocks; the future completes once the result is committed
+    public CompletableFuture<Boolean> saveQuizResult(QuizResult result) {
+        return submit(() -> store.saveQuizResultAsync(result)).thenCompose(ack -> ack);
+    }
+
+    public CompletableFuture<List<QuizResult>> getUserQuizResults(int userId) {
+        return submit(() -> store.getUserQuizResults(userId));
+    }
+
+    public CompletableFuture<List<QuizResult>> getUserQuizResultsPage(int userId, String beforeDate, int beforeId, int limit) {
+        return submit(() -> store.getUserQuizResultsPage(userId, beforeDate, beforeId, limit));
+    }
+
+    @Override
+    public void close() {
+        executor.shutdown();
+        try {
+            if (!executor.awaitTermination(5, TimeUnit.SECONDS)) {
+                executor.shutdownNow();
+            }
+        } catch (InterruptedException e) {
+            executor.shutdownNow();
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,42 @@
+package com.quizapp;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Consumer;
+
+/**
+ * Attempts at quizzes: which questions each was given, in which order and
+ * option layout, and the log of its answer changes.
+ */
+public interface AttemptRepository {
+
+    /**
+     * Starts and records an attempt, drawing its questions if the quiz is
+     * randomized. The draw's questions are as shown to the user; null on error.
+     */
+    QuestionDraw startAttempt(int userId, Quiz quiz);
+
+    /** Records a draw made elsewhere and sets its attempt id; false if it could not be saved. */
+    boolean saveAttempt(int userId, QuestionDraw draw);
+
+    /** The recorded draw of an attempt, without its questions, or null if there is no such attempt. */
+    QuestionDraw getAttemptDraw(long attemptId);
+
+    /**
+     * The user's latest unsubmitted attempt at the quiz with its answers
+     * replayed, or null if there is none or nothing was answered in it.
+     */
+    QuestionDraw findOpenAttempt(int userId, int quizId);
+
+    /** findOpenAttempt with the attempt's questions presented, or null if it cannot be resumed. */
+    QuestionDraw resumeAttempt(int userId, Quiz quiz);
+
+    /**
+     * Hands every submitted attempt at the quiz to the action, oldest first,
+     * with its final answers as savedAnswers and without its questions.
+     * Returns the number of attempts, or -1 on error.
+     */
+    int forEachSubmittedAttempt(int quizId, Consumer<QuestionDraw> action);
+
+    /** Appends an answer change to its attempt's log without blocking the caller. */
+    CompletableFuture<Boolean> logAnswer(AnswerEvent event);
+}
@@ -0,0 +1,296 @@
+package com.quizapp;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.util.Iterator;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Bounded pool of long-lived JDBC connections. Callers use the returned
+ * connection in a try-with-resources block as before; close() hands it back
+ * to the pool instead of closing the underlying SQLite handle.
+ */
+public class ConnectionPool implements AutoCloseable {
+    private static final long VALIDATION_INTERVAL_MILLIS = 30_000;
+
+    /** Prepares each new physical connection, e.g. to set pragmas. */
+    @FunctionalInterface
+    public interface Initializer {
+        void initialize(Connection conn) throws SQLException;
+    }
+
+    private final String url;
+    private final Initializer initializer;
+    private final int maxSize;
+    private final int minIdle;
+    private final long idleTimeoutMillis;
+    private final long acquireTimeoutMillis;
+
+    private final Semaphore permits;
+    private final BlockingDeque<PooledConnection> idle = new LinkedBlockingDeque<>();
+    private final ScheduledExecutorService evictor;
+    private volatile boolean closed;
+    private volatile Runnable acquireGuard = () -> { };
+    private volatile LatencyHistogram waitHistogram;
+
+    // --- Metrics ---
+    private final AtomicInteger active = new AtomicInteger();
+    private final LongAdder acquireCount = new LongAdder();
+    private final LongAdder totalWaitNanos = new LongAdder();
+    private final AtomicLong maxWaitNanos = new AtomicLong();
+    private final LongAdder timeoutCount = new LongAdder();
+    private final LongAdder createdCount = new LongAdder();
+    private final LongAdder evictedCount = new LongAdder();
+
+    public ConnectionPool(String url, int maxSize) {
+        this(url, maxSize, conn -> { });
+    }
+
+    public ConnectionPool(String url, int maxSize, Initializer initializer) {
+        this(url, maxSize, initializer, 1, TimeUnit.MINUTES.toMillis(5), TimeUnit.SECONDS.toMillis(30));
+    }
+
+    public ConnectionPool(String url, int maxSize, Initializer initializer, int minIdle,
+                          long idleTimeoutMillis, long acquireTimeoutMillis) {
+        if (maxSize < 1) {
+            throw new IllegalArgumentException("Pool size must be at least 1");
+        }
+        this.url = url;
+        this.initializer = initializer;
+        this.maxSize = maxSize;
+        this.minIdle = Math.min(minIdle, maxSize);
+        this.idleTimeoutMillis = idleTimeoutMillis;
+        this.acquireTimeoutMillis = acquireTimeoutMillis;
+        this.permits = new Semaphore(maxSize, true);
+
+        this.evictor = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "quizapp-pool-evictor");
+            t.setDaemon(true);
+            return t;
+        });
+        long period = Math.max(1000, idleTimeoutMillis / 2);
+        evictor.scheduleWithFixedDelay(this::evictIdle, period, period, TimeUnit.MILLISECONDS);
+    }
+
+    /** Runs on the calling thread before every checkout, e.g. to flag calls from a UI thread. */
+    public void setAcquireGuard(Runnable acquireGuard) {
+        this.acquireGuard = acquireGuard;
+    }
+
+    /** Also records every checkout's wait time into the histogram; null turns this off. */
+    public void setWaitHistogram(LatencyHistogram waitHistogram) {
+        this.waitHistogram = waitHistogram;
+    }
+
+    public Connection getConnection() throws SQLException {
+        acquireGuard.run();
+        if (closed) {
+            throw new SQLException("Connection pool is closed");
+        }
+        long start = System.nanoTime();
+        try {
+            if (!permits.tryAcquire(acquireTimeoutMillis, TimeUnit.MILLISECONDS)) {
+                timeoutCount.increment();
+                throw new SQLException("Timed out waiting for a database connection (" + this + ")");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SQLException("Interrupted while waiting for a database connection", e);
+        }
+        recordWait(System.nanoTime() - start);
+
+        try {
+            PooledConnection pc = takeHealthyIdle();
+            if (pc == null) {
+                pc = new PooledConnection(openPhysical());
+            }
+            active.incrementAndGet();
+            return lease(pc);
+        } catch (SQLException | RuntimeException e) {
+            permits.release();
+            throw e;
+        }
+    }
+
+    private PooledConnection takeHealthyIdle() {
+        PooledConnection pc;
+        // LIFO so the warmest connection (page cache, prepared schema) is reused first
+        while ((pc = idle.pollFirst()) != null) {
+            if (System.currentTimeMillis() - pc.lastUsed < VALIDATION_INTERVAL_MILLIS || isHealthy(pc)) {
+                return pc;
+            }
+            closePhysical(pc);
+        }
+        return null;
+    }
+
+    private boolean isHealthy(PooledConnection pc) {
+        try {
+            return !pc.physical.isClosed() && pc.physical.isValid(2);
+        } catch (SQLException e) {
+            return false;
+        }
+    }
+
+    private Connection openPhysical() throws SQLException {
+        Connection conn = DriverManager.getConnection(url);
+        try {
+            initializer.initialize(conn);
+        } catch (SQLException e) {
+            conn.close();
+            throw e;
+        }
+        createdCount.increment();
+        return conn;
+    }
+
+    private Connection lease(PooledConnection pc) {
+        Lease lease = new Lease(pc);
+        return (Connection) Proxy.newProxyInstance(
+                ConnectionPool.class.getClassLoader(), new Class<?>[]{Connection.class}, lease);
+    }
+
+    private void release(PooledConnection pc) {
+        active.decrementAndGet();
+        try {
+            boolean reusable = !closed && !pc.physical.isClosed();
+            if (reusable && !pc.physical.getAutoCommit()) {
+                // A caller left a transaction open; never hand that state to the next borrower
+                pc.physical.rollback();
+                pc.physical.setAutoCommit(true);
+            }
+            if (reusable) {
+                pc.lastUsed = System.currentTimeMillis();
+                idle.offerFirst(pc);
+            } else {
+                closePhysical(pc);
+            }
+        } catch (SQLException e) {
+            closePhysical(pc);
+        } finally {
+            permits.release();
+        }
+    }
+
+    private void evictIdle() {
+        long now = System.currentTimeMillis();
+        int keep = minIdle;
+        // Oldest connections sit at the tail of the deque
+        Iterator<PooledConnection> it = idle.descendingIterator();
+        while (it.hasNext() && idle.size() > keep) {
+            PooledConnection pc = it.next();
+            if (now - pc.lastUsed > idleTimeoutMillis && idle.remove(pc)) {
+                evictedCount.increment();
+                closePhysical(pc);
+            }
+        }
+    }
+
+    private void recordWait(long nanos) {
+        acquireCount.increment();
+        totalWaitNanos.add(nanos);
+        maxWaitNanos.accumulateAndGet(nanos, Math::max);
+        LatencyHistogram histogram = waitHistogram;
+        if (histogram != null) {
+            histogram.record(nanos);
+        }
+    }
+
+    private void closePhysical(PooledConnection pc) {
+        try {
+            pc.physical.close();
+        } catch (SQLException e) {
+            System.err.println("Error closing pooled connection: " + e.getMessage());
+        }
+    }
+
+    @Override
+    public void close() {
+        closed = true;
+        evictor.shutdownNow();
+        PooledConnection pc;
+        while ((pc = idle.pollFirst()) != null) {
+            closePhysical(pc);
+        }
+    }
+
+    // --- Pool Metrics ---
+
+    public int getMaxSize() { return maxSize; }
+    public int getActiveCount() { return active.get(); }
+    public int getIdleCount() { return idle.size(); }
+    public long getAcquireCount() { return acquireCount.sum(); }
+    public long getTimeoutCount() { return timeoutCount.sum(); }
+    public long getCreatedCount() { return createdCount.sum(); }
+    public long getEvictedCount() { return evictedCount.sum(); }
+    public long getTotalWaitNanos() { return totalWaitNanos.sum(); }
+    public long getMaxWaitNanos() { return maxWaitNanos.get(); }
+
+    public double getAverageWaitMillis() {
+        long count = acquireCount.sum();
+        return count == 0 ? 0 : totalWaitNanos.sum() / (double) count / 1_000_000.0;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("pool[active=%d, idle=%d, max=%d, avgWait=%.3fms, maxWait=%.3fms, timeouts=%d]",
+                getActiveCount(), getIdleCount(), maxSize, getAverageWaitMillis(),
+                getMaxWaitNanos() / 1_000_000.0, getTimeoutCount());
+    }
+
+    private static final class PooledConnection {
+        final Connection physical;
+        volatile long lastUsed = System.currentTimeMillis();
+
+        PooledConnection(Connection physical) {
+            this.physical = physical;
+        }
+    }
+
+    // One lease per checkout, so a double close() cannot return the same connection twice
+    private final class Lease implements InvocationHandler {
+        private final PooledConnection pc;
+        private boolean returned;
+
+        Lease(PooledConnection pc) {
+            this.pc = pc;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            switch (method.getName()) {
+                case "close":
+                    if (!returned) {
+                        returned = true;
+                        release(pc);
+                    }
+                    return null;
+                case "isClosed":
+                    return returned || pc.physical.isClosed();
+                case "equals":
+                    return proxy == args[0];
+                case "hashCode":
+                    return System.identityHashCode(proxy);
+                case "toString":
+                    return "PooledConnection[" + pc.physical + "]";
+                default:
+                    if (returned) {
+                        throw new SQLException("Connection has already been returned to the pool");
+                    }
+                    try {
+                        return method.invoke(pc.physical, args);
+                    } catch (InvocationTargetException e) {
+                        throw e.getCause();
+                    }
+            }
+        }
+    }
+}
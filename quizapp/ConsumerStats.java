@@ -0,0 +1,58 @@
+package com.quizapp;
+
+import java.beans.ConstructorProperties;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/** Point-in-time statistics for one EventBus consumer. */
+public class ConsumerStats {
+    private final String name;
+    private final long consumed;
+    private final long batches;
+    private final int largestBatch;
+    private final long failures;
+    private final long queueDepth;
+    private final double eventsPerSecond;
+
+    @ConstructorProperties({"name", "consumed", "batches", "largestBatch", "failures", "queueDepth",
+            "eventsPerSecond"})
+    public ConsumerStats(String name, long consumed, long batches, int largestBatch, long failures, long queueDepth,
+                         double eventsPerSecond) {
+        this.name = name;
+        this.consumed = consumed;
+        this.batches = batches;
+        this.largestBatch = largestBatch;
+        this.failures = failures;
+        this.queueDepth = queueDepth;
+        this.eventsPerSecond = eventsPerSecond;
+    }
+
+    public String getName() { return name; }
+    public long getConsumed() { return consumed; }
+    public long getBatches() { return batches; }
+    public int getLargestBatch() { return largestBatch; }
+    /** Batches the handler threw on; their events are counted as consumed. */
+    public long getFailures() { return failures; }
+    /** Events published but not yet handed to this consumer. */
+    public long getQueueDepth() { return queueDepth; }
+    /** Events handled per second over the last full second, or 0 if idle. */
+    public double getEventsPerSecond() { return eventsPerSecond; }
+
+    Map<String, Object> toJson() {
+        Map<String, Object> json = new LinkedHashMap<>();
+        json.put("name", name);
+        json.put("consumed", consumed);
+        json.put("batches", batches);
+        json.put("largestBatch", largestBatch);
+        json.put("failures", failures);
+        json.put("queueDepth", queueDepth);
+        json.put("eventsPerSecond", eventsPerSecond);
+        return json;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%-28s consumed=%d batches=%d largest=%d failures=%d depth=%d rate=%.1f/s",
+                name, consumed, batches, largestBatch, failures, queueDepth, eventsPerSecond);
+    }
+}
@@ -0,0 +1,278 @@
+package com.quizapp;
+
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+/**
+ * Latency histograms, error counts and rows returned for every DatabaseManager
+ * operation, plus connection wait times for both pools. When disabled, timing
+ * calls return immediately without reading the clock; only error counts are
+ * kept. Published over JMX and optionally dumped to a file on a schedule.
+ */
+public class DataLayerMetrics implements DataLayerMetricsMXBean, AutoCloseable {
+
+    public enum Operation {
+        REGISTER_USER("registerUser"),
+        AUTHENTICATE_USER("authenticateUser"),
+        UPGRADE_PASSWORD_HASH("upgradePasswordHash"),
+        SAVE_SESSION("saveSession"),
+        LOAD_SESSIONS("loadSessions"),
+        UPDATE_SESSIONS("updateSessionAccess"),
+        DELETE_SESSIONS("deleteSessions"),
+        GET_ALL_QUIZZES("getAllQuizzes"),
+        GET_QUIZ("getQuiz"),
+        ADD_QUIZ("addQuiz"),
+        UPDATE_QUIZ("updateQuiz"),
+        DELETE_QUIZ("deleteQuiz"),
+        SEARCH_QUIZZES("searchQuizzes"),
+        REBUILD_SEARCH("rebuildSearchIndexes"),
+        GET_QUESTIONS("getQuestionsForQuiz"),
+        LOAD_QUESTIONS("loadQuestionsForQuiz"),
+        LOAD_QUESTION_IDS("loadQuestionIds"),
+        ADD_QUESTION("addQuestion"),
+        ADD_QUESTIONS("addQuestions"),
+        EXPORT_QUESTIONS("forEachQuestion"),
+        UPDATE_QUESTION("updateQuestion"),
+        DELETE_QUESTION("deleteQuestion"),
+        START_ATTEMPT("startAttempt"),
+        SAVE_ATTEMPT("saveAttempt"),
+        GET_ATTEMPT("getAttemptDraw"),
+        FIND_OPEN_ATTEMPT("findOpenAttempt"),
+        LOG_ANSWERS("saveAnswerEvents"),
+        LOG_ANSWER_QUEUED("logAnswer"),
+        SUBMITTED_ATTEMPTS("forEachSubmittedAttempt"),
+        SAVE_RESULTS("saveQuizResults"),
+        SAVE_RESULT_QUEUED("saveQuizResultAsync"),
+        GET_USER_RESULTS("getUserQuizResults"),
+        GET_USER_RESULTS_PAGE("getUserQuizResultsPage"),
+        GET_LEADERBOARD("getLeaderboard"),
+        GET_WINDOWED_LEADERBOARD("getTopForDays"),
+        REBUILD_USER_STATS("rebuildUserStats"),
+        REBUILD_DAILY_STATS("rebuildDailyStats"),
+        CHECK_USER_STATS("countInconsistentUserStats");
+
+        private final String label;
+
+        Operation(String label) {
+            this.label = label;
+        }
+
+        public String getLabel() {
+            return label;
+        }
+    }
+
+    private static final AtomicInteger INSTANCES = new AtomicInteger();
+
+    private final boolean enabled;
+    private final LatencyHistogram[] latency;
+    private final LongAdder[] errors;
+    private final LongAdder[] rows;
+    private final LatencyHistogram readerWait = new LatencyHistogram();
+    private final LatencyHistogram writerWait = new LatencyHistogram();
+    private ScheduledExecutorService dumper;
+    private ObjectName objectName;
+
+    public DataLayerMetrics(boolean enabled) {
+        this.enabled = enabled;
+        int n = Operation.values().length;
+        latency = new LatencyHistogram[n];
+        errors = new LongAdder[n];
+        rows = new LongAdder[n];
+        for (int i = 0; i < n; i++) {
+            latency[i] = new LatencyHistogram();
+            errors[i] = new LongAdder();
+            rows[i] = new LongAdder();
+        }
+    }
+
+    @Override
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    // --- Recording ---
+
+    public long start() {
+        return enabled ? System.nanoTime() : 0L;
+    }
+
+    public void stop(Operation op, long start) {
+        if (enabled) {
+            latency[op.ordinal()].record(System.nanoTime() - start);
+        }
+    }
+
+    public void rows(Operation op, int count) {
+        if (enabled) {
+            rows[op.ordinal()].add(count);
+        }
+    }
+
+    public void error(Operation op) {
+        errors[op.ordinal()].increment();
+    }
+
+    /** Histograms for the pools to record connection wait times into, or null when disabled. */
+    public LatencyHistogram readerWaitHistogram() {
+        return enabled ? readerWait : null;
+    }
+
+    public LatencyHistogram writerWaitHistogram() {
+        return enabled ? writerWait : null;
+    }
+
+    // --- Reporting ---
+
+    @Override
+    public OperationStats[] getOperations() {
+        Operation[] ops = Operation.values();
+        OperationStats[] stats = new OperationStats[ops.length];
+        for (Operation op : ops) {
+            int i = op.ordinal();
+            stats[i] = OperationStats.of(op.getLabel(), latency[i].snapshot(), errors[i].sum(), rows[i].sum());
+        }
+        return stats;
+    }
+
+    public OperationStats getOperation(Operation op) {
+        int i = op.ordinal();
+        return OperationStats.of(op.getLabel(), latency[i].snapshot(), errors[i].sum(), rows[i].sum());
+    }
+
+    @Override
+    public OperationStats getReaderConnectionWait() {
+        return OperationStats.of("connectionWait.reader", readerWait.snapshot(), 0, 0);
+    }
+
+    @Override
+    public OperationStats getWriterConnectionWait() {
+        return OperationStats.of("connectionWait.writer", writerWait.snapshot(), 0, 0);
+    }
+
+    @Override
+    public long getTotalErrors() {
+        long total = 0;
+        for (LongAdder e : errors) {
+            total += e.sum();
+        }
+        return total;
+    }
+
+    @Override
+    public String getReportText() {
+        StringBuilder sb = new StringBuilder();
+        sb.append("Data layer metrics at ").append(Instant.now()).append(enabled ? "" : " (timing disabled)").append('\n');
+        for (OperationStats stats : getOperations()) {
+            if (stats.getCount() > 0 || stats.getErrors() > 0) {
+                sb.append(stats).append('\n');
+            }
+        }
+        sb.append(getReaderConnectionWait()).append('\n');
+        sb.append(getWriterConnectionWait()).append('\n');
+        return sb.toString();
+    }
+
+    @Override
+    public String getReportJson() {
+        Map<String, Object> json = new LinkedHashMap<>();
+        json.put("timestamp", Instant.now().toString());
+        json.put("enabled", enabled);
+        List<Object> ops = new ArrayList<>();
+        for (OperationStats stats : getOperations()) {
+            ops.add(stats.toJson());
+        }
+        json.put("operations", ops);
+        json.put("readerConnectionWait", getReaderConnectionWait().toJson());
+        json.put("writerConnectionWait", getWriterConnectionWait().toJson());
+        return Json.write(json);
+    }
+
+    @Override
+    public void reset() {
+        for (int i = 0; i < latency.length; i++) {
+            latency[i].reset();
+            errors[i].reset();
+            rows[i].reset();
+        }
+        readerWait.reset();
+        writerWait.reset();
+    }
+
+    // --- Publishing ---
+
+    public synchronized void registerMBean() {
+        if (objectName != null) {
+            return;
+        }
+        try {
+            int instance = INSTANCES.incrementAndGet();
+            ObjectName name = new ObjectName("com.quizapp:type=DataLayerMetrics"
+                    + (instance == 1 ? "" : ",instance=" + instance));
+            ManagementFactory.getPlatformMBeanServer().registerMBean(this, name);
+            objectName = name;
+        } catch (JMException e) {
+            System.err.println("Error registering metrics MBean: " + e.getMessage());
+        }
+    }
+
+    /** Rewrites the file every interval; a .json name gets the JSON report, anything else the text one. */
+    public synchronized void startDumping(Path file, long intervalSeconds) {
+        if (dumper != null) {
+            return;
+        }
+        dumper = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "quizapp-metrics-dump");
+            t.setDaemon(true);
+            return t;
+        });
+        long interval = Math.max(1, intervalSeconds);
+        dumper.scheduleWithFixedDelay(() -> dump(file), interval, interval, TimeUnit.SECONDS);
+    }
+
+    public void dump(Path file) {
+        String report = file.toString().endsWith(".json") ? getReportJson() : getReportText();
+        try {
+            Path dir = file.toAbsolutePath().getParent();
+            Path tmp = Files.createTempFile(dir, file.getFileName().toString(), ".tmp");
+            Files.write(tmp, report.getBytes(StandardCharsets.UTF_8));
+            Files.move(tmp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            System.err.println("Error writing metrics to " + file + ": " + e.getMessage());
+        }
+    }
+
+    @Override
+    public synchronized void close() {
+        if (dumper != null) {
+            dumper.shutdownNow();
+            dumper = null;
+        }
+        if (objectName != null) {
+            try {
+                MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+                server.unregisterMBean(objectName);
+            } catch (JMException e) {
+                System.err.println("Error unregistering metrics MBean: " + e.getMessage());
+            }
+            objectName = null;
+        }
+    }
+}
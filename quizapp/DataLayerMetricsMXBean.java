@@ -0,0 +1,20 @@
+package com.quizapp;
+
+/** JMX view of DataLayerMetrics, registered as com.quizapp:type=DataLayerMetrics. */
+public interface DataLayerMetricsMXBean {
+    boolean isEnabled();
+
+    OperationStats[] getOperations();
+
+    OperationStats getReaderConnectionWait();
+
+    OperationStats getWriterConnectionWait();
+
+    long getTotalErrors();
+
+    String getReportText();
+
+    String getReportJson();
+
+    void reset();
+}
@@ -0,0 +1,138 @@
+package com.quizapp;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.List;
+
+/**
+ * Command-line maintenance entry point, run against the configured database:
+ * java -cp quiz-application.jar com.quizapp.DatabaseMaintenance &lt;command&gt;
+ */
+public class DatabaseMaintenance {
+
+    public static void main(String[] args) {
+        if (args.length == 0) {
+            printUsage();
+            System.exit(2);
+        }
+        DatabaseManager dbManager = new DatabaseManager();
+        int status;
+        try {
+            status = run(dbManager, args);
+        } finally {
+            dbManager.close();
+        }
+        System.exit(status);
+    }
+
+    private static int run(DatabaseManager dbManager, String[] args) {
+        switch (args[0]) {
+            case "check-user-stats": {
+                int mismatched = dbManager.countInconsistentUserStats();
+                if (mismatched < 0) {
+                    return 1;
+                }
+                System.out.println(mismatched == 0
+                        ? "user_stats is consistent with quiz_results."
+                        : mismatched + " user(s) have user_stats that disagree with quiz_results.");
+                return mismatched == 0 ? 0 : 1;
+            }
+            case "rebuild-user-stats":
+                if (dbManager.rebuildUserStats()) {
+                    System.out.println("user_stats and user_daily_stats rebuilt from quiz_results.");
+                    return 0;
+                }
+                return 1;
+            case "rebuild-daily-stats": {
+                int days = WindowedLeaderboards.RETAINED_DAYS;
+                if (args.length > 1) {
+                    try {
+                        days = Integer.parseInt(args[1]);
+                    } catch (NumberFormatException e) {
+                        printUsage();
+                        return 2;
+                    }
+                }
+                if (dbManager.rebuildDailyStats(days)) {
+                    System.out.println("user_daily_stats rebuilt for the last " + days + " day(s).");
+                    return 0;
+                }
+                return 1;
+            }
+            case "rebuild-search-indexes":
+                if (dbManager.rebuildSearchIndexes()) {
+                    System.out.println("quizzes_fts and questions_fts rebuilt and optimized.");
+                    return 0;
+                }
+                return 1;
+            case "check-plans":
+                try (Connection conn = dbManager.getReadPool().getConnection()) {
+                    List<String> violations = QueryPlanChecker.findViolations(conn);
+                    violations.forEach(v -> System.out.println("SCAN: " + v));
+                    System.out.println(violations.isEmpty() ? "All hot queries use indexes." : violations.size() + " violation(s).");
+                    return violations.isEmpty() ? 0 : 1;
+                } catch (SQLException e) {
+                    System.err.println("Error checking query plans: " + e.getMessage());
+                    return 1;
+                }
+            case "import-questions":
+            case "export-questions": {
+                if (args.length != 3) {
+                    printUsage();
+                    return 2;
+                }
+                int quizId = Integer.parseInt(args[1]);
+                Path file = Paths.get(args[2]);
+                QuestionBank bank = new QuestionBank(dbManager);
+                try {
+                    if (args[0].equals("export-questions")) {
+                        System.out.println(bank.exportFile(quizId, file) + " question(s) written to " + file);
+                        return 0;
+                    }
+                    QuestionBank.ImportReport report = bank.importFile(file, quizId, null);
+                    report.getErrors().forEach(error -> System.out.println("Rejected " + error));
+                    System.out.println(report);
+                    return report.getRejected() == 0 ? 0 : 1;
+                } catch (IOException e) {
+                    System.err.println("Error processing " + file + ": " + e.getMessage());
+                    return 1;
+                }
+            }
+            case "build-quiz-pack": {
+                if (args.length != 2) {
+                    printUsage();
+                    return 2;
+                }
+                Path file = Paths.get(args[1]);
+                try {
+                    int questions = QuizPackBuilder.build(dbManager, file);
+                    QuizPack pack = QuizPack.open(file);
+                    System.out.println("Wrote " + pack.getQuizCount() + " quiz(zes) and " + questions
+                            + " question(s) to " + file);
+                    return 0;
+                } catch (IOException e) {
+                    System.err.println("Error building quiz pack " + file + ": " + e.getMessage());
+                    return 1;
+                }
+            }
+            default:
+                printUsage();
+                return 2;
+        }
+    }
+
+    private static void printUsage() {
+        System.err.println("Usage: DatabaseMaintenance <command> [arguments]");
+        System.err.println("  check-user-stats     compare user_stats with the raw quiz_results");
+        System.err.println("  rebuild-user-stats   recompute user_stats and user_daily_stats from quiz_results");
+        System.err.println("  rebuild-daily-stats [days]         recompute the last days (default 90) of user_daily_stats");
+        System.err.println("  rebuild-search-indexes             rebuild the full-text indexes from quizzes and questions");
+        System.err.println("  check-plans          report hot queries that fall back to a table scan");
+        System.err.println("  import-questions <quizId> <file>   bulk-load a CSV or .json question bank into a quiz");
+        System.err.println("  export-questions <quizId> <file>   write a quiz's questions as CSV or .json");
+        System.err.println("  build-quiz-pack <file>             write every quiz and question to a binary quiz pack");
+    }
+}
@@ -1,26 +1,229 @@
 package com.quizapp;
 
+import com.quizapp.DataLayerMetrics.Operation;
+
+import java.nio.file.Paths;
 import java.sql.*;
-import java.security.MessageDigest;
-import java.security.SecureRandom;
 import java.util.*;
-import java.util.Base64;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Consumer;
+
+/**
+ * The SQLite storage engine. All writes go through a single writer
+ * connection and reads through a pool; questions are cached per quiz, and
+ * results, attempts and answer changes are group-committed by write-behind
+ * queues.
+ */
+public class DatabaseManager implements QuizStore {
+    // Hot queries, shared with QueryPlanChecker so the plan check always sees the real SQL
+    static final String SELECT_USER_BY_NAME =
+            "SELECT id, username, email, password_hash, salt, is_admin FROM users WHERE username = ?";
+    static final String SELECT_QUESTIONS_FOR_QUIZ = "SELECT * FROM questions WHERE quiz_id = ?";
+    static final String SELECT_QUESTION_IDS = "SELECT id FROM questions WHERE quiz_id = ? ORDER BY id";
+    // Bound parameters per IN list, well under SQLite's limit
+    private static final int MAX_IN_LIST = 500;
+    static final String SELECT_OPEN_ATTEMPT = """
+            SELECT id, seed, question_ids, option_orders FROM quiz_attempts
+            WHERE user_id = ? AND quiz_id = ? AND submitted_at IS NULL
+            ORDER BY id DESC LIMIT 1
+        """;
+    static final String SELECT_ATTEMPT_ANSWERS =
+            "SELECT seq, question_id, chosen_option, answered_at FROM attempt_answers WHERE attempt_id = ? ORDER BY seq";
+    static final String SELECT_SUBMITTED_ATTEMPTS = """
+            SELECT id, user_id, seed, question_ids, option_orders, answers FROM quiz_attempts
+            WHERE quiz_id = ? AND answers IS NOT NULL ORDER BY id
+        """;
+    static final String SELECT_USER_RESULTS = "SELECT * FROM quiz_results WHERE user_id = ? ORDER BY date_taken DESC";
+    // Keyset pages of the same history: (date_taken, id) of the last row seen is the cursor
+    static final String SELECT_USER_RESULTS_FIRST_PAGE =
+            "SELECT * FROM quiz_results WHERE user_id = ? ORDER BY date_taken DESC, id DESC LIMIT ?";
+    static final String SELECT_USER_RESULTS_PAGE =
+            "SELECT * FROM quiz_results WHERE user_id = ? AND (date_taken, id) < (?, ?) ORDER BY date_taken DESC, id DESC LIMIT ?";
+    static final String SELECT_LEADERBOARD = """
+            SELECT
+                s.user_id,
+                u.username,
+                s.percentage_sum,
+                s.percentage_sum / s.attempts as average_score,
+                s.attempts as total_attempts,
+                s.score_sum as total_score
+            FROM user_stats s
+            JOIN users u ON s.user_id = u.id
+            WHERE s.attempts > 0
+            ORDER BY average_score DESC
+        """;
+    // Recomputes user_stats from the raw results; used by the migration that
+    // introduced the table and by rebuildUserStats()
+    static final String REBUILD_USER_STATS = """
+            INSERT INTO user_stats(user_id, attempts, score_sum, percentage_sum)
+            SELECT user_id, COUNT(*), SUM(score), SUM(percentage)
+            FROM quiz_results
+            GROUP BY user_id
+        """;
+
+    // Per-user per-day aggregates; day is the local calendar day of date_taken as an epoch day
+    private static final String DAILY_STATS_COLUMNS = """
+            SELECT CAST(julianday(substr(date_taken, 1, 10)) - 2440587.5 AS INTEGER) AS day, user_id,
+                   COUNT(*) AS attempts, SUM(score) AS score_sum, SUM(percentage) AS percentage_sum
+            FROM quiz_results
+        """;
+    static final String REBUILD_DAILY_STATS =
+            "INSERT INTO user_daily_stats(day, user_id, attempts, score_sum, percentage_sum) "
+                    + DAILY_STATS_COLUMNS + " GROUP BY day, user_id";
+    // The last few days only, found through the taken_at index
+    static final String SELECT_DAILY_STATS_SINCE = DAILY_STATS_COLUMNS + " WHERE taken_at >= ? GROUP BY day, user_id";
+    static final String SELECT_RECENT_DAILY_STATS =
+            "SELECT day, user_id, attempts, score_sum, percentage_sum FROM user_daily_stats WHERE day >= ?";
+
+    // Ranked full-text search; a title match weighs ten times a description match
+    static final String SEARCH_QUIZZES = """
+            SELECT q.id, q.title, q.description, q.created_by, q.draw_count, q.shuffle_options
+            FROM quizzes_fts JOIN quizzes q ON q.id = quizzes_fts.rowid
+            WHERE quizzes_fts MATCH ?
+            ORDER BY bm25(quizzes_fts, 10.0, 1.0), q.id LIMIT ?
+        """;
+    // Quizzes ranked by their best matching question. bm25 only works in the full-text
+    // query itself, so the matches are materialized before they are grouped.
+    static final String SEARCH_QUIZZES_BY_QUESTION = """
+            WITH hits AS MATERIALIZED (
+                SELECT qs.quiz_id, bm25(questions_fts, 4.0, 1.0, 1.0, 1.0, 1.0) AS score
+                FROM questions_fts JOIN questions qs ON qs.id = questions_fts.rowid
+                WHERE questions_fts MATCH ?
+            )
+            SELECT q.id, q.title, q.description, q.created_by, q.draw_count, q.shuffle_options, MIN(h.score) AS best
+            FROM hits h JOIN quizzes q ON q.id = h.quiz_id
+            GROUP BY q.id ORDER BY best, q.id LIMIT ?
+        """;
+    static final String REBUILD_QUIZ_SEARCH = "INSERT INTO quizzes_fts(quizzes_fts) VALUES ('rebuild')";
+    static final String REBUILD_QUESTION_SEARCH = "INSERT INTO questions_fts(questions_fts) VALUES ('rebuild')";
 
-public class DatabaseManager {
-    private static final String DB_URL = "jdbc:sqlite:quiz_app.db";
+    private final ConnectionPool readPool;
+    private final ConnectionPool writer;
+    private final LeaderboardRankings rankings = new LeaderboardRankings();
+    private final QuestionCache questionCache;
+    private final QuestionSampler questionSampler = new QuestionSampler(this::loadQuestionIds);
+    private final WriteBehind<QuizResult> resultWriter;
+    private final WriteBehind<QuestionDraw> attemptWriter;
+    private final WriteBehind<AnswerEvent> answerWriter;
+    private final DataLayerMetrics metrics;
+    private final PasswordHashing passwordHashing;
 
     public DatabaseManager() {
+        this(StorageConfig.load());
+    }
+
+    public DatabaseManager(String dbUrl) {
+        this(withUrl(StorageConfig.load(), dbUrl));
+    }
+
+    public DatabaseManager(StorageConfig config) {
+        // All writes are serialized through a single connection; with WAL
+        // journaling the reader pool keeps serving queries while it commits.
+        this.writer = new ConnectionPool(config.getUrl(), 1, conn -> config.apply(conn, true));
+        this.readPool = new ConnectionPool(config.getUrl(), config.getReadPoolSize(), conn -> config.apply(conn, false));
+        this.questionCache = new QuestionCache(config.getQuestionCacheMaxWeight());
+        this.metrics = new DataLayerMetrics(config.isMetricsEnabled());
+        this.passwordHashing = new PasswordHashing(config.getPasswordAlgorithm(), config.getPasswordIterations(),
+                config.getPasswordHashThreads(), config.getPasswordHashQueueCapacity());
+        readPool.setWaitHistogram(metrics.readerWaitHistogram());
+        writer.setWaitHistogram(metrics.writerWaitHistogram());
+        metrics.registerMBean();
+        if (config.getMetricsDumpFile() != null) {
+            metrics.startDumping(Paths.get(config.getMetricsDumpFile()), config.getMetricsDumpIntervalSeconds());
+        }
         initializeDatabase();
+        this.resultWriter = new WriteBehind<>("result", this::saveQuizResults, config.getResultBatchMaxRows(),
+                config.getResultBatchMaxDelayMillis(), config.getResultQueueCapacity(),
+                config.getResultEnqueueTimeoutMillis());
+        // A user is waiting on every attempt row, so batches never linger: each commits as soon
+        // as the writer is free, and attempts that start during a commit share the next one
+        this.attemptWriter = new WriteBehind<>("attempt", this::saveAttempts, config.getResultBatchMaxRows(),
+                0, config.getResultQueueCapacity(), config.getResultEnqueueTimeoutMillis());
+        // Nobody waits on the answer log, so its batches may linger like results do
+        this.answerWriter = new WriteBehind<>("answer", this::saveAnswerEvents, config.getResultBatchMaxRows(),
+                config.getResultBatchMaxDelayMillis(), config.getResultQueueCapacity(),
+                config.getResultEnqueueTimeoutMillis());
+    }
+
+    private static StorageConfig withUrl(StorageConfig config, String dbUrl) {
+        config.setUrl(dbUrl);
+        return config;
+    }
+
+    public ConnectionPool getReadPool() {
+        return readPool;
+    }
+
+    public ConnectionPool getWriter() {
+        return writer;
+    }
+
+    public QuestionCache getQuestionCache() {
+        return questionCache;
+    }
+
+    public QuestionSampler getQuestionSampler() {
+        return questionSampler;
+    }
+
+    public WriteBehind<QuizResult> getResultWriter() {
+        return resultWriter;
+    }
+
+    public WriteBehind<QuestionDraw> getAttemptWriter() {
+        return attemptWriter;
+    }
+
+    public WriteBehind<AnswerEvent> getAnswerWriter() {
+        return answerWriter;
+    }
+
+    public DataLayerMetrics getMetrics() {
+        return metrics;
+    }
+
+    public PasswordHashing getPasswordHashing() {
+        return passwordHashing;
+    }
+
+    /** Installs a check that runs before any connection is handed out on the calling thread. */
+    public void setBlockingCallGuard(Runnable guard) {
+        readPool.setAcquireGuard(guard);
+        writer.setAcquireGuard(guard);
+    }
+
+    @Override
+    public void close() {
+        // Queued results still need the writer connection
+        resultWriter.close();
+        attemptWriter.close();
+        answerWriter.close();
+        writer.close();
+        readPool.close();
+        passwordHashing.close();
+        metrics.close();
     }
 
     private void initializeDatabase() {
-        try (Connection conn = DriverManager.getConnection(DB_URL)) {
-            if (conn != null) {
-                createTables(conn);
-                createDefaultAdmin(conn);
+        // The writer must open first so WAL is enabled before any reader connects
+        try (Connection conn = writer.getConnection()) {
+            createTables(conn);
+            SchemaMigrations.create().migrate(conn);
+            if (Boolean.getBoolean("quizapp.db.verifyPlans")) {
+                QueryPlanChecker.verify(conn);
             }
         } catch (SQLException e) {
             System.err.println("Database initialization error: " + e.getMessage());
+            return;
+        }
+        createDefaultAdmin();
+        try (Connection conn = readPool.getConnection()) {
+            rankings.load(conn);
+        } catch (SQLException e) {
+            System.err.println("Error loading leaderboard rankings: " + e.getMessage());
         }
     }
 
@@ -85,65 +288,97 @@ public class DatabaseManager {
         stmt.close();
     }
 
-    private void createDefaultAdmin(Connection conn) {
+    private void createDefaultAdmin() {
         // Check if admin exists
         String checkAdmin = "SELECT COUNT(*) FROM users WHERE username = 'admin'";
-        try (Statement stmt = conn.createStatement();
+        boolean adminExists;
+        try (Connection conn = readPool.getConnection();
+             Statement stmt = conn.createStatement();
              ResultSet rs = stmt.executeQuery(checkAdmin)) {
-            if (rs.next() && rs.getInt(1) == 0) {
-                // Admin does not exist, create it
-                registerUser("admin", "admin@quizapp.com", "admin123", true);
-                System.out.println("Default admin user 'admin' with password 'admin123' created.");
-            }
+            adminExists = rs.next() && rs.getInt(1) > 0;
         } catch (SQLException e) {
             System.err.println("Error creating default admin: " + e.getMessage());
+            return;
+        }
+        // The check's cursor is closed before registering, so the writer
+        // is never blocked behind our own read
+        if (!adminExists && registerUser("admin", "admin@quizapp.com", "admin123", true)) {
+            System.out.println("Default admin user 'admin' with password 'admin123' created.");
         }
     }
 
     // --- Authentication Methods ---
 
+    @Override
     public boolean registerUser(String username, String email, String password, boolean isAdmin) {
         String checkUser = "SELECT COUNT(*) FROM users WHERE username = ?";
         String insertUser = "INSERT INTO users (username, email, password_hash, salt, is_admin) VALUES (?, ?, ?, ?, ?)";
 
-        try (Connection conn = DriverManager.getConnection(DB_URL)) {
-            try (PreparedStatement checkStmt = conn.prepareStatement(checkUser)) {
-                checkStmt.setString(1, username);
-                ResultSet rs = checkStmt.executeQuery();
-                if (rs.next() && rs.getInt(1) > 0) {
-                    return false; // Username already exists
+        long start = metrics.start();
+        try {
+            // Hash before taking the writer so other writes are not held up behind it
+            PasswordHashing.Encoded hashed = passwordHashing.submit(() -> passwordHashing.hash(password)).join();
+            try (Connection conn = writer.getConnection()) {
+                try (PreparedStatement checkStmt = conn.prepareStatement(checkUser)) {
+                    checkStmt.setString(1, username);
+                    ResultSet rs = checkStmt.executeQuery();
+                    if (rs.next() && rs.getInt(1) > 0) {
+                        return false; // Username already exists
+                    }
                 }
-            }
-
-            String salt = generateSalt();
-            String hashedPassword = hashPassword(password, salt);
 
-            try (PreparedStatement insertStmt = conn.prepareStatement(insertUser)) {
-                insertStmt.setString(1, username);
-                insertStmt.setString(2, email);
-                insertStmt.setString(3, hashedPassword);
-                insertStmt.setString(4, salt);
-                insertStmt.setBoolean(5, isAdmin);
-                return insertStmt.executeUpdate() > 0;
+                try (PreparedStatement insertStmt = conn.prepareStatement(insertUser, Statement.RETURN_GENERATED_KEYS)) {
+                    insertStmt.setString(1, username);
+                    insertStmt.setString(2, email);
+                    insertStmt.setString(3, hashed.getHash());
+                    insertStmt.setString(4, hashed.getSalt());
+                    insertStmt.setBoolean(5, isAdmin);
+                    if (insertStmt.executeUpdate() == 0) {
+                        return false;
+                    }
+                    try (ResultSet keys = insertStmt.getGeneratedKeys()) {
+                        if (keys.next()) {
+                            rankings.registerUser(keys.getInt(1), username);
+                        }
+                    }
+                    return true;
+                }
+            }
+        } catch (SQLException | CompletionException e) {
+            metrics.error(Operation.REGISTER_USER);
+            if (e.getCause() instanceof RejectedExecutionException rejected) {
+                // Too busy to hash, which is not the same as a taken username
+                throw rejected;
             }
-        } catch (SQLException e) {
             System.err.println("User registration error: " + e.getMessage());
             return false;
+        } finally {
+            metrics.stop(Operation.REGISTER_USER, start);
         }
     }
 
+    /**
+     * Checks the password on the hashing pool, after the reader connection has
+     * been returned. A legacy or weaker-than-configured hash is replaced with a
+     * fresh one once the password is known to be right. Throws
+     * RejectedExecutionException when the hashing pool is saturated, so callers
+     * can ask the user to try again rather than report invalid credentials.
+     */
+    @Override
     public User authenticateUser(String username, String password) {
-        String query = "SELECT id, username, email, password_hash, salt, is_admin FROM users WHERE username = ?";
-        try (Connection conn = DriverManager.getConnection(DB_URL);
-             PreparedStatement stmt = conn.prepareStatement(query)) {
-            stmt.setString(1, username);
-            ResultSet rs = stmt.executeQuery();
-            if (rs.next()) {
-                String storedHash = rs.getString("password_hash");
-                String salt = rs.getString("salt");
-                String inputHash = hashPassword(password, salt);
-                if (storedHash.equals(inputHash)) {
-                    return new User(
+        User user = null;
+        String storedHash = null;
+        String salt = null;
+        long start = metrics.start();
+        try {
+            try (Connection conn = readPool.getConnection();
+                 PreparedStatement stmt = conn.prepareStatement(SELECT_USER_BY_NAME)) {
+                stmt.setString(1, username);
+                ResultSet rs = stmt.executeQuery();
+                if (rs.next()) {
+                    storedHash = rs.getString("password_hash");
+                    salt = rs.getString("salt");
+                    user = new User(
                             rs.getInt("id"),
                             rs.getString("username"),
                             rs.getString("email"),
@@ -151,118 +386,785 @@ public class DatabaseManager {
                     );
                 }
             }
-        } catch (SQLException e) {
+            // An unknown username costs the same hashing as a wrong password
+            String hash = user == null ? passwordHashing.getAbsentUserHash() : storedHash;
+            String userSalt = salt;
+            PasswordHashing.Verification verification =
+                    passwordHashing.submit(() -> passwordHashing.verify(password, hash, userSalt)).join();
+            if (user == null || !verification.matches()) {
+                return null;
+            }
+            if (verification.getUpgrade() != null) {
+                upgradePasswordHash(user.getId(), storedHash, verification.getUpgrade());
+            }
+            return user;
+        } catch (SQLException | CompletionException e) {
+            metrics.error(Operation.AUTHENTICATE_USER);
+            if (e.getCause() instanceof RejectedExecutionException rejected) {
+                // Too busy to check, which is not the same as wrong credentials
+                throw rejected;
+            }
             System.err.println("Authentication error: " + e.getMessage());
+            return null;
+        } finally {
+            metrics.stop(Operation.AUTHENTICATE_USER, start);
         }
-        return null;
     }
 
-    private String generateSalt() {
-        SecureRandom random = new SecureRandom();
-        byte[] salt = new byte[16];
-        random.nextBytes(salt);
-        return Base64.getEncoder().encodeToString(salt);
+    // Only replaces the hash that was verified, so a concurrent password change wins
+    private void upgradePasswordHash(int userId, String oldHash, PasswordHashing.Encoded upgrade) {
+        String sql = "UPDATE users SET password_hash = ?, salt = ? WHERE id = ? AND password_hash = ?";
+        long start = metrics.start();
+        try (Connection conn = writer.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(sql)) {
+            stmt.setString(1, upgrade.getHash());
+            stmt.setString(2, upgrade.getSalt());
+            stmt.setInt(3, userId);
+            stmt.setString(4, oldHash);
+            stmt.executeUpdate();
+        } catch (SQLException e) {
+            metrics.error(Operation.UPGRADE_PASSWORD_HASH);
+            System.err.println("Error upgrading password hash: " + e.getMessage());
+        } finally {
+            metrics.stop(Operation.UPGRADE_PASSWORD_HASH, start);
+        }
     }
 
-    private String hashPassword(String password, String salt) {
-        try {
-            MessageDigest md = MessageDigest.getInstance("SHA-256");
-            md.update(Base64.getDecoder().decode(salt));
-            byte[] hashedPassword = md.digest(password.getBytes("UTF-8"));
-            return Base64.getEncoder().encodeToString(hashedPassword);
-        } catch (Exception e) {
-            throw new RuntimeException("Error hashing password", e);
+    // --- Session Methods ---
+
+    public boolean saveSession(SessionStore.Session session) {
+        String sql = "INSERT INTO sessions(token_hash, user_id, created_at, expires_at, last_access) VALUES(?, ?, ?, ?, ?)";
+        long start = metrics.start();
+        try (Connection conn = writer.getConnection();
+             PreparedStatement pstmt = conn.prepareStatement(sql)) {
+            pstmt.setString(1, session.getTokenHash());
+            pstmt.setInt(2, session.getUser().getId());
+            pstmt.setLong(3, session.getCreatedMillis());
+            pstmt.setLong(4, session.getExpiresMillis());
+            pstmt.setLong(5, session.getLastAccessMillis());
+            return pstmt.executeUpdate() > 0;
+        } catch (SQLException e) {
+            metrics.error(Operation.SAVE_SESSION);
+            System.err.println("Error saving session: " + e.getMessage());
+            return false;
+        } finally {
+            metrics.stop(Operation.SAVE_SESSION, start);
+        }
+    }
+
+    /** Sessions still within their lifetime and used at or after activeSince, with their users. */
+    public List<SessionStore.Session> loadSessions(long activeSince) {
+        List<SessionStore.Session> sessions = new ArrayList<>();
+        String sql = """
+            SELECT s.token_hash, s.created_at, s.expires_at, s.last_access,
+                   u.id, u.username, u.email, u.is_admin
+            FROM sessions s
+            JOIN users u ON s.user_id = u.id
+            WHERE s.expires_at > ? AND s.last_access >= ?
+        """;
+        long start = metrics.start();
+        try (Connection conn = readPool.getConnection();
+             PreparedStatement pstmt = conn.prepareStatement(sql)) {
+            pstmt.setLong(1, System.currentTimeMillis());
+            pstmt.setLong(2, activeSince);
+            ResultSet rs = pstmt.executeQuery();
+            while (rs.next()) {
+                User user = new User(rs.getInt("id"), rs.getString("username"), rs.getString("email"),
+                        rs.getBoolean("is_admin"));
+                sessions.add(new SessionStore.Session(rs.getString("token_hash"), user, rs.getLong("created_at"),
+                        rs.getLong("expires_at"), rs.getLong("last_access")));
+            }
+            metrics.rows(Operation.LOAD_SESSIONS, sessions.size());
+        } catch (SQLException e) {
+            metrics.error(Operation.LOAD_SESSIONS);
+            System.err.println("Error loading sessions: " + e.getMessage());
+        } finally {
+            metrics.stop(Operation.LOAD_SESSIONS, start);
+        }
+        return sessions;
+    }
+
+    public boolean updateSessionAccess(Map<String, Long> lastAccess) {
+        String sql = "UPDATE sessions SET last_access = ? WHERE token_hash = ?";
+        long start = metrics.start();
+        try (Connection conn = writer.getConnection()) {
+            conn.setAutoCommit(false);
+            try (PreparedStatement pstmt = conn.prepareStatement(sql)) {
+                for (Map.Entry<String, Long> e : lastAccess.entrySet()) {
+                    pstmt.setLong(1, e.getValue());
+                    pstmt.setString(2, e.getKey());
+                    pstmt.addBatch();
+                }
+                pstmt.executeBatch();
+                conn.commit();
+            } catch (SQLException e) {
+                conn.rollback();
+                throw e;
+            } finally {
+                conn.setAutoCommit(true);
+            }
+            return true;
+        } catch (SQLException e) {
+            metrics.error(Operation.UPDATE_SESSIONS);
+            System.err.println("Error updating sessions: " + e.getMessage());
+            return false;
+        } finally {
+            metrics.stop(Operation.UPDATE_SESSIONS, start);
+        }
+    }
+
+    /** Deletes the given sessions along with any past their lifetime or unused since before idleSince. */
+    public boolean deleteSessions(Collection<String> tokenHashes, long idleSince) {
+        String sql = "DELETE FROM sessions WHERE token_hash = ?";
+        long start = metrics.start();
+        try (Connection conn = writer.getConnection()) {
+            conn.setAutoCommit(false);
+            try (PreparedStatement pstmt = conn.prepareStatement(sql);
+                 PreparedStatement expired = conn.prepareStatement(
+                         "DELETE FROM sessions WHERE expires_at <= ? OR last_access < ?")) {
+                for (String tokenHash : tokenHashes) {
+                    pstmt.setString(1, tokenHash);
+                    pstmt.addBatch();
+                }
+                pstmt.executeBatch();
+                expired.setLong(1, System.currentTimeMillis());
+                expired.setLong(2, idleSince);
+                expired.executeUpdate();
+                conn.commit();
+            } catch (SQLException e) {
+                conn.rollback();
+                throw e;
+            } finally {
+                conn.setAutoCommit(true);
+            }
+            return true;
+        } catch (SQLException e) {
+            metrics.error(Operation.DELETE_SESSIONS);
+            System.err.println("Error deleting sessions: " + e.getMessage());
+            return false;
+        } finally {
+            metrics.stop(Operation.DELETE_SESSIONS, start);
         }
     }
 
     // --- Quiz CRUD Methods ---
 
+    @Override
     public List<Quiz> getAllQuizzes() {
         List<Quiz> quizzes = new ArrayList<>();
-        String sql = "SELECT id, title, description, created_by FROM quizzes";
-        try (Connection conn = DriverManager.getConnection(DB_URL);
+        String sql = "SELECT id, title, description, created_by, draw_count, shuffle_options FROM quizzes";
+        long start = metrics.start();
+        try (Connection conn = readPool.getConnection();
              Statement stmt = conn.createStatement();
              ResultSet rs = stmt.executeQuery(sql)) {
             while (rs.next()) {
-                quizzes.add(new Quiz(
-                        rs.getInt("id"),
-                        rs.getString("title"),
-                        rs.getString("description"),
-                        rs.getInt("created_by")
-                ));
+                quizzes.add(readQuiz(rs));
             }
         } catch (SQLException e) {
+            metrics.error(Operation.GET_ALL_QUIZZES);
             System.err.println("Error getting all quizzes: " + e.getMessage());
+        } finally {
+            metrics.rows(Operation.GET_ALL_QUIZZES, quizzes.size());
+            metrics.stop(Operation.GET_ALL_QUIZZES, start);
         }
         return quizzes;
     }
 
+    @Override
+    public Quiz getQuiz(int quizId) {
+        String sql = "SELECT id, title, description, created_by, draw_count, shuffle_options FROM quizzes WHERE id = ?";
+        long start = metrics.start();
+        try (Connection conn = readPool.getConnection();
+             PreparedStatement pstmt = conn.prepareStatement(sql)) {
+            pstmt.setInt(1, quizId);
+            try (ResultSet rs = pstmt.executeQuery()) {
+                if (rs.next()) {
+                    return readQuiz(rs);
+                }
+            }
+        } catch (SQLException e) {
+            metrics.error(Operation.GET_QUIZ);
+            System.err.println("Error getting quiz: " + e.getMessage());
+        } finally {
+            metrics.stop(Operation.GET_QUIZ, start);
+        }
+        return null;
+    }
+
+    @Override
+    public List<Quiz> searchQuizzes(String text, int limit) {
+        List<Quiz> quizzes = new ArrayList<>();
+        String match = SearchQuery.toFts5(SearchQuery.terms(text));
+        if (match == null || limit <= 0) {
+            return quizzes;
+        }
+        long start = metrics.start();
+        try (Connection conn = readPool.getConnection()) {
+            Set<Integer> found = new HashSet<>();
+            try (PreparedStatement pstmt = conn.prepareStatement(SEARCH_QUIZZES)) {
+                pstmt.setString(1, match);
+                pstmt.setInt(2, limit);
+                try (ResultSet rs = pstmt.executeQuery()) {
+                    while (rs.next()) {
+                        Quiz quiz = readQuiz(rs);
+                        found.add(quiz.getId());
+                        quizzes.add(quiz);
+                    }
+                }
+            }
+            if (quizzes.size() < limit) {
+                // limit groups always leave enough once the quizzes already found are skipped
+                try (PreparedStatement pstmt = conn.prepareStatement(SEARCH_QUIZZES_BY_QUESTION)) {
+                    pstmt.setString(1, match);
+                    pstmt.setInt(2, limit);
+                    try (ResultSet rs = pstmt.executeQuery()) {
+                        while (rs.next() && quizzes.size() < limit) {
+                            if (found.add(rs.getInt("id"))) {
+                                quizzes.add(readQuiz(rs));
+                            }
+                        }
+                    }
+                }
+            }
+        } catch (SQLException e) {
+            metrics.error(Operation.SEARCH_QUIZZES);
+            System.err.println("Error searching quizzes: " + e.getMessage());
+        } finally {
+            metrics.rows(Operation.SEARCH_QUIZZES, quizzes.size());
+            metrics.stop(Operation.SEARCH_QUIZZES, start);
+        }
+        return quizzes;
+    }
+
+    /**
+     * Rebuilds both full-text indexes from the quizzes and questions tables
+     * and merges their segments, e.g. after rows were changed with the
+     * triggers dropped.
+     */
+    public boolean rebuildSearchIndexes() {
+        long start = metrics.start();
+        try (Connection conn = writer.getConnection();
+             Statement stmt = conn.createStatement()) {
+            stmt.execute(REBUILD_QUIZ_SEARCH);
+            stmt.execute(REBUILD_QUESTION_SEARCH);
+            stmt.execute("INSERT INTO quizzes_fts(quizzes_fts) VALUES ('optimize')");
+            stmt.execute("INSERT INTO questions_fts(questions_fts) VALUES ('optimize')");
+            return true;
+        } catch (SQLException e) {
+            metrics.error(Operation.REBUILD_SEARCH);
+            System.err.println("Error rebuilding search indexes: " + e.getMessage());
+            return false;
+        } finally {
+            metrics.stop(Operation.REBUILD_SEARCH, start);
+        }
+    }
+
+    private static Quiz readQuiz(ResultSet rs) throws SQLException {
+        Quiz quiz = new Quiz(rs.getInt("id"), rs.getString("title"),
+                rs.getString("description"), rs.getInt("created_by"));
+        quiz.setDrawCount(rs.getInt("draw_count"));
+        quiz.setShuffleOptions(rs.getBoolean("shuffle_options"));
+        return quiz;
+    }
+
+    @Override
     public boolean addQuiz(Quiz quiz) {
-        String sql = "INSERT INTO quizzes(title, description, created_by) VALUES(?,?,?)";
-        try (Connection conn = DriverManager.getConnection(DB_URL);
+        String sql = "INSERT INTO quizzes(title, description, created_by, draw_count, shuffle_options) VALUES(?,?,?,?,?)";
+        long start = metrics.start();
+        try (Connection conn = writer.getConnection();
              PreparedStatement pstmt = conn.prepareStatement(sql)) {
             pstmt.setString(1, quiz.getTitle());
             pstmt.setString(2, quiz.getDescription());
             pstmt.setInt(3, quiz.getCreatedBy());
+            pstmt.setInt(4, quiz.getDrawCount());
+            pstmt.setBoolean(5, quiz.isShuffleOptions());
             return pstmt.executeUpdate() > 0;
         } catch (SQLException e) {
+            metrics.error(Operation.ADD_QUIZ);
             System.err.println("Error adding quiz: " + e.getMessage());
             return false;
+        } finally {
+            metrics.stop(Operation.ADD_QUIZ, start);
         }
     }
 
+    @Override
     public boolean updateQuiz(Quiz quiz) {
-        String sql = "UPDATE quizzes SET title = ?, description = ? WHERE id = ?";
-        try (Connection conn = DriverManager.getConnection(DB_URL);
+        String sql = "UPDATE quizzes SET title = ?, description = ?, draw_count = ?, shuffle_options = ? WHERE id = ?";
+        long start = metrics.start();
+        try (Connection conn = writer.getConnection();
              PreparedStatement pstmt = conn.prepareStatement(sql)) {
             pstmt.setString(1, quiz.getTitle());
             pstmt.setString(2, quiz.getDescription());
-            pstmt.setInt(3, quiz.getId());
+            pstmt.setInt(3, quiz.getDrawCount());
+            pstmt.setBoolean(4, quiz.isShuffleOptions());
+            pstmt.setInt(5, quiz.getId());
             return pstmt.executeUpdate() > 0;
         } catch (SQLException e) {
+            metrics.error(Operation.UPDATE_QUIZ);
             System.err.println("Error updating quiz: " + e.getMessage());
             return false;
+        } finally {
+            metrics.stop(Operation.UPDATE_QUIZ, start);
         }
     }
 
+    @Override
     public boolean deleteQuiz(int quizId) {
-        String sql = "DELETE FROM quizzes WHERE id = ?";
-        try (Connection conn = DriverManager.getConnection(DB_URL);
-             PreparedStatement pstmt = conn.prepareStatement(sql)) {
-            pstmt.setInt(1, quizId);
-            return pstmt.executeUpdate() > 0;
+        // Foreign keys are not enforced, so the cascades in the schema never fire; results are kept as history
+        String[] sqls = {
+                "DELETE FROM attempt_answers WHERE attempt_id IN (SELECT id FROM quiz_attempts WHERE quiz_id = ?)",
+                "DELETE FROM quiz_attempts WHERE quiz_id = ?",
+                "DELETE FROM questions WHERE quiz_id = ?",
+                "DELETE FROM quizzes WHERE id = ?"
+        };
+        long start = metrics.start();
+        try (Connection conn = writer.getConnection()) {
+            conn.setAutoCommit(false);
+            try {
+                int deleted = 0;
+                for (String sql : sqls) {
+                    try (PreparedStatement pstmt = conn.prepareStatement(sql)) {
+                        pstmt.setInt(1, quizId);
+                        deleted = pstmt.executeUpdate();
+                    }
+                }
+                conn.commit();
+                return deleted > 0;
+            } catch (SQLException e) {
+                conn.rollback();
+                throw e;
+            } finally {
+                conn.setAutoCommit(true);
+            }
         } catch (SQLException e) {
+            metrics.error(Operation.DELETE_QUIZ);
             System.err.println("Error deleting quiz: " + e.getMessage());
             return false;
+        } finally {
+            metrics.stop(Operation.DELETE_QUIZ, start);
+            invalidateQuestions(quizId);
         }
     }
 
     // --- Question CRUD Methods ---
 
+    /** Returns an unmodifiable, possibly shared list; callers must not mutate the questions. */
+    @Override
     public List<Question> getQuestionsForQuiz(int quizId) {
+        long start = metrics.start();
+        try {
+            List<Question> questions = questionCache.get(quizId, this::loadQuestionsForQuiz);
+            metrics.rows(Operation.GET_QUESTIONS, questions.size());
+            return questions;
+        } catch (SQLException e) {
+            metrics.error(Operation.GET_QUESTIONS);
+            System.err.println("Error fetching questions: " + e.getMessage());
+            return new ArrayList<>();
+        } finally {
+            metrics.stop(Operation.GET_QUESTIONS, start);
+        }
+    }
+
+    private List<Question> loadQuestionsForQuiz(int quizId) throws SQLException {
         List<Question> questions = new ArrayList<>();
-        String sql = "SELECT * FROM questions WHERE quiz_id = ?";
-        try (Connection conn = DriverManager.getConnection(DB_URL);
-             PreparedStatement pstmt = conn.prepareStatement(sql)) {
+        long start = metrics.start();
+        try (Connection conn = readPool.getConnection();
+             PreparedStatement pstmt = conn.prepareStatement(SELECT_QUESTIONS_FOR_QUIZ)) {
             pstmt.setInt(1, quizId);
             ResultSet rs = pstmt.executeQuery();
             while (rs.next()) {
-                questions.add(new Question(
-                        rs.getInt("id"), rs.getInt("quiz_id"), rs.getString("question_text"),
-                        rs.getString("option_a"), rs.getString("option_b"),
-                        rs.getString("option_c"), rs.getString("option_d"),
-                        rs.getString("correct_answer")
-                ));
+                questions.add(readQuestion(rs));
             }
+            metrics.rows(Operation.LOAD_QUESTIONS, questions.size());
+        } finally {
+            metrics.stop(Operation.LOAD_QUESTIONS, start);
+        }
+        return questions;
+    }
+
+    // Edits drop both the cached question list and the cached id pool
+    private void invalidateQuestions(int quizId) {
+        questionCache.invalidate(quizId);
+        questionSampler.invalidate(quizId);
+    }
+
+    private int[] loadQuestionIds(int quizId) throws SQLException {
+        long start = metrics.start();
+        try (Connection conn = readPool.getConnection();
+             PreparedStatement pstmt = conn.prepareStatement(SELECT_QUESTION_IDS)) {
+            pstmt.setInt(1, quizId);
+            int[] ids = new int[16];
+            int count = 0;
+            try (ResultSet rs = pstmt.executeQuery()) {
+                while (rs.next()) {
+                    if (count == ids.length) {
+                        ids = Arrays.copyOf(ids, count * 2);
+                    }
+                    ids[count++] = rs.getInt(1);
+                }
+            }
+            metrics.rows(Operation.LOAD_QUESTION_IDS, count);
+            return Arrays.copyOf(ids, count);
         } catch (SQLException e) {
-            System.err.println("Error fetching questions: " + e.getMessage());
+            metrics.error(Operation.LOAD_QUESTION_IDS);
+            throw e;
+        } finally {
+            metrics.stop(Operation.LOAD_QUESTION_IDS, start);
+        }
+    }
+
+    // Fetches just the drawn rows, in any order
+    private List<Question> loadQuestionsById(int quizId, int[] ids) throws SQLException {
+        List<Question> questions = new ArrayList<>(ids.length);
+        try (Connection conn = readPool.getConnection()) {
+            for (int from = 0; from < ids.length; from += MAX_IN_LIST) {
+                int to = Math.min(ids.length, from + MAX_IN_LIST);
+                String sql = "SELECT * FROM questions WHERE quiz_id = ? AND id IN ("
+                        + "?,".repeat(to - from - 1) + "?)";
+                try (PreparedStatement pstmt = conn.prepareStatement(sql)) {
+                    pstmt.setInt(1, quizId);
+                    for (int i = from; i < to; i++) {
+                        pstmt.setInt(i - from + 2, ids[i]);
+                    }
+                    try (ResultSet rs = pstmt.executeQuery()) {
+                        while (rs.next()) {
+                            questions.add(readQuestion(rs));
+                        }
+                    }
+                }
+            }
         }
         return questions;
     }
 
+    /**
+     * Starts an attempt at a quiz and records it in quiz_attempts. A
+     * randomized quiz gets a fresh draw: a new seed, and only the drawn rows
+     * loaded; any other quiz is given its cached question list as is. The
+     * returned draw's questions are in the order and option layout shown to
+     * the user. Returns null on error.
+     */
+    @Override
+    public QuestionDraw startAttempt(int userId, Quiz quiz) {
+        long start = metrics.start();
+        try {
+            QuestionDraw draw;
+            if (quiz.isRandomized()) {
+                long seed = ThreadLocalRandom.current().nextLong();
+                draw = questionSampler.draw(quiz, seed);
+                if (draw.present(loadQuestionsById(quiz.getId(), draw.getQuestionIds())) == null) {
+                    // A question was deleted after the id pool was cached; draw again from a fresh pool
+                    questionSampler.invalidate(quiz.getId());
+                    draw = questionSampler.draw(quiz, seed);
+                    if (draw.present(loadQuestionsById(quiz.getId(), draw.getQuestionIds())) == null) {
+                        throw new SQLException("The questions of quiz " + quiz.getId() + " changed during the draw");
+                    }
+                }
+            } else {
+                draw = QuestionDraw.inOrder(quiz.getId(), questionCache.get(quiz.getId(), this::loadQuestionsForQuiz));
+            }
+            metrics.rows(Operation.START_ATTEMPT, draw.getQuestionCount());
+            // A quiz without questions cannot be taken, so there is no attempt to record
+            return draw.getQuestionCount() == 0 || saveAttempt(userId, draw) ? draw : null;
+        } catch (SQLException e) {
+            metrics.error(Operation.START_ATTEMPT);
+            System.err.println("Error starting attempt: " + e.getMessage());
+            return null;
+        } finally {
+            metrics.stop(Operation.START_ATTEMPT, start);
+        }
+    }
+
+    /**
+     * Records which questions, in which option order, an attempt was given,
+     * and sets its attempt id. Goes through the attempt write-behind queue and
+     * waits for the batch to commit; false if it could not be saved.
+     */
+    @Override
+    public boolean saveAttempt(int userId, QuestionDraw draw) {
+        draw.setUserId(userId);
+        try {
+            return attemptWriter.submit(draw).join();
+        } catch (CompletionException e) {
+            metrics.error(Operation.SAVE_ATTEMPT);
+            System.err.println("Error saving attempt: " + e.getCause().getMessage());
+            return false;
+        }
+    }
+
+    // Batch sink for the attempt writer: one transaction, and each row learns its id
+    private boolean saveAttempts(List<QuestionDraw> draws) {
+        String sql = "INSERT INTO quiz_attempts(user_id, quiz_id, seed, question_ids, option_orders) VALUES(?,?,?,?,?)";
+        long start = metrics.start();
+        try (Connection conn = writer.getConnection()) {
+            conn.setAutoCommit(false);
+            try (PreparedStatement pstmt = conn.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS)) {
+                long[] ids = new long[draws.size()];
+                for (int i = 0; i < draws.size(); i++) {
+                    QuestionDraw draw = draws.get(i);
+                    pstmt.setInt(1, draw.getUserId());
+                    pstmt.setInt(2, draw.getQuizId());
+                    pstmt.setLong(3, draw.getSeed());
+                    pstmt.setBytes(4, draw.encodeQuestionIds());
+                    pstmt.setBytes(5, draw.getOptionOrders());
+                    pstmt.executeUpdate();
+                    try (ResultSet keys = pstmt.getGeneratedKeys()) {
+                        if (!keys.next()) {
+                            throw new SQLException("No id was generated for the attempt");
+                        }
+                        ids[i] = keys.getLong(1);
+                    }
+                }
+                conn.commit();
+                // Only hand out ids once they are committed
+                for (int i = 0; i < draws.size(); i++) {
+                    draws.get(i).setAttemptId(ids[i]);
+                }
+            } catch (SQLException e) {
+                conn.rollback();
+                throw e;
+            } finally {
+                conn.setAutoCommit(true);
+            }
+            metrics.rows(Operation.SAVE_ATTEMPT, draws.size());
+            return true;
+        } catch (SQLException e) {
+            metrics.error(Operation.SAVE_ATTEMPT);
+            System.err.println("Error saving attempts: " + e.getMessage());
+            return false;
+        } finally {
+            metrics.stop(Operation.SAVE_ATTEMPT, start);
+        }
+    }
+
+    /** The recorded draw of an attempt, without its questions, or null if there is no such attempt. */
+    @Override
+    public QuestionDraw getAttemptDraw(long attemptId) {
+        String sql = "SELECT user_id, quiz_id, seed, question_ids, option_orders FROM quiz_attempts WHERE id = ?";
+        long start = metrics.start();
+        try (Connection conn = readPool.getConnection();
+             PreparedStatement pstmt = conn.prepareStatement(sql)) {
+            pstmt.setLong(1, attemptId);
+            try (ResultSet rs = pstmt.executeQuery()) {
+                if (rs.next()) {
+                    QuestionDraw draw = QuestionDraw.decode(rs.getInt("quiz_id"), rs.getLong("seed"),
+                            rs.getBytes("question_ids"), rs.getBytes("option_orders"));
+                    draw.setUserId(rs.getInt("user_id"));
+                    draw.setAttemptId(attemptId);
+                    return draw;
+                }
+            }
+        } catch (SQLException e) {
+            metrics.error(Operation.GET_ATTEMPT);
+            System.err.println("Error reading attempt: " + e.getMessage());
+        } finally {
+            metrics.stop(Operation.GET_ATTEMPT, start);
+        }
+        return null;
+    }
+
+    /**
+     * The user's latest unsubmitted attempt at the quiz, with its answers
+     * replayed from the answer log, or null if there is none or nothing was
+     * answered in it. The draw's questions are not loaded.
+     */
+    @Override
+    public QuestionDraw findOpenAttempt(int userId, int quizId) {
+        long start = metrics.start();
+        try (Connection conn = readPool.getConnection();
+             PreparedStatement pstmt = conn.prepareStatement(SELECT_OPEN_ATTEMPT);
+             PreparedStatement logStmt = conn.prepareStatement(SELECT_ATTEMPT_ANSWERS)) {
+            pstmt.setInt(1, userId);
+            pstmt.setInt(2, quizId);
+            QuestionDraw draw;
+            try (ResultSet rs = pstmt.executeQuery()) {
+                if (!rs.next()) {
+                    return null;
+                }
+                draw = QuestionDraw.decode(quizId, rs.getLong("seed"), rs.getBytes("question_ids"),
+                        rs.getBytes("option_orders"));
+                draw.setUserId(userId);
+                draw.setAttemptId(rs.getLong("id"));
+            }
+            List<AnswerEvent> log = new ArrayList<>();
+            logStmt.setLong(1, draw.getAttemptId());
+            try (ResultSet rs = logStmt.executeQuery()) {
+                while (rs.next()) {
+                    log.add(new AnswerEvent(draw.getAttemptId(), rs.getInt("seq"), rs.getInt("question_id"),
+                            rs.getInt("chosen_option"), rs.getLong("answered_at")));
+                }
+            }
+            metrics.rows(Operation.FIND_OPEN_ATTEMPT, log.size());
+            if (log.isEmpty()) {
+                return null;
+            }
+            draw.restoreAnswers(log);
+            return draw;
+        } catch (SQLException e) {
+            metrics.error(Operation.FIND_OPEN_ATTEMPT);
+            System.err.println("Error finding open attempt: " + e.getMessage());
+            return null;
+        } finally {
+            metrics.stop(Operation.FIND_OPEN_ATTEMPT, start);
+        }
+    }
+
+    /** Walks the quiz's submitted attempts in id order through the partial index of migration 7. */
+    @Override
+    public int forEachSubmittedAttempt(int quizId, Consumer<QuestionDraw> action) {
+        int count = 0;
+        long start = metrics.start();
+        try (Connection conn = readPool.getConnection();
+             PreparedStatement pstmt = conn.prepareStatement(SELECT_SUBMITTED_ATTEMPTS)) {
+            pstmt.setInt(1, quizId);
+            try (ResultSet rs = pstmt.executeQuery()) {
+                while (rs.next()) {
+                    QuestionDraw draw = QuestionDraw.decode(quizId, rs.getLong("seed"), rs.getBytes("question_ids"),
+                            rs.getBytes("option_orders"));
+                    draw.setUserId(rs.getInt("user_id"));
+                    draw.setAttemptId(rs.getLong("id"));
+                    draw.restoreAnswers(rs.getBytes("answers"));
+                    action.accept(draw);
+                    count++;
+                }
+            }
+            return count;
+        } catch (SQLException e) {
+            metrics.error(Operation.SUBMITTED_ATTEMPTS);
+            System.err.println("Error reading submitted attempts: " + e.getMessage());
+            return -1;
+        } finally {
+            metrics.rows(Operation.SUBMITTED_ATTEMPTS, count);
+            metrics.stop(Operation.SUBMITTED_ATTEMPTS, start);
+        }
+    }
+
+    /**
+     * Picks up the user's open attempt at the quiz where it was left: the
+     * questions it was given, in the same order and option layout, with the
+     * answers saved so far. Null if there is nothing to resume or a question
+     * of the attempt has since been deleted.
+     */
+    @Override
+    public QuestionDraw resumeAttempt(int userId, Quiz quiz) {
+        QuestionDraw draw = findOpenAttempt(userId, quiz.getId());
+        if (draw == null) {
+            return null;
+        }
+        try {
+            // Whole-bank attempts are served from the cache; draws load just their rows
+            List<Question> questions = quiz.isRandomized()
+                    ? loadQuestionsById(quiz.getId(), draw.getQuestionIds())
+                    : questionCache.get(quiz.getId(), this::loadQuestionsForQuiz);
+            return draw.present(questions) != null ? draw : null;
+        } catch (SQLException e) {
+            System.err.println("Error resuming attempt: " + e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * Appends an answer change to its attempt's log through the answer
+     * write-behind queue. Never blocks, so it is safe on the UI thread: if the
+     * queue is full the change is dropped and the future fails, and the final
+     * answers are still stored when the result is saved. Changes to attempts
+     * that were never recorded complete with false.
+     */
+    @Override
+    public CompletableFuture<Boolean> logAnswer(AnswerEvent event) {
+        if (event.getAttemptId() <= 0) {
+            return CompletableFuture.completedFuture(false);
+        }
+        long start = metrics.start();
+        CompletableFuture<Boolean> ack = answerWriter.offer(event);
+        if (metrics.isEnabled()) {
+            ack.whenComplete((saved, error) -> {
+                if (error != null || !saved) {
+                    metrics.error(Operation.LOG_ANSWER_QUEUED);
+                }
+                metrics.stop(Operation.LOG_ANSWER_QUEUED, start);
+            });
+        }
+        return ack;
+    }
+
+    // Batch sink for the answer writer
+    private boolean saveAnswerEvents(List<AnswerEvent> events) {
+        String sql = "INSERT INTO attempt_answers(attempt_id, seq, question_id, chosen_option, answered_at) VALUES(?,?,?,?,?)";
+        long start = metrics.start();
+        try (Connection conn = writer.getConnection()) {
+            conn.setAutoCommit(false);
+            try (PreparedStatement pstmt = conn.prepareStatement(sql)) {
+                for (AnswerEvent event : events) {
+                    pstmt.setLong(1, event.getAttemptId());
+                    pstmt.setInt(2, event.getSeq());
+                    pstmt.setInt(3, event.getQuestionId());
+                    pstmt.setInt(4, event.getOption());
+                    pstmt.setLong(5, event.getAnsweredAt());
+                    pstmt.addBatch();
+                }
+                pstmt.executeBatch();
+                conn.commit();
+            } catch (SQLException e) {
+                conn.rollback();
+                throw e;
+            } finally {
+                conn.setAutoCommit(true);
+            }
+            metrics.rows(Operation.LOG_ANSWERS, events.size());
+            return true;
+        } catch (SQLException e) {
+            metrics.error(Operation.LOG_ANSWERS);
+            System.err.println("Error saving answers: " + e.getMessage());
+            return false;
+        } finally {
+            metrics.stop(Operation.LOG_ANSWERS, start);
+        }
+    }
+
+    /**
+     * Walks a quiz's questions straight off the cursor, bypassing the cache,
+     * so exports never hold the whole quiz in memory. Exceptions thrown by
+     * the action propagate. Returns the number of questions, or -1 on error.
+     */
+    @Override
+    public int forEachQuestion(int quizId, Consumer<Question> action) {
+        int count = 0;
+        long start = metrics.start();
+        try (Connection conn = readPool.getConnection();
+             PreparedStatement pstmt = conn.prepareStatement(SELECT_QUESTIONS_FOR_QUIZ)) {
+            pstmt.setInt(1, quizId);
+            ResultSet rs = pstmt.executeQuery();
+            while (rs.next()) {
+                action.accept(readQuestion(rs));
+                count++;
+            }
+            return count;
+        } catch (SQLException e) {
+            metrics.error(Operation.EXPORT_QUESTIONS);
+            System.err.println("Error reading questions: " + e.getMessage());
+            return -1;
+        } finally {
+            metrics.rows(Operation.EXPORT_QUESTIONS, count);
+            metrics.stop(Operation.EXPORT_QUESTIONS, start);
+        }
+    }
+
+    private static Question readQuestion(ResultSet rs) throws SQLException {
+        return new Question(
+                rs.getInt("id"), rs.getInt("quiz_id"), rs.getString("question_text"),
+                rs.getString("option_a"), rs.getString("option_b"),
+                rs.getString("option_c"), rs.getString("option_d"),
+                rs.getInt("correct_option")
+        );
+    }
+
+    @Override
     public boolean addQuestion(Question q) {
-        String sql = "INSERT INTO questions(quiz_id, question_text, option_a, option_b, option_c, option_d, correct_answer) VALUES(?,?,?,?,?,?,?)";
-        try (Connection conn = DriverManager.getConnection(DB_URL);
+        String sql = "INSERT INTO questions(quiz_id, question_text, option_a, option_b, option_c, option_d, correct_option) VALUES(?,?,?,?,?,?,?)";
+        long start = metrics.start();
+        try (Connection conn = writer.getConnection();
              PreparedStatement pstmt = conn.prepareStatement(sql)) {
             pstmt.setInt(1, q.getQuizId());
             pstmt.setString(2, q.getQuestionText());
@@ -270,112 +1172,471 @@ public class DatabaseManager {
             pstmt.setString(4, q.getOptionB());
             pstmt.setString(5, q.getOptionC());
             pstmt.setString(6, q.getOptionD());
-            pstmt.setString(7, q.getCorrectAnswer());
+            pstmt.setInt(7, q.getCorrectOption());
             return pstmt.executeUpdate() > 0;
         } catch (SQLException e) {
+            metrics.error(Operation.ADD_QUESTION);
             System.err.println("Error adding question: " + e.getMessage());
             return false;
+        } finally {
+            metrics.stop(Operation.ADD_QUESTION, start);
+            invalidateQuestions(q.getQuizId());
         }
     }
 
+    /** Inserts the questions with one batched statement in a single transaction; all or nothing. */
+    @Override
+    public boolean addQuestions(List<Question> questions) {
+        if (questions.isEmpty()) {
+            return true;
+        }
+        String sql = "INSERT INTO questions(quiz_id, question_text, option_a, option_b, option_c, option_d, correct_option) VALUES(?,?,?,?,?,?,?)";
+        long start = metrics.start();
+        try (Connection conn = writer.getConnection()) {
+            conn.setAutoCommit(false);
+            try (PreparedStatement pstmt = conn.prepareStatement(sql)) {
+                for (Question q : questions) {
+                    pstmt.setInt(1, q.getQuizId());
+                    pstmt.setString(2, q.getQuestionText());
+                    pstmt.setString(3, q.getOptionA());
+                    pstmt.setString(4, q.getOptionB());
+                    pstmt.setString(5, q.getOptionC());
+                    pstmt.setString(6, q.getOptionD());
+                    pstmt.setInt(7, q.getCorrectOption());
+                    pstmt.addBatch();
+                }
+                pstmt.executeBatch();
+                conn.commit();
+            } catch (SQLException e) {
+                conn.rollback();
+                throw e;
+            } finally {
+                conn.setAutoCommit(true);
+            }
+            metrics.rows(Operation.ADD_QUESTIONS, questions.size());
+            return true;
+        } catch (SQLException e) {
+            metrics.error(Operation.ADD_QUESTIONS);
+            System.err.println("Error adding questions: " + e.getMessage());
+            return false;
+        } finally {
+            metrics.stop(Operation.ADD_QUESTIONS, start);
+            for (Question q : questions) {
+                invalidateQuestions(q.getQuizId());
+            }
+        }
+    }
+
+    @Override
     public boolean updateQuestion(Question q) {
-        String sql = "UPDATE questions SET question_text=?, option_a=?, option_b=?, option_c=?, option_d=?, correct_answer=? WHERE id = ?";
-        try (Connection conn = DriverManager.getConnection(DB_URL);
+        String sql = "UPDATE questions SET question_text=?, option_a=?, option_b=?, option_c=?, option_d=?, correct_option=? WHERE id = ?";
+        long start = metrics.start();
+        try (Connection conn = writer.getConnection();
              PreparedStatement pstmt = conn.prepareStatement(sql)) {
             pstmt.setString(1, q.getQuestionText());
             pstmt.setString(2, q.getOptionA());
             pstmt.setString(3, q.getOptionB());
             pstmt.setString(4, q.getOptionC());
             pstmt.setString(5, q.getOptionD());
-            pstmt.setString(6, q.getCorrectAnswer());
+            pstmt.setInt(6, q.getCorrectOption());
             pstmt.setInt(7, q.getId());
             return pstmt.executeUpdate() > 0;
         } catch (SQLException e) {
+            metrics.error(Operation.UPDATE_QUESTION);
             System.err.println("Error updating question: " + e.getMessage());
             return false;
+        } finally {
+            metrics.stop(Operation.UPDATE_QUESTION, start);
+            invalidateQuestions(q.getQuizId());
         }
     }
 
+    @Override
     public boolean deleteQuestion(int questionId) {
         String sql = "DELETE FROM questions WHERE id = ?";
-        try (Connection conn = DriverManager.getConnection(DB_URL);
-             PreparedStatement pstmt = conn.prepareStatement(sql)) {
-            pstmt.setInt(1, questionId);
-            return pstmt.executeUpdate() > 0;
+        long start = metrics.start();
+        try (Connection conn = writer.getConnection()) {
+            // Look up the owning quiz first so its cached question set can be dropped
+            int quizId = -1;
+            try (PreparedStatement lookup = conn.prepareStatement("SELECT quiz_id FROM questions WHERE id = ?")) {
+                lookup.setInt(1, questionId);
+                try (ResultSet rs = lookup.executeQuery()) {
+                    if (rs.next()) {
+                        quizId = rs.getInt(1);
+                    }
+                }
+            }
+            try (PreparedStatement pstmt = conn.prepareStatement(sql)) {
+                pstmt.setInt(1, questionId);
+                return pstmt.executeUpdate() > 0;
+            } finally {
+                if (quizId >= 0) {
+                    invalidateQuestions(quizId);
+                }
+            }
         } catch (SQLException e) {
+            metrics.error(Operation.DELETE_QUESTION);
             System.err.println("Error deleting question: " + e.getMessage());
             return false;
+        } finally {
+            metrics.stop(Operation.DELETE_QUESTION, start);
         }
     }
 
     // --- Result & Leaderboard Methods ---
 
+    @Override
     public boolean saveQuizResult(QuizResult result) {
-        String sql = "INSERT INTO quiz_results(user_id, quiz_id, quiz_title, score, total_questions, percentage, date_taken) VALUES(?,?,?,?,?,?,?)";
-        try (Connection conn = DriverManager.getConnection(DB_URL);
-             PreparedStatement pstmt = conn.prepareStatement(sql)) {
-            pstmt.setInt(1, result.getUserId());
-            pstmt.setInt(2, result.getQuizId());
-            pstmt.setString(3, result.getQuizTitle());
-            pstmt.setInt(4, result.getScore());
-            pstmt.setInt(5, result.getTotalQuestions());
-            pstmt.setDouble(6, result.getPercentage());
-            pstmt.setString(7, result.getDateTaken());
-            return pstmt.executeUpdate() > 0;
+        return saveQuizResults(List.of(result));
+    }
+
+    /**
+     * Queues the result for the next group commit. The future completes with
+     * true once the result is durable, or false if it could not be saved.
+     */
+    @Override
+    public CompletableFuture<Boolean> saveQuizResultAsync(QuizResult result) {
+        // Submission to acknowledgement, including any time blocked on a full queue
+        long start = metrics.start();
+        CompletableFuture<Boolean> ack = resultWriter.submit(result);
+        if (metrics.isEnabled()) {
+            ack.whenComplete((saved, error) -> {
+                if (error != null || !saved) {
+                    metrics.error(Operation.SAVE_RESULT_QUEUED);
+                }
+                metrics.stop(Operation.SAVE_RESULT_QUEUED, start);
+            });
+        }
+        return ack;
+    }
+
+    /**
+     * Saves the results and their user_stats updates in a single transaction,
+     * marking the attempts they close as submitted.
+     */
+    @Override
+    public boolean saveQuizResults(List<QuizResult> results) {
+        if (results.isEmpty()) {
+            return true;
+        }
+        String sql = "INSERT INTO quiz_results(user_id, quiz_id, quiz_title, score, total_questions, percentage, date_taken, taken_at) VALUES(?,?,?,?,?,?,?,?)";
+        String updateStats = """
+            INSERT INTO user_stats(user_id, attempts, score_sum, percentage_sum) VALUES(?, ?, ?, ?)
+            ON CONFLICT(user_id) DO UPDATE SET
+                attempts = attempts + excluded.attempts,
+                score_sum = score_sum + excluded.score_sum,
+                percentage_sum = percentage_sum + excluded.percentage_sum
+        """;
+        String updateDailyStats = """
+            INSERT INTO user_daily_stats(day, user_id, attempts, score_sum, percentage_sum) VALUES(?, ?, ?, ?, ?)
+            ON CONFLICT(day, user_id) DO UPDATE SET
+                attempts = attempts + excluded.attempts,
+                score_sum = score_sum + excluded.score_sum,
+                percentage_sum = percentage_sum + excluded.percentage_sum
+        """;
+        String closeAttempt = "UPDATE quiz_attempts SET submitted_at = CURRENT_TIMESTAMP, answers = ? WHERE id = ? AND submitted_at IS NULL";
+        WindowedLeaderboards windows = rankings.windows();
+        // One user_stats update per user and one user_daily_stats update per user and day,
+        // however many of their results are in the batch
+        Map<Integer, double[]> deltas = new LinkedHashMap<>();
+        Map<Long, double[]> dailyDeltas = new LinkedHashMap<>();
+        for (QuizResult result : results) {
+            double[] d = deltas.computeIfAbsent(result.getUserId(), id -> new double[3]);
+            d[0] += 1;
+            d[1] += result.getScore();
+            d[2] += result.getPercentage();
+            long key = windows.epochDay(result.getDateTaken()) << 32 | (result.getUserId() & 0xFFFFFFFFL);
+            double[] daily = dailyDeltas.computeIfAbsent(key, k -> new double[3]);
+            daily[0] += 1;
+            daily[1] += result.getScore();
+            daily[2] += result.getPercentage();
+        }
+        long start = metrics.start();
+        try (Connection conn = writer.getConnection()) {
+            // The result rows and their user_stats aggregates commit together
+            conn.setAutoCommit(false);
+            try (PreparedStatement pstmt = conn.prepareStatement(sql);
+                 PreparedStatement statsStmt = conn.prepareStatement(updateStats);
+                 PreparedStatement dailyStmt = conn.prepareStatement(updateDailyStats);
+                 PreparedStatement attemptStmt = conn.prepareStatement(closeAttempt)) {
+                for (QuizResult result : results) {
+                    pstmt.setInt(1, result.getUserId());
+                    pstmt.setInt(2, result.getQuizId());
+                    pstmt.setString(3, result.getQuizTitle());
+                    pstmt.setInt(4, result.getScore());
+                    pstmt.setInt(5, result.getTotalQuestions());
+                    pstmt.setDouble(6, result.getPercentage());
+                    pstmt.setString(7, result.getDateTaken());
+                    pstmt.setLong(8, windows.epochSecond(result.getDateTaken()));
+                    pstmt.addBatch();
+                }
+                pstmt.executeBatch();
+
+                for (Map.Entry<Integer, double[]> e : deltas.entrySet()) {
+                    statsStmt.setInt(1, e.getKey());
+                    statsStmt.setInt(2, (int) e.getValue()[0]);
+                    statsStmt.setLong(3, (long) e.getValue()[1]);
+                    statsStmt.setDouble(4, e.getValue()[2]);
+                    statsStmt.addBatch();
+                }
+                statsStmt.executeBatch();
+
+                for (Map.Entry<Long, double[]> e : dailyDeltas.entrySet()) {
+                    dailyStmt.setLong(1, e.getKey() >> 32);
+                    dailyStmt.setInt(2, (int) e.getKey().longValue());
+                    dailyStmt.setInt(3, (int) e.getValue()[0]);
+                    dailyStmt.setLong(4, (long) e.getValue()[1]);
+                    dailyStmt.setDouble(5, e.getValue()[2]);
+                    dailyStmt.addBatch();
+                }
+                dailyStmt.executeBatch();
+
+                // A submitted attempt is no longer offered for resuming
+                boolean attempts = false;
+                for (QuizResult result : results) {
+                    if (result.getAttemptId() > 0) {
+                        attemptStmt.setBytes(1, result.getAnswers());
+                        attemptStmt.setLong(2, result.getAttemptId());
+                        attemptStmt.addBatch();
+                        attempts = true;
+                    }
+                }
+                if (attempts) {
+                    attemptStmt.executeBatch();
+                }
+                conn.commit();
+            } catch (SQLException e) {
+                conn.rollback();
+                throw e;
+            } finally {
+                conn.setAutoCommit(true);
+            }
+            // Still holding the writer, so a concurrent rankings reload cannot count these results twice
+            for (QuizResult result : results) {
+                if (rankings.usernameFor(result.getUserId()) == null) {
+                    lookUpUsername(result.getUserId());
+                }
+                rankings.recordResult(result);
+            }
+            metrics.rows(Operation.SAVE_RESULTS, results.size());
+            return true;
         } catch (SQLException e) {
+            metrics.error(Operation.SAVE_RESULTS);
             System.err.println("Error saving quiz result: " + e.getMessage());
             return false;
+        } finally {
+            metrics.stop(Operation.SAVE_RESULTS, start);
         }
     }
 
+    // Users registered by another process are not in the rankings' name map yet
+    private void lookUpUsername(int userId) {
+        try (Connection conn = readPool.getConnection();
+             PreparedStatement pstmt = conn.prepareStatement("SELECT username FROM users WHERE id = ?")) {
+            pstmt.setInt(1, userId);
+            try (ResultSet rs = pstmt.executeQuery()) {
+                if (rs.next()) {
+                    rankings.registerUser(userId, rs.getString(1));
+                }
+            }
+        } catch (SQLException e) {
+            System.err.println("Error looking up username: " + e.getMessage());
+        }
+    }
+
+    @Override
     public List<QuizResult> getUserQuizResults(int userId) {
         List<QuizResult> results = new ArrayList<>();
-        String sql = "SELECT * FROM quiz_results WHERE user_id = ? ORDER BY date_taken DESC";
-        try (Connection conn = DriverManager.getConnection(DB_URL);
-             PreparedStatement pstmt = conn.prepareStatement(sql)) {
+        long start = metrics.start();
+        try (Connection conn = readPool.getConnection();
+             PreparedStatement pstmt = conn.prepareStatement(SELECT_USER_RESULTS)) {
             pstmt.setInt(1, userId);
             ResultSet rs = pstmt.executeQuery();
             while (rs.next()) {
-                results.add(new QuizResult(
-                        rs.getInt("id"), rs.getInt("user_id"), rs.getInt("quiz_id"),
-                        rs.getString("quiz_title"), rs.getInt("score"),
-                        rs.getInt("total_questions"), rs.getDouble("percentage"),
-                        rs.getString("date_taken")
-                ));
+                results.add(readResult(rs));
             }
         } catch (SQLException e) {
+            metrics.error(Operation.GET_USER_RESULTS);
             System.err.println("Error fetching user quiz results: " + e.getMessage());
+        } finally {
+            metrics.rows(Operation.GET_USER_RESULTS, results.size());
+            metrics.stop(Operation.GET_USER_RESULTS, start);
         }
         return results;
     }
 
+    /**
+     * One page of a user's history, newest first. Pass a null beforeDate for
+     * the first page, then the date and id of the last result received; each
+     * page is an index range scan, however deep into the history it is.
+     */
+    @Override
+    public List<QuizResult> getUserQuizResultsPage(int userId, String beforeDate, int beforeId, int limit) {
+        List<QuizResult> results = new ArrayList<>();
+        long start = metrics.start();
+        try (Connection conn = readPool.getConnection();
+             PreparedStatement pstmt = conn.prepareStatement(
+                     beforeDate == null ? SELECT_USER_RESULTS_FIRST_PAGE : SELECT_USER_RESULTS_PAGE)) {
+            int i = 1;
+            pstmt.setInt(i++, userId);
+            if (beforeDate != null) {
+                pstmt.setString(i++, beforeDate);
+                pstmt.setInt(i++, beforeId);
+            }
+            pstmt.setInt(i, limit);
+            ResultSet rs = pstmt.executeQuery();
+            while (rs.next()) {
+                results.add(readResult(rs));
+            }
+        } catch (SQLException e) {
+            metrics.error(Operation.GET_USER_RESULTS_PAGE);
+            System.err.println("Error fetching user quiz results: " + e.getMessage());
+        } finally {
+            metrics.rows(Operation.GET_USER_RESULTS_PAGE, results.size());
+            metrics.stop(Operation.GET_USER_RESULTS_PAGE, start);
+        }
+        return results;
+    }
+
+    private static QuizResult readResult(ResultSet rs) throws SQLException {
+        return new QuizResult(
+                rs.getInt("id"), rs.getInt("user_id"), rs.getInt("quiz_id"),
+                rs.getString("quiz_title"), rs.getInt("score"),
+                rs.getInt("total_questions"), rs.getDouble("percentage"),
+                rs.getString("date_taken")
+        );
+    }
+
+    @Override
     public List<LeaderboardEntry> getLeaderboard() {
-        List<LeaderboardEntry> entries = new ArrayList<>();
+        long start = metrics.start();
+        RankedLeaderboard board = rankings.global();
+        List<LeaderboardEntry> entries = board.top(board.size());
+        metrics.rows(Operation.GET_LEADERBOARD, entries.size());
+        metrics.stop(Operation.GET_LEADERBOARD, start);
+        return entries;
+    }
+
+    @Override
+    public RankedLeaderboard getGlobalLeaderboard() {
+        return rankings.global();
+    }
+
+    @Override
+    public RankedLeaderboard getQuizLeaderboard(int quizId) {
+        return rankings.forQuiz(quizId);
+    }
+
+    @Override
+    public RankedLeaderboard getWindowedLeaderboard(int days) {
+        return rankings.windows().board(days);
+    }
+
+    @Override
+    public List<LeaderboardEntry> getTopForDays(int days, int k) {
+        long start = metrics.start();
+        List<LeaderboardEntry> entries = rankings.windows().top(days, k);
+        metrics.rows(Operation.GET_WINDOWED_LEADERBOARD, entries.size());
+        metrics.stop(Operation.GET_WINDOWED_LEADERBOARD, start);
+        return entries;
+    }
+
+    // --- Maintenance Methods ---
+
+    public boolean rebuildUserStats() {
+        long start = metrics.start();
+        try (Connection conn = writer.getConnection()) {
+            conn.setAutoCommit(false);
+            try (Statement stmt = conn.createStatement()) {
+                stmt.executeUpdate("DELETE FROM user_stats");
+                stmt.executeUpdate(REBUILD_USER_STATS);
+                stmt.executeUpdate("DELETE FROM user_daily_stats");
+                stmt.executeUpdate(REBUILD_DAILY_STATS);
+                conn.commit();
+            } catch (SQLException e) {
+                conn.rollback();
+                throw e;
+            } finally {
+                conn.setAutoCommit(true);
+            }
+            rankings.loadGlobal(conn);
+            rankings.loadWindows(conn);
+            return true;
+        } catch (SQLException e) {
+            metrics.error(Operation.REBUILD_USER_STATS);
+            System.err.println("Error rebuilding user stats: " + e.getMessage());
+            return false;
+        } finally {
+            metrics.stop(Operation.REBUILD_USER_STATS, start);
+        }
+    }
+
+    /**
+     * Recomputes the last days days of user_daily_stats from quiz_results,
+     * reading only the results in that range, and reloads the windowed
+     * leaderboards.
+     */
+    public boolean rebuildDailyStats(int days) {
+        WindowedLeaderboards windows = rankings.windows();
+        long firstDay = windows.today() - Math.max(1, days) + 1;
+        long start = metrics.start();
+        try (Connection conn = writer.getConnection()) {
+            conn.setAutoCommit(false);
+            try (PreparedStatement delete = conn.prepareStatement("DELETE FROM user_daily_stats WHERE day >= ?");
+                 PreparedStatement insert = conn.prepareStatement(
+                         "INSERT INTO user_daily_stats(day, user_id, attempts, score_sum, percentage_sum) "
+                                 + SELECT_DAILY_STATS_SINCE)) {
+                delete.setLong(1, firstDay);
+                delete.executeUpdate();
+                insert.setLong(1, windows.startOfDay(firstDay));
+                insert.executeUpdate();
+                conn.commit();
+            } catch (SQLException e) {
+                conn.rollback();
+                throw e;
+            } finally {
+                conn.setAutoCommit(true);
+            }
+            rankings.loadWindows(conn);
+            return true;
+        } catch (SQLException e) {
+            metrics.error(Operation.REBUILD_DAILY_STATS);
+            System.err.println("Error rebuilding daily stats: " + e.getMessage());
+            return false;
+        } finally {
+            metrics.stop(Operation.REBUILD_DAILY_STATS, start);
+        }
+    }
+
+    /** Returns the number of users whose user_stats row disagrees with quiz_results, or -1 on error. */
+    public int countInconsistentUserStats() {
+        // Percentage sums are compared rounded, since summation order can differ in the last bits
         String sql = """
-            SELECT
-                u.username,
-                AVG(qr.percentage) as average_score,
-                COUNT(qr.id) as total_attempts,
-                SUM(qr.score) as total_score
-            FROM quiz_results qr
-            JOIN users u ON qr.user_id = u.id
-            GROUP BY u.username
-            ORDER BY average_score DESC
+            SELECT COUNT(DISTINCT user_id) FROM (
+                SELECT * FROM (
+                    SELECT user_id, COUNT(*), SUM(score), ROUND(SUM(percentage), 6) FROM quiz_results GROUP BY user_id
+                    EXCEPT
+                    SELECT user_id, attempts, score_sum, ROUND(percentage_sum, 6) FROM user_stats WHERE attempts > 0
+                )
+                UNION
+                SELECT * FROM (
+                    SELECT user_id, attempts, score_sum, ROUND(percentage_sum, 6) FROM user_stats WHERE attempts > 0
+                    EXCEPT
+                    SELECT user_id, COUNT(*), SUM(score), ROUND(SUM(percentage), 6) FROM quiz_results GROUP BY user_id
+                )
+            )
         """;
-        try (Connection conn = DriverManager.getConnection(DB_URL);
+        long start = metrics.start();
+        try (Connection conn = readPool.getConnection();
              Statement stmt = conn.createStatement();
              ResultSet rs = stmt.executeQuery(sql)) {
-            while (rs.next()) {
-                entries.add(new LeaderboardEntry(
-                        rs.getString("username"),
-                        rs.getDouble("average_score"),
-                        rs.getInt("total_attempts"),
-                        rs.getInt("total_score")
-                ));
-            }
+            return rs.next() ? rs.getInt(1) : 0;
         } catch (SQLException e) {
-            System.err.println("Error fetching leaderboard: " + e.getMessage());
+            metrics.error(Operation.CHECK_USER_STATS);
+            System.err.println("Error checking user stats: " + e.getMessage());
+            return -1;
+        } finally {
+            metrics.stop(Operation.CHECK_USER_STATS, start);
         }
-        return entries;
     }
 }
@@ -0,0 +1,386 @@
+package com.quizapp;
+
+import java.lang.management.ManagementFactory;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+import javax.management.JMException;
+import javax.management.ObjectName;
+
+/**
+ * In-process pipeline for QuizEvents. Events go into a bounded ring that
+ * every consumer reads in full, each on its own thread and at its own pace,
+ * so a slow consumer delays nobody but itself until the ring fills up.
+ * Publishing takes no lock: a producer claims the next sequence with a
+ * compare-and-set, writes the event into that slot and marks the slot
+ * published with the sequence, so sessions publishing at once never wait on
+ * each other. A slot is only reused once the slowest consumer is past it.
+ * Consumers take whatever has been published, up to maxBatch events, in one
+ * call, so a burst costs each of them one call rather than one per event.
+ */
+public class EventBus implements EventBusMXBean, AutoCloseable {
+    public static final int DEFAULT_CAPACITY = 8_192;
+    public static final int DEFAULT_MAX_BATCH = 256;
+
+    // How long an idle consumer sleeps if no publisher wakes it, and a full ring's retry interval
+    private static final long IDLE_PARK_NANOS = TimeUnit.MILLISECONDS.toNanos(100);
+    private static final long FULL_PARK_NANOS = TimeUnit.MICROSECONDS.toNanos(50);
+    private static final long RATE_WINDOW_NANOS = TimeUnit.SECONDS.toNanos(1);
+
+    @FunctionalInterface
+    public interface Handler {
+        /** Handles events in publish order; the list is only valid during the call. */
+        void onEvents(List<QuizEvent> batch);
+    }
+
+    private static final class Subscriber {
+        final String name;
+        final Handler handler;
+        // Last sequence handed to the handler; publishers may reuse every slot up to it
+        final AtomicLong sequence;
+        Thread thread;
+        volatile boolean parked;
+
+        volatile long consumed;
+        volatile long batches;
+        volatile int largestBatch;
+        volatile long failures;
+        volatile double eventsPerSecond;
+        long windowStart = System.nanoTime();
+        long windowEvents;
+
+        Subscriber(String name, Handler handler, long sequence) {
+            this.name = name;
+            this.handler = handler;
+            this.sequence = new AtomicLong(sequence);
+        }
+
+        void count(int events) {
+            long now = System.nanoTime();
+            windowEvents += events;
+            long elapsed = now - windowStart;
+            if (elapsed >= RATE_WINDOW_NANOS) {
+                eventsPerSecond = windowEvents * 1e9 / elapsed;
+                windowStart = now;
+                windowEvents = 0;
+            }
+        }
+    }
+
+    private final String name;
+    private final QuizEvent[] entries;
+    // The sequence last published in each slot; a slot holds sequence s once published[s & mask] == s
+    private final AtomicLongArray published;
+    private final int mask;
+    private final int maxBatch;
+    private final long publishTimeoutNanos;
+    // Highest sequence claimed by a producer
+    private final AtomicLong cursor = new AtomicLong(-1);
+    // Slowest consumer's sequence when last looked at, so producers rarely scan them all
+    private volatile long gatingSequence = -1;
+    private volatile Subscriber[] subscribers = new Subscriber[0];
+    private volatile boolean started;
+    private volatile boolean closed;
+    private final LongAdder publishedCount = new LongAdder();
+    private final LongAdder rejected = new LongAdder();
+    private ObjectName objectName;
+
+    public EventBus(String name) {
+        this(name, DEFAULT_CAPACITY, DEFAULT_MAX_BATCH, 100);
+    }
+
+    /**
+     * The capacity is rounded up to a power of two. publish() waits up to
+     * publishTimeoutMillis for the slowest consumer to free a slot.
+     */
+    public EventBus(String name, int capacity, int maxBatch, long publishTimeoutMillis) {
+        this.name = name;
+        int size = Integer.highestOneBit(Math.max(2, capacity) * 2 - 1);
+        this.entries = new QuizEvent[size];
+        this.published = new AtomicLongArray(size);
+        for (int i = 0; i < size; i++) {
+            published.set(i, -1);
+        }
+        this.mask = size - 1;
+        this.maxBatch = Math.max(1, maxBatch);
+        this.publishTimeoutNanos = TimeUnit.MILLISECONDS.toNanos(Math.max(0, publishTimeoutMillis));
+    }
+
+    /**
+     * Adds a consumer that sees every event published from now on. The name
+     * labels its thread and statistics, e.g. "analytics". Consumers are all
+     * added before start().
+     */
+    public synchronized void subscribe(String consumerName, Handler handler) {
+        if (started) {
+            throw new IllegalStateException("Consumers must subscribe before the " + name + " bus starts");
+        }
+        Subscriber[] current = subscribers;
+        Subscriber[] next = new Subscriber[current.length + 1];
+        System.arraycopy(current, 0, next, 0, current.length);
+        next[current.length] = new Subscriber(consumerName, handler, cursor.get());
+        subscribers = next;
+    }
+
+    /** Starts a thread per consumer; events published before this wait in the ring. */
+    public synchronized void start() {
+        if (started) {
+            return;
+        }
+        started = true;
+        for (Subscriber s : subscribers) {
+            s.thread = new Thread(() -> run(s), "quizapp-" + name + "-" + s.name);
+            s.thread.setDaemon(true);
+            s.thread.start();
+        }
+    }
+
+    /**
+     * Publishes an event, waiting up to the publish timeout if the ring is
+     * full. Returns false if the event was not published.
+     */
+    public boolean publish(QuizEvent event) {
+        return publish(event, publishTimeoutNanos);
+    }
+
+    /** Publishes an event without ever waiting, for callers such as UI event handlers. */
+    public boolean offer(QuizEvent event) {
+        return publish(event, 0);
+    }
+
+    private boolean publish(QuizEvent event, long timeoutNanos) {
+        long deadline = 0;
+        while (!closed) {
+            long current = cursor.get();
+            long next = current + 1;
+            long wrapPoint = next - entries.length;
+            if (wrapPoint > gatingSequence) {
+                long slowest = slowestSequence(current);
+                gatingSequence = slowest;
+                if (wrapPoint > slowest) {
+                    long now = System.nanoTime();
+                    if (deadline == 0) {
+                        deadline = now + timeoutNanos;
+                    }
+                    if (now - deadline >= 0) {
+                        break;
+                    }
+                    LockSupport.parkNanos(FULL_PARK_NANOS);
+                    continue;
+                }
+            }
+            if (cursor.compareAndSet(current, next)) {
+                int slot = (int) next & mask;
+                entries[slot] = event;
+                published.set(slot, next);
+                publishedCount.increment();
+                wakeConsumers();
+                return true;
+            }
+        }
+        rejected.increment();
+        return false;
+    }
+
+    private long slowestSequence(long current) {
+        long slowest = current;
+        for (Subscriber s : subscribers) {
+            slowest = Math.min(slowest, s.sequence.get());
+        }
+        return slowest;
+    }
+
+    private void wakeConsumers() {
+        // Pairs with the parked flag being set before the consumer's last look at the ring
+        for (Subscriber s : subscribers) {
+            if (s.parked) {
+                LockSupport.unpark(s.thread);
+            }
+        }
+    }
+
+    private void run(Subscriber s) {
+        List<QuizEvent> batch = new ArrayList<>(maxBatch);
+        while (true) {
+            if (drain(s, batch) > 0) {
+                continue;
+            }
+            if (closed && s.sequence.get() >= cursor.get()) {
+                return;
+            }
+            s.parked = true;
+            if (!hasNext(s)) {
+                LockSupport.parkNanos(this, closed ? FULL_PARK_NANOS : IDLE_PARK_NANOS);
+            }
+            s.parked = false;
+            s.count(0);
+        }
+    }
+
+    private boolean hasNext(Subscriber s) {
+        long next = s.sequence.get() + 1;
+        return published.get((int) next & mask) == next;
+    }
+
+    /** Hands the consumer the next batch of published events; returns how many there were. */
+    private int drain(Subscriber s, List<QuizEvent> batch) {
+        long last = s.sequence.get();
+        long limit = Math.min(cursor.get(), last + maxBatch);
+        while (last < limit && published.get((int) (last + 1) & mask) == last + 1) {
+            last++;
+            batch.add(entries[(int) last & mask]);
+        }
+        int size = batch.size();
+        if (size == 0) {
+            return 0;
+        }
+        try {
+            s.handler.onEvents(Collections.unmodifiableList(batch));
+        } catch (RuntimeException e) {
+            s.failures++;
+            System.err.println("Error in " + name + " consumer " + s.name + ": " + e.getMessage());
+        } finally {
+            batch.clear();
+        }
+        // Only now may publishers reuse the slots
+        s.sequence.set(last);
+        s.consumed += size;
+        s.batches++;
+        if (size > s.largestBatch) {
+            s.largestBatch = size;
+        }
+        s.count(size);
+        return size;
+    }
+
+    // --- Statistics ---
+
+    public String getName() {
+        return name;
+    }
+
+    @Override
+    public int getCapacity() {
+        return entries.length;
+    }
+
+    @Override
+    public long getPublished() {
+        return publishedCount.sum();
+    }
+
+    /** Events not published because the ring stayed full or the bus was closed. */
+    @Override
+    public long getRejected() {
+        return rejected.sum();
+    }
+
+    @Override
+    public ConsumerStats[] getConsumers() {
+        Subscriber[] current = subscribers;
+        long claimed = cursor.get();
+        ConsumerStats[] stats = new ConsumerStats[current.length];
+        for (int i = 0; i < current.length; i++) {
+            Subscriber s = current[i];
+            stats[i] = new ConsumerStats(s.name, s.consumed, s.batches, s.largestBatch, s.failures,
+                    Math.max(0, claimed - s.sequence.get()), s.eventsPerSecond);
+        }
+        return stats;
+    }
+
+    @Override
+    public String getReportText() {
+        StringBuilder sb = new StringBuilder();
+        sb.append("Event bus ").append(name).append(" at ").append(Instant.now())
+                .append(": capacity=").append(getCapacity())
+                .append(" published=").append(getPublished())
+                .append(" rejected=").append(getRejected()).append('\n');
+        for (ConsumerStats stats : getConsumers()) {
+            sb.append(stats).append('\n');
+        }
+        return sb.toString();
+    }
+
+    @Override
+    public String getReportJson() {
+        return Json.write(toJson());
+    }
+
+    Map<String, Object> toJson() {
+        Map<String, Object> json = new LinkedHashMap<>();
+        json.put("name", name);
+        json.put("capacity", getCapacity());
+        json.put("published", getPublished());
+        json.put("rejected", getRejected());
+        List<Object> consumers = new ArrayList<>();
+        for (ConsumerStats stats : getConsumers()) {
+            consumers.add(stats.toJson());
+        }
+        json.put("consumers", consumers);
+        return json;
+    }
+
+    public synchronized void registerMBean() {
+        if (objectName != null) {
+            return;
+        }
+        try {
+            ObjectName mbeanName = new ObjectName("com.quizapp:type=EventBus,name=" + ObjectName.quote(name));
+            ManagementFactory.getPlatformMBeanServer().registerMBean(this, mbeanName);
+            objectName = mbeanName;
+        } catch (JMException e) {
+            System.err.println("Error registering event bus MBean: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Stops accepting events and waits for every consumer to handle what was
+     * already published.
+     */
+    @Override
+    public void close() {
+        Subscriber[] current;
+        synchronized (this) {
+            if (closed) {
+                return;
+            }
+            closed = true;
+            current = subscribers;
+            if (objectName != null) {
+                try {
+                    ManagementFactory.getPlatformMBeanServer().unregisterMBean(objectName);
+                } catch (JMException e) {
+                    System.err.println("Error unregistering event bus MBean: " + e.getMessage());
+                }
+                objectName = null;
+            }
+        }
+        for (Subscriber s : current) {
+            if (s.thread == null) {
+                continue;
+            }
+            LockSupport.unpark(s.thread);
+            try {
+                s.thread.join(TimeUnit.SECONDS.toMillis(30));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        // Never started, or an event slipped in after a consumer's last look: handle it here
+        List<QuizEvent> batch = new ArrayList<>(maxBatch);
+        for (Subscriber s : current) {
+            int drained = s.thread == null || !s.thread.isAlive() ? 1 : 0;
+            while (drained > 0) {
+                drained = drain(s, batch);
+            }
+        }
+    }
+}
@@ -0,0 +1,16 @@
+package com.quizapp;
+
+/** JMX view of an EventBus, registered as com.quizapp:type=EventBus,name=&lt;name&gt;. */
+public interface EventBusMXBean {
+    int getCapacity();
+
+    long getPublished();
+
+    long getRejected();
+
+    ConsumerStats[] getConsumers();
+
+    String getReportText();
+
+    String getReportJson();
+}
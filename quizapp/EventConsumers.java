@@ -0,0 +1,35 @@
+package com.quizapp;
+
+import java.util.List;
+
+/**
+ * The consumers the app and the server attach to their event buses, each on
+ * its own thread: the answer log, analytics counters, and dropping the
+ * analytics of deleted quizzes. Results themselves are saved before
+ * QuizSubmitted is published, since the player is told whether they were.
+ */
+public final class EventConsumers {
+
+    private EventConsumers() {
+    }
+
+    /** A started bus with the standard consumers, published over JMX. */
+    public static EventBus open(String name, int capacity, QuizStore store, QuizAnalytics analytics) {
+        EventBus bus = new EventBus(name, capacity, EventBus.DEFAULT_MAX_BATCH, 100);
+        bus.subscribe("answer-log", batch -> logAnswers(store, batch));
+        bus.subscribe("analytics", analytics::onSubmissions);
+        bus.subscribe("invalidation", analytics::onEdits);
+        bus.start();
+        bus.registerMBean();
+        return bus;
+    }
+
+    // The store's answer writer groups these into commits of its own
+    private static void logAnswers(QuizStore store, List<QuizEvent> batch) {
+        for (QuizEvent event : batch) {
+            if (event instanceof QuizEvent.QuestionAnswered answered && answered.getAnswer() != null) {
+                store.logAnswer(answered.getAnswer());
+            }
+        }
+    }
+}
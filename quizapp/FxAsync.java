@@ -0,0 +1,85 @@
+package com.quizapp;
+
+import javafx.animation.PauseTransition;
+import javafx.application.Platform;
+import javafx.geometry.Pos;
+import javafx.scene.control.Button;
+import javafx.scene.control.Label;
+import javafx.scene.control.ProgressIndicator;
+import javafx.scene.control.TextField;
+import javafx.scene.layout.VBox;
+import javafx.scene.text.Font;
+import javafx.util.Duration;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.Consumer;
+
+/**
+ * Glue between AsyncDatabase futures and the JavaFX application thread.
+ */
+final class FxAsync {
+
+    private FxAsync() {
+    }
+
+    /**
+     * Delivers the outcome of the future on the FX thread. Nothing is delivered
+     * once the future has been cancelled, so a screen the user navigated away
+     * from is never touched by a late result.
+     */
+    static <T> CompletableFuture<T> onFx(CompletableFuture<T> future, Consumer<T> onSuccess, Consumer<Throwable> onError) {
+        future.whenComplete((value, error) -> Platform.runLater(() -> {
+            if (future.isCancelled()) {
+                return;
+            }
+            if (error != null) {
+                onError.accept(error instanceof CompletionException && error.getCause() != null ? error.getCause() : error);
+            } else {
+                onSuccess.accept(value);
+            }
+        }));
+        return future;
+    }
+
+    /**
+     * Calls onPause with the field's text once the user has stopped typing
+     * for delayMillis, so a search runs once per pause rather than once per
+     * keystroke. Stop the returned transition when leaving the screen.
+     */
+    static PauseTransition debounce(TextField field, long delayMillis, Consumer<String> onPause) {
+        PauseTransition pause = new PauseTransition(Duration.millis(delayMillis));
+        pause.setOnFinished(e -> onPause.accept(field.getText()));
+        field.textProperty().addListener((obs, old, text) -> pause.playFromStart());
+        return pause;
+    }
+
+    /** A spinner with a message and, when onCancel is given, a Cancel button. */
+    static VBox loadingPane(String message, Runnable onCancel) {
+        ProgressIndicator spinner = new ProgressIndicator();
+        spinner.setMaxSize(60, 60);
+        Label label = new Label(message);
+        label.setFont(Font.font("Arial", 16));
+
+        VBox box = new VBox(15, spinner, label);
+        box.setAlignment(Pos.CENTER);
+        if (onCancel != null) {
+            Button cancelButton = new Button("Cancel");
+            cancelButton.setOnAction(e -> onCancel.run());
+            box.getChildren().add(cancelButton);
+        }
+        return box;
+    }
+
+    /**
+     * Debug aid, enabled with -Dquizapp.debugFxThread=true: reports every JDBC
+     * connection checkout that happens on the FX application thread.
+     */
+    static void installFxThreadGuard(DatabaseManager dbManager) {
+        dbManager.setBlockingCallGuard(() -> {
+            if (Platform.isFxApplicationThread()) {
+                new IllegalStateException("Database call on the JavaFX application thread").printStackTrace();
+            }
+        });
+    }
+}
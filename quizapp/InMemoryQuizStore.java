@@ -0,0 +1,693 @@
+package com.quizapp;
+
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+/**
+ * Storage engine that keeps everything on the heap in int-keyed maps, with
+ * no JDBC at all, for load tests and demo nodes. Like the SQLite engine it
+ * serializes writers and lets readers run in parallel: one read-write lock
+ * guards the maps, each quiz's questions are an immutable snapshot replaced
+ * on every edit, and passwords are hashed on the same bounded pool, so a
+ * benchmark run against both engines compares storage and nothing else.
+ * Nothing survives close().
+ */
+public class InMemoryQuizStore implements QuizStore {
+
+    private static final class UserRecord {
+        final User user;
+        String hash;
+        String salt;
+
+        UserRecord(User user, String hash, String salt) {
+            this.user = user;
+            this.hash = hash;
+            this.salt = salt;
+        }
+    }
+
+    private static final class Attempt {
+        final int id;
+        final int userId;
+        final int quizId;
+        final long seed;
+        final int[] questionIds;
+        final byte[] optionOrders;
+        final List<AnswerEvent> log = new ArrayList<>();
+        boolean submitted;
+        byte[] answers;
+
+        Attempt(int id, QuestionDraw draw) {
+            this.id = id;
+            this.userId = draw.getUserId();
+            this.quizId = draw.getQuizId();
+            this.seed = draw.getSeed();
+            this.questionIds = draw.getQuestionIds().clone();
+            this.optionOrders = draw.getOptionOrders();
+        }
+    }
+
+    // Newest last, matching the (date_taken, id) order of the SQLite history index
+    private static final Comparator<QuizResult> HISTORY_ORDER =
+            Comparator.comparing(QuizResult::getDateTaken).thenComparingInt(QuizResult::getId);
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final IntObjectMap<UserRecord> users = new IntObjectMap<>();
+    private final Map<String, UserRecord> usersByName = new HashMap<>();
+    private final IntObjectMap<Quiz> quizzes = new IntObjectMap<>();
+    // Each list is immutable and sorted by id; edits swap in a new one
+    private final IntObjectMap<List<Question>> questionsByQuiz = new IntObjectMap<>();
+    private final IntObjectMap<Question> questionsById = new IntObjectMap<>();
+    private final IntObjectMap<Attempt> attempts = new IntObjectMap<>();
+    private final IntObjectMap<List<Attempt>> attemptsByUser = new IntObjectMap<>();
+    private final IntObjectMap<List<QuizResult>> resultsByUser = new IntObjectMap<>();
+    private final LeaderboardRankings rankings = new LeaderboardRankings();
+    private final QuestionSampler questionSampler = new QuestionSampler(this::questionIds);
+    private final PasswordHashing passwordHashing;
+    private int nextUserId = 1;
+    private int nextQuizId = 1;
+    private int nextQuestionId = 1;
+    private int nextAttemptId = 1;
+    private int nextResultId = 1;
+
+    public InMemoryQuizStore(StorageConfig config) {
+        this.passwordHashing = new PasswordHashing(config.getPasswordAlgorithm(), config.getPasswordIterations(),
+                config.getPasswordHashThreads(), config.getPasswordHashQueueCapacity());
+        if (registerUser("admin", "admin@quizapp.com", "admin123", true)) {
+            System.out.println("Default admin user 'admin' with password 'admin123' created.");
+        }
+    }
+
+    public QuestionSampler getQuestionSampler() {
+        return questionSampler;
+    }
+
+    public PasswordHashing getPasswordHashing() {
+        return passwordHashing;
+    }
+
+    @Override
+    public void close() {
+        passwordHashing.close();
+    }
+
+    private <T> T read(Supplier<T> body) {
+        lock.readLock().lock();
+        try {
+            return body.get();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private <T> T write(Supplier<T> body) {
+        lock.writeLock().lock();
+        try {
+            return body.get();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // --- Users ---
+
+    @Override
+    public boolean registerUser(String username, String email, String password, boolean isAdmin) {
+        PasswordHashing.Encoded hashed;
+        try {
+            hashed = passwordHashing.submit(() -> passwordHashing.hash(password)).join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RejectedExecutionException rejected) {
+                // Too busy to hash, which is not the same as a taken username
+                throw rejected;
+            }
+            System.err.println("User registration error: " + e.getMessage());
+            return false;
+        }
+        return write(() -> {
+            if (usersByName.containsKey(username)) {
+                return false;
+            }
+            UserRecord record = new UserRecord(new User(nextUserId++, username, email, isAdmin),
+                    hashed.getHash(), hashed.getSalt());
+            users.put(record.user.getId(), record);
+            usersByName.put(username, record);
+            rankings.registerUser(record.user.getId(), username);
+            return true;
+        });
+    }
+
+    @Override
+    public User authenticateUser(String username, String password) {
+        String[] stored = new String[2];
+        User user = read(() -> {
+            UserRecord record = usersByName.get(username);
+            if (record == null) {
+                // An unknown username costs the same hashing as a wrong password
+                stored[0] = passwordHashing.getAbsentUserHash();
+                return null;
+            }
+            stored[0] = record.hash;
+            stored[1] = record.salt;
+            return copy(record.user);
+        });
+        PasswordHashing.Verification verification;
+        try {
+            verification = passwordHashing.submit(() -> passwordHashing.verify(password, stored[0], stored[1])).join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RejectedExecutionException rejected) {
+                // Too busy to check, which is not the same as wrong credentials
+                throw rejected;
+            }
+            System.err.println("Authentication error: " + e.getMessage());
+            return null;
+        }
+        if (user == null || !verification.matches()) {
+            return null;
+        }
+        PasswordHashing.Encoded upgrade = verification.getUpgrade();
+        if (upgrade != null) {
+            write(() -> {
+                // Only replaces the hash that was verified, so a concurrent change wins
+                UserRecord record = users.get(user.getId());
+                if (record != null && record.hash.equals(stored[0])) {
+                    record.hash = upgrade.getHash();
+                    record.salt = upgrade.getSalt();
+                }
+                return null;
+            });
+        }
+        return user;
+    }
+
+    private static User copy(User user) {
+        return new User(user.getId(), user.getUsername(), user.getEmail(), user.isAdmin());
+    }
+
+    // --- Quizzes ---
+
+    @Override
+    public List<Quiz> getAllQuizzes() {
+        return read(() -> {
+            List<Quiz> all = new ArrayList<>(quizzes.size());
+            quizzes.forEachValue(quiz -> all.add(copy(quiz, quiz.getId())));
+            all.sort(Comparator.comparingInt(Quiz::getId));
+            return all;
+        });
+    }
+
+    @Override
+    public Quiz getQuiz(int quizId) {
+        return read(() -> {
+            Quiz quiz = quizzes.get(quizId);
+            return quiz == null ? null : copy(quiz, quizId);
+        });
+    }
+
+    @Override
+    public boolean addQuiz(Quiz quiz) {
+        return write(() -> {
+            int id = nextQuizId++;
+            quizzes.put(id, copy(quiz, id));
+            questionsByQuiz.put(id, List.of());
+            return true;
+        });
+    }
+
+    @Override
+    public boolean updateQuiz(Quiz quiz) {
+        return write(() -> {
+            Quiz existing = quizzes.get(quiz.getId());
+            if (existing == null) {
+                return false;
+            }
+            Quiz updated = copy(quiz, quiz.getId());
+            updated.setCreatedBy(existing.getCreatedBy());
+            quizzes.put(quiz.getId(), updated);
+            return true;
+        });
+    }
+
+    @Override
+    public boolean deleteQuiz(int quizId) {
+        boolean deleted = write(() -> {
+            if (quizzes.remove(quizId) == null) {
+                return false;
+            }
+            List<Question> questions = questionsByQuiz.remove(quizId);
+            if (questions != null) {
+                for (Question q : questions) {
+                    questionsById.remove(q.getId());
+                }
+            }
+            // Attempts and their answer logs go with the quiz, results stay, as with the SQLite engine
+            attemptsByUser.forEachValue(own -> own.removeIf(attempt -> {
+                if (attempt.quizId != quizId) {
+                    return false;
+                }
+                attempts.remove(attempt.id);
+                return true;
+            }));
+            return true;
+        });
+        questionSampler.invalidate(quizId);
+        return deleted;
+    }
+
+    /**
+     * Scans every quiz and question, matching terms the way the SQLite engine's
+     * full-text index does. Title matches come first, then description
+     * matches, then quizzes found through their questions, each by id.
+     */
+    @Override
+    public List<Quiz> searchQuizzes(String text, int limit) {
+        List<String> terms = SearchQuery.terms(text);
+        if (terms.isEmpty() || limit <= 0) {
+            return new ArrayList<>();
+        }
+        return read(() -> {
+            List<Quiz> byTitle = new ArrayList<>();
+            List<Quiz> byDescription = new ArrayList<>();
+            List<Quiz> byQuestion = new ArrayList<>();
+            quizzes.forEachValue(quiz -> {
+                if (SearchQuery.matchesAll(terms, quiz.getTitle())) {
+                    byTitle.add(quiz);
+                } else if (SearchQuery.matchesAll(terms, quiz.getTitle(), quiz.getDescription())) {
+                    byDescription.add(quiz);
+                } else {
+                    List<Question> questions = questionsByQuiz.get(quiz.getId());
+                    if (questions != null) {
+                        for (Question q : questions) {
+                            if (SearchQuery.matchesAll(terms, q.getQuestionText(), q.getOptionA(), q.getOptionB(),
+                                    q.getOptionC(), q.getOptionD())) {
+                                byQuestion.add(quiz);
+                                break;
+                            }
+                        }
+                    }
+                }
+            });
+            List<Quiz> found = new ArrayList<>();
+            for (List<Quiz> group : List.of(byTitle, byDescription, byQuestion)) {
+                group.sort(Comparator.comparingInt(Quiz::getId));
+                for (Quiz quiz : group) {
+                    if (found.size() == limit) {
+                        return found;
+                    }
+                    found.add(copy(quiz, quiz.getId()));
+                }
+            }
+            return found;
+        });
+    }
+
+    private static Quiz copy(Quiz quiz, int id) {
+        Quiz copy = new Quiz(id, quiz.getTitle(), quiz.getDescription(), quiz.getCreatedBy());
+        copy.setDrawCount(quiz.getDrawCount());
+        copy.setShuffleOptions(quiz.isShuffleOptions());
+        return copy;
+    }
+
+    // --- Questions ---
+
+    @Override
+    public List<Question> getQuestionsForQuiz(int quizId) {
+        return read(() -> {
+            List<Question> questions = questionsByQuiz.get(quizId);
+            return questions != null ? questions : List.of();
+        });
+    }
+
+    private int[] questionIds(int quizId) {
+        List<Question> questions = getQuestionsForQuiz(quizId);
+        int[] ids = new int[questions.size()];
+        for (int i = 0; i < ids.length; i++) {
+            ids[i] = questions.get(i).getId();
+        }
+        return ids;
+    }
+
+    // The questions with these ids that still exist, in any order
+    private List<Question> questionsById(int[] ids) {
+        return read(() -> {
+            List<Question> found = new ArrayList<>(ids.length);
+            for (int id : ids) {
+                Question q = questionsById.get(id);
+                if (q != null) {
+                    found.add(q);
+                }
+            }
+            return found;
+        });
+    }
+
+    @Override
+    public boolean addQuestion(Question q) {
+        return addQuestions(List.of(q));
+    }
+
+    @Override
+    public boolean addQuestions(List<Question> questions) {
+        if (questions.isEmpty()) {
+            return true;
+        }
+        Map<Integer, List<Question>> added = new LinkedHashMap<>();
+        boolean saved = write(() -> {
+            for (Question q : questions) {
+                if (!quizzes.containsKey(q.getQuizId())) {
+                    System.err.println("Error adding questions: no quiz with id " + q.getQuizId());
+                    return false;
+                }
+            }
+            for (Question q : questions) {
+                Question stored = new Question(nextQuestionId++, q.getQuizId(), q.getQuestionText(), q.getOptionA(),
+                        q.getOptionB(), q.getOptionC(), q.getOptionD(), q.getCorrectOption());
+                questionsById.put(stored.getId(), stored);
+                added.computeIfAbsent(q.getQuizId(), id -> new ArrayList<>()).add(stored);
+            }
+            for (Map.Entry<Integer, List<Question>> e : added.entrySet()) {
+                List<Question> snapshot = new ArrayList<>(questionsByQuiz.get(e.getKey()));
+                snapshot.addAll(e.getValue());
+                questionsByQuiz.put(e.getKey(), List.copyOf(snapshot));
+            }
+            return true;
+        });
+        for (Integer quizId : added.keySet()) {
+            questionSampler.invalidate(quizId);
+        }
+        return saved;
+    }
+
+    @Override
+    public boolean updateQuestion(Question q) {
+        return write(() -> {
+            Question existing = questionsById.get(q.getId());
+            if (existing == null) {
+                return false;
+            }
+            // The question stays in its quiz, as the SQL update never moves it
+            Question updated = new Question(existing.getId(), existing.getQuizId(), q.getQuestionText(),
+                    q.getOptionA(), q.getOptionB(), q.getOptionC(), q.getOptionD(), q.getCorrectOption());
+            questionsById.put(updated.getId(), updated);
+            List<Question> snapshot = new ArrayList<>(questionsByQuiz.get(existing.getQuizId()));
+            snapshot.set(indexOf(snapshot, existing.getId()), updated);
+            questionsByQuiz.put(existing.getQuizId(), List.copyOf(snapshot));
+            return true;
+        });
+    }
+
+    @Override
+    public boolean deleteQuestion(int questionId) {
+        Question removed = write(() -> {
+            Question existing = questionsById.remove(questionId);
+            if (existing != null) {
+                List<Question> snapshot = new ArrayList<>(questionsByQuiz.get(existing.getQuizId()));
+                snapshot.remove(indexOf(snapshot, questionId));
+                questionsByQuiz.put(existing.getQuizId(), List.copyOf(snapshot));
+            }
+            return existing;
+        });
+        if (removed == null) {
+            return false;
+        }
+        questionSampler.invalidate(removed.getQuizId());
+        return true;
+    }
+
+    // Binary search of a snapshot, which is sorted by id
+    private static int indexOf(List<Question> questions, int questionId) {
+        int low = 0;
+        int high = questions.size() - 1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            int id = questions.get(mid).getId();
+            if (id < questionId) {
+                low = mid + 1;
+            } else if (id > questionId) {
+                high = mid - 1;
+            } else {
+                return mid;
+            }
+        }
+        throw new IllegalStateException("Question " + questionId + " is not in its quiz's snapshot");
+    }
+
+    @Override
+    public int forEachQuestion(int quizId, Consumer<Question> action) {
+        List<Question> questions = getQuestionsForQuiz(quizId);
+        for (Question q : questions) {
+            action.accept(q);
+        }
+        return questions.size();
+    }
+
+    // --- Attempts ---
+
+    @Override
+    public QuestionDraw startAttempt(int userId, Quiz quiz) {
+        QuestionDraw draw;
+        if (quiz.isRandomized()) {
+            long seed = ThreadLocalRandom.current().nextLong();
+            try {
+                draw = questionSampler.draw(quiz, seed);
+                if (draw.present(questionsById(draw.getQuestionIds())) == null) {
+                    // A question was deleted after the id pool was cached; draw again from a fresh pool
+                    questionSampler.invalidate(quiz.getId());
+                    draw = questionSampler.draw(quiz, seed);
+                    if (draw.present(questionsById(draw.getQuestionIds())) == null) {
+                        System.err.println("Error starting attempt: the questions of quiz " + quiz.getId()
+                                + " changed during the draw");
+                        return null;
+                    }
+                }
+            } catch (SQLException e) {
+                // The id loader never touches a database
+                throw new IllegalStateException(e);
+            }
+        } else {
+            draw = QuestionDraw.inOrder(quiz.getId(), getQuestionsForQuiz(quiz.getId()));
+        }
+        // A quiz without questions cannot be taken, so there is no attempt to record
+        return draw.getQuestionCount() == 0 || saveAttempt(userId, draw) ? draw : null;
+    }
+
+    @Override
+    public boolean saveAttempt(int userId, QuestionDraw draw) {
+        draw.setUserId(userId);
+        int id = write(() -> {
+            Attempt attempt = new Attempt(nextAttemptId++, draw);
+            attempts.put(attempt.id, attempt);
+            List<Attempt> own = attemptsByUser.get(userId);
+            if (own == null) {
+                own = new ArrayList<>();
+                attemptsByUser.put(userId, own);
+            }
+            own.add(attempt);
+            return attempt.id;
+        });
+        draw.setAttemptId(id);
+        return true;
+    }
+
+    @Override
+    public QuestionDraw getAttemptDraw(long attemptId) {
+        return read(() -> {
+            Attempt attempt = attempt(attemptId);
+            return attempt == null ? null : toDraw(attempt);
+        });
+    }
+
+    @Override
+    public QuestionDraw findOpenAttempt(int userId, int quizId) {
+        return read(() -> {
+            List<Attempt> own = attemptsByUser.get(userId);
+            if (own == null) {
+                return null;
+            }
+            for (int i = own.size() - 1; i >= 0; i--) {
+                Attempt attempt = own.get(i);
+                if (attempt.quizId == quizId && !attempt.submitted) {
+                    // Only the latest open attempt counts, as with the SQLite engine
+                    if (attempt.log.isEmpty()) {
+                        return null;
+                    }
+                    List<AnswerEvent> log = new ArrayList<>(attempt.log);
+                    log.sort(Comparator.comparingInt(AnswerEvent::getSeq));
+                    QuestionDraw draw = toDraw(attempt);
+                    draw.restoreAnswers(log);
+                    return draw;
+                }
+            }
+            return null;
+        });
+    }
+
+    @Override
+    public QuestionDraw resumeAttempt(int userId, Quiz quiz) {
+        QuestionDraw draw = findOpenAttempt(userId, quiz.getId());
+        if (draw == null || draw.present(questionsById(draw.getQuestionIds())) == null) {
+            return null;
+        }
+        return draw;
+    }
+
+    @Override
+    public int forEachSubmittedAttempt(int quizId, Consumer<QuestionDraw> action) {
+        // Copied out first, so the action runs without holding the lock
+        List<QuestionDraw> submitted = read(() -> {
+            List<QuestionDraw> draws = new ArrayList<>();
+            attempts.forEachValue(attempt -> {
+                if (attempt.quizId == quizId && attempt.answers != null) {
+                    QuestionDraw draw = toDraw(attempt);
+                    draw.restoreAnswers(attempt.answers);
+                    draws.add(draw);
+                }
+            });
+            return draws;
+        });
+        submitted.sort(Comparator.comparingLong(QuestionDraw::getAttemptId));
+        submitted.forEach(action);
+        return submitted.size();
+    }
+
+    @Override
+    public CompletableFuture<Boolean> logAnswer(AnswerEvent event) {
+        boolean logged = event.getAttemptId() > 0 && write(() -> {
+            Attempt attempt = attempt(event.getAttemptId());
+            if (attempt == null) {
+                return false;
+            }
+            attempt.log.add(event);
+            return true;
+        });
+        return CompletableFuture.completedFuture(logged);
+    }
+
+    private Attempt attempt(long attemptId) {
+        return attemptId > 0 && attemptId <= Integer.MAX_VALUE ? attempts.get((int) attemptId) : null;
+    }
+
+    private static QuestionDraw toDraw(Attempt attempt) {
+        QuestionDraw draw = new QuestionDraw(attempt.quizId, attempt.seed, attempt.questionIds.clone(),
+                attempt.optionOrders);
+        draw.setUserId(attempt.userId);
+        draw.setAttemptId(attempt.id);
+        return draw;
+    }
+
+    // --- Results ---
+
+    @Override
+    public boolean saveQuizResult(QuizResult result) {
+        return saveQuizResults(List.of(result));
+    }
+
+    @Override
+    public CompletableFuture<Boolean> saveQuizResultAsync(QuizResult result) {
+        return CompletableFuture.completedFuture(saveQuizResult(result));
+    }
+
+    @Override
+    public boolean saveQuizResults(List<QuizResult> results) {
+        if (results.isEmpty()) {
+            return true;
+        }
+        return write(() -> {
+            for (QuizResult result : results) {
+                QuizResult stored = new QuizResult(nextResultId++, result.getUserId(), result.getQuizId(),
+                        result.getQuizTitle(), result.getScore(), result.getTotalQuestions(),
+                        result.getPercentage(), result.getDateTaken());
+                List<QuizResult> history = resultsByUser.get(result.getUserId());
+                if (history == null) {
+                    history = new ArrayList<>();
+                    resultsByUser.put(result.getUserId(), history);
+                }
+                // Nearly always an append, as results arrive in date order
+                int at = Collections.binarySearch(history, stored, HISTORY_ORDER);
+                history.add(at < 0 ? -at - 1 : at, stored);
+
+                Attempt attempt = attempt(result.getAttemptId());
+                if (attempt != null && !attempt.submitted) {
+                    attempt.submitted = true;
+                    attempt.answers = result.getAnswers();
+                }
+                rankings.recordResult(stored);
+            }
+            return true;
+        });
+    }
+
+    @Override
+    public List<QuizResult> getUserQuizResults(int userId) {
+        return read(() -> {
+            List<QuizResult> history = resultsByUser.get(userId);
+            if (history == null) {
+                return new ArrayList<>();
+            }
+            List<QuizResult> newestFirst = new ArrayList<>(history);
+            Collections.reverse(newestFirst);
+            return newestFirst;
+        });
+    }
+
+    @Override
+    public List<QuizResult> getUserQuizResultsPage(int userId, String beforeDate, int beforeId, int limit) {
+        return read(() -> {
+            List<QuizResult> page = new ArrayList<>();
+            List<QuizResult> history = resultsByUser.get(userId);
+            if (history == null) {
+                return page;
+            }
+            int from = history.size() - 1;
+            if (beforeDate != null) {
+                // The cursor need not be a stored result, so search for where it would go
+                QuizResult cursor = new QuizResult(beforeId, userId, 0, null, 0, 0, 0, beforeDate);
+                int at = Collections.binarySearch(history, cursor, HISTORY_ORDER);
+                from = (at < 0 ? -at - 1 : at) - 1;
+            }
+            for (int i = from; i >= 0 && page.size() < limit; i--) {
+                page.add(history.get(i));
+            }
+            return page;
+        });
+    }
+
+    @Override
+    public List<LeaderboardEntry> getLeaderboard() {
+        RankedLeaderboard board = rankings.global();
+        return board.top(board.size());
+    }
+
+    @Override
+    public RankedLeaderboard getGlobalLeaderboard() {
+        return rankings.global();
+    }
+
+    @Override
+    public RankedLeaderboard getQuizLeaderboard(int quizId) {
+        return rankings.forQuiz(quizId);
+    }
+
+    @Override
+    public RankedLeaderboard getWindowedLeaderboard(int days) {
+        return rankings.windows().board(days);
+    }
+
+    @Override
+    public List<LeaderboardEntry> getTopForDays(int days, int k) {
+        return rankings.windows().top(days, k);
+    }
+}
@@ -0,0 +1,226 @@
+package com.quizapp;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Item analysis counters for one quiz, held in primitive arrays with one
+ * slot per question in ascending id order. Each submitted attempt adds its
+ * answers in O(questions drawn): how often each question was shown and
+ * answered correctly, how often each option was chosen, and sums of the
+ * attempt's score, from which difficulty and discrimination follow without
+ * revisiting any attempt. An attempt's score is the fraction of its questions
+ * answered correctly under the answer key these counters were built with.
+ * Not thread-safe; QuizAnalytics guards each instance.
+ */
+public final class ItemStatistics {
+    /** Choice counts per question: options A-D, then unanswered. */
+    public static final int CHOICES = 5;
+    private static final int UNANSWERED = CHOICES - 1;
+
+    private final int quizId;
+    private final int[] questionIds;
+    private final byte[] correctOptions;
+    private final int[] presented;
+    private final int[] correct;
+    private final int[] choices;
+    // Score sums over the attempts each question was shown in, for the point-biserial
+    private final double[] scoreSum;
+    private final double[] scoreSquares;
+    private final double[] correctScoreSum;
+    private int attempts;
+    private double attemptScoreSum;
+
+    /** Empty counters for the quiz's questions, keyed by their current correct options. */
+    public ItemStatistics(int quizId, List<Question> questions) {
+        this.quizId = quizId;
+        Question[] sorted = questions.toArray(new Question[0]);
+        Arrays.sort(sorted, (a, b) -> Integer.compare(a.getId(), b.getId()));
+        int n = sorted.length;
+        questionIds = new int[n];
+        correctOptions = new byte[n];
+        for (int i = 0; i < n; i++) {
+            questionIds[i] = sorted[i].getId();
+            correctOptions[i] = (byte) sorted[i].getCorrectOption();
+        }
+        presented = new int[n];
+        correct = new int[n];
+        choices = new int[n * CHOICES];
+        scoreSum = new double[n];
+        scoreSquares = new double[n];
+        correctScoreSum = new double[n];
+    }
+
+    private ItemStatistics(ItemStatistics other) {
+        quizId = other.quizId;
+        questionIds = other.questionIds;
+        correctOptions = other.correctOptions;
+        presented = other.presented.clone();
+        correct = other.correct.clone();
+        choices = other.choices.clone();
+        scoreSum = other.scoreSum.clone();
+        scoreSquares = other.scoreSquares.clone();
+        correctScoreSum = other.correctScoreSum.clone();
+        attempts = other.attempts;
+        attemptScoreSum = other.attemptScoreSum;
+    }
+
+    public ItemStatistics copy() {
+        return new ItemStatistics(this);
+    }
+
+    /** Whether these counters were keyed by exactly these questions and correct options. */
+    public boolean matches(List<Question> questions) {
+        if (questions.size() != questionIds.length) {
+            return false;
+        }
+        for (Question q : questions) {
+            int slot = Arrays.binarySearch(questionIds, q.getId());
+            if (slot < 0 || correctOptions[slot] != q.getCorrectOption()) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Adds a submitted attempt: its draw and the final answers as shown, one
+     * byte per drawn question. Questions no longer in the quiz are left out
+     * of the attempt's score. Returns false if nothing could be counted.
+     */
+    public boolean add(QuestionDraw draw, byte[] answers) {
+        int[] ids = draw.getQuestionIds();
+        if (answers == null || answers.length != ids.length) {
+            return false;
+        }
+        int[] slots = new int[ids.length];
+        int[] chosen = new int[ids.length];
+        int counted = 0;
+        int right = 0;
+        for (int i = 0; i < ids.length; i++) {
+            slots[i] = Arrays.binarySearch(questionIds, ids[i]);
+            if (slots[i] >= 0) {
+                int shown = answers[i] >= 0 && answers[i] < UNANSWERED ? answers[i] : AnswerKey.NO_ANSWER;
+                chosen[i] = draw.storedOption(i, shown);
+                counted++;
+                if (chosen[i] == correctOptions[slots[i]]) {
+                    right++;
+                }
+            }
+        }
+        if (counted == 0) {
+            return false;
+        }
+        double score = (double) right / counted;
+        attempts++;
+        attemptScoreSum += score;
+        for (int i = 0; i < ids.length; i++) {
+            int slot = slots[i];
+            if (slot < 0) {
+                continue;
+            }
+            presented[slot]++;
+            choices[slot * CHOICES + (chosen[i] < 0 ? UNANSWERED : chosen[i])]++;
+            scoreSum[slot] += score;
+            scoreSquares[slot] += score * score;
+            if (chosen[i] == correctOptions[slot]) {
+                correct[slot]++;
+                correctScoreSum[slot] += score;
+            }
+        }
+        return true;
+    }
+
+    /** Adds another partition's counters, which must have been built from the same questions. */
+    public void merge(ItemStatistics other) {
+        if (!Arrays.equals(questionIds, other.questionIds) || !Arrays.equals(correctOptions, other.correctOptions)) {
+            throw new IllegalArgumentException("Counters were built from different questions");
+        }
+        for (int i = 0; i < questionIds.length; i++) {
+            presented[i] += other.presented[i];
+            correct[i] += other.correct[i];
+            scoreSum[i] += other.scoreSum[i];
+            scoreSquares[i] += other.scoreSquares[i];
+            correctScoreSum[i] += other.correctScoreSum[i];
+        }
+        for (int i = 0; i < choices.length; i++) {
+            choices[i] += other.choices[i];
+        }
+        attempts += other.attempts;
+        attemptScoreSum += other.attemptScoreSum;
+    }
+
+    public int getQuizId() { return quizId; }
+    public int getAttempts() { return attempts; }
+
+    /** Mean attempt score from 0 to 1, or NaN before any attempt. */
+    public double getMeanScore() {
+        return attempts == 0 ? Double.NaN : attemptScoreSum / attempts;
+    }
+
+    /** Number of questions; slots run from 0 to size() - 1 in ascending id order. */
+    public int size() {
+        return questionIds.length;
+    }
+
+    public int getQuestionId(int slot) {
+        return questionIds[slot];
+    }
+
+    /** The slot of the question, or -1 if it is not counted here. */
+    public int slotOf(int questionId) {
+        int slot = Arrays.binarySearch(questionIds, questionId);
+        return slot < 0 ? -1 : slot;
+    }
+
+    /** Attempts the question was shown in. */
+    public int getPresented(int slot) {
+        return presented[slot];
+    }
+
+    /** Difficulty as the p-value: the share of attempts that answered correctly, or NaN if never shown. */
+    public double getDifficulty(int slot) {
+        return presented[slot] == 0 ? Double.NaN : (double) correct[slot] / presented[slot];
+    }
+
+    /**
+     * Discrimination as the point-biserial correlation between answering the
+     * question correctly and the attempt's score, from -1 to 1. NaN when
+     * everyone or no one answered it correctly, or every score was the same.
+     * The score includes the question itself, which inflates the value a
+     * little on short quizzes.
+     */
+    public double getDiscrimination(int slot) {
+        int n = presented[slot];
+        int n1 = correct[slot];
+        int n0 = n - n1;
+        if (n1 == 0 || n0 == 0) {
+            return Double.NaN;
+        }
+        double mean = scoreSum[slot] / n;
+        double variance = scoreSquares[slot] / n - mean * mean;
+        if (variance <= 1e-12) {
+            return Double.NaN;
+        }
+        double meanCorrect = correctScoreSum[slot] / n1;
+        double meanWrong = (scoreSum[slot] - correctScoreSum[slot]) / n0;
+        return (meanCorrect - meanWrong) / Math.sqrt(variance) * Math.sqrt((double) n1 * n0) / n;
+    }
+
+    /**
+     * The share of attempts that chose the option (0-3 in stored order), or
+     * left the question unanswered for AnswerKey.NO_ANSWER; NaN if never shown.
+     */
+    public double getChoiceRate(int slot, int option) {
+        if (presented[slot] == 0) {
+            return Double.NaN;
+        }
+        int index = option < 0 ? UNANSWERED : option;
+        return (double) choices[slot * CHOICES + index] / presented[slot];
+    }
+
+    /** The stored index of the question's correct option, or Question.NO_CORRECT_OPTION. */
+    public int getCorrectOption(int slot) {
+        return correctOptions[slot];
+    }
+}
@@ -0,0 +1,354 @@
+package com.quizapp;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.StringReader;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Minimal JSON support for the HTTP server and data import/export. Objects map
+ * to LinkedHashMap, arrays to ArrayList, numbers to Long or Double; writing
+ * accepts those plus any other Number, Boolean, CharSequence and null.
+ */
+public final class Json {
+
+    private Json() {
+    }
+
+    // --- Writing ---
+
+    public static String write(Object value) {
+        StringBuilder sb = new StringBuilder();
+        try {
+            write(value, sb);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e); // StringBuilder never throws
+        }
+        return sb.toString();
+    }
+
+    public static void write(Object value, Appendable out) throws IOException {
+        if (value == null) {
+            out.append("null");
+        } else if (value instanceof CharSequence s) {
+            writeString(s, out);
+        } else if (value instanceof Boolean) {
+            out.append(value.toString());
+        } else if (value instanceof Double || value instanceof Float) {
+            double d = ((Number) value).doubleValue();
+            out.append(Double.isFinite(d) ? Double.toString(d) : "null");
+        } else if (value instanceof Number) {
+            out.append(value.toString());
+        } else if (value instanceof Map<?, ?> map) {
+            out.append('{');
+            boolean first = true;
+            for (Map.Entry<?, ?> e : map.entrySet()) {
+                if (!first) {
+                    out.append(',');
+                }
+                first = false;
+                writeString(String.valueOf(e.getKey()), out);
+                out.append(':');
+                write(e.getValue(), out);
+            }
+            out.append('}');
+        } else if (value instanceof Iterable<?> items) {
+            out.append('[');
+            boolean first = true;
+            for (Object item : items) {
+                if (!first) {
+                    out.append(',');
+                }
+                first = false;
+                write(item, out);
+            }
+            out.append(']');
+        } else {
+            throw new IllegalArgumentException("Cannot write " + value.getClass().getName() + " as JSON");
+        }
+    }
+
+    public static void writeString(CharSequence s, Appendable out) throws IOException {
+        out.append('"');
+        for (int i = 0; i < s.length(); i++) {
+            char c = s.charAt(i);
+            switch (c) {
+                case '"' -> out.append("\\\"");
+                case '\\' -> out.append("\\\\");
+                case '\n' -> out.append("\\n");
+                case '\r' -> out.append("\\r");
+                case '\t' -> out.append("\\t");
+                default -> {
+                    if (c < 0x20) {
+                        out.append(String.format("\\u%04x", (int) c));
+                    } else {
+                        out.append(c);
+                    }
+                }
+            }
+        }
+        out.append('"');
+    }
+
+    // --- Parsing ---
+
+    public static Object parse(String text) {
+        try {
+            return parse(new StringReader(text));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /** Parses exactly one JSON value from the reader; trailing content is an error. */
+    public static Object parse(Reader reader) throws IOException {
+        Parser parser = new Parser(reader);
+        Object value = parser.readValue();
+        if (parser.peekToken() != -1) {
+            throw parser.error("Unexpected trailing content");
+        }
+        return value;
+    }
+
+    /**
+     * Incremental parser over a character stream. Besides whole values it can
+     * walk the elements of a top-level array one at a time, so large documents
+     * never have to be held in memory at once.
+     */
+    public static final class Parser {
+        /** Deepest nesting of arrays and objects accepted, so hostile input cannot exhaust the stack. */
+        public static final int MAX_DEPTH = 64;
+
+        private final Reader in;
+        private final char[] buf = new char[8192];
+        private int pos;
+        private int limit;
+        private long offset;
+        private int depth;
+
+        public Parser(Reader in) {
+            this.in = in;
+        }
+
+        /** Consumes the opening bracket of an array. */
+        public void beginArray() throws IOException {
+            expect('[');
+        }
+
+        /** Returns true if another array element follows, consuming the separating comma. */
+        public boolean hasNextElement() throws IOException {
+            int c = peekToken();
+            if (c == ']') {
+                read();
+                return false;
+            }
+            if (c == ',') {
+                read();
+                return true;
+            }
+            if (c == -1) {
+                throw error("Unterminated array");
+            }
+            return true;
+        }
+
+        public Object readValue() throws IOException {
+            int c = peekToken();
+            switch (c) {
+                case '{':
+                case '[':
+                    if (depth == MAX_DEPTH) {
+                        throw error("Nesting too deep");
+                    }
+                    depth++;
+                    try {
+                        return c == '{' ? readObject() : readArray();
+                    } finally {
+                        depth--;
+                    }
+                case '"':
+                    read();
+                    return readString();
+                case 't':
+                    readLiteral("true");
+                    return Boolean.TRUE;
+                case 'f':
+                    readLiteral("false");
+                    return Boolean.FALSE;
+                case 'n':
+                    readLiteral("null");
+                    return null;
+                case -1:
+                    throw error("Unexpected end of input");
+                default:
+                    if (c == '-' || (c >= '0' && c <= '9')) {
+                        return readNumber();
+                    }
+                    throw error("Unexpected character '" + (char) c + "'");
+            }
+        }
+
+        private Map<String, Object> readObject() throws IOException {
+            expect('{');
+            Map<String, Object> map = new LinkedHashMap<>();
+            if (peekToken() == '}') {
+                read();
+                return map;
+            }
+            while (true) {
+                expect('"');
+                String key = readString();
+                expect(':');
+                map.put(key, readValue());
+                int c = peekToken();
+                read();
+                if (c == '}') {
+                    return map;
+                }
+                if (c != ',') {
+                    throw error("Expected ',' or '}'");
+                }
+            }
+        }
+
+        private List<Object> readArray() throws IOException {
+            beginArray();
+            List<Object> list = new ArrayList<>();
+            if (peekToken() == ']') {
+                read();
+                return list;
+            }
+            while (true) {
+                list.add(readValue());
+                int c = peekToken();
+                read();
+                if (c == ']') {
+                    return list;
+                }
+                if (c != ',') {
+                    throw error("Expected ',' or ']'");
+                }
+            }
+        }
+
+        // Called after the opening quote
+        private String readString() throws IOException {
+            StringBuilder sb = new StringBuilder();
+            while (true) {
+                int c = read();
+                if (c == -1) {
+                    throw error("Unterminated string");
+                }
+                if (c == '"') {
+                    return sb.toString();
+                }
+                if (c != '\\') {
+                    sb.append((char) c);
+                    continue;
+                }
+                int e = read();
+                switch (e) {
+                    case '"', '\\', '/' -> sb.append((char) e);
+                    case 'b' -> sb.append('\b');
+                    case 'f' -> sb.append('\f');
+                    case 'n' -> sb.append('\n');
+                    case 'r' -> sb.append('\r');
+                    case 't' -> sb.append('\t');
+                    case 'u' -> {
+                        int code = 0;
+                        for (int i = 0; i < 4; i++) {
+                            int digit = Character.digit(read(), 16);
+                            if (digit < 0) {
+                                throw error("Invalid unicode escape");
+                            }
+                            code = code * 16 + digit;
+                        }
+                        sb.append((char) code);
+                    }
+                    default -> throw error("Invalid escape");
+                }
+            }
+        }
+
+        private Number readNumber() throws IOException {
+            StringBuilder sb = new StringBuilder();
+            boolean decimal = false;
+            while (true) {
+                int c = peek();
+                if ((c >= '0' && c <= '9') || c == '-' || c == '+') {
+                    sb.append((char) read());
+                } else if (c == '.' || c == 'e' || c == 'E') {
+                    decimal = true;
+                    sb.append((char) read());
+                } else {
+                    break;
+                }
+            }
+            try {
+                return decimal ? (Number) Double.parseDouble(sb.toString()) : (Number) Long.parseLong(sb.toString());
+            } catch (NumberFormatException e) {
+                throw error("Invalid number '" + sb + "'");
+            }
+        }
+
+        private void readLiteral(String literal) throws IOException {
+            for (int i = 0; i < literal.length(); i++) {
+                if (read() != literal.charAt(i)) {
+                    throw error("Expected '" + literal + "'");
+                }
+            }
+        }
+
+        private void expect(char expected) throws IOException {
+            if (peekToken() != expected) {
+                throw error("Expected '" + expected + "'");
+            }
+            read();
+        }
+
+        // Skips whitespace and returns the next character without consuming it
+        int peekToken() throws IOException {
+            while (true) {
+                int c = peek();
+                if (c == ' ' || c == '\n' || c == '\r' || c == '\t') {
+                    read();
+                } else {
+                    return c;
+                }
+            }
+        }
+
+        private int peek() throws IOException {
+            if (pos == limit && !fill()) {
+                return -1;
+            }
+            return buf[pos];
+        }
+
+        private int read() throws IOException {
+            if (pos == limit && !fill()) {
+                return -1;
+            }
+            offset++;
+            return buf[pos++];
+        }
+
+        private boolean fill() throws IOException {
+            int n = in.read(buf, 0, buf.length);
+            if (n <= 0) {
+                return false;
+            }
+            pos = 0;
+            limit = n;
+            return true;
+        }
+
+        IOException error(String message) {
+            return new IOException(message + " at offset " + offset);
+        }
+    }
+}
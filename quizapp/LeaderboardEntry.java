@@ -1,20 +1,30 @@
 package com.quizapp;
 
 public class LeaderboardEntry {
+    private int rank;
+    private int userId;
     private String username;
     private double averageScore;
     private int totalAttempts;
-    private int totalScore;
+    private long totalScore;
 
-    public LeaderboardEntry(String username, double averageScore, int totalAttempts, int totalScore) {
+    public LeaderboardEntry(String username, double averageScore, int totalAttempts, long totalScore) {
+        this(0, 0, username, averageScore, totalAttempts, totalScore);
+    }
+
+    public LeaderboardEntry(int rank, int userId, String username, double averageScore, int totalAttempts, long totalScore) {
+        this.rank = rank;
+        this.userId = userId;
         this.username = username;
         this.averageScore = averageScore;
         this.totalAttempts = totalAttempts;
         this.totalScore = totalScore;
     }
 
+    public int getRank() { return rank; }
+    public int getUserId() { return userId; }
     public String getUsername() { return username; }
     public double getAverageScore() { return averageScore; }
     public int getTotalAttempts() { return totalAttempts; }
-    public int getTotalScore() { return totalScore; }
+    public long getTotalScore() { return totalScore; }
 }
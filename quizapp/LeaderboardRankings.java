@@ -0,0 +1,107 @@
+package com.quizapp;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * In-process rankings: one global leaderboard plus one per quiz, and the
+ * windowed leaderboards over recent days. They are loaded from the database
+ * once at startup and then kept current by DatabaseManager after every
+ * committed result, so leaderboard screens never have to query SQLite.
+ */
+public class LeaderboardRankings {
+    private static final String SELECT_QUIZ_AGGREGATES = """
+            SELECT qr.quiz_id, qr.user_id, u.username,
+                   COUNT(*) as attempts, SUM(qr.score) as score_sum, SUM(qr.percentage) as percentage_sum
+            FROM quiz_results qr
+            JOIN users u ON qr.user_id = u.id
+            GROUP BY qr.quiz_id, qr.user_id
+        """;
+
+    private final RankedLeaderboard global = new RankedLeaderboard();
+    private final ConcurrentHashMap<Integer, RankedLeaderboard> byQuiz = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<Integer, String> usernames = new ConcurrentHashMap<>();
+    private final WindowedLeaderboards windows = new WindowedLeaderboards(usernames::get);
+
+    public void load(Connection conn) throws SQLException {
+        try (Statement stmt = conn.createStatement();
+             ResultSet rs = stmt.executeQuery("SELECT id, username FROM users")) {
+            while (rs.next()) {
+                usernames.put(rs.getInt("id"), rs.getString("username"));
+            }
+        }
+        loadGlobal(conn);
+        byQuiz.clear();
+        try (Statement stmt = conn.createStatement();
+             ResultSet rs = stmt.executeQuery(SELECT_QUIZ_AGGREGATES)) {
+            while (rs.next()) {
+                forQuizOrCreate(rs.getInt("quiz_id")).set(rs.getInt("user_id"), rs.getString("username"),
+                        rs.getInt("attempts"), rs.getLong("score_sum"), rs.getDouble("percentage_sum"));
+            }
+        }
+        loadWindows(conn);
+    }
+
+    /** Reloads the windowed leaderboards from the user_daily_stats rows still in range. */
+    public void loadWindows(Connection conn) throws SQLException {
+        windows.clear();
+        try (PreparedStatement pstmt = conn.prepareStatement(DatabaseManager.SELECT_RECENT_DAILY_STATS)) {
+            pstmt.setLong(1, windows.today() - WindowedLeaderboards.RETAINED_DAYS + 1);
+            try (ResultSet rs = pstmt.executeQuery()) {
+                while (rs.next()) {
+                    windows.add(rs.getInt("user_id"), rs.getLong("day"), rs.getInt("attempts"),
+                            rs.getLong("score_sum"), rs.getDouble("percentage_sum"));
+                }
+            }
+        }
+    }
+
+    public void loadGlobal(Connection conn) throws SQLException {
+        global.clear();
+        try (Statement stmt = conn.createStatement();
+             ResultSet rs = stmt.executeQuery(DatabaseManager.SELECT_LEADERBOARD)) {
+            while (rs.next()) {
+                global.set(rs.getInt("user_id"), rs.getString("username"), rs.getInt("total_attempts"),
+                        rs.getLong("total_score"), rs.getDouble("percentage_sum"));
+            }
+        }
+    }
+
+    public void registerUser(int userId, String username) {
+        usernames.put(userId, username);
+    }
+
+    public String usernameFor(int userId) {
+        return usernames.get(userId);
+    }
+
+    /** Applies a result that has already been committed to the database. */
+    public void recordResult(QuizResult result) {
+        String username = usernames.get(result.getUserId());
+        global.record(result.getUserId(), username, result.getScore(), result.getPercentage());
+        forQuizOrCreate(result.getQuizId()).record(result.getUserId(), username, result.getScore(), result.getPercentage());
+        windows.record(result);
+    }
+
+    public RankedLeaderboard global() {
+        return global;
+    }
+
+    public WindowedLeaderboards windows() {
+        return windows;
+    }
+
+    /** Returns the quiz's leaderboard, or an empty one if nobody has taken it yet. */
+    public RankedLeaderboard forQuiz(int quizId) {
+        RankedLeaderboard board = byQuiz.get(quizId);
+        return board != null ? board : new RankedLeaderboard();
+    }
+
+    private RankedLeaderboard forQuizOrCreate(int quizId) {
+        return byQuiz.computeIfAbsent(quizId, id -> new RankedLeaderboard());
+    }
+}
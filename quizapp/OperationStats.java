@@ -0,0 +1,77 @@
+package com.quizapp;
+
+import java.beans.ConstructorProperties;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/** Point-in-time statistics for one instrumented data-layer operation. */
+public class OperationStats {
+    private final String name;
+    private final long count;
+    private final long errors;
+    private final long rows;
+    private final double meanMicros;
+    private final double p50Micros;
+    private final double p90Micros;
+    private final double p99Micros;
+    private final double p999Micros;
+    private final double maxMicros;
+
+    @ConstructorProperties({"name", "count", "errors", "rows", "meanMicros", "p50Micros", "p90Micros",
+            "p99Micros", "p999Micros", "maxMicros"})
+    public OperationStats(String name, long count, long errors, long rows, double meanMicros, double p50Micros,
+                          double p90Micros, double p99Micros, double p999Micros, double maxMicros) {
+        this.name = name;
+        this.count = count;
+        this.errors = errors;
+        this.rows = rows;
+        this.meanMicros = meanMicros;
+        this.p50Micros = p50Micros;
+        this.p90Micros = p90Micros;
+        this.p99Micros = p99Micros;
+        this.p999Micros = p999Micros;
+        this.maxMicros = maxMicros;
+    }
+
+    static OperationStats of(String name, LatencyHistogram.Snapshot latency, long errors, long rows) {
+        return new OperationStats(name, latency.getCount(), errors, rows,
+                latency.getMeanNanos() / 1000.0,
+                latency.getValueAtPercentile(50) / 1000.0,
+                latency.getValueAtPercentile(90) / 1000.0,
+                latency.getValueAtPercentile(99) / 1000.0,
+                latency.getValueAtPercentile(99.9) / 1000.0,
+                latency.getMaxNanos() / 1000.0);
+    }
+
+    public String getName() { return name; }
+    public long getCount() { return count; }
+    public long getErrors() { return errors; }
+    public long getRows() { return rows; }
+    public double getMeanMicros() { return meanMicros; }
+    public double getP50Micros() { return p50Micros; }
+    public double getP90Micros() { return p90Micros; }
+    public double getP99Micros() { return p99Micros; }
+    public double getP999Micros() { return p999Micros; }
+    public double getMaxMicros() { return maxMicros; }
+
+    Map<String, Object> toJson() {
+        Map<String, Object> json = new LinkedHashMap<>();
+        json.put("name", name);
+        json.put("count", count);
+        json.put("errors", errors);
+        json.put("rows", rows);
+        json.put("meanMicros", meanMicros);
+        json.put("p50Micros", p50Micros);
+        json.put("p90Micros", p90Micros);
+        json.put("p99Micros", p99Micros);
+        json.put("p999Micros", p999Micros);
+        json.put("maxMicros", maxMicros);
+        return json;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%-28s count=%d errors=%d rows=%d mean=%.1fus p50=%.1fus p99=%.1fus p99.9=%.1fus max=%.1fus",
+                name, count, errors, rows, meanMicros, p50Micros, p99Micros, p999Micros, maxMicros);
+    }
+}
@@ -0,0 +1,188 @@
+package com.quizapp;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
+import java.security.spec.InvalidKeySpecException;
+import java.util.Base64;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+import javax.crypto.SecretKeyFactory;
+import javax.crypto.spec.PBEKeySpec;
+
+/**
+ * Password hashing with PBKDF2 from the JDK. New hashes are stored as
+ * "pbkdf2-&lt;prf&gt;$&lt;iterations&gt;$&lt;salt&gt;$&lt;hash&gt;", so the cost travels with each
+ * hash; anything without that prefix is a legacy single-round salted SHA-256
+ * hash. Verification reports when a hash is legacy or weaker than the current
+ * setting so the caller can store an upgraded one. The expensive work runs on
+ * a small bounded pool, so a burst of logins queues or is rejected instead of
+ * taking every CPU.
+ */
+public class PasswordHashing implements AutoCloseable {
+    private static final int SALT_BYTES = 16;
+    private static final int KEY_BITS = 256;
+    private static final Map<String, String> PREFIXES = Map.of(
+            "PBKDF2WithHmacSHA1", "pbkdf2-sha1",
+            "PBKDF2WithHmacSHA256", "pbkdf2-sha256",
+            "PBKDF2WithHmacSHA512", "pbkdf2-sha512");
+
+    /** A hash ready to store, with the salt for the users.salt column. */
+    public static final class Encoded {
+        private final String hash;
+        private final String salt;
+
+        Encoded(String hash, String salt) {
+            this.hash = hash;
+            this.salt = salt;
+        }
+
+        public String getHash() { return hash; }
+        public String getSalt() { return salt; }
+    }
+
+    /** Outcome of checking a password; carries a replacement hash when the stored one is outdated. */
+    public static final class Verification {
+        private final boolean matches;
+        private final Encoded upgrade;
+
+        Verification(boolean matches, Encoded upgrade) {
+            this.matches = matches;
+            this.upgrade = upgrade;
+        }
+
+        public boolean matches() { return matches; }
+        public Encoded getUpgrade() { return upgrade; }
+    }
+
+    private final String algorithm;
+    private final String prefix;
+    private final int iterations;
+    private final SecureRandom random = new SecureRandom();
+    private final ThreadPoolExecutor executor;
+    private final LongAdder rejections = new LongAdder();
+    // Checked in place of a stored hash when the username does not exist; no password matches it
+    private final String absentUserHash;
+
+    public PasswordHashing(String algorithm, int iterations, int threads, int queueCapacity) {
+        this.prefix = PREFIXES.get(algorithm);
+        if (prefix == null) {
+            throw new IllegalArgumentException("Unsupported password hash algorithm: " + algorithm);
+        }
+        this.algorithm = algorithm;
+        this.iterations = Math.max(1, iterations);
+        AtomicInteger counter = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(threads, threads, 0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(Math.max(1, queueCapacity)), r -> {
+                    Thread t = new Thread(r, "quizapp-hash-" + counter.incrementAndGet());
+                    t.setDaemon(true);
+                    return t;
+                });
+        byte[] salt = new byte[SALT_BYTES];
+        byte[] key = new byte[KEY_BITS / 8];
+        random.nextBytes(salt);
+        random.nextBytes(key);
+        Base64.Encoder b64 = Base64.getEncoder();
+        this.absentUserHash = prefix + "$" + this.iterations + "$" + b64.encodeToString(salt)
+                + "$" + b64.encodeToString(key);
+    }
+
+    public String getAlgorithm() { return algorithm; }
+    public int getIterations() { return iterations; }
+    public long getRejectedCount() { return rejections.sum(); }
+    public int getQueueDepth() { return executor.getQueue().size(); }
+
+    /**
+     * A hash at the current cost that no password matches. Verifying against
+     * it when a username is unknown makes that login take as long as a wrong
+     * password, so response times do not reveal which usernames exist.
+     */
+    public String getAbsentUserHash() { return absentUserHash; }
+
+    /**
+     * Runs hashing work on the bounded pool. When the pool and its queue are
+     * full the future fails with a RejectedExecutionException right away.
+     */
+    public <T> CompletableFuture<T> submit(Supplier<T> work) {
+        try {
+            return CompletableFuture.supplyAsync(work, executor);
+        } catch (RejectedExecutionException e) {
+            rejections.increment();
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+
+    public Encoded hash(String password) {
+        byte[] salt = new byte[SALT_BYTES];
+        random.nextBytes(salt);
+        byte[] key = pbkdf2(algorithm, password, salt, iterations);
+        Base64.Encoder b64 = Base64.getEncoder();
+        String encodedSalt = b64.encodeToString(salt);
+        return new Encoded(prefix + "$" + iterations + "$" + encodedSalt + "$" + b64.encodeToString(key), encodedSalt);
+    }
+
+    /** Checks the password against a stored hash; the salt column is only used by legacy hashes. */
+    public Verification verify(String password, String storedHash, String salt) {
+        String[] parts = storedHash.split("\\$");
+        boolean matches;
+        boolean outdated;
+        if (parts.length == 4 && parts[0].startsWith("pbkdf2-")) {
+            String storedAlgorithm = algorithmFor(parts[0]);
+            int storedIterations = Integer.parseInt(parts[1]);
+            Base64.Decoder b64 = Base64.getDecoder();
+            byte[] expected = b64.decode(parts[3]);
+            byte[] actual = pbkdf2(storedAlgorithm, password, b64.decode(parts[2]), storedIterations);
+            matches = MessageDigest.isEqual(expected, actual);
+            outdated = !parts[0].equals(prefix) || storedIterations < iterations;
+        } else {
+            matches = MessageDigest.isEqual(
+                    Base64.getDecoder().decode(storedHash), legacySha256(password, salt));
+            outdated = true;
+        }
+        return new Verification(matches, matches && outdated ? hash(password) : null);
+    }
+
+    private static String algorithmFor(String storedPrefix) {
+        for (Map.Entry<String, String> e : PREFIXES.entrySet()) {
+            if (e.getValue().equals(storedPrefix)) {
+                return e.getKey();
+            }
+        }
+        throw new IllegalArgumentException("Unknown password hash type: " + storedPrefix);
+    }
+
+    private static byte[] pbkdf2(String algorithm, String password, byte[] salt, int iterations) {
+        PBEKeySpec spec = new PBEKeySpec(password.toCharArray(), salt, iterations, KEY_BITS);
+        try {
+            return SecretKeyFactory.getInstance(algorithm).generateSecret(spec).getEncoded();
+        } catch (NoSuchAlgorithmException | InvalidKeySpecException e) {
+            throw new IllegalStateException("Error hashing password", e);
+        } finally {
+            spec.clearPassword();
+        }
+    }
+
+    // The original scheme: one round of SHA-256 over salt + password
+    private static byte[] legacySha256(String password, String salt) {
+        try {
+            MessageDigest md = MessageDigest.getInstance("SHA-256");
+            md.update(Base64.getDecoder().decode(salt));
+            return md.digest(password.getBytes(StandardCharsets.UTF_8));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("Error hashing password", e);
+        }
+    }
+
+    @Override
+    public void close() {
+        executor.shutdown();
+    }
+}
@@ -0,0 +1,83 @@
+package com.quizapp;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Runs EXPLAIN QUERY PLAN over the hot DatabaseManager queries and reports any
+ * that fall back to a full table scan or a temporary sort. Enable it at
+ * startup with -Dquizapp.db.verifyPlans=true to fail fast after a schema change.
+ */
+public class QueryPlanChecker {
+
+    private static final class HotQuery {
+        final String name;
+        final String sql;
+        final Set<String> allowedScans;
+        final boolean indexedOrder;
+
+        HotQuery(String name, String sql, Set<String> allowedScans, boolean indexedOrder) {
+            this.name = name;
+            this.sql = sql;
+            this.allowedScans = allowedScans;
+            this.indexedOrder = indexedOrder;
+        }
+    }
+
+    private static final List<HotQuery> HOT_QUERIES = List.of(
+            new HotQuery("authenticateUser", DatabaseManager.SELECT_USER_BY_NAME, Set.of(), false),
+            new HotQuery("getQuestionsForQuiz", DatabaseManager.SELECT_QUESTIONS_FOR_QUIZ, Set.of(), false),
+            new HotQuery("loadQuestionIds", DatabaseManager.SELECT_QUESTION_IDS, Set.of(), true),
+            new HotQuery("findOpenAttempt", DatabaseManager.SELECT_OPEN_ATTEMPT, Set.of(), true),
+            new HotQuery("findOpenAttempt (answers)", DatabaseManager.SELECT_ATTEMPT_ANSWERS, Set.of(), true),
+            new HotQuery("forEachSubmittedAttempt", DatabaseManager.SELECT_SUBMITTED_ATTEMPTS, Set.of(), true),
+            new HotQuery("getUserQuizResults", DatabaseManager.SELECT_USER_RESULTS, Set.of(), true),
+            new HotQuery("getUserQuizResultsPage (first)", DatabaseManager.SELECT_USER_RESULTS_FIRST_PAGE, Set.of(), true),
+            new HotQuery("getUserQuizResultsPage", DatabaseManager.SELECT_USER_RESULTS_PAGE, Set.of(), true),
+            new HotQuery("loadWindows", DatabaseManager.SELECT_RECENT_DAILY_STATS, Set.of(), false),
+            new HotQuery("rebuildDailyStats", DatabaseManager.SELECT_DAILY_STATS_SINCE, Set.of(), false),
+            // A full-text table is always reported as a SCAN; its MATCH shows as the index it uses
+            new HotQuery("searchQuizzes", DatabaseManager.SEARCH_QUIZZES, Set.of("quizzes_fts"), false),
+            new HotQuery("searchQuizzes (questions)", DatabaseManager.SEARCH_QUIZZES_BY_QUESTION,
+                    Set.of("questions_fts", "h"), false),
+            // The leaderboard reads one user_stats row per user, so walking that table is
+            // expected; it must never touch quiz_results.
+            new HotQuery("getLeaderboard", DatabaseManager.SELECT_LEADERBOARD, Set.of("s"), false)
+    );
+
+    private QueryPlanChecker() {
+    }
+
+    public static List<String> findViolations(Connection conn) throws SQLException {
+        List<String> violations = new ArrayList<>();
+        for (HotQuery query : HOT_QUERIES) {
+            try (Statement stmt = conn.createStatement();
+                 ResultSet rs = stmt.executeQuery("EXPLAIN QUERY PLAN " + query.sql)) {
+                while (rs.next()) {
+                    String detail = rs.getString("detail");
+                    if (detail.startsWith("SCAN ")) {
+                        String table = detail.substring(5).split(" ")[0];
+                        if (!query.allowedScans.contains(table)) {
+                            violations.add(query.name + ": " + detail);
+                        }
+                    } else if (query.indexedOrder && detail.startsWith("USE TEMP B-TREE")) {
+                        violations.add(query.name + ": " + detail);
+                    }
+                }
+            }
+        }
+        return violations;
+    }
+
+    public static void verify(Connection conn) throws SQLException {
+        List<String> violations = findViolations(conn);
+        if (!violations.isEmpty()) {
+            throw new IllegalStateException("Hot queries are not using indexes:\n  " + String.join("\n  ", violations));
+        }
+    }
+}
@@ -1,46 +1,107 @@
 package com.quizapp;
 
-public class Question {
-    private int id;
-    private int quizId;
-    private String questionText;
-    private String optionA;
-    private String optionB;
-    private String optionC;
-    private String optionD;
-    private String correctAnswer;
+/**
+ * An immutable multiple-choice question. The correct answer is kept as the
+ * index (0-3) of the option that holds it rather than a copy of its text, and
+ * option strings are interned, so stock options such as "True" or "None of
+ * the above" are stored once however many cached questions use them.
+ */
+public final class Question {
+    /** Correct option of a question whose answer matches none of its options; no answer can equal it. */
+    public static final int NO_CORRECT_OPTION = -2;
+
+    private final int id;
+    private final int quizId;
+    private final String questionText;
+    private final String optionA;
+    private final String optionB;
+    private final String optionC;
+    private final String optionD;
+    private final byte correctOption;
 
     public Question(int id, int quizId, String questionText, String optionA,
-                    String optionB, String optionC, String optionD, String correctAnswer) {
+                    String optionB, String optionC, String optionD, int correctOption) {
         this.id = id;
         this.quizId = quizId;
         this.questionText = questionText;
+        this.optionA = intern(optionA);
+        this.optionB = intern(optionB);
+        this.optionC = intern(optionC);
+        this.optionD = intern(optionD);
+        this.correctOption = (byte) (correctOption >= 0 && correctOption < 4 ? correctOption : NO_CORRECT_OPTION);
+    }
+
+    // Options are already interned
+    private Question(Question source, String optionA, String optionB, String optionC, String optionD, int correctOption) {
+        this.id = source.id;
+        this.quizId = source.quizId;
+        this.questionText = source.questionText;
         this.optionA = optionA;
         this.optionB = optionB;
         this.optionC = optionC;
         this.optionD = optionD;
-        this.correctAnswer = correctAnswer;
+        this.correctOption = (byte) correctOption;
+    }
+
+    /**
+     * This question with its options rearranged: bits 2s..2s+1 of the order
+     * give the index of the option to show in slot s (see QuestionDraw). The
+     * correct option moves with its text.
+     */
+    public Question withOptionOrder(int order) {
+        int a = order & 3, b = order >>> 2 & 3, c = order >>> 4 & 3, d = order >>> 6 & 3;
+        int correct = NO_CORRECT_OPTION;
+        if (correctOption == a) correct = 0;
+        else if (correctOption == b) correct = 1;
+        else if (correctOption == c) correct = 2;
+        else if (correctOption == d) correct = 3;
+        return new Question(this, getOption(a), getOption(b), getOption(c), getOption(d), correct);
     }
 
     public int getId() { return id; }
-    public void setId(int id) { this.id = id; }
     public int getQuizId() { return quizId; }
-    public void setQuizId(int quizId) { this.quizId = quizId; }
     public String getQuestionText() { return questionText; }
-    public void setQuestionText(String questionText) { this.questionText = questionText; }
     public String getOptionA() { return optionA; }
-    public void setOptionA(String optionA) { this.optionA = optionA; }
     public String getOptionB() { return optionB; }
-    public void setOptionB(String optionB) { this.optionB = optionB; }
     public String getOptionC() { return optionC; }
-    public void setOptionC(String optionC) { this.optionC = optionC; }
     public String getOptionD() { return optionD; }
-    public void setOptionD(String optionD) { this.optionD = optionD; }
-    public String getCorrectAnswer() { return correctAnswer; }
-    public void setCorrectAnswer(String correctAnswer) { this.correctAnswer = correctAnswer; }
 
-    public boolean isCorrectAnswer(String answer) {
-        // The correct answer is stored as the full text of the option
-        return this.correctAnswer.equals(answer);
+    /** Option text by index, 0 for A through 3 for D. */
+    public String getOption(int index) {
+        switch (index) {
+            case 0: return optionA;
+            case 1: return optionB;
+            case 2: return optionC;
+            case 3: return optionD;
+            default: throw new IndexOutOfBoundsException("Option " + index);
+        }
+    }
+
+    /** Index of the correct option, or NO_CORRECT_OPTION. */
+    public int getCorrectOption() { return correctOption; }
+
+    /** Text of the correct option, or null if there is none. */
+    public String getCorrectAnswer() {
+        return correctOption == NO_CORRECT_OPTION ? null : getOption(correctOption);
+    }
+
+    public boolean isCorrectAnswer(int optionIndex) {
+        return optionIndex == correctOption;
+    }
+
+    /** Index of the option whose text equals the answer, or NO_CORRECT_OPTION if none does. */
+    public static int optionIndex(String answer, String optionA, String optionB, String optionC, String optionD) {
+        if (answer == null) return NO_CORRECT_OPTION;
+        if (answer.equals(optionA)) return 0;
+        if (answer.equals(optionB)) return 1;
+        if (answer.equals(optionC)) return 2;
+        if (answer.equals(optionD)) return 3;
+        return NO_CORRECT_OPTION;
+    }
+
+    // Options repeat across questions far more than question text does, so
+    // only they go through the JVM string table
+    private static String intern(String s) {
+        return s == null ? null : s.intern();
     }
 }
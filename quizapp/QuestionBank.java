@@ -0,0 +1,422 @@
+package com.quizapp;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.function.Consumer;
+
+/**
+ * Bulk import and export of question banks as CSV or JSON. Input is parsed as
+ * a stream, one row at a time; valid rows are inserted in chunks, each chunk
+ * one batched statement in its own transaction, and invalid rows are skipped
+ * and reported. Exports read straight off the database cursor into the file.
+ * <p>
+ * CSV needs a header row naming the columns question, option_a, option_b,
+ * option_c, option_d and correct_answer, in any order. JSON is an array of
+ * objects with the keys question, optionA, optionB, optionC, optionD and
+ * correctAnswer. The correct answer is either the text of one of the options
+ * or the letter A-D.
+ */
+public class QuestionBank {
+    public static final int DEFAULT_CHUNK_SIZE = 1_000;
+    private static final int MAX_REPORTED_ERRORS = 100;
+    private static final String[] COLUMNS = {"question", "option_a", "option_b", "option_c", "option_d", "correct_answer"};
+    private static final String[] JSON_KEYS = {"question", "optionA", "optionB", "optionC", "optionD", "correctAnswer"};
+
+    /** Running totals of an import; a snapshot is handed to the progress listener after every chunk. */
+    public static final class ImportReport {
+        private long rowsRead;
+        private long imported;
+        private long rejected;
+        private long elapsedNanos;
+        private final List<String> errors = new ArrayList<>();
+
+        public long getRowsRead() { return rowsRead; }
+        public long getImported() { return imported; }
+        public long getRejected() { return rejected; }
+        public long getElapsedMillis() { return elapsedNanos / 1_000_000; }
+        /** The first rejected rows with their reasons, at most 100. */
+        public List<String> getErrors() { return Collections.unmodifiableList(errors); }
+
+        public double getRowsPerSecond() {
+            return elapsedNanos == 0 ? 0 : rowsRead * 1e9 / elapsedNanos;
+        }
+
+        private void reject(String where, String reason) {
+            rejected++;
+            if (errors.size() < MAX_REPORTED_ERRORS) {
+                errors.add(where + ": " + reason);
+            }
+        }
+
+        private ImportReport copy() {
+            ImportReport copy = new ImportReport();
+            copy.rowsRead = rowsRead;
+            copy.imported = imported;
+            copy.rejected = rejected;
+            copy.elapsedNanos = elapsedNanos;
+            copy.errors.addAll(errors);
+            return copy;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("%d rows read, %d imported, %d rejected in %d ms (%.0f rows/s)",
+                    rowsRead, imported, rejected, getElapsedMillis(), getRowsPerSecond());
+        }
+    }
+
+    private final QuizStore store;
+    private final int chunkSize;
+
+    public QuestionBank(QuizStore store) {
+        this(store, DEFAULT_CHUNK_SIZE);
+    }
+
+    public QuestionBank(QuizStore store, int chunkSize) {
+        this.store = store;
+        this.chunkSize = Math.max(1, chunkSize);
+    }
+
+    static boolean isJson(Path file) {
+        return file.getFileName().toString().toLowerCase(Locale.ROOT).endsWith(".json");
+    }
+
+    // --- Import ---
+
+    /** Imports a .json file as JSON and anything else as CSV. Progress may be null. */
+    public ImportReport importFile(Path file, int quizId, Consumer<ImportReport> progress) throws IOException {
+        try (Reader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            return isJson(file) ? importJson(reader, quizId, progress) : importCsv(reader, quizId, progress);
+        }
+    }
+
+    public ImportReport importCsv(Reader reader, int quizId, Consumer<ImportReport> progress) throws IOException {
+        requireQuiz(quizId);
+        Importer importer = new Importer(quizId, progress);
+        CsvReader csv = new CsvReader(reader);
+        List<String> header = csv.readRecord();
+        if (header == null) {
+            throw new IOException("CSV file is empty");
+        }
+        // Spreadsheet exports often start with a byte order mark
+        if (header.get(0).startsWith("\uFEFF")) {
+            header.set(0, header.get(0).substring(1));
+        }
+        Map<String, Integer> columns = new HashMap<>();
+        for (int i = 0; i < header.size(); i++) {
+            columns.put(header.get(i).trim().toLowerCase(Locale.ROOT), i);
+        }
+        int[] positions = new int[COLUMNS.length];
+        for (int i = 0; i < COLUMNS.length; i++) {
+            Integer position = columns.get(COLUMNS[i]);
+            if (position == null) {
+                throw new IOException("CSV header has no '" + COLUMNS[i] + "' column");
+            }
+            positions[i] = position;
+        }
+        List<String> record;
+        while ((record = csv.readRecord()) != null) {
+            String where = "line " + csv.getRecordLine();
+            if (record.size() == 1 && record.get(0).isBlank()) {
+                continue;
+            }
+            String[] fields = new String[COLUMNS.length];
+            for (int i = 0; i < COLUMNS.length; i++) {
+                fields[i] = positions[i] < record.size() ? record.get(positions[i]) : null;
+            }
+            importer.accept(where, fields);
+        }
+        return importer.finish();
+    }
+
+    public ImportReport importJson(Reader reader, int quizId, Consumer<ImportReport> progress) throws IOException {
+        requireQuiz(quizId);
+        Importer importer = new Importer(quizId, progress);
+        Json.Parser parser = new Json.Parser(reader);
+        parser.beginArray();
+        int index = 0;
+        while (parser.hasNextElement()) {
+            Object element = parser.readValue();
+            String where = "element " + index++;
+            if (!(element instanceof Map)) {
+                importer.reject(where, "not an object");
+                continue;
+            }
+            Map<?, ?> object = (Map<?, ?>) element;
+            String[] fields = new String[JSON_KEYS.length];
+            for (int i = 0; i < JSON_KEYS.length; i++) {
+                Object value = object.get(JSON_KEYS[i]);
+                fields[i] = value instanceof String ? (String) value : null;
+            }
+            importer.accept(where, fields);
+        }
+        return importer.finish();
+    }
+
+    private void requireQuiz(int quizId) throws IOException {
+        if (store.getQuiz(quizId) == null) {
+            throw new IOException("There is no quiz with id " + quizId);
+        }
+    }
+
+    /** Validates rows and inserts them a chunk at a time. */
+    private final class Importer {
+        private final int quizId;
+        private final Consumer<ImportReport> progress;
+        private final ImportReport report = new ImportReport();
+        private final List<Question> chunk = new ArrayList<>();
+        private final long startNanos = System.nanoTime();
+        private long chunkStartRow = 1;
+
+        Importer(int quizId, Consumer<ImportReport> progress) {
+            this.quizId = quizId;
+            this.progress = progress;
+        }
+
+        void reject(String where, String reason) {
+            report.rowsRead++;
+            report.reject(where, reason);
+        }
+
+        void accept(String where, String[] fields) {
+            report.rowsRead++;
+            String error = validate(fields);
+            if (error != null) {
+                report.reject(where, error);
+                return;
+            }
+            chunk.add(new Question(0, quizId, fields[0].trim(), fields[1].trim(), fields[2].trim(),
+                    fields[3].trim(), fields[4].trim(), correctOption(fields)));
+            if (chunk.size() >= chunkSize) {
+                flush();
+            }
+        }
+
+        ImportReport finish() {
+            flush();
+            return report.copy();
+        }
+
+        private void flush() {
+            if (!chunk.isEmpty()) {
+                if (store.addQuestions(chunk)) {
+                    report.imported += chunk.size();
+                } else {
+                    // The chunk rolled back as a whole
+                    report.rejected += chunk.size();
+                    if (report.errors.size() < MAX_REPORTED_ERRORS) {
+                        report.errors.add("rows " + chunkStartRow + "-" + report.rowsRead + ": database insert failed");
+                    }
+                }
+                chunk.clear();
+            }
+            chunkStartRow = report.rowsRead + 1;
+            report.elapsedNanos = System.nanoTime() - startNanos;
+            if (progress != null) {
+                progress.accept(report.copy());
+            }
+        }
+    }
+
+    /** Null if the row can be imported, otherwise why not. */
+    static String validate(String[] fields) {
+        for (int i = 0; i < fields.length; i++) {
+            if (fields[i] == null || fields[i].isBlank()) {
+                return "missing " + COLUMNS[i];
+            }
+        }
+        return correctOption(fields) == Question.NO_CORRECT_OPTION
+                ? "correct answer '" + fields[5].trim() + "' is not one of the options"
+                : null;
+    }
+
+    // Index of the option whose text is the answer; a letter A-D picks the option
+    private static int correctOption(String[] fields) {
+        String answer = fields[5].trim();
+        for (int i = 1; i <= 4; i++) {
+            if (fields[i].trim().equals(answer)) {
+                return i - 1;
+            }
+        }
+        if (answer.length() == 1) {
+            int letter = Character.toUpperCase(answer.charAt(0)) - 'A';
+            if (letter >= 0 && letter < 4) {
+                return letter;
+            }
+        }
+        return Question.NO_CORRECT_OPTION;
+    }
+
+    // --- Export ---
+
+    /** Writes a quiz's questions to a .json file as JSON and anything else as CSV. Returns the count. */
+    public int exportFile(int quizId, Path file) throws IOException {
+        try (Writer writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8)) {
+            return isJson(file) ? exportJson(quizId, writer) : exportCsv(quizId, writer);
+        }
+    }
+
+    public int exportCsv(int quizId, Writer out) throws IOException {
+        Writer writer = out instanceof BufferedWriter ? out : new BufferedWriter(out);
+        writer.write(String.join(",", COLUMNS));
+        writer.write("\r\n");
+        int count = export(quizId, q -> {
+            String[] fields = {q.getQuestionText(), q.getOptionA(), q.getOptionB(), q.getOptionC(),
+                    q.getOptionD(), q.getCorrectAnswer() == null ? "" : q.getCorrectAnswer()};
+            for (int i = 0; i < fields.length; i++) {
+                if (i > 0) {
+                    writer.write(',');
+                }
+                writeCsvField(fields[i], writer);
+            }
+            writer.write("\r\n");
+        });
+        writer.flush();
+        return count;
+    }
+
+    public int exportJson(int quizId, Writer out) throws IOException {
+        Writer writer = out instanceof BufferedWriter ? out : new BufferedWriter(out);
+        writer.write('[');
+        boolean[] first = {true};
+        int count = export(quizId, q -> {
+            writer.write(first[0] ? "\n  " : ",\n  ");
+            first[0] = false;
+            Map<String, Object> json = new LinkedHashMap<>();
+            json.put(JSON_KEYS[0], q.getQuestionText());
+            json.put(JSON_KEYS[1], q.getOptionA());
+            json.put(JSON_KEYS[2], q.getOptionB());
+            json.put(JSON_KEYS[3], q.getOptionC());
+            json.put(JSON_KEYS[4], q.getOptionD());
+            json.put(JSON_KEYS[5], q.getCorrectAnswer());
+            Json.write(json, writer);
+        });
+        writer.write(first[0] ? "]\n" : "\n]\n");
+        writer.flush();
+        return count;
+    }
+
+    private interface QuestionWriter {
+        void write(Question question) throws IOException;
+    }
+
+    private int export(int quizId, QuestionWriter questionWriter) throws IOException {
+        int count;
+        try {
+            count = store.forEachQuestion(quizId, q -> {
+                try {
+                    questionWriter.write(q);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+        if (count < 0) {
+            throw new IOException("Could not read the questions of quiz " + quizId);
+        }
+        return count;
+    }
+
+    private static void writeCsvField(String value, Writer writer) throws IOException {
+        boolean quote = value.indexOf(',') >= 0 || value.indexOf('"') >= 0
+                || value.indexOf('\n') >= 0 || value.indexOf('\r') >= 0;
+        if (!quote) {
+            writer.write(value);
+            return;
+        }
+        writer.write('"');
+        writer.write(value.replace("\"", "\"\""));
+        writer.write('"');
+    }
+
+    /** RFC 4180 records read one at a time; quoted fields may contain commas, quotes and line breaks. */
+    static final class CsvReader {
+        private final BufferedReader in;
+        private int line = 1;
+        private int recordLine;
+
+        CsvReader(Reader in) {
+            this.in = in instanceof BufferedReader ? (BufferedReader) in : new BufferedReader(in);
+        }
+
+        /** Line on which the last record returned started. */
+        int getRecordLine() {
+            return recordLine;
+        }
+
+        /** The next record's fields, or null at end of input. */
+        List<String> readRecord() throws IOException {
+            int c = in.read();
+            if (c == -1) {
+                return null;
+            }
+            recordLine = line;
+            List<String> fields = new ArrayList<>();
+            StringBuilder field = new StringBuilder();
+            boolean quoted = false;
+            boolean afterQuote = false;
+            while (true) {
+                if (quoted) {
+                    if (c == -1) {
+                        throw new IOException("Unterminated quoted field starting on line " + recordLine);
+                    }
+                    if (c == '"') {
+                        in.mark(1);
+                        int next = in.read();
+                        if (next == '"') {
+                            field.append('"');
+                        } else {
+                            quoted = false;
+                            afterQuote = true;
+                            if (next != -1) {
+                                in.reset();
+                            }
+                        }
+                    } else {
+                        if (c == '\n') {
+                            line++;
+                        }
+                        field.append((char) c);
+                    }
+                } else if (c == ',') {
+                    fields.add(field.toString());
+                    field.setLength(0);
+                    afterQuote = false;
+                } else if (c == '\r' || c == '\n' || c == -1) {
+                    if (c == '\r') {
+                        in.mark(1);
+                        if (in.read() != '\n') {
+                            in.reset();
+                        }
+                    }
+                    if (c != -1) {
+                        line++;
+                    }
+                    fields.add(field.toString());
+                    return fields;
+                } else if (c == '"' && field.length() == 0 && !afterQuote) {
+                    quoted = true;
+                } else if (!afterQuote) {
+                    field.append((char) c);
+                }
+                c = in.read();
+            }
+        }
+    }
+}
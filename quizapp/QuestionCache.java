@@ -0,0 +1,114 @@
+package com.quizapp;
+
+import java.sql.SQLException;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Read-through LRU cache of question sets keyed by quiz id, bounded by the
+ * total number of cached questions rather than the number of quizzes. Cached
+ * lists are unmodifiable snapshots shared by every quiz taker.
+ */
+public class QuestionCache {
+
+    @FunctionalInterface
+    public interface Loader {
+        List<Question> load(int quizId) throws SQLException;
+    }
+
+    private final long maxWeight;
+    private final LinkedHashMap<Integer, List<Question>> entries = new LinkedHashMap<>(64, 0.75f, true);
+    private long weight;
+    // Bumped by every invalidation; a load that overlapped one is returned but not cached
+    private long generation;
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+    private final LongAdder invalidations = new LongAdder();
+
+    public QuestionCache(long maxWeight) {
+        this.maxWeight = maxWeight;
+    }
+
+    public List<Question> get(int quizId, Loader loader) throws SQLException {
+        long loadGeneration;
+        synchronized (this) {
+            List<Question> cached = entries.get(quizId);
+            if (cached != null) {
+                hits.increment();
+                return cached;
+            }
+            loadGeneration = generation;
+        }
+        misses.increment();
+
+        List<Question> loaded = List.copyOf(loader.load(quizId));
+        long entryWeight = weigh(loaded);
+        synchronized (this) {
+            if (generation == loadGeneration && entryWeight <= maxWeight) {
+                List<Question> previous = entries.put(quizId, loaded);
+                if (previous != null) {
+                    weight -= weigh(previous);
+                }
+                weight += entryWeight;
+                evictIfNeeded();
+            }
+        }
+        return loaded;
+    }
+
+    public synchronized void invalidate(int quizId) {
+        generation++;
+        invalidations.increment();
+        List<Question> removed = entries.remove(quizId);
+        if (removed != null) {
+            weight -= weigh(removed);
+        }
+    }
+
+    public synchronized void invalidateAll() {
+        generation++;
+        invalidations.increment();
+        entries.clear();
+        weight = 0;
+    }
+
+    private void evictIfNeeded() {
+        Iterator<Map.Entry<Integer, List<Question>>> it = entries.entrySet().iterator();
+        while (weight > maxWeight && it.hasNext()) {
+            weight -= weigh(it.next().getValue());
+            it.remove();
+            evictions.increment();
+        }
+    }
+
+    // An empty quiz still occupies a slot, so it weighs at least one
+    private static long weigh(List<Question> questions) {
+        return Math.max(1, questions.size());
+    }
+
+    // --- Cache Statistics ---
+
+    public long getHitCount() { return hits.sum(); }
+    public long getMissCount() { return misses.sum(); }
+    public long getEvictionCount() { return evictions.sum(); }
+    public long getInvalidationCount() { return invalidations.sum(); }
+    public synchronized int getEntryCount() { return entries.size(); }
+    public synchronized long getWeight() { return weight; }
+    public long getMaxWeight() { return maxWeight; }
+
+    public double getHitRate() {
+        long total = hits.sum() + misses.sum();
+        return total == 0 ? 0 : hits.sum() / (double) total;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("questionCache[entries=%d, weight=%d/%d, hitRate=%.3f, evictions=%d]",
+                getEntryCount(), getWeight(), maxWeight, getHitRate(), getEvictionCount());
+    }
+}
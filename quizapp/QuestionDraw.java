@@ -0,0 +1,184 @@
+package com.quizapp;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The questions one attempt was given: their ids in the order shown and, if
+ * options were shuffled, one byte per question giving the option order. Bits
+ * 2s..2s+1 of an order byte hold the original index (0-3) of the option shown
+ * in slot s. Answers are recorded against the slots shown, so the presented
+ * questions carry their correct option already remapped and score like any
+ * other question list. A draw also numbers the attempt's answer changes for
+ * the answer log and, when an attempt is resumed, holds the answers replayed
+ * from it.
+ */
+public class QuestionDraw {
+    private final int quizId;
+    private final long seed;
+    private final int[] questionIds;
+    private final byte[] optionOrders;
+    private int userId;
+    private long attemptId;
+    private List<Question> questions;
+    private byte[] savedAnswers;
+    private int nextSeq;
+
+    public QuestionDraw(int quizId, long seed, int[] questionIds, byte[] optionOrders) {
+        if (optionOrders != null && optionOrders.length != questionIds.length) {
+            throw new IllegalArgumentException("One option order is needed per question");
+        }
+        this.quizId = quizId;
+        this.seed = seed;
+        this.questionIds = questionIds;
+        this.optionOrders = optionOrders;
+    }
+
+    /** A draw of all the given questions in the order and option layout given, presented already. */
+    public static QuestionDraw inOrder(int quizId, List<Question> questions) {
+        int[] ids = new int[questions.size()];
+        for (int i = 0; i < ids.length; i++) {
+            ids[i] = questions.get(i).getId();
+        }
+        QuestionDraw draw = new QuestionDraw(quizId, 0, ids, null);
+        draw.present(questions);
+        return draw;
+    }
+
+    /** Rebuilds a draw from the blobs written by encodeQuestionIds and getOptionOrders. */
+    public static QuestionDraw decode(int quizId, long seed, byte[] questionIds, byte[] optionOrders) {
+        ByteBuffer buffer = ByteBuffer.wrap(questionIds).order(ByteOrder.LITTLE_ENDIAN);
+        int[] ids = new int[questionIds.length / Integer.BYTES];
+        buffer.asIntBuffer().get(ids);
+        return new QuestionDraw(quizId, seed, ids, optionOrders);
+    }
+
+    public int getQuizId() { return quizId; }
+    public long getSeed() { return seed; }
+    public int[] getQuestionIds() { return questionIds; }
+    /** Null when options are shown in their stored order. */
+    public byte[] getOptionOrders() { return optionOrders; }
+    public int getUserId() { return userId; }
+    public void setUserId(int userId) { this.userId = userId; }
+    public long getAttemptId() { return attemptId; }
+    public void setAttemptId(long attemptId) { this.attemptId = attemptId; }
+    /** The presented questions, once present has been called. */
+    public List<Question> getQuestions() { return questions; }
+
+    /**
+     * Answers as shown: replayed from the answer log by restoreAnswers, or the
+     * final answers of a submitted attempt; null for a new attempt.
+     */
+    public byte[] getSavedAnswers() { return savedAnswers; }
+
+    public int getQuestionCount() {
+        return questionIds.length;
+    }
+
+    /** Question ids as little-endian 32-bit ints, for storage. */
+    public byte[] encodeQuestionIds() {
+        ByteBuffer buffer = ByteBuffer.allocate(questionIds.length * Integer.BYTES).order(ByteOrder.LITTLE_ENDIAN);
+        buffer.asIntBuffer().put(questionIds);
+        return buffer.array();
+    }
+
+    /**
+     * Puts the drawn questions, given in any order, into the order drawn with
+     * their options arranged as shown, and keeps them as this draw's
+     * questions. Returns null if any drawn question is missing, e.g. because
+     * it was deleted after the draw. A list that is already in the order
+     * drawn is kept as is when options are not shuffled, so shared snapshots
+     * such as the question cache's stay shared.
+     */
+    public List<Question> present(List<Question> drawn) {
+        if (optionOrders == null && inDrawOrder(drawn)) {
+            questions = drawn;
+            return questions;
+        }
+        Map<Integer, Question> byId = new HashMap<>(drawn.size() * 2);
+        for (Question q : drawn) {
+            byId.put(q.getId(), q);
+        }
+        List<Question> presented = new ArrayList<>(questionIds.length);
+        for (int i = 0; i < questionIds.length; i++) {
+            Question q = byId.get(questionIds[i]);
+            if (q == null) {
+                return null;
+            }
+            presented.add(optionOrders == null ? q : q.withOptionOrder(optionOrders[i]));
+        }
+        questions = List.copyOf(presented);
+        return questions;
+    }
+
+    private boolean inDrawOrder(List<Question> drawn) {
+        if (drawn.size() != questionIds.length) {
+            return false;
+        }
+        for (int i = 0; i < questionIds.length; i++) {
+            if (drawn.get(i).getId() != questionIds[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /** The stored index of the option shown in the slot; NO_ANSWER is passed through. */
+    public int storedOption(int questionIndex, int shownOption) {
+        if (optionOrders == null || shownOption < 0) {
+            return shownOption;
+        }
+        return optionOrders[questionIndex] >>> (2 * shownOption) & 3;
+    }
+
+    /** The slot the option with the stored index is shown in; NO_ANSWER is passed through. */
+    public int shownOption(int questionIndex, int storedOption) {
+        if (optionOrders == null || storedOption < 0) {
+            return storedOption;
+        }
+        for (int slot = 0; slot < 4; slot++) {
+            if ((optionOrders[questionIndex] >>> (2 * slot) & 3) == storedOption) {
+                return slot;
+            }
+        }
+        return AnswerKey.NO_ANSWER;
+    }
+
+    /** The answer log entry for choosing the shown option (or NO_ANSWER) at the question. */
+    public synchronized AnswerEvent answered(int questionIndex, int shownOption) {
+        return new AnswerEvent(attemptId, nextSeq++, questionIds[questionIndex],
+                storedOption(questionIndex, shownOption), System.currentTimeMillis());
+    }
+
+    /** Sets savedAnswers to a submitted attempt's final answers, one byte per question as shown. */
+    public synchronized void restoreAnswers(byte[] answers) {
+        savedAnswers = answers;
+    }
+
+    /**
+     * Replays an attempt's answer log, given in sequence order, into
+     * savedAnswers, and continues the sequence after its last entry. Entries
+     * for questions not in this draw are ignored.
+     */
+    public synchronized void restoreAnswers(List<AnswerEvent> log) {
+        Map<Integer, Integer> indexById = new HashMap<>(questionIds.length * 2);
+        for (int i = 0; i < questionIds.length; i++) {
+            indexById.put(questionIds[i], i);
+        }
+        byte[] answers = new byte[questionIds.length];
+        Arrays.fill(answers, AnswerKey.NO_ANSWER);
+        for (AnswerEvent event : log) {
+            Integer index = indexById.get(event.getQuestionId());
+            if (index != null) {
+                answers[index] = (byte) shownOption(index, event.getOption());
+            }
+            nextSeq = Math.max(nextSeq, event.getSeq() + 1);
+        }
+        savedAnswers = answers;
+    }
+}
@@ -0,0 +1,27 @@
+package com.quizapp;
+
+import java.util.List;
+import java.util.function.Consumer;
+
+/** The questions of each quiz. New questions get their ids from the repository. */
+public interface QuestionRepository {
+
+    /** Returns an unmodifiable, possibly shared list; callers must not mutate the questions. */
+    List<Question> getQuestionsForQuiz(int quizId);
+
+    boolean addQuestion(Question q);
+
+    /** Adds all of the questions or none of them. */
+    boolean addQuestions(List<Question> questions);
+
+    boolean updateQuestion(Question q);
+
+    boolean deleteQuestion(int questionId);
+
+    /**
+     * Hands each of the quiz's questions to the action without collecting them
+     * first. Exceptions thrown by the action propagate. Returns the number of
+     * questions, or -1 on error.
+     */
+    int forEachQuestion(int quizId, Consumer<Question> action);
+}
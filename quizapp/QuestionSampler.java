@@ -0,0 +1,147 @@
+package com.quizapp;
+
+import java.sql.SQLException;
+import java.util.Arrays;
+import java.util.SplittableRandom;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Draws per-attempt question subsets from a quiz's question bank. Only the
+ * bank's question ids are kept in memory, one int array per quiz, so drawing
+ * 30 questions from 3,000 touches 30 ids: Floyd's algorithm picks the subset
+ * in O(k) and a Fisher-Yates pass over the k picks puts them in random order.
+ * Draws are a pure function of the id array and the seed, so an attempt can
+ * be reproduced from its recorded seed as long as the bank is unchanged.
+ */
+public class QuestionSampler {
+
+    @FunctionalInterface
+    public interface Loader {
+        /** The quiz's question ids in ascending order. */
+        int[] load(int quizId) throws SQLException;
+    }
+
+    private final Loader loader;
+    // One future per quiz, so attempts that start together share a single load
+    private final ConcurrentHashMap<Integer, CompletableFuture<int[]>> pools = new ConcurrentHashMap<>();
+
+    public QuestionSampler(Loader loader) {
+        this.loader = loader;
+    }
+
+    /** The quiz's question ids; the array is shared and must not be modified. */
+    public int[] questionIds(int quizId) throws SQLException {
+        CompletableFuture<int[]> pool = pools.get(quizId);
+        if (pool == null) {
+            CompletableFuture<int[]> created = new CompletableFuture<>();
+            pool = pools.putIfAbsent(quizId, created);
+            if (pool == null) {
+                // Invalidation removes the future, so a load that overlapped an edit is never reused
+                try {
+                    created.complete(loader.load(quizId));
+                } catch (SQLException | RuntimeException e) {
+                    pools.remove(quizId, created);
+                    created.completeExceptionally(e);
+                    throw e;
+                }
+                pool = created;
+            }
+        }
+        try {
+            return pool.join();
+        } catch (CompletionException e) {
+            throw e.getCause() instanceof SQLException sql ? sql : new SQLException(e.getCause());
+        }
+    }
+
+    /**
+     * Draws the quiz's questions for one attempt: drawCount of them in random
+     * order, or all of them in bank order when drawCount is 0, with the
+     * options of each shuffled if the quiz asks for it.
+     */
+    public QuestionDraw draw(Quiz quiz, long seed) throws SQLException {
+        int[] pool = questionIds(quiz.getId());
+        SplittableRandom random = new SplittableRandom(seed);
+        int[] ids;
+        if (quiz.getDrawCount() > 0) {
+            int[] picks = sample(pool.length, Math.min(quiz.getDrawCount(), pool.length), random);
+            ids = new int[picks.length];
+            for (int i = 0; i < picks.length; i++) {
+                ids[i] = pool[picks[i]];
+            }
+        } else {
+            ids = pool.clone();
+        }
+        byte[] optionOrders = null;
+        if (quiz.isShuffleOptions()) {
+            optionOrders = new byte[ids.length];
+            for (int i = 0; i < ids.length; i++) {
+                optionOrders[i] = randomOrder(random);
+            }
+        }
+        return new QuestionDraw(quiz.getId(), seed, ids, optionOrders);
+    }
+
+    public void invalidate(int quizId) {
+        pools.remove(quizId);
+    }
+
+    public void invalidateAll() {
+        pools.clear();
+    }
+
+    /** k distinct indices from [0, n) in random order (Floyd's algorithm, then a shuffle). */
+    static int[] sample(int n, int k, SplittableRandom random) {
+        if (k < 0 || k > n) {
+            throw new IllegalArgumentException("Cannot draw " + k + " of " + n);
+        }
+        int[] picks = new int[k];
+        // Open-addressed set of the picks so far; -1 marks a free slot
+        int[] table = new int[Integer.highestOneBit(Math.max(1, k) * 2) << 1];
+        Arrays.fill(table, -1);
+        int mask = table.length - 1;
+        for (int j = n - k, count = 0; j < n; j++, count++) {
+            int t = random.nextInt(j + 1);
+            if (!insert(table, mask, t)) {
+                // t was already picked; j cannot have been, as every earlier pick is below j
+                insert(table, mask, j);
+                t = j;
+            }
+            picks[count] = t;
+        }
+        for (int i = k - 1; i > 0; i--) {
+            int j = random.nextInt(i + 1);
+            int swap = picks[i];
+            picks[i] = picks[j];
+            picks[j] = swap;
+        }
+        return picks;
+    }
+
+    // Adds the value and returns true, or returns false if it was already present
+    private static boolean insert(int[] table, int mask, int value) {
+        int slot = (value * 0x9E3779B9) >>> 1 & mask;
+        while (table[slot] != -1) {
+            if (table[slot] == value) {
+                return false;
+            }
+            slot = (slot + 1) & mask;
+        }
+        table[slot] = value;
+        return true;
+    }
+
+    // A uniformly random permutation of the four options, packed as QuestionDraw expects
+    private static byte randomOrder(SplittableRandom random) {
+        int[] order = {0, 1, 2, 3};
+        for (int i = 3; i > 0; i--) {
+            int j = random.nextInt(i + 1);
+            int swap = order[i];
+            order[i] = order[j];
+            order[j] = swap;
+        }
+        return (byte) (order[0] | order[1] << 2 | order[2] << 4 | order[3] << 6);
+    }
+}
@@ -5,6 +5,8 @@ public class Quiz {
     private String title;
     private String description;
     private int createdBy;
+    private int drawCount;
+    private boolean shuffleOptions;
 
     public Quiz(int id, String title, String description, int createdBy) {
         this.id = id;
@@ -21,6 +23,16 @@ public class Quiz {
     public void setDescription(String description) { this.description = description; }
     public int getCreatedBy() { return createdBy; }
     public void setCreatedBy(int createdBy) { this.createdBy = createdBy; }
+    /** Questions drawn at random for each attempt; 0 means every question, in order. */
+    public int getDrawCount() { return drawCount; }
+    public void setDrawCount(int drawCount) { this.drawCount = drawCount; }
+    public boolean isShuffleOptions() { return shuffleOptions; }
+    public void setShuffleOptions(boolean shuffleOptions) { this.shuffleOptions = shuffleOptions; }
+
+    /** True if attempts get their own draw of questions or option order. */
+    public boolean isRandomized() {
+        return drawCount > 0 || shuffleOptions;
+    }
 
     @Override
     public String toString() {
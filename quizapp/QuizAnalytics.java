@@ -0,0 +1,196 @@
+package com.quizapp;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * Per-quiz item analytics: difficulty, discrimination and option choice
+ * rates for every question, kept current as attempts are submitted. A
+ * quiz's counters are built the first time they are asked for by a full
+ * recompute over its submitted attempts, split into partitions that are
+ * counted in parallel on a fork/join pool and merged. After that each
+ * submission is added as it arrives. Editing a question's correct option,
+ * or adding or removing questions, changes the answer key, and the next
+ * read rebuilds the counters under the new one.
+ */
+public class QuizAnalytics {
+    // Attempts counted by one fork/join leaf
+    static final int PARTITION_SIZE = 2_048;
+
+    private static final class Entry {
+        ItemStatistics stats;
+        // Submissions recorded while a recompute is loading attempts, or null
+        List<QuestionDraw> pending;
+        final Object recomputeLock = new Object();
+    }
+
+    private final QuizStore store;
+    private final ForkJoinPool pool;
+    private final ConcurrentHashMap<Integer, Entry> quizzes = new ConcurrentHashMap<>();
+
+    public QuizAnalytics(QuizStore store) {
+        this(store, ForkJoinPool.commonPool());
+    }
+
+    public QuizAnalytics(QuizStore store, ForkJoinPool pool) {
+        this.store = store;
+        this.pool = pool;
+    }
+
+    /**
+     * A snapshot of the quiz's counters, recomputed first if there are none
+     * yet or the quiz's questions changed since. Null if the attempts could
+     * not be read.
+     */
+    public ItemStatistics get(int quizId) {
+        List<Question> questions = store.getQuestionsForQuiz(quizId);
+        Entry entry = quizzes.get(quizId);
+        if (entry != null) {
+            synchronized (entry) {
+                if (entry.stats != null && entry.stats.matches(questions)) {
+                    return entry.stats.copy();
+                }
+            }
+        }
+        return recompute(quizId, questions);
+    }
+
+    /** Rebuilds the quiz's counters from every submitted attempt and returns a snapshot, or null on error. */
+    public ItemStatistics recompute(int quizId) {
+        return recompute(quizId, store.getQuestionsForQuiz(quizId));
+    }
+
+    private ItemStatistics recompute(int quizId, List<Question> questions) {
+        Entry entry = quizzes.computeIfAbsent(quizId, id -> new Entry());
+        synchronized (entry.recomputeLock) {
+            synchronized (entry) {
+                entry.pending = new ArrayList<>();
+            }
+            // Submissions saved before this point are loaded below; later ones land in pending
+            List<QuestionDraw> submitted = new ArrayList<>();
+            int count = store.forEachSubmittedAttempt(quizId, submitted::add);
+            if (count < 0) {
+                synchronized (entry) {
+                    entry.pending = null;
+                }
+                return null;
+            }
+            ItemStatistics stats = compute(quizId, questions, submitted, pool);
+            long[] loaded = new long[submitted.size()];
+            for (int i = 0; i < loaded.length; i++) {
+                loaded[i] = submitted.get(i).getAttemptId();
+            }
+            Arrays.sort(loaded);
+            synchronized (entry) {
+                for (QuestionDraw draw : entry.pending) {
+                    if (Arrays.binarySearch(loaded, draw.getAttemptId()) < 0) {
+                        stats.add(draw, draw.getSavedAnswers());
+                    }
+                }
+                entry.pending = null;
+                entry.stats = stats;
+                return stats.copy();
+            }
+        }
+    }
+
+    /**
+     * Adds a submitted attempt, with its final answers as shown, to the
+     * quiz's counters. Call it once the result is saved. Quizzes nobody has
+     * looked at yet are skipped; their first read loads every attempt anyway.
+     */
+    public void record(QuestionDraw draw, byte[] answers) {
+        Entry entry = quizzes.get(draw.getQuizId());
+        if (entry == null || answers == null) {
+            return;
+        }
+        synchronized (entry) {
+            if (entry.stats != null) {
+                entry.stats.add(draw, answers);
+            }
+            if (entry.pending != null) {
+                QuestionDraw copy = new QuestionDraw(draw.getQuizId(), draw.getSeed(), draw.getQuestionIds(),
+                        draw.getOptionOrders());
+                copy.setAttemptId(draw.getAttemptId());
+                copy.restoreAnswers(answers.clone());
+                entry.pending.add(copy);
+            }
+        }
+    }
+
+    /** Drops the quiz's counters, e.g. once it is deleted. */
+    public void forget(int quizId) {
+        quizzes.remove(quizId);
+    }
+
+    /** EventBus consumer: records each QuizSubmitted in the batch. */
+    public void onSubmissions(List<QuizEvent> batch) {
+        for (QuizEvent event : batch) {
+            if (event instanceof QuizEvent.QuizSubmitted submitted && submitted.getDraw() != null) {
+                record(submitted.getDraw(), submitted.getResult().getAnswers());
+            }
+        }
+    }
+
+    /**
+     * EventBus consumer: forgets deleted quizzes. Other edits need nothing
+     * here, since a changed answer key is caught on the next read.
+     */
+    public void onEdits(List<QuizEvent> batch) {
+        for (QuizEvent event : batch) {
+            if (event instanceof QuizEvent.QuizEdited edited
+                    && edited.getChange() == QuizEvent.QuizEdited.Change.QUIZ_DELETED) {
+                forget(edited.getQuizId());
+            }
+        }
+    }
+
+    /**
+     * Counts the submitted attempts, each carrying its answers as
+     * savedAnswers, in partitions of PARTITION_SIZE on the pool.
+     */
+    public static ItemStatistics compute(int quizId, List<Question> questions, List<QuestionDraw> submitted,
+                                         ForkJoinPool pool) {
+        return pool.invoke(new Partition(quizId, questions, submitted, 0, submitted.size()));
+    }
+
+    private static final class Partition extends RecursiveTask<ItemStatistics> {
+        private static final long serialVersionUID = 1L;
+
+        private final int quizId;
+        private final List<Question> questions;
+        private final List<QuestionDraw> submitted;
+        private final int from;
+        private final int to;
+
+        Partition(int quizId, List<Question> questions, List<QuestionDraw> submitted, int from, int to) {
+            this.quizId = quizId;
+            this.questions = questions;
+            this.submitted = submitted;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected ItemStatistics compute() {
+            if (to - from <= PARTITION_SIZE) {
+                ItemStatistics stats = new ItemStatistics(quizId, questions);
+                for (int i = from; i < to; i++) {
+                    QuestionDraw draw = submitted.get(i);
+                    stats.add(draw, draw.getSavedAnswers());
+                }
+                return stats;
+            }
+            int mid = (from + to) >>> 1;
+            Partition right = new Partition(quizId, questions, submitted, mid, to);
+            right.fork();
+            ItemStatistics stats = new Partition(quizId, questions, submitted, from, mid).compute();
+            stats.merge(right.join());
+            return stats;
+        }
+    }
+}
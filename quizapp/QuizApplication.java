@@ -1,5 +1,6 @@
 package com.quizapp;
 
+import javafx.animation.PauseTransition;
 import javafx.application.Application;
 import javafx.geometry.Insets;
 import javafx.geometry.Pos;
@@ -10,20 +11,42 @@ import javafx.stage.Stage;
 import javafx.scene.text.Font;
 import javafx.scene.text.FontWeight;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.function.Consumer;
 
 public class QuizApplication extends Application {
+    private static final int LEADERBOARD_PAGE_SIZE = 25;
+    private static final int SCORES_PAGE_SIZE = 50;
+    private static final int SEARCH_LIMIT = 200;
+    private static final long SEARCH_DELAY_MILLIS = 250;
+
     private Stage primaryStage;
     private User currentUser;
-    private DatabaseManager dbManager;
+    private QuizStore store;
+    private AsyncDatabase asyncDb;
+    private QuizAnalytics analytics;
+    private EventBus events;
 
     public static void main(String[] args) {
         launch(args);
     }
 
+    @Override
+    public void init() {
+        // Runs on the launcher thread, so migrations and the rankings load never hold up the FX thread
+        this.store = QuizStore.open(StorageConfig.load());
+        this.asyncDb = new AsyncDatabase(store);
+        this.analytics = new QuizAnalytics(store);
+        this.events = EventConsumers.open("app", EventBus.DEFAULT_CAPACITY, store, analytics);
+        if (Boolean.getBoolean("quizapp.debugFxThread") && store instanceof DatabaseManager db) {
+            FxAsync.installFxThreadGuard(db);
+        }
+    }
+
     @Override
     public void start(Stage primaryStage) {
         this.primaryStage = primaryStage;
-        this.dbManager = new DatabaseManager();
 
         primaryStage.setTitle("Online Quiz Application");
         primaryStage.setWidth(800);
@@ -33,6 +56,28 @@ public class QuizApplication extends Application {
         primaryStage.show();
     }
 
+    @Override
+    public void stop() {
+        // First, so the answer log consumer can hand its last events to the store
+        if (events != null) {
+            events.close();
+        }
+        if (asyncDb != null) {
+            asyncDb.close();
+        }
+        if (store != null) {
+            store.close();
+        }
+    }
+
+    public QuizAnalytics getAnalytics() {
+        return analytics;
+    }
+
+    public EventBus getEvents() {
+        return events;
+    }
+
     private void showLoginScreen() {
         VBox root = new VBox(20);
         root.setAlignment(Pos.CENTER);
@@ -79,29 +124,57 @@ public class QuizApplication extends Application {
         registerButton.setPrefWidth(150);
         registerButton.setStyle("-fx-background-color: #2196F3; -fx-text-fill: white; -fx-font-weight: bold;");
 
-        loginButton.setOnAction(e -> handleLogin(usernameField.getText(), passwordField.getText()));
-        registerButton.setOnAction(e -> showRegistrationScreen());
-
         HBox buttonBox = new HBox(10, loginButton, registerButton);
         buttonBox.setAlignment(Pos.CENTER);
 
-        loginBox.getChildren().addAll(loginTitle, usernameField, passwordField, buttonBox);
+        ProgressIndicator loginProgress = new ProgressIndicator();
+        loginProgress.setMaxSize(30, 30);
+        Button cancelLoginButton = new Button("Cancel");
+        HBox progressBox = new HBox(10, loginProgress, cancelLoginButton);
+        progressBox.setAlignment(Pos.CENTER);
+        progressBox.setVisible(false);
+        progressBox.managedProperty().bind(progressBox.visibleProperty());
+
+        loginButton.setOnAction(e -> handleLogin(usernameField.getText(), passwordField.getText(),
+                buttonBox, progressBox, cancelLoginButton));
+        registerButton.setOnAction(e -> showRegistrationScreen());
+
+        loginBox.getChildren().addAll(loginTitle, usernameField, passwordField, buttonBox, progressBox);
         return loginBox;
     }
 
-    private void handleLogin(String username, String password) {
+    private void handleLogin(String username, String password, HBox buttonBox, HBox progressBox, Button cancelButton) {
         if (username.isEmpty() || password.isEmpty()) {
             showAlert("Login Error", "Please fill in all fields.");
             return;
         }
 
-        User user = dbManager.authenticateUser(username, password);
-        if (user != null) {
-            currentUser = user;
-            showMainMenu();
-        } else {
-            showAlert("Login Failed", "Invalid username or password.");
-        }
+        buttonBox.setDisable(true);
+        progressBox.setVisible(true);
+        Runnable reset = () -> {
+            buttonBox.setDisable(false);
+            progressBox.setVisible(false);
+        };
+        CompletableFuture<User> login = FxAsync.onFx(asyncDb.authenticateUser(username, password), user -> {
+            reset.run();
+            if (user != null) {
+                currentUser = user;
+                showMainMenu();
+            } else {
+                showAlert("Login Failed", "Invalid username or password.");
+            }
+        }, error -> {
+            reset.run();
+            if (error instanceof RejectedExecutionException) {
+                showAlert("Login Busy", "Too many logins are in progress. Please try again in a moment.");
+            } else {
+                showAlert("Login Error", "Could not log in: " + error.getMessage());
+            }
+        });
+        cancelButton.setOnAction(e -> {
+            login.cancel(false);
+            reset.run();
+        });
     }
 
     private void showRegistrationScreen() {
@@ -143,7 +216,7 @@ public class QuizApplication extends Application {
         registerButton.setOnAction(e -> handleRegistration(
                 usernameField.getText(), emailField.getText(),
                 passwordField.getText(), confirmPasswordField.getText(),
-                adminCheckBox.isSelected()
+                adminCheckBox.isSelected(), registerButton
         ));
         backButton.setOnAction(e -> showLoginScreen());
 
@@ -157,7 +230,8 @@ public class QuizApplication extends Application {
         primaryStage.setScene(scene);
     }
 
-    private void handleRegistration(String username, String email, String password, String confirmPassword, boolean isAdmin) {
+    private void handleRegistration(String username, String email, String password, String confirmPassword,
+                                    boolean isAdmin, Button registerButton) {
         if (username.isEmpty() || email.isEmpty() || password.isEmpty()) {
             showAlert("Registration Error", "Please fill in all fields.");
             return;
@@ -166,12 +240,26 @@ public class QuizApplication extends Application {
             showAlert("Registration Error", "Passwords do not match.");
             return;
         }
-        if (dbManager.registerUser(username, email, password, isAdmin)) {
-            showAlert("Success", "Registration successful! You can now log in.");
-            showLoginScreen();
-        } else {
-            showAlert("Registration Error", "Username already exists.");
-        }
+        registerButton.setDisable(true);
+        registerButton.setText("Registering...");
+        FxAsync.onFx(asyncDb.registerUser(username, email, password, isAdmin), registered -> {
+            if (registered) {
+                showAlert("Success", "Registration successful! You can now log in.");
+                showLoginScreen();
+            } else {
+                registerButton.setDisable(false);
+                registerButton.setText("Register");
+                showAlert("Registration Error", "Username already exists.");
+            }
+        }, error -> {
+            registerButton.setDisable(false);
+            registerButton.setText("Register");
+            if (error instanceof RejectedExecutionException) {
+                showAlert("Registration Busy", "Too many requests are in progress. Please try again in a moment.");
+            } else {
+                showAlert("Registration Error", "Could not register: " + error.getMessage());
+            }
+        });
     }
 
     public void showMainMenu() {
@@ -219,7 +307,7 @@ public class QuizApplication extends Application {
     }
 
     private void showQuizManagement() {
-        new QuizManager(primaryStage, currentUser, dbManager, this).show();
+        new QuizManager(primaryStage, currentUser, asyncDb, this).show();
     }
 
     private void showQuizSelection() {
@@ -232,10 +320,25 @@ public class QuizApplication extends Application {
         titleLabel.setFont(Font.font("Arial", FontWeight.BOLD, 24));
         titleLabel.setStyle("-fx-text-fill: white;");
 
-        List<Quiz> quizzes = dbManager.getAllQuizzes();
+        TextField searchField = new TextField();
+        searchField.setPromptText("Search quizzes and questions");
+        searchField.setMaxWidth(400);
+
         ListView<Quiz> quizListView = new ListView<>();
-        quizListView.getItems().addAll(quizzes);
         quizListView.setPrefHeight(300);
+        // Only the latest load or search may fill the list
+        CompletableFuture<?>[] load = {CompletableFuture.completedFuture(null)};
+        Consumer<String> search = text -> {
+            load[0].cancel(false);
+            boolean all = SearchQuery.terms(text).isEmpty();
+            quizListView.setPlaceholder(FxAsync.loadingPane(all ? "Loading quizzes..." : "Searching...", null));
+            load[0] = FxAsync.onFx(all ? asyncDb.getAllQuizzes() : asyncDb.searchQuizzes(text, SEARCH_LIMIT), quizzes -> {
+                quizListView.setPlaceholder(new Label(all ? "No quizzes available yet." : "No quizzes match your search."));
+                quizListView.getItems().setAll(quizzes);
+            }, error -> quizListView.setPlaceholder(new Label("Could not load quizzes: " + error.getMessage())));
+        };
+        search.accept("");
+        PauseTransition searchPause = FxAsync.debounce(searchField, SEARCH_DELAY_MILLIS, search);
 
         Button startButton = new Button("Start Selected Quiz");
         startButton.setDisable(true); // Disabled until a quiz is selected
@@ -252,15 +355,19 @@ public class QuizApplication extends Application {
 
         Button backButton = createMenuButton("Back to Menu", "#f44336");
         backButton.setPrefWidth(200);
-        backButton.setOnAction(e -> showMainMenu());
+        backButton.setOnAction(e -> {
+            searchPause.stop();
+            load[0].cancel(false);
+            showMainMenu();
+        });
 
-        root.getChildren().addAll(titleLabel, quizListView, startButton, backButton);
+        root.getChildren().addAll(titleLabel, searchField, quizListView, startButton, backButton);
         Scene scene = new Scene(root, 800, 600);
         primaryStage.setScene(scene);
     }
 
     private void startQuiz(Quiz quiz) {
-        new QuizTaker(primaryStage, quiz, currentUser, dbManager, this).start();
+        new QuizTaker(primaryStage, quiz, currentUser, asyncDb, this).start();
     }
 
     private void showUserScores() {
@@ -286,12 +393,17 @@ public class QuizApplication extends Application {
         dateCol.setCellValueFactory(new javafx.scene.control.cell.PropertyValueFactory<>("dateTaken"));
 
         table.getColumns().addAll(quizCol, scoreCol, totalCol, percCol, dateCol);
-        table.setItems(javafx.collections.FXCollections.observableArrayList(dbManager.getUserQuizResults(currentUser.getId())));
+        table.setPlaceholder(FxAsync.loadingPane("Loading your scores...", null));
+        ResultHistoryPager pager = new ResultHistoryPager(asyncDb, currentUser.getId(), table, SCORES_PAGE_SIZE);
+        pager.loadMore();
 
         root.setCenter(table);
 
         Button backButton = createMenuButton("Back", "#f44336");
-        backButton.setOnAction(e -> showMainMenu());
+        backButton.setOnAction(e -> {
+            pager.cancel();
+            showMainMenu();
+        });
         root.setBottom(backButton);
         BorderPane.setAlignment(backButton, Pos.CENTER);
 
@@ -306,22 +418,71 @@ public class QuizApplication extends Application {
 
         Label title = new Label("Leaderboard");
         title.setFont(Font.font("Arial", FontWeight.BOLD, 24));
-        root.setTop(title);
-        BorderPane.setAlignment(title, Pos.CENTER);
 
-        TableView<LeaderboardEntry> table = new TableView<>();
-        TableColumn<LeaderboardEntry, String> rankCol = new TableColumn<>("Rank");
-        rankCol.setCellFactory(col -> {
-            TableCell<LeaderboardEntry, String> cell = new TableCell<>();
-            cell.textProperty().bind(javafx.beans.binding.Bindings.createStringBinding(() -> {
-                if (cell.isEmpty()) {
-                    return null;
-                } else {
-                    return Integer.toString(cell.getIndex() + 1);
-                }
-            }, cell.emptyProperty(), cell.indexProperty()));
-            return cell;
+        // Quiz id 0 stands for the global leaderboard across all quizzes
+        ComboBox<Quiz> scopeBox = new ComboBox<>();
+        Quiz allQuizzes = new Quiz(0, "All Quizzes", null, 0);
+        scopeBox.getItems().add(allQuizzes);
+        scopeBox.setValue(allQuizzes);
+        // Rankings are served from memory; only the quiz list needs the database
+        CompletableFuture<List<Quiz>> quizLoad = FxAsync.onFx(asyncDb.getAllQuizzes(),
+                quizzes -> scopeBox.getItems().addAll(quizzes),
+                error -> System.err.println("Error loading quizzes for leaderboard: " + error.getMessage()));
+
+        // Days in the window, 0 for all time; windows cover every quiz
+        ComboBox<String> periodBox = new ComboBox<>();
+        periodBox.getItems().addAll("All Time", "Today", "Last 7 Days", "Last 30 Days");
+        periodBox.setValue("All Time");
+        int[] periodDays = {0, WindowedLeaderboards.DAILY, WindowedLeaderboards.WEEKLY, WindowedLeaderboards.MONTHLY};
+
+        Label myRankLabel = new Label();
+        myRankLabel.setFont(Font.font("Arial", FontWeight.BOLD, 14));
+
+        HBox header = new HBox(20, title, periodBox, scopeBox, myRankLabel);
+        header.setAlignment(Pos.CENTER);
+        header.setPadding(new Insets(0, 0, 10, 0));
+        root.setTop(header);
+
+        Pagination pagination = new Pagination();
+        Runnable refresh = () -> {
+            Quiz scope = scopeBox.getValue();
+            int days = periodDays[Math.max(0, periodBox.getSelectionModel().getSelectedIndex())];
+            scopeBox.setDisable(days > 0);
+            RankedLeaderboard board;
+            if (days > 0) {
+                board = store.getWindowedLeaderboard(days);
+            } else {
+                board = scope == null || scope.getId() == 0
+                        ? store.getGlobalLeaderboard()
+                        : store.getQuizLeaderboard(scope.getId());
+            }
+            int rank = board.rankOf(currentUser.getId());
+            myRankLabel.setText(rank > 0 ? "Your rank: #" + rank + " of " + board.size() : "You are not ranked yet");
+            pagination.setPageCount(Math.max(1, (board.size() + LEADERBOARD_PAGE_SIZE - 1) / LEADERBOARD_PAGE_SIZE));
+            pagination.setPageFactory(page -> createLeaderboardTable(board.page(page, LEADERBOARD_PAGE_SIZE)));
+        };
+        scopeBox.setOnAction(e -> refresh.run());
+        periodBox.setOnAction(e -> refresh.run());
+        refresh.run();
+
+        root.setCenter(pagination);
+
+        Button backButton = createMenuButton("Back", "#f44336");
+        backButton.setOnAction(e -> {
+            quizLoad.cancel(false);
+            showMainMenu();
         });
+        root.setBottom(backButton);
+        BorderPane.setAlignment(backButton, Pos.CENTER);
+
+        Scene scene = new Scene(root, 800, 600);
+        primaryStage.setScene(scene);
+    }
+
+    private TableView<LeaderboardEntry> createLeaderboardTable(List<LeaderboardEntry> entries) {
+        TableView<LeaderboardEntry> table = new TableView<>();
+        TableColumn<LeaderboardEntry, Integer> rankCol = new TableColumn<>("Rank");
+        rankCol.setCellValueFactory(new javafx.scene.control.cell.PropertyValueFactory<>("rank"));
 
         TableColumn<LeaderboardEntry, String> userCol = new TableColumn<>("Username");
         userCol.setCellValueFactory(new javafx.scene.control.cell.PropertyValueFactory<>("username"));
@@ -333,17 +494,8 @@ public class QuizApplication extends Application {
         attemptsCol.setCellValueFactory(new javafx.scene.control.cell.PropertyValueFactory<>("totalAttempts"));
 
         table.getColumns().addAll(rankCol, userCol, avgScoreCol, attemptsCol);
-        table.setItems(javafx.collections.FXCollections.observableArrayList(dbManager.getLeaderboard()));
-
-        root.setCenter(table);
-
-        Button backButton = createMenuButton("Back", "#f44336");
-        backButton.setOnAction(e -> showMainMenu());
-        root.setBottom(backButton);
-        BorderPane.setAlignment(backButton, Pos.CENTER);
-
-        Scene scene = new Scene(root, 800, 600);
-        primaryStage.setScene(scene);
+        table.setItems(javafx.collections.FXCollections.observableArrayList(entries));
+        return table;
     }
 
     private Button createMenuButton(String text, String color) {
@@ -0,0 +1,52 @@
+package com.quizapp;
+
+/**
+ * Something that happened in a quiz session or to a quiz, published on an
+ * EventBus for whichever consumers care. Events are immutable once published.
+ */
+public abstract class QuizEvent {
+
+    private QuizEvent() {
+    }
+
+    /** An attempt was submitted and its result committed. */
+    public static final class QuizSubmitted extends QuizEvent {
+        private final QuestionDraw draw;
+        private final QuizResult result;
+
+        public QuizSubmitted(QuestionDraw draw, QuizResult result) {
+            this.draw = draw;
+            this.result = result;
+        }
+
+        public QuestionDraw getDraw() { return draw; }
+        public QuizResult getResult() { return result; }
+    }
+
+    /** An answer in an open attempt was set or changed. */
+    public static final class QuestionAnswered extends QuizEvent {
+        private final AnswerEvent answer;
+
+        public QuestionAnswered(AnswerEvent answer) {
+            this.answer = answer;
+        }
+
+        public AnswerEvent getAnswer() { return answer; }
+    }
+
+    /** A quiz or its questions were changed and committed. */
+    public static final class QuizEdited extends QuizEvent {
+        public enum Change { QUIZ_UPDATED, QUIZ_DELETED, QUESTIONS_CHANGED }
+
+        private final int quizId;
+        private final Change change;
+
+        public QuizEdited(int quizId, Change change) {
+            this.quizId = quizId;
+            this.change = change;
+        }
+
+        public int getQuizId() { return quizId; }
+        public Change getChange() { return change; }
+    }
+}
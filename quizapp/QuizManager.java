@@ -1,5 +1,7 @@
 package com.quizapp;
 
+import javafx.animation.PauseTransition;
+import javafx.beans.property.ReadOnlyStringWrapper;
 import javafx.collections.FXCollections;
 import javafx.geometry.Insets;
 import javafx.geometry.Pos;
@@ -9,24 +11,44 @@ import javafx.scene.control.cell.PropertyValueFactory;
 import javafx.scene.layout.*;
 import javafx.scene.text.Font;
 import javafx.scene.text.FontWeight;
+import javafx.stage.FileChooser;
 import javafx.stage.Stage;
 
+import java.io.File;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Consumer;
+import java.util.function.IntFunction;
 
 public class QuizManager {
+    private static final int SEARCH_LIMIT = 200;
+    private static final long SEARCH_DELAY_MILLIS = 250;
 
     private Stage primaryStage;
-    private DatabaseManager dbManager;
+    private AsyncDatabase asyncDb;
     private QuizApplication mainApp;
     private User currentUser;
 
     private ListView<Quiz> quizListView;
+    private TextField searchField;
+    private PauseTransition searchPause;
     private TableView<Question> questionTableView;
+    private ProgressIndicator busyIndicator;
+    private Label bulkStatusLabel;
+    private int pendingOperations;
+    private CompletableFuture<?> quizLoad;
+    private CompletableFuture<?> questionLoad;
 
-    public QuizManager(Stage primaryStage, User currentUser, DatabaseManager dbManager, QuizApplication mainApp) {
+    public QuizManager(Stage primaryStage, User currentUser, AsyncDatabase asyncDb, QuizApplication mainApp) {
         this.primaryStage = primaryStage;
         this.currentUser = currentUser;
-        this.dbManager = dbManager;
+        this.asyncDb = asyncDb;
         this.mainApp = mainApp;
     }
 
@@ -38,23 +60,31 @@ public class QuizManager {
         // Top Title
         Label titleLabel = new Label("Quiz Management");
         titleLabel.setFont(Font.font("Arial", FontWeight.BOLD, 24));
-        root.setTop(titleLabel);
-        BorderPane.setAlignment(titleLabel, Pos.CENTER);
+        busyIndicator = new ProgressIndicator();
+        busyIndicator.setMaxSize(24, 24);
+        busyIndicator.setVisible(false);
+        HBox header = new HBox(10, titleLabel, busyIndicator);
+        header.setAlignment(Pos.CENTER);
+        root.setTop(header);
 
         // Left Panel: Quiz List
         VBox quizBox = new VBox(10);
         quizBox.setPadding(new Insets(10));
         Label quizLabel = new Label("Quizzes");
         quizLabel.setFont(Font.font("Arial", FontWeight.BOLD, 16));
+        searchField = new TextField();
+        searchField.setPromptText("Search quizzes and questions");
+        searchPause = FxAsync.debounce(searchField, SEARCH_DELAY_MILLIS, text -> loadQuizzes());
         quizListView = new ListView<>();
         loadQuizzes();
 
         HBox quizButtons = new HBox(10,
                 createButton("Add", e -> addQuiz()),
                 createButton("Edit", e -> editQuiz()),
-                createButton("Delete", e -> deleteQuiz())
+                createButton("Delete", e -> deleteQuiz()),
+                createButton("Analytics...", e -> showAnalytics())
         );
-        quizBox.getChildren().addAll(quizLabel, quizListView, quizButtons);
+        quizBox.getChildren().addAll(quizLabel, searchField, quizListView, quizButtons);
 
         // Center Panel: Question Table
         VBox questionBox = new VBox(10);
@@ -66,9 +96,12 @@ public class QuizManager {
         HBox questionButtons = new HBox(10,
                 createButton("Add", e -> addQuestion()),
                 createButton("Edit", e -> editQuestion()),
-                createButton("Delete", e -> deleteQuestion())
+                createButton("Delete", e -> deleteQuestion()),
+                createButton("Import...", e -> importQuestions()),
+                createButton("Export...", e -> exportQuestions())
         );
-        questionBox.getChildren().addAll(questionLabel, questionTableView, questionButtons);
+        bulkStatusLabel = new Label();
+        questionBox.getChildren().addAll(questionLabel, questionTableView, questionButtons, bulkStatusLabel);
 
         quizListView.getSelectionModel().selectedItemProperty().addListener(
                 (obs, oldSelection, newSelection) -> {
@@ -80,7 +113,10 @@ public class QuizManager {
                 });
 
         Button backButton = new Button("Back to Main Menu");
-        backButton.setOnAction(e -> mainApp.showMainMenu());
+        backButton.setOnAction(e -> {
+            cancelLoads();
+            mainApp.showMainMenu();
+        });
 
         root.setLeft(quizBox);
         root.setCenter(questionBox);
@@ -104,22 +140,70 @@ public class QuizManager {
         questionTableView.getColumns().addAll(textCol, answerCol);
     }
 
+    /** Loads every quiz, or only those matching the search field when it has any words. */
     private void loadQuizzes() {
-        quizListView.setItems(FXCollections.observableArrayList(dbManager.getAllQuizzes()));
+        if (quizLoad != null) {
+            quizLoad.cancel(false);
+        }
+        String text = searchField.getText();
+        boolean all = SearchQuery.terms(text).isEmpty();
+        quizListView.setPlaceholder(FxAsync.loadingPane(all ? "Loading quizzes..." : "Searching...", null));
+        quizLoad = runBusy(all ? asyncDb.getAllQuizzes() : asyncDb.searchQuizzes(text, SEARCH_LIMIT), quizzes -> {
+            quizListView.setPlaceholder(new Label(all ? "No quizzes yet." : "No quizzes match your search."));
+            quizListView.setItems(FXCollections.observableArrayList(quizzes));
+        });
     }
 
     private void loadQuestionsForQuiz(Quiz quiz) {
-        questionTableView.setItems(FXCollections.observableArrayList(dbManager.getQuestionsForQuiz(quiz.getId())));
+        // Only the most recent selection may fill the table
+        if (questionLoad != null) {
+            questionLoad.cancel(false);
+        }
+        if (quiz == null) {
+            questionTableView.getItems().clear();
+            return;
+        }
+        questionTableView.getItems().clear();
+        questionTableView.setPlaceholder(FxAsync.loadingPane("Loading questions...", null));
+        questionLoad = runBusy(asyncDb.getQuestionsForQuiz(quiz.getId()), questions -> {
+            questionTableView.setPlaceholder(new Label("This quiz has no questions yet."));
+            questionTableView.setItems(FXCollections.observableArrayList(questions));
+        });
+    }
+
+    private void cancelLoads() {
+        searchPause.stop();
+        if (quizLoad != null) {
+            quizLoad.cancel(false);
+        }
+        if (questionLoad != null) {
+            questionLoad.cancel(false);
+        }
+    }
+
+    /** Shows the busy indicator until the call completes, then hands the result to the FX thread. */
+    private <T> CompletableFuture<T> runBusy(CompletableFuture<T> future, Consumer<T> onSuccess) {
+        return runBusy(future, onSuccess, error -> showAlert("Error", "Database error: " + error.getMessage()));
+    }
+
+    private <T> CompletableFuture<T> runBusy(CompletableFuture<T> future, Consumer<T> onSuccess, Consumer<Throwable> onError) {
+        pendingOperations++;
+        busyIndicator.setVisible(true);
+        future.whenComplete((value, error) -> javafx.application.Platform.runLater(() -> {
+            pendingOperations--;
+            busyIndicator.setVisible(pendingOperations > 0);
+        }));
+        return FxAsync.onFx(future, onSuccess, onError);
     }
 
     private void addQuiz() {
-        showQuizDialog(null).ifPresent(quiz -> {
-            if (dbManager.addQuiz(quiz)) {
+        showQuizDialog(null).ifPresent(quiz -> runBusy(asyncDb.addQuiz(quiz), added -> {
+            if (added) {
                 loadQuizzes();
             } else {
                 showAlert("Error", "Failed to add the quiz.");
             }
-        });
+        }));
     }
 
     private void editQuiz() {
@@ -128,13 +212,14 @@ public class QuizManager {
             showAlert("No Selection", "Please select a quiz to edit.");
             return;
         }
-        showQuizDialog(selected).ifPresent(quiz -> {
-            if (dbManager.updateQuiz(quiz)) {
+        showQuizDialog(selected).ifPresent(quiz -> runBusy(asyncDb.updateQuiz(quiz), updated -> {
+            if (updated) {
+                publishEdit(quiz.getId(), QuizEvent.QuizEdited.Change.QUIZ_UPDATED);
                 loadQuizzes();
             } else {
                 showAlert("Error", "Failed to update the quiz.");
             }
-        });
+        }));
     }
 
     private void deleteQuiz() {
@@ -144,12 +229,15 @@ public class QuizManager {
             return;
         }
         if (showConfirmation("Delete Quiz", "Are you sure you want to delete this quiz and all its questions?")) {
-            if (dbManager.deleteQuiz(selected.getId())) {
-                loadQuizzes();
-                questionTableView.getItems().clear();
-            } else {
-                showAlert("Error", "Failed to delete the quiz.");
-            }
+            runBusy(asyncDb.deleteQuiz(selected.getId()), deleted -> {
+                if (deleted) {
+                    publishEdit(selected.getId(), QuizEvent.QuizEdited.Change.QUIZ_DELETED);
+                    loadQuizzes();
+                    questionTableView.getItems().clear();
+                } else {
+                    showAlert("Error", "Failed to delete the quiz.");
+                }
+            });
         }
     }
 
@@ -159,13 +247,14 @@ public class QuizManager {
             showAlert("No Quiz Selected", "Please select a quiz to add a question to.");
             return;
         }
-        showQuestionDialog(null, selectedQuiz.getId()).ifPresent(question -> {
-            if (dbManager.addQuestion(question)) {
+        showQuestionDialog(null, selectedQuiz.getId()).ifPresent(question -> runBusy(asyncDb.addQuestion(question), added -> {
+            if (added) {
+                publishEdit(selectedQuiz.getId(), QuizEvent.QuizEdited.Change.QUESTIONS_CHANGED);
                 loadQuestionsForQuiz(selectedQuiz);
             } else {
                 showAlert("Error", "Failed to add question.");
             }
-        });
+        }));
     }
 
     private void editQuestion() {
@@ -174,13 +263,14 @@ public class QuizManager {
             showAlert("No Selection", "Please select a question to edit.");
             return;
         }
-        showQuestionDialog(selected, selected.getQuizId()).ifPresent(question -> {
-            if(dbManager.updateQuestion(question)) {
+        showQuestionDialog(selected, selected.getQuizId()).ifPresent(question -> runBusy(asyncDb.updateQuestion(question), updated -> {
+            if (updated) {
+                publishEdit(question.getQuizId(), QuizEvent.QuizEdited.Change.QUESTIONS_CHANGED);
                 loadQuestionsForQuiz(quizListView.getSelectionModel().getSelectedItem());
             } else {
                 showAlert("Error", "Failed to update question.");
             }
-        });
+        }));
     }
 
     private void deleteQuestion() {
@@ -190,12 +280,173 @@ public class QuizManager {
             return;
         }
         if (showConfirmation("Delete Question", "Are you sure you want to delete this question?")) {
-            if (dbManager.deleteQuestion(selected.getId())) {
-                loadQuestionsForQuiz(quizListView.getSelectionModel().getSelectedItem());
+            runBusy(asyncDb.deleteQuestion(selected.getId()), deleted -> {
+                if (deleted) {
+                    publishEdit(selected.getQuizId(), QuizEvent.QuizEdited.Change.QUESTIONS_CHANGED);
+                    loadQuestionsForQuiz(quizListView.getSelectionModel().getSelectedItem());
+                } else {
+                    showAlert("Error", "Failed to delete question.");
+                }
+            });
+        }
+    }
+
+    private void publishEdit(int quizId, QuizEvent.QuizEdited.Change change) {
+        mainApp.getEvents().offer(new QuizEvent.QuizEdited(quizId, change));
+    }
+
+    private void showAnalytics() {
+        Quiz selected = quizListView.getSelectionModel().getSelectedItem();
+        if (selected == null) {
+            showAlert("No Selection", "Please select a quiz to analyse.");
+            return;
+        }
+        QuizAnalytics analytics = mainApp.getAnalytics();
+        runBusy(asyncDb.submit(() -> analytics.get(selected.getId())), stats -> {
+            if (stats == null) {
+                showAlert("Error", "Failed to read the quiz's attempts.");
             } else {
-                showAlert("Error", "Failed to delete question.");
+                showAnalyticsDialog(selected, stats);
             }
+        });
+    }
+
+    private void showAnalyticsDialog(Quiz quiz, ItemStatistics initial) {
+        Dialog<Void> dialog = new Dialog<>();
+        dialog.setTitle("Analytics: " + quiz.getTitle());
+        dialog.getDialogPane().getButtonTypes().add(ButtonType.CLOSE);
+        dialog.setResizable(true);
+
+        // The question table holds the selected quiz's questions; fall back to ids for any not loaded
+        Map<Integer, String> texts = new HashMap<>();
+        for (Question q : questionTableView.getItems()) {
+            texts.put(q.getId(), q.getQuestionText());
+        }
+        ItemStatistics[] current = {initial};
+        TableView<Integer> table = new TableView<>();
+        table.getColumns().add(statColumn("Question", 300,
+                slot -> texts.getOrDefault(current[0].getQuestionId(slot), "#" + current[0].getQuestionId(slot))));
+        table.getColumns().add(statColumn("Shown", 60, slot -> String.valueOf(current[0].getPresented(slot))));
+        table.getColumns().add(statColumn("Difficulty (p)", 90, slot -> decimal(current[0].getDifficulty(slot))));
+        table.getColumns().add(statColumn("Discrimination", 100, slot -> decimal(current[0].getDiscrimination(slot))));
+        for (int option = 0; option < ItemStatistics.CHOICES - 1; option++) {
+            int o = option;
+            // The correct option is starred, so distractors that draw more picks stand out
+            table.getColumns().add(statColumn(String.valueOf((char) ('A' + option)), 60,
+                    slot -> percent(current[0].getChoiceRate(slot, o))
+                            + (current[0].getCorrectOption(slot) == o ? " *" : "")));
+        }
+        table.getColumns().add(statColumn("Blank", 60, slot -> percent(current[0].getChoiceRate(slot, AnswerKey.NO_ANSWER))));
+
+        Label summary = new Label();
+        Runnable render = () -> {
+            ItemStatistics stats = current[0];
+            summary.setText(String.format("%d submitted attempts, mean score %s. * marks the correct option.",
+                    stats.getAttempts(), percent(stats.getMeanScore())));
+            List<Integer> slots = new ArrayList<>(stats.size());
+            for (int slot = 0; slot < stats.size(); slot++) {
+                slots.add(slot);
+            }
+            table.getItems().setAll(slots);
+        };
+        render.run();
+
+        Button recompute = createButton("Recompute", e -> runBusy(
+                asyncDb.submit(() -> mainApp.getAnalytics().recompute(quiz.getId())), stats -> {
+                    if (stats == null) {
+                        showAlert("Error", "Failed to read the quiz's attempts.");
+                    } else {
+                        current[0] = stats;
+                        render.run();
+                    }
+                }));
+        VBox content = new VBox(10, summary, table, recompute);
+        content.setPrefSize(900, 500);
+        dialog.getDialogPane().setContent(content);
+        dialog.showAndWait();
+    }
+
+    private static TableColumn<Integer, String> statColumn(String title, double width, IntFunction<String> value) {
+        TableColumn<Integer, String> column = new TableColumn<>(title);
+        column.setCellValueFactory(cell -> new ReadOnlyStringWrapper(value.apply(cell.getValue())));
+        column.setPrefWidth(width);
+        return column;
+    }
+
+    private static String decimal(double value) {
+        return Double.isNaN(value) ? "-" : String.format("%.2f", value);
+    }
+
+    private static String percent(double value) {
+        return Double.isNaN(value) ? "-" : String.format("%.0f%%", value * 100);
+    }
+
+    private FileChooser questionBankChooser(String title) {
+        FileChooser chooser = new FileChooser();
+        chooser.setTitle(title);
+        chooser.getExtensionFilters().addAll(
+                new FileChooser.ExtensionFilter("CSV files", "*.csv"),
+                new FileChooser.ExtensionFilter("JSON files", "*.json"));
+        return chooser;
+    }
+
+    private void importQuestions() {
+        Quiz selectedQuiz = quizListView.getSelectionModel().getSelectedItem();
+        if (selectedQuiz == null) {
+            showAlert("No Quiz Selected", "Please select a quiz to import questions into.");
+            return;
         }
+        File file = questionBankChooser("Import Questions").showOpenDialog(primaryStage);
+        if (file == null) {
+            return;
+        }
+        QuestionBank bank = new QuestionBank(asyncDb.getStore());
+        bulkStatusLabel.setText("Importing " + file.getName() + "...");
+        runBusy(asyncDb.submit(() -> {
+            try {
+                return bank.importFile(file.toPath(), selectedQuiz.getId(), progress -> javafx.application.Platform.runLater(
+                        () -> bulkStatusLabel.setText("Importing " + file.getName() + ": " + progress)));
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }), report -> {
+            bulkStatusLabel.setText(file.getName() + ": " + report);
+            loadQuestionsForQuiz(quizListView.getSelectionModel().getSelectedItem());
+            StringBuilder message = new StringBuilder(report.toString());
+            List<String> errors = report.getErrors();
+            for (int i = 0; i < Math.min(10, errors.size()); i++) {
+                message.append("\n").append(errors.get(i));
+            }
+            if (report.getRejected() > 10) {
+                message.append("\n...");
+            }
+            showAlert("Import Finished", message.toString());
+        }, error -> {
+            bulkStatusLabel.setText("");
+            showAlert("Import Failed", (error instanceof UncheckedIOException ? error.getCause() : error).getMessage());
+        });
+    }
+
+    private void exportQuestions() {
+        Quiz selectedQuiz = quizListView.getSelectionModel().getSelectedItem();
+        if (selectedQuiz == null) {
+            showAlert("No Quiz Selected", "Please select a quiz to export.");
+            return;
+        }
+        File file = questionBankChooser("Export Questions").showSaveDialog(primaryStage);
+        if (file == null) {
+            return;
+        }
+        QuestionBank bank = new QuestionBank(asyncDb.getStore());
+        runBusy(asyncDb.submit(() -> {
+            try {
+                return bank.exportFile(selectedQuiz.getId(), file.toPath());
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }), count -> bulkStatusLabel.setText(count + " question(s) exported to " + file.getName()),
+                error -> showAlert("Export Failed",
+                        (error instanceof UncheckedIOException ? error.getCause() : error).getMessage()));
     }
 
     private Optional<Quiz> showQuizDialog(Quiz quiz) {
@@ -211,21 +462,40 @@ public class QuizManager {
         TextField titleField = new TextField(quiz == null ? "" : quiz.getTitle());
         TextArea descriptionArea = new TextArea(quiz == null ? "" : quiz.getDescription());
 
+        // 0 serves every question in order; otherwise each attempt draws this many at random
+        Spinner<Integer> drawCount = new Spinner<>(0, 10_000, quiz == null ? 0 : quiz.getDrawCount());
+        drawCount.setEditable(true);
+        CheckBox shuffleOptions = new CheckBox("Shuffle answer options");
+        shuffleOptions.setSelected(quiz != null && quiz.isShuffleOptions());
+
         grid.add(new Label("Title:"), 0, 0);
         grid.add(titleField, 1, 0);
         grid.add(new Label("Description:"), 0, 1);
         grid.add(descriptionArea, 1, 1);
+        grid.add(new Label("Questions per attempt (0 = all):"), 0, 2);
+        grid.add(drawCount, 1, 2);
+        grid.add(shuffleOptions, 1, 3);
         dialog.getDialogPane().setContent(grid);
 
         dialog.setResultConverter(dialogButton -> {
             if (dialogButton == saveButtonType && !titleField.getText().trim().isEmpty()) {
-                if (quiz == null) {
-                    return new Quiz(0, titleField.getText(), descriptionArea.getText(), currentUser.getId());
+                try {
+                    // Picks up a typed count that was never committed with Enter
+                    drawCount.commitValue();
+                } catch (NumberFormatException e) {
+                    showAlert("Validation Error", "Questions per attempt must be a whole number.");
+                    return null;
+                }
+                Quiz result = quiz;
+                if (result == null) {
+                    result = new Quiz(0, titleField.getText(), descriptionArea.getText(), currentUser.getId());
                 } else {
-                    quiz.setTitle(titleField.getText());
-                    quiz.setDescription(descriptionArea.getText());
-                    return quiz;
+                    result.setTitle(titleField.getText());
+                    result.setDescription(descriptionArea.getText());
                 }
+                result.setDrawCount(drawCount.getValue());
+                result.setShuffleOptions(shuffleOptions.isSelected());
+                return result;
             }
             return null;
         });
@@ -252,12 +522,8 @@ public class QuizManager {
 
         ComboBox<String> correctAnswer = new ComboBox<>(FXCollections.observableArrayList("A", "B", "C", "D"));
         correctAnswer.setPromptText("Select Correct Answer");
-        if (question != null) {
-            // This logic needs to find which letter corresponds to the saved answer text
-            if (question.getCorrectAnswer().equals(question.getOptionA())) correctAnswer.setValue("A");
-            else if (question.getCorrectAnswer().equals(question.getOptionB())) correctAnswer.setValue("B");
-            else if (question.getCorrectAnswer().equals(question.getOptionC())) correctAnswer.setValue("C");
-            else if (question.getCorrectAnswer().equals(question.getOptionD())) correctAnswer.setValue("D");
+        if (question != null && question.getCorrectOption() != Question.NO_CORRECT_OPTION) {
+            correctAnswer.getSelectionModel().select(question.getCorrectOption());
         }
 
 
@@ -282,17 +548,8 @@ public class QuizManager {
                 }
 
                 int id = (question == null) ? 0 : question.getId();
-                String correctTextValue;
-                switch (correctAnswer.getValue()) {
-                    case "A": correctTextValue = optA.getText(); break;
-                    case "B": correctTextValue = optB.getText(); break;
-                    case "C": correctTextValue = optC.getText(); break;
-                    case "D": correctTextValue = optD.getText(); break;
-                    default: return null;
-                }
-
                 return new Question(id, quizId, questionText.getText(), optA.getText(), optB.getText(),
-                        optC.getText(), optD.getText(), correctTextValue);
+                        optC.getText(), optD.getText(), correctAnswer.getSelectionModel().getSelectedIndex());
             }
             return null;
         });
@@ -0,0 +1,219 @@
+package com.quizapp;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.zip.CRC32;
+
+/**
+ * Read-only view of a quiz pack file, memory-mapped so a node can serve quizzes
+ * and questions without SQLite. Records are read in place with absolute gets,
+ * so one instance can be shared by any number of threads; only the strings a
+ * caller asks for are decoded. Build packs with QuizPackBuilder.
+ * <p>
+ * Layout, version 2, little-endian:
+ * <pre>
+ * header     magic "QZPK", u16 version, u16 reserved, i32 quizCount, i32 questionCount,
+ *            i32 stringTableOffset, i32 stringTableLength, i32 crc32 of everything after the header,
+ *            i32 reserved
+ * quizzes    quizCount x 32 bytes, sorted by id:
+ *            id, titleRef, descriptionRef, createdBy, firstQuestion, questionCount, drawCount,
+ *            flags (bit 0: shuffle options)
+ * questions  questionCount x 32 bytes, grouped by quiz in quiz order:
+ *            id, quizId, textRef, optionRef[4], i8 correctOption, 3 bytes padding
+ * strings    i32 byteLength + UTF-8 bytes each; a ref is the offset into this table
+ * </pre>
+ */
+public final class QuizPack {
+    static final int MAGIC = 'Q' | 'Z' << 8 | 'P' << 16 | 'K' << 24;
+    static final int VERSION = 2;
+    static final int HEADER_BYTES = 32;
+    static final int QUIZ_RECORD_BYTES = 32;
+    static final int FLAG_SHUFFLE_OPTIONS = 1;
+    static final int QUESTION_RECORD_BYTES = 32;
+
+    private final Path file;
+    private final ByteBuffer buffer;
+    private final int quizCount;
+    private final int questionCount;
+    private final int questionsOffset;
+    private final int stringsOffset;
+
+    private QuizPack(Path file, ByteBuffer buffer) throws IOException {
+        this.file = file;
+        this.buffer = buffer;
+        if (buffer.limit() < HEADER_BYTES || buffer.getInt(0) != MAGIC) {
+            throw new IOException(file + " is not a quiz pack");
+        }
+        int version = buffer.getShort(4);
+        if (version != VERSION) {
+            throw new IOException(file + " is quiz pack version " + version + "; this build reads version " + VERSION);
+        }
+        quizCount = buffer.getInt(8);
+        questionCount = buffer.getInt(12);
+        stringsOffset = buffer.getInt(16);
+        int stringsLength = buffer.getInt(20);
+        questionsOffset = HEADER_BYTES + quizCount * QUIZ_RECORD_BYTES;
+        if (quizCount < 0 || questionCount < 0
+                || stringsOffset != questionsOffset + questionCount * QUESTION_RECORD_BYTES
+                || (long) stringsOffset + stringsLength != buffer.limit()) {
+            throw new IOException(file + " is truncated or corrupt");
+        }
+        CRC32 crc = new CRC32();
+        crc.update(buffer.duplicate().position(HEADER_BYTES));
+        if ((int) crc.getValue() != buffer.getInt(24)) {
+            throw new IOException(file + " failed its checksum");
+        }
+    }
+
+    /** Maps the file and checks its header, bounds and checksum. */
+    public static QuizPack open(Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            if (channel.size() > Integer.MAX_VALUE) {
+                throw new IOException(file + " is too large for a quiz pack");
+            }
+            // The mapping stays valid after the channel is closed
+            MappedByteBuffer mapped = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            return new QuizPack(file, mapped.order(ByteOrder.LITTLE_ENDIAN));
+        }
+    }
+
+    public Path getFile() { return file; }
+    public int getQuizCount() { return quizCount; }
+    public int getQuestionCount() { return questionCount; }
+
+    public List<Quiz> getQuizzes() {
+        List<Quiz> quizzes = new ArrayList<>(quizCount);
+        for (int i = 0; i < quizCount; i++) {
+            quizzes.add(readQuiz(i));
+        }
+        return quizzes;
+    }
+
+    /** The quiz with this id, or null if the pack does not contain it. */
+    public Quiz getQuiz(int quizId) {
+        int index = indexOf(quizId);
+        return index < 0 ? null : readQuiz(index);
+    }
+
+    /** The quiz's questions in pack order, or an empty list if the pack does not contain it. */
+    public List<Question> getQuestions(int quizId) {
+        int index = indexOf(quizId);
+        if (index < 0) {
+            return new ArrayList<>();
+        }
+        int record = HEADER_BYTES + index * QUIZ_RECORD_BYTES;
+        int first = buffer.getInt(record + 16);
+        int count = buffer.getInt(record + 20);
+        List<Question> questions = new ArrayList<>(count);
+        for (int i = first; i < first + count; i++) {
+            questions.add(readQuestion(i));
+        }
+        return questions;
+    }
+
+    /** The quiz's question ids in pack order, read without decoding any text. */
+    public int[] getQuestionIds(int quizId) {
+        int index = indexOf(quizId);
+        if (index < 0) {
+            return new int[0];
+        }
+        int record = HEADER_BYTES + index * QUIZ_RECORD_BYTES;
+        int first = buffer.getInt(record + 16);
+        int[] ids = new int[buffer.getInt(record + 20)];
+        for (int i = 0; i < ids.length; i++) {
+            ids[i] = buffer.getInt(questionsOffset + (first + i) * QUESTION_RECORD_BYTES);
+        }
+        return ids;
+    }
+
+    /** The quiz's questions with the given ids, in pack order; only those records are decoded. */
+    public List<Question> getQuestions(int quizId, int[] questionIds) {
+        int index = indexOf(quizId);
+        List<Question> questions = new ArrayList<>(questionIds.length);
+        if (index < 0) {
+            return questions;
+        }
+        Set<Integer> wanted = new HashSet<>(questionIds.length * 2);
+        for (int id : questionIds) {
+            wanted.add(id);
+        }
+        int record = HEADER_BYTES + index * QUIZ_RECORD_BYTES;
+        int first = buffer.getInt(record + 16);
+        int count = buffer.getInt(record + 20);
+        for (int i = first; i < first + count && questions.size() < wanted.size(); i++) {
+            if (wanted.contains(buffer.getInt(questionsOffset + i * QUESTION_RECORD_BYTES))) {
+                questions.add(readQuestion(i));
+            }
+        }
+        return questions;
+    }
+
+    /** Correct option index (0-3) of a quiz's question, read without decoding any text; -2 if it has none. */
+    public int getCorrectOption(int quizId, int questionIndex) {
+        int index = indexOf(quizId);
+        if (index < 0) {
+            throw new IllegalArgumentException("No quiz " + quizId + " in " + file);
+        }
+        int record = HEADER_BYTES + index * QUIZ_RECORD_BYTES;
+        if (questionIndex < 0 || questionIndex >= buffer.getInt(record + 20)) {
+            throw new IndexOutOfBoundsException("Question " + questionIndex + " of quiz " + quizId);
+        }
+        int question = buffer.getInt(record + 16) + questionIndex;
+        return buffer.get(questionsOffset + question * QUESTION_RECORD_BYTES + 28);
+    }
+
+    // Binary search over the quiz records, which are sorted by id
+    private int indexOf(int quizId) {
+        int low = 0;
+        int high = quizCount - 1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            int id = buffer.getInt(HEADER_BYTES + mid * QUIZ_RECORD_BYTES);
+            if (id < quizId) {
+                low = mid + 1;
+            } else if (id > quizId) {
+                high = mid - 1;
+            } else {
+                return mid;
+            }
+        }
+        return -1;
+    }
+
+    private Quiz readQuiz(int index) {
+        int record = HEADER_BYTES + index * QUIZ_RECORD_BYTES;
+        Quiz quiz = new Quiz(buffer.getInt(record), string(buffer.getInt(record + 4)),
+                string(buffer.getInt(record + 8)), buffer.getInt(record + 12));
+        quiz.setDrawCount(buffer.getInt(record + 24));
+        quiz.setShuffleOptions((buffer.getInt(record + 28) & FLAG_SHUFFLE_OPTIONS) != 0);
+        return quiz;
+    }
+
+    private Question readQuestion(int index) {
+        int record = questionsOffset + index * QUESTION_RECORD_BYTES;
+        String[] options = new String[4];
+        for (int i = 0; i < 4; i++) {
+            options[i] = string(buffer.getInt(record + 12 + i * 4));
+        }
+        return new Question(buffer.getInt(record), buffer.getInt(record + 4), string(buffer.getInt(record + 8)),
+                options[0], options[1], options[2], options[3], buffer.get(record + 28));
+    }
+
+    private String string(int ref) {
+        int at = stringsOffset + ref;
+        int length = buffer.getInt(at);
+        byte[] bytes = new byte[length];
+        buffer.get(at + 4, bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+}
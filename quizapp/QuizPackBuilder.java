@@ -0,0 +1,142 @@
+package com.quizapp;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.CRC32;
+
+/**
+ * Writes quiz pack files (see QuizPack for the layout). Identical strings are
+ * stored once. The file is written next to the target and moved
+ * into place, so readers never map a half-written pack.
+ */
+public class QuizPackBuilder {
+    private final List<Quiz> quizzes = new ArrayList<>();
+    private final Map<Integer, List<Question>> questions = new HashMap<>();
+    private final Map<String, Integer> stringRefs = new HashMap<>();
+    private final ByteArrayOutputStream strings = new ByteArrayOutputStream();
+
+    /** Packs every quiz in the store with its questions. */
+    public static int build(QuizStore store, Path file) throws IOException {
+        QuizPackBuilder builder = new QuizPackBuilder();
+        for (Quiz quiz : store.getAllQuizzes()) {
+            List<Question> quizQuestions = new ArrayList<>();
+            if (store.forEachQuestion(quiz.getId(), quizQuestions::add) < 0) {
+                throw new IOException("Could not read the questions of quiz " + quiz.getId());
+            }
+            builder.add(quiz, quizQuestions);
+        }
+        return builder.write(file);
+    }
+
+    public QuizPackBuilder add(Quiz quiz, List<Question> quizQuestions) {
+        if (questions.putIfAbsent(quiz.getId(), new ArrayList<>(quizQuestions)) != null) {
+            throw new IllegalArgumentException("Quiz " + quiz.getId() + " was already added");
+        }
+        quizzes.add(quiz);
+        return this;
+    }
+
+    /** Writes the pack and returns the number of questions in it. */
+    public int write(Path file) throws IOException {
+        quizzes.sort(Comparator.comparingInt(Quiz::getId));
+        int questionCount = 0;
+        for (List<Question> list : questions.values()) {
+            questionCount += list.size();
+        }
+        int stringsOffset = QuizPack.HEADER_BYTES + quizzes.size() * QuizPack.QUIZ_RECORD_BYTES
+                + questionCount * QuizPack.QUESTION_RECORD_BYTES;
+        ByteBuffer records = ByteBuffer.allocate(stringsOffset).order(ByteOrder.LITTLE_ENDIAN);
+
+        records.position(QuizPack.HEADER_BYTES);
+        int first = 0;
+        for (Quiz quiz : quizzes) {
+            int count = questions.get(quiz.getId()).size();
+            records.putInt(quiz.getId())
+                    .putInt(ref(quiz.getTitle()))
+                    .putInt(ref(quiz.getDescription()))
+                    .putInt(quiz.getCreatedBy())
+                    .putInt(first)
+                    .putInt(count)
+                    .putInt(quiz.getDrawCount())
+                    .putInt(quiz.isShuffleOptions() ? QuizPack.FLAG_SHUFFLE_OPTIONS : 0);
+            first += count;
+        }
+        for (Quiz quiz : quizzes) {
+            for (Question q : questions.get(quiz.getId())) {
+                records.putInt(q.getId())
+                        .putInt(quiz.getId())
+                        .putInt(ref(q.getQuestionText()))
+                        .putInt(ref(q.getOptionA()))
+                        .putInt(ref(q.getOptionB()))
+                        .putInt(ref(q.getOptionC()))
+                        .putInt(ref(q.getOptionD()))
+                        .put((byte) q.getCorrectOption())
+                        .put(new byte[3]);
+            }
+        }
+        byte[] stringBytes = strings.toByteArray();
+
+        CRC32 crc = new CRC32();
+        crc.update(records.array(), QuizPack.HEADER_BYTES, stringsOffset - QuizPack.HEADER_BYTES);
+        crc.update(stringBytes);
+        records.position(0);
+        records.putInt(QuizPack.MAGIC)
+                .putShort((short) QuizPack.VERSION)
+                .putShort((short) 0)
+                .putInt(quizzes.size())
+                .putInt(questionCount)
+                .putInt(stringsOffset)
+                .putInt(stringBytes.length)
+                .putInt((int) crc.getValue())
+                .putInt(0);
+        records.position(0);
+
+        Path dir = file.toAbsolutePath().getParent();
+        Path tmp = Files.createTempFile(dir, file.getFileName().toString(), ".tmp");
+        try {
+            try (FileChannel channel = FileChannel.open(tmp, StandardOpenOption.WRITE)) {
+                while (records.hasRemaining()) {
+                    channel.write(records);
+                }
+                ByteBuffer tail = ByteBuffer.wrap(stringBytes);
+                while (tail.hasRemaining()) {
+                    channel.write(tail);
+                }
+                channel.force(true);
+            }
+            Files.move(tmp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(tmp);
+        }
+        return questionCount;
+    }
+
+    private int ref(String s) {
+        String value = s == null ? "" : s;
+        Integer ref = stringRefs.get(value);
+        if (ref == null) {
+            ref = strings.size();
+            byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+            strings.write(bytes.length & 0xFF);
+            strings.write(bytes.length >>> 8 & 0xFF);
+            strings.write(bytes.length >>> 16 & 0xFF);
+            strings.write(bytes.length >>> 24 & 0xFF);
+            strings.writeBytes(bytes);
+            stringRefs.put(value, ref);
+        }
+        return ref;
+    }
+}
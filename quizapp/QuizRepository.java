@@ -0,0 +1,27 @@
+package com.quizapp;
+
+import java.util.List;
+
+/** Quizzes and their settings. Returned quizzes are copies the caller may modify. */
+public interface QuizRepository {
+
+    List<Quiz> getAllQuizzes();
+
+    /** The quiz, or null if there is no such quiz. */
+    Quiz getQuiz(int quizId);
+
+    boolean addQuiz(Quiz quiz);
+
+    boolean updateQuiz(Quiz quiz);
+
+    /** Deletes the quiz together with its questions. */
+    boolean deleteQuiz(int quizId);
+
+    /**
+     * Up to limit quizzes matching every word of the text as a word prefix
+     * (see SearchQuery), best first: quizzes matching on title and
+     * description, then those matching only through their questions' text
+     * or options. Empty if the text has no words.
+     */
+    List<Quiz> searchQuizzes(String text, int limit);
+}
@@ -9,6 +9,9 @@ public class QuizResult {
     private int totalQuestions;
     private double percentage;
     private String dateTaken;
+    // The attempt this result closes, and its answers as shown; 0 and null when untracked
+    private long attemptId;
+    private byte[] answers;
 
     public QuizResult(int id, int userId, int quizId, String quizTitle,
                       int score, int totalQuestions, double percentage, String dateTaken) {
@@ -30,4 +33,12 @@ public class QuizResult {
     public int getTotalQuestions() { return totalQuestions; }
     public double getPercentage() { return percentage; }
     public String getDateTaken() { return dateTaken; }
+    public long getAttemptId() { return attemptId; }
+    public byte[] getAnswers() { return answers; }
+
+    /** Saving the result then also marks the attempt submitted with these answers. */
+    public void setAttempt(long attemptId, byte[] answers) {
+        this.attemptId = attemptId;
+        this.answers = answers;
+    }
 }
@@ -0,0 +1,763 @@
+package com.quizapp;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.Reader;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Paths;
+import java.security.SecureRandom;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Headless JSON-over-HTTP backend for the quiz flow. Uses only the JDK's
+ * built-in HTTP server and a QuizStore, so it runs without JavaFX:
+ * <pre>
+ * java -cp target/classes:&lt;sqlite-jdbc.jar&gt; com.quizapp.QuizServer
+ * </pre>
+ * Endpoints (all under /api, authenticated with "Authorization: Bearer &lt;token&gt;"
+ * except login):
+ * <pre>
+ * POST /api/login                    {"username", "password"} -&gt; {"token", "user"}
+ * POST /api/logout
+ * GET  /api/quizzes
+ * GET  /api/quizzes/{id}/questions   questions without their answers
+ * POST /api/quizzes/{id}/attempts    starts an attempt -&gt; {"attemptId", "questions"}; with
+ *                                    {"resume": true} continues an unfinished one and adds "answers"
+ * POST /api/attempts/{id}/answers    {"question": index, "option": 0-3}
+ * POST /api/attempts/{id}/submit     optional {"answers": [option or null, ...]}
+ * GET  /api/results?limit=&amp;cursor=   the caller's history, newest first
+ *                                    -&gt; {"results", "nextCursor"}; pass nextCursor back for the next page
+ * GET  /api/leaderboard?quizId=&amp;page=&amp;size=   or ?days=N for the last N days across all quizzes
+ * GET  /api/quizzes/{id}/analytics   admins only: per-question difficulty, discrimination and choices
+ * GET  /api/events                   admins only: event consumers' throughput and queue depth
+ * </pre>
+ */
+public class QuizServer {
+    private static final int MAX_BODY_BYTES = 1 << 20;
+    private static final int MAX_PAGE_SIZE = 100;
+    // Suggested wait before retrying a login turned away because password hashing is saturated
+    private static final int LOGIN_RETRY_AFTER_SECONDS = 1;
+
+    /** Maps to an HTTP error status with a JSON {"error": ...} body. */
+    static class ApiException extends RuntimeException {
+        private static final long serialVersionUID = 1L;
+
+        final int status;
+        // Sent as Retry-After when positive
+        final int retryAfterSeconds;
+
+        ApiException(int status, String message) {
+            this(status, message, 0);
+        }
+
+        ApiException(int status, String message, int retryAfterSeconds) {
+            super(message);
+            this.status = status;
+            this.retryAfterSeconds = retryAfterSeconds;
+        }
+    }
+
+    private final QuizStore store;
+    private final HttpServer server;
+    private final ExecutorService executor;
+    private final ScheduledExecutorService sweeper;
+    private final long idleTimeoutMillis;
+    private final SecureRandom random = new SecureRandom();
+    private final ScoringEngine scoring = new ScoringEngine();
+    private final SessionStore sessions;
+    private final QuizPack quizPack;
+    private final QuestionSampler packSampler;
+    private final QuizAnalytics analytics;
+    private final EventBus events;
+
+    private final ConcurrentHashMap<String, QuizSession> attempts = new ConcurrentHashMap<>();
+
+    public static void main(String[] args) throws IOException {
+        Properties props = StorageConfig.loadProperties();
+        QuizStore store = QuizStore.open(StorageConfig.fromProperties(props));
+        QuizServer server = new QuizServer(store, props);
+        Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+            server.stop();
+            store.close();
+        }));
+        server.start();
+        System.out.println("Quiz server listening on port " + server.getPort());
+    }
+
+    public QuizServer(QuizStore store, Properties props) throws IOException {
+        this.store = store;
+        int port = Integer.parseInt(props.getProperty("quizapp.server.port", "8080"));
+        int backlog = Integer.parseInt(props.getProperty("quizapp.server.backlog", "1024"));
+        int threads = Integer.parseInt(props.getProperty("quizapp.server.threads", "32"));
+        this.idleTimeoutMillis = TimeUnit.MINUTES.toMillis(
+                Long.parseLong(props.getProperty("quizapp.server.idleTimeoutMinutes", "120")));
+        long sessionTtlMillis = TimeUnit.HOURS.toMillis(
+                Long.parseLong(props.getProperty("quizapp.server.sessionTtlHours", "24")));
+        boolean persistSessions = Boolean.parseBoolean(props.getProperty("quizapp.server.persistSessions", "false"));
+        // Logins can only be persisted by the SQLite engine
+        this.sessions = new SessionStore(persistSessions && store instanceof DatabaseManager db ? db : null,
+                sessionTtlMillis, idleTimeoutMillis);
+        String pack = props.getProperty("quizapp.server.quizPack");
+        this.quizPack = pack == null || pack.isBlank() ? null : QuizPack.open(Paths.get(pack));
+        this.packSampler = quizPack == null ? null : new QuestionSampler(quizPack::getQuestionIds);
+        this.analytics = new QuizAnalytics(store);
+        int eventBufferSize = Integer.parseInt(props.getProperty("quizapp.server.eventBufferSize",
+                String.valueOf(EventBus.DEFAULT_CAPACITY)));
+        this.events = EventConsumers.open("server", eventBufferSize, store, analytics);
+
+        AtomicInteger counter = new AtomicInteger();
+        this.executor = Executors.newFixedThreadPool(Math.max(1, threads), r -> {
+            Thread t = new Thread(r, "quizapp-http-" + counter.incrementAndGet());
+            t.setDaemon(true);
+            return t;
+        });
+        this.sweeper = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "quizapp-session-sweeper");
+            t.setDaemon(true);
+            return t;
+        });
+
+        this.server = HttpServer.create(new InetSocketAddress(port), backlog);
+        server.setExecutor(executor);
+        server.createContext("/api/", this::handle);
+    }
+
+    public void start() {
+        server.start();
+        sweeper.scheduleWithFixedDelay(this::evictIdle, 1, 1, TimeUnit.MINUTES);
+    }
+
+    public void stop() {
+        server.stop(1);
+        sweeper.shutdownNow();
+        executor.shutdown();
+        events.close();
+    }
+
+    public int getPort() {
+        return server.getAddress().getPort();
+    }
+
+    public int getActiveAttemptCount() {
+        return attempts.size();
+    }
+
+    public int getLoginCount() {
+        return sessions.size();
+    }
+
+    public SessionStore getSessions() {
+        return sessions;
+    }
+
+    // --- Request handling ---
+
+    private void handle(HttpExchange exchange) throws IOException {
+        int status = 200;
+        Object response;
+        try {
+            String path = exchange.getRequestURI().getPath();
+            List<String> segments = new ArrayList<>(Arrays.asList(path.substring("/api/".length()).split("/")));
+            segments.removeIf(String::isEmpty);
+            response = route(exchange, exchange.getRequestMethod(), segments);
+        } catch (ApiException e) {
+            status = e.status;
+            response = error(e.getMessage());
+            if (e.retryAfterSeconds > 0) {
+                exchange.getResponseHeaders().set("Retry-After", String.valueOf(e.retryAfterSeconds));
+            }
+        } catch (IOException e) {
+            status = 400;
+            response = error("Malformed request: " + e.getMessage());
+        } catch (RuntimeException e) {
+            System.err.println("Error handling " + exchange.getRequestURI() + ": " + e);
+            status = 500;
+            response = error("Internal server error");
+        }
+        byte[] body = Json.write(response).getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().set("Content-Type", "application/json; charset=utf-8");
+        exchange.sendResponseHeaders(status, body.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(body);
+        }
+    }
+
+    private Object route(HttpExchange exchange, String method, List<String> p) throws IOException {
+        String resource = p.isEmpty() ? "" : p.get(0);
+        switch (resource) {
+            case "login":
+                requireMethod(method, "POST");
+                return login(readBody(exchange));
+            case "logout":
+                requireMethod(method, "POST");
+                sessions.invalidate(bearerToken(exchange));
+                return Map.of("ok", true);
+            case "quizzes":
+                if (p.size() == 1) {
+                    requireMethod(method, "GET");
+                    authenticate(exchange);
+                    return listQuizzes();
+                }
+                if (p.size() == 3 && p.get(2).equals("questions")) {
+                    requireMethod(method, "GET");
+                    authenticate(exchange);
+                    return questionsJson(questionsFor(parseId(p.get(1))));
+                }
+                if (p.size() == 3 && p.get(2).equals("attempts")) {
+                    requireMethod(method, "POST");
+                    User user = authenticate(exchange);
+                    return startAttempt(user, parseId(p.get(1)), readOptionalBody(exchange));
+                }
+                if (p.size() == 3 && p.get(2).equals("analytics")) {
+                    requireMethod(method, "GET");
+                    if (!authenticate(exchange).isAdmin()) {
+                        throw new ApiException(403, "Only admins can see quiz analytics");
+                    }
+                    return analyticsJson(parseId(p.get(1)));
+                }
+                break;
+            case "attempts":
+                if (p.size() == 3 && p.get(2).equals("answers")) {
+                    requireMethod(method, "POST");
+                    return recordAnswer(attemptFor(authenticate(exchange), p.get(1)), readBody(exchange));
+                }
+                if (p.size() == 3 && p.get(2).equals("submit")) {
+                    requireMethod(method, "POST");
+                    User user = authenticate(exchange);
+                    return submitAttempt(attemptFor(user, p.get(1)), readOptionalBody(exchange));
+                }
+                break;
+            case "results":
+                requireMethod(method, "GET");
+                return results(authenticate(exchange), queryParams(exchange));
+            case "leaderboard":
+                requireMethod(method, "GET");
+                authenticate(exchange);
+                return leaderboard(queryParams(exchange));
+            case "events":
+                requireMethod(method, "GET");
+                if (!authenticate(exchange).isAdmin()) {
+                    throw new ApiException(403, "Only admins can see event consumers");
+                }
+                return events.toJson();
+            default:
+                break;
+        }
+        throw new ApiException(404, "Not found");
+    }
+
+    private Object login(Map<String, Object> body) {
+        String username = stringField(body, "username");
+        String password = stringField(body, "password");
+        User user;
+        try {
+            user = store.authenticateUser(username, password);
+        } catch (RejectedExecutionException e) {
+            throw new ApiException(503, "Too many logins in progress", LOGIN_RETRY_AFTER_SECONDS);
+        }
+        if (user == null) {
+            throw new ApiException(401, "Invalid username or password");
+        }
+        String token = sessions.create(user);
+        if (token == null) {
+            throw new ApiException(503, "Could not start a session");
+        }
+        Map<String, Object> json = new LinkedHashMap<>();
+        json.put("token", token);
+        json.put("user", userJson(user));
+        return json;
+    }
+
+    private Object listQuizzes() {
+        List<Object> json = new ArrayList<>();
+        for (Quiz quiz : quizPack != null ? quizPack.getQuizzes() : store.getAllQuizzes()) {
+            json.add(quizJson(quiz));
+        }
+        return json;
+    }
+
+    private Object startAttempt(User user, int quizId, Map<String, Object> body) {
+        Quiz quiz = quizPack != null ? quizPack.getQuiz(quizId) : store.getQuiz(quizId);
+        if (quiz == null) {
+            throw new ApiException(404, "No quiz with id " + quizId);
+        }
+        // {"resume": true} picks up the user's unfinished attempt, if there is one
+        QuestionDraw draw = Boolean.TRUE.equals(body.get("resume")) ? resumeQuestions(user, quiz) : null;
+        boolean resumed = draw != null;
+        if (!resumed) {
+            draw = drawQuestions(user, quiz);
+        }
+        if (draw == null) {
+            throw new ApiException(503, "The attempt could not be started");
+        }
+        List<Question> questions = draw.getQuestions();
+        if (questions.isEmpty()) {
+            throw new ApiException(409, "This quiz has no questions yet");
+        }
+        // Each draw gets its own key, built from the questions as shown; whole-bank
+        // attempts share the quiz's key
+        AnswerKey key = quiz.isRandomized() ? AnswerKey.of(quizId, questions) : scoring.keyFor(quizId, questions);
+        if (resumed) {
+            // A resumed attempt may still be open here; only one session may append to its log
+            long attemptId = draw.getAttemptId();
+            attempts.values().removeIf(other -> other.getDraw().getAttemptId() == attemptId);
+        }
+        QuizSession session = new QuizSession(newAttemptId(), user, quiz, key, draw);
+        attempts.put(session.getId(), session);
+        Map<String, Object> json = new LinkedHashMap<>();
+        json.put("attemptId", session.getId());
+        json.put("quiz", quizJson(quiz));
+        json.put("questions", questionsJson(questions));
+        json.put("resumed", resumed);
+        if (resumed) {
+            List<Object> answers = new ArrayList<>();
+            for (byte answer : session.getAnswers()) {
+                answers.add(answer == QuizSession.NO_ANSWER ? null : (int) answer);
+            }
+            json.put("answers", answers);
+        }
+        return json;
+    }
+
+    private Object recordAnswer(QuizSession session, Map<String, Object> body) {
+        int question = intField(body, "question");
+        Object option = body.get("option");
+        try {
+            logAnswer(session.answer(question, option == null ? QuizSession.NO_ANSWER : toInt(option, "option")));
+        } catch (IllegalArgumentException e) {
+            throw new ApiException(400, e.getMessage());
+        }
+        return Map.of("ok", true);
+    }
+
+    private Object submitAttempt(QuizSession session, Map<String, Object> body) {
+        Object answers = body.get("answers");
+        QuizResult result;
+        try {
+            if (answers != null) {
+                if (!(answers instanceof List<?> list)) {
+                    throw new ApiException(400, "'answers' must be an array");
+                }
+                for (int i = 0; i < list.size(); i++) {
+                    Object option = list.get(i);
+                    logAnswer(session.answer(i, option == null ? QuizSession.NO_ANSWER : toInt(option, "answers[" + i + "]")));
+                }
+            }
+            result = session.submit();
+        } catch (IllegalStateException e) {
+            throw new ApiException(409, e.getMessage());
+        } catch (IllegalArgumentException e) {
+            throw new ApiException(400, e.getMessage());
+        }
+        attempts.remove(session.getId());
+        // Concurrent submissions wait here together and share one commit
+        boolean saved;
+        try {
+            saved = store.saveQuizResultAsync(result).join();
+        } catch (CompletionException e) {
+            throw new ApiException(503, "The server is busy; the result was not saved");
+        }
+        if (!saved) {
+            throw new ApiException(503, "The result could not be saved");
+        }
+        events.publish(new QuizEvent.QuizSubmitted(session.getDraw(), result));
+        return resultJson(result);
+    }
+
+    private Object analyticsJson(int quizId) {
+        if (store.getQuiz(quizId) == null) {
+            throw new ApiException(404, "No quiz " + quizId);
+        }
+        ItemStatistics stats = analytics.get(quizId);
+        if (stats == null) {
+            throw new ApiException(503, "The quiz's attempts could not be read");
+        }
+        List<Object> questions = new ArrayList<>(stats.size());
+        for (int slot = 0; slot < stats.size(); slot++) {
+            Map<String, Object> item = new LinkedHashMap<>();
+            item.put("id", stats.getQuestionId(slot));
+            item.put("presented", stats.getPresented(slot));
+            item.put("difficulty", stats.getDifficulty(slot));
+            item.put("discrimination", stats.getDiscrimination(slot));
+            // Option A-D in stored order, then unanswered
+            List<Object> choices = new ArrayList<>(ItemStatistics.CHOICES);
+            for (int option = 0; option < ItemStatistics.CHOICES - 1; option++) {
+                choices.add(stats.getChoiceRate(slot, option));
+            }
+            choices.add(stats.getChoiceRate(slot, AnswerKey.NO_ANSWER));
+            item.put("choices", choices);
+            questions.add(item);
+        }
+        Map<String, Object> json = new LinkedHashMap<>();
+        json.put("quizId", quizId);
+        json.put("attempts", stats.getAttempts());
+        json.put("meanScore", stats.getMeanScore());
+        json.put("questions", questions);
+        return json;
+    }
+
+    private Object results(User user, Map<String, String> query) {
+        int limit = Math.min(MAX_PAGE_SIZE, Math.max(1, parseInt(query.getOrDefault("limit", "25"), "limit")));
+        String beforeDate = null;
+        int beforeId = 0;
+        String cursor = query.get("cursor");
+        if (cursor != null) {
+            // The cursor is the (date_taken, id) key of the last result on the previous page
+            String key;
+            try {
+                key = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            } catch (IllegalArgumentException e) {
+                throw new ApiException(400, "Invalid cursor");
+            }
+            int sep = key.lastIndexOf('|');
+            if (sep < 0) {
+                throw new ApiException(400, "Invalid cursor");
+            }
+            beforeDate = key.substring(0, sep);
+            beforeId = parseInt(key.substring(sep + 1), "cursor");
+        }
+        List<QuizResult> page = store.getUserQuizResultsPage(user.getId(), beforeDate, beforeId, limit);
+        String nextCursor = null;
+        if (page.size() == limit) {
+            QuizResult last = page.get(page.size() - 1);
+            nextCursor = Base64.getUrlEncoder().withoutPadding().encodeToString(
+                    (last.getDateTaken() + "|" + last.getId()).getBytes(StandardCharsets.UTF_8));
+        }
+        Map<String, Object> json = new LinkedHashMap<>();
+        json.put("results", resultsJson(page));
+        json.put("nextCursor", nextCursor);
+        return json;
+    }
+
+    private Object leaderboard(Map<String, String> query) {
+        int quizId = query.containsKey("quizId") ? parseId(query.get("quizId")) : 0;
+        int days = query.containsKey("days") ? parseInt(query.get("days"), "days") : 0;
+        int page = Math.max(0, parseInt(query.getOrDefault("page", "0"), "page"));
+        int size = Math.min(MAX_PAGE_SIZE, Math.max(1, parseInt(query.getOrDefault("size", "25"), "size")));
+        RankedLeaderboard board;
+        if (days != 0) {
+            // Daily buckets are kept per user across all quizzes
+            if (quizId != 0) {
+                throw new ApiException(400, "'days' cannot be combined with 'quizId'");
+            }
+            if (days < 1 || days > WindowedLeaderboards.RETAINED_DAYS) {
+                throw new ApiException(400, "'days' must be between 1 and " + WindowedLeaderboards.RETAINED_DAYS);
+            }
+            board = store.getWindowedLeaderboard(days);
+        } else {
+            board = quizId == 0 ? store.getGlobalLeaderboard() : store.getQuizLeaderboard(quizId);
+        }
+        List<Object> entries = new ArrayList<>();
+        for (LeaderboardEntry entry : board.page(page, size)) {
+            entries.add(leaderboardJson(entry));
+        }
+        Map<String, Object> json = new LinkedHashMap<>();
+        json.put("total", board.size());
+        json.put("page", page);
+        json.put("size", size);
+        json.put("entries", entries);
+        return json;
+    }
+
+    // Quizzes and questions come from the quiz pack when one is configured
+    private List<Question> questionsFor(int quizId) {
+        return quizPack != null ? quizPack.getQuestions(quizId) : store.getQuestionsForQuiz(quizId);
+    }
+
+    // Attempts at quizzes served from the pack are still recorded in the database; null on error
+    private QuestionDraw drawQuestions(User user, Quiz quiz) {
+        if (quizPack == null) {
+            return store.startAttempt(user.getId(), quiz);
+        }
+        QuestionDraw draw;
+        if (quiz.isRandomized()) {
+            try {
+                draw = packSampler.draw(quiz, ThreadLocalRandom.current().nextLong());
+            } catch (SQLException e) {
+                // The pack's loader never touches the database
+                throw new IllegalStateException(e);
+            }
+            draw.present(quizPack.getQuestions(quiz.getId(), draw.getQuestionIds()));
+        } else {
+            draw = QuestionDraw.inOrder(quiz.getId(), quizPack.getQuestions(quiz.getId()));
+        }
+        return draw.getQuestionCount() == 0 || store.saveAttempt(user.getId(), draw) ? draw : null;
+    }
+
+    // The user's unfinished attempt with its questions as first shown, or null if there is none
+    private QuestionDraw resumeQuestions(User user, Quiz quiz) {
+        if (quizPack == null) {
+            return store.resumeAttempt(user.getId(), quiz);
+        }
+        QuestionDraw draw = store.findOpenAttempt(user.getId(), quiz.getId());
+        if (draw == null || draw.present(quizPack.getQuestions(quiz.getId(), draw.getQuestionIds())) == null) {
+            return null;
+        }
+        return draw;
+    }
+
+    // Answer changes are logged in the background; the request never waits on the write
+    private void logAnswer(AnswerEvent event) {
+        if (event != null) {
+            events.offer(new QuizEvent.QuestionAnswered(event));
+        }
+    }
+
+    // --- Sessions ---
+
+    private User authenticate(HttpExchange exchange) {
+        User user = sessions.validate(bearerToken(exchange));
+        if (user == null) {
+            throw new ApiException(401, "Not logged in");
+        }
+        return user;
+    }
+
+    private QuizSession attemptFor(User user, String attemptId) {
+        QuizSession session = attempts.get(attemptId);
+        if (session == null || session.getUser().getId() != user.getId()) {
+            throw new ApiException(404, "No active attempt " + attemptId);
+        }
+        session.touch();
+        return session;
+    }
+
+    private void evictIdle() {
+        sessions.evictExpired();
+        long cutoff = System.currentTimeMillis() - idleTimeoutMillis;
+        attempts.values().removeIf(session -> session.getLastAccessMillis() < cutoff);
+    }
+
+    private String newAttemptId() {
+        byte[] bytes = new byte[12];
+        random.nextBytes(bytes);
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+    }
+
+    private static String bearerToken(HttpExchange exchange) {
+        String header = exchange.getRequestHeaders().getFirst("Authorization");
+        if (header == null || !header.startsWith("Bearer ")) {
+            throw new ApiException(401, "Missing bearer token");
+        }
+        return header.substring("Bearer ".length()).trim();
+    }
+
+    // --- Request parsing ---
+
+    private static void requireMethod(String method, String expected) {
+        if (!expected.equals(method)) {
+            throw new ApiException(405, "Use " + expected);
+        }
+    }
+
+    private static Map<String, Object> readBody(HttpExchange exchange) throws IOException {
+        String length = exchange.getRequestHeaders().getFirst("Content-Length");
+        if (length != null && Long.parseLong(length) > MAX_BODY_BYTES) {
+            throw new ApiException(413, "Request body too large");
+        }
+        try (Reader reader = new InputStreamReader(new BoundedInputStream(exchange.getRequestBody()),
+                StandardCharsets.UTF_8)) {
+            Object body = Json.parse(reader);
+            if (!(body instanceof Map)) {
+                throw new ApiException(400, "Expected a JSON object");
+            }
+            @SuppressWarnings("unchecked")
+            Map<String, Object> map = (Map<String, Object>) body;
+            return map;
+        }
+    }
+
+    /** Fails with 413 once more than MAX_BODY_BYTES are read, whether or not Content-Length was sent. */
+    private static final class BoundedInputStream extends FilterInputStream {
+        private long remaining = MAX_BODY_BYTES;
+
+        BoundedInputStream(InputStream in) {
+            super(in);
+        }
+
+        @Override
+        public int read() throws IOException {
+            int b = super.read();
+            if (b >= 0) {
+                count(1);
+            }
+            return b;
+        }
+
+        @Override
+        public int read(byte[] buffer, int off, int len) throws IOException {
+            // Ask for one byte past the limit so an oversized body is noticed
+            int n = super.read(buffer, off, (int) Math.min(len, remaining + 1));
+            if (n > 0) {
+                count(n);
+            }
+            return n;
+        }
+
+        private void count(int n) {
+            remaining -= n;
+            if (remaining < 0) {
+                throw new ApiException(413, "Request body too large");
+            }
+        }
+    }
+
+    private static Map<String, Object> readOptionalBody(HttpExchange exchange) throws IOException {
+        String length = exchange.getRequestHeaders().getFirst("Content-Length");
+        if (length == null || length.equals("0")) {
+            return Map.of();
+        }
+        return readBody(exchange);
+    }
+
+    private static Map<String, String> queryParams(HttpExchange exchange) {
+        Map<String, String> params = new HashMap<>();
+        String query = exchange.getRequestURI().getRawQuery();
+        if (query == null) {
+            return params;
+        }
+        for (String pair : query.split("&")) {
+            int eq = pair.indexOf('=');
+            if (eq > 0) {
+                params.put(URLDecoder.decode(pair.substring(0, eq), StandardCharsets.UTF_8),
+                        URLDecoder.decode(pair.substring(eq + 1), StandardCharsets.UTF_8));
+            }
+        }
+        return params;
+    }
+
+    private static String stringField(Map<String, Object> body, String name) {
+        Object value = body.get(name);
+        if (!(value instanceof String s) || s.isEmpty()) {
+            throw new ApiException(400, "Missing '" + name + "'");
+        }
+        return s;
+    }
+
+    private static int intField(Map<String, Object> body, String name) {
+        Object value = body.get(name);
+        if (value == null) {
+            throw new ApiException(400, "Missing '" + name + "'");
+        }
+        return toInt(value, name);
+    }
+
+    private static int toInt(Object value, String name) {
+        if (!(value instanceof Long n) || n < Integer.MIN_VALUE || n > Integer.MAX_VALUE) {
+            throw new ApiException(400, "'" + name + "' must be an integer");
+        }
+        return n.intValue();
+    }
+
+    private static int parseId(String text) {
+        int id = parseInt(text, "id");
+        if (id <= 0) {
+            throw new ApiException(400, "Invalid id " + text);
+        }
+        return id;
+    }
+
+    private static int parseInt(String text, String name) {
+        try {
+            return Integer.parseInt(text);
+        } catch (NumberFormatException e) {
+            throw new ApiException(400, "'" + name + "' must be an integer");
+        }
+    }
+
+    // --- JSON views of the model classes ---
+
+    private static Map<String, Object> error(String message) {
+        return Map.of("error", message);
+    }
+
+    static Map<String, Object> userJson(User user) {
+        Map<String, Object> json = new LinkedHashMap<>();
+        json.put("id", user.getId());
+        json.put("username", user.getUsername());
+        json.put("email", user.getEmail());
+        json.put("admin", user.isAdmin());
+        return json;
+    }
+
+    static Map<String, Object> quizJson(Quiz quiz) {
+        Map<String, Object> json = new LinkedHashMap<>();
+        json.put("id", quiz.getId());
+        json.put("title", quiz.getTitle());
+        json.put("description", quiz.getDescription());
+        return json;
+    }
+
+    // Answers never leave the server
+    static List<Object> questionsJson(List<Question> questions) {
+        List<Object> json = new ArrayList<>(questions.size());
+        for (int i = 0; i < questions.size(); i++) {
+            Question q = questions.get(i);
+            Map<String, Object> item = new LinkedHashMap<>();
+            item.put("index", i);
+            item.put("id", q.getId());
+            item.put("text", q.getQuestionText());
+            item.put("options", Arrays.asList(q.getOptionA(), q.getOptionB(), q.getOptionC(), q.getOptionD()));
+            json.add(item);
+        }
+        return json;
+    }
+
+    static Map<String, Object> resultJson(QuizResult result) {
+        Map<String, Object> json = new LinkedHashMap<>();
+        json.put("quizId", result.getQuizId());
+        json.put("quizTitle", result.getQuizTitle());
+        json.put("score", result.getScore());
+        json.put("totalQuestions", result.getTotalQuestions());
+        json.put("percentage", result.getPercentage());
+        json.put("dateTaken", result.getDateTaken());
+        return json;
+    }
+
+    static List<Object> resultsJson(List<QuizResult> results) {
+        List<Object> json = new ArrayList<>(results.size());
+        for (QuizResult result : results) {
+            Map<String, Object> item = new LinkedHashMap<>();
+            item.put("id", result.getId());
+            item.putAll(resultJson(result));
+            json.add(item);
+        }
+        return json;
+    }
+
+    static Map<String, Object> leaderboardJson(LeaderboardEntry entry) {
+        Map<String, Object> json = new LinkedHashMap<>();
+        json.put("rank", entry.getRank());
+        json.put("userId", entry.getUserId());
+        json.put("username", entry.getUsername());
+        json.put("averageScore", entry.getAverageScore());
+        json.put("totalAttempts", entry.getTotalAttempts());
+        json.put("totalScore", entry.getTotalScore());
+        return json;
+    }
+}
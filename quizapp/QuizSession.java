@@ -0,0 +1,99 @@
+package com.quizapp;
+
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * One user's in-progress attempt at a quiz on the server. The question list is
+ * the shared cached snapshot, so a session costs little more than its answer
+ * array and thousands can be held at once. Every attempt is recorded in the
+ * database, and answer changes are returned as log entries for its answer log.
+ */
+public class QuizSession {
+    public static final int NO_ANSWER = AnswerKey.NO_ANSWER;
+
+    private static final DateTimeFormatter DATE_FORMAT = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
+
+    private final String id;
+    private final User user;
+    private final Quiz quiz;
+    private final AnswerKey key;
+    private final QuestionDraw draw;
+    private final byte[] answers;
+    private volatile long lastAccessMillis;
+    private boolean submitted;
+
+    /** Starts with the draw's saved answers when it is a resumed attempt. */
+    public QuizSession(String id, User user, Quiz quiz, AnswerKey key, QuestionDraw draw) {
+        this.id = id;
+        this.user = user;
+        this.quiz = quiz;
+        this.key = key;
+        this.draw = draw;
+        if (draw.getSavedAnswers() != null) {
+            this.answers = draw.getSavedAnswers().clone();
+        } else {
+            this.answers = new byte[key.getQuestionCount()];
+            Arrays.fill(answers, (byte) NO_ANSWER);
+        }
+        touch();
+    }
+
+    public String getId() { return id; }
+    public User getUser() { return user; }
+    public Quiz getQuiz() { return quiz; }
+    public List<Question> getQuestions() { return key.getQuestions(); }
+    public QuestionDraw getDraw() { return draw; }
+    public long getLastAccessMillis() { return lastAccessMillis; }
+
+    public void touch() {
+        lastAccessMillis = System.currentTimeMillis();
+    }
+
+    /**
+     * Records the chosen option (0-3) for a question, or NO_ANSWER to clear
+     * it. Returns the entry for the attempt's answer log, or null if the
+     * answer did not change.
+     */
+    public synchronized AnswerEvent answer(int questionIndex, int option) {
+        if (submitted) {
+            throw new IllegalStateException("Attempt already submitted");
+        }
+        if (questionIndex < 0 || questionIndex >= answers.length) {
+            throw new IllegalArgumentException("No question at index " + questionIndex);
+        }
+        if (option < NO_ANSWER || option > 3) {
+            throw new IllegalArgumentException("Option must be between 0 and 3");
+        }
+        if (answers[questionIndex] == option) {
+            return null;
+        }
+        answers[questionIndex] = (byte) option;
+        return draw.answered(questionIndex, option);
+    }
+
+    public synchronized byte[] getAnswers() {
+        return answers.clone();
+    }
+
+    public synchronized int getAnswer(int questionIndex) {
+        return answers[questionIndex];
+    }
+
+    /** Scores the attempt and closes it to further answers. */
+    public synchronized QuizResult submit() {
+        if (submitted) {
+            throw new IllegalStateException("Attempt already submitted");
+        }
+        submitted = true;
+        int score = ScoringEngine.score(key, answers);
+        int total = key.getQuestionCount();
+        String dateTaken = LocalDateTime.now().format(DATE_FORMAT);
+        QuizResult result = new QuizResult(0, user.getId(), quiz.getId(), quiz.getTitle(), score, total,
+                ScoringEngine.percentage(score, total), dateTaken);
+        result.setAttempt(draw.getAttemptId(), answers.clone());
+        return result;
+    }
+}
@@ -0,0 +1,25 @@
+package com.quizapp;
+
+/**
+ * A complete storage engine: every repository behind one object with one
+ * lifecycle. DatabaseManager keeps everything in SQLite; InMemoryQuizStore
+ * keeps it on the heap, for load tests and demo nodes that need nothing to
+ * survive a restart. The quizapp.db.engine setting picks one.
+ */
+public interface QuizStore extends UserRepository, QuizRepository, QuestionRepository, AttemptRepository,
+        ResultRepository, AutoCloseable {
+
+    /** Opens the engine named by the configuration. */
+    static QuizStore open(StorageConfig config) {
+        switch (config.getEngine()) {
+            case StorageConfig.ENGINE_MEMORY:
+                return new InMemoryQuizStore(config);
+            default:
+                return new DatabaseManager(config);
+        }
+    }
+
+    /** Waits for queued writes and releases the engine's resources. */
+    @Override
+    void close();
+}
@@ -11,18 +11,22 @@ import javafx.stage.Stage;
 
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
+import java.util.Arrays;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
 
 public class QuizTaker {
     private Stage primaryStage;
     private Quiz quiz;
     private User currentUser;
-    private DatabaseManager dbManager;
+    private AsyncDatabase asyncDb;
     private QuizApplication mainApp;
 
+    private QuestionDraw draw;
     private List<Question> questions;
     private int currentQuestionIndex = 0;
-    private String[] userAnswers;
+    private AnswerKey answerKey;
+    private byte[] userAnswers;
 
     private Label questionNumberLabel;
     private Label questionTextLabel;
@@ -30,25 +34,98 @@ public class QuizTaker {
     private ToggleGroup optionsGroup;
     private Button nextButton, prevButton, submitButton;
 
-    public QuizTaker(Stage primaryStage, Quiz quiz, User currentUser, DatabaseManager dbManager, QuizApplication mainApp) {
+    public QuizTaker(Stage primaryStage, Quiz quiz, User currentUser, AsyncDatabase asyncDb, QuizApplication mainApp) {
         this.primaryStage = primaryStage;
         this.quiz = quiz;
         this.currentUser = currentUser;
-        this.dbManager = dbManager;
+        this.asyncDb = asyncDb;
         this.mainApp = mainApp;
     }
 
     public void start() {
-        this.questions = dbManager.getQuestionsForQuiz(quiz.getId());
-        if (questions == null || questions.isEmpty()) {
+        // An attempt left unfinished, e.g. by a crash, is offered before a new one is started
+        CompletableFuture<QuestionDraw> open = asyncDb.resumeAttempt(currentUser.getId(), quiz);
+        showLoadingScreen("Loading questions...", () -> {
+            open.cancel(false);
+            mainApp.showMainMenu();
+        });
+        FxAsync.onFx(open, resumable -> {
+            if (resumable != null && confirmResume(resumable)) {
+                begin(resumable);
+            } else {
+                startNewAttempt();
+            }
+        }, error -> startNewAttempt());
+    }
+
+    private void startNewAttempt() {
+        // Randomized quizzes get a fresh draw per attempt; the others share the cached question list
+        CompletableFuture<QuestionDraw> load = asyncDb.startAttempt(currentUser.getId(), quiz);
+        showLoadingScreen("Loading questions...", () -> {
+            load.cancel(false);
+            mainApp.showMainMenu();
+        });
+        FxAsync.onFx(load, started -> {
+            if (started == null) {
+                showAlert("Error", "Could not load the questions: the attempt could not be started");
+                mainApp.showMainMenu();
+                return;
+            }
+            begin(started);
+        }, error -> {
+            showAlert("Error", "Could not load the questions: " + error.getMessage());
+            mainApp.showMainMenu();
+        });
+    }
+
+    private boolean confirmResume(QuestionDraw resumable) {
+        int answered = 0;
+        for (byte answer : resumable.getSavedAnswers()) {
+            if (answer != AnswerKey.NO_ANSWER) {
+                answered++;
+            }
+        }
+        ButtonType resume = new ButtonType("Resume", ButtonBar.ButtonData.YES);
+        ButtonType startOver = new ButtonType("Start Over", ButtonBar.ButtonData.NO);
+        Alert alert = new Alert(Alert.AlertType.CONFIRMATION, "", resume, startOver);
+        alert.setTitle("Unfinished Attempt");
+        alert.setHeaderText(null);
+        alert.setContentText(String.format("You have an unfinished attempt at this quiz with %d of %d questions answered. "
+                + "Resume it?", answered, resumable.getQuestionCount()));
+        return alert.showAndWait().orElse(startOver) == resume;
+    }
+
+    private void begin(QuestionDraw started) {
+        List<Question> loaded = started.getQuestions();
+        if (loaded.isEmpty()) {
             showAlert("No Questions", "This quiz has no questions yet. Please contact an administrator.");
             mainApp.showMainMenu();
             return;
         }
-        this.userAnswers = new String[questions.size()];
+        this.draw = started;
+        this.questions = loaded;
+        this.answerKey = AnswerKey.of(quiz.getId(), loaded);
+        if (started.getSavedAnswers() != null) {
+            // Pick up at the first question left unanswered
+            this.userAnswers = started.getSavedAnswers().clone();
+            while (currentQuestionIndex < questions.size() - 1
+                    && userAnswers[currentQuestionIndex] != AnswerKey.NO_ANSWER) {
+                currentQuestionIndex++;
+            }
+        } else {
+            this.userAnswers = new byte[questions.size()];
+            Arrays.fill(userAnswers, AnswerKey.NO_ANSWER);
+        }
         showQuestionScreen();
     }
 
+    private void showLoadingScreen(String message, Runnable onCancel) {
+        VBox root = FxAsync.loadingPane(message, onCancel);
+        root.setStyle("-fx-background-color: #f4f4f9;");
+        Scene scene = new Scene(root, 800, 600);
+        primaryStage.setScene(scene);
+    }
+
     private void showQuestionScreen() {
         VBox root = new VBox(20);
         root.setPadding(new Insets(40));
@@ -109,11 +186,12 @@ public class QuizTaker {
         optionD.setText(q.getOptionD());
 
         optionsGroup.selectToggle(null);
-        if (userAnswers[index] != null) {
-            if (userAnswers[index].equals(optionA.getText())) optionA.setSelected(true);
-            else if (userAnswers[index].equals(optionB.getText())) optionB.setSelected(true);
-            else if (userAnswers[index].equals(optionC.getText())) optionC.setSelected(true);
-            else if (userAnswers[index].equals(optionD.getText())) optionD.setSelected(true);
+        switch (userAnswers[index]) {
+            case 0 -> optionA.setSelected(true);
+            case 1 -> optionB.setSelected(true);
+            case 2 -> optionC.setSelected(true);
+            case 3 -> optionD.setSelected(true);
+            default -> { }
         }
 
         prevButton.setDisable(index == 0);
@@ -122,11 +200,17 @@ public class QuizTaker {
     }
 
     private void saveCurrentAnswer() {
-        RadioButton selected = (RadioButton) optionsGroup.getSelectedToggle();
-        if (selected != null) {
-            userAnswers[currentQuestionIndex] = selected.getText();
-        } else {
-            userAnswers[currentQuestionIndex] = null; // Save null if no answer is selected
+        // Answers are kept as option indices; NO_ANSWER if nothing is selected
+        Toggle selected = optionsGroup.getSelectedToggle();
+        byte answer = AnswerKey.NO_ANSWER;
+        if (selected == optionA) answer = 0;
+        else if (selected == optionB) answer = 1;
+        else if (selected == optionC) answer = 2;
+        else if (selected == optionD) answer = 3;
+        if (answer != userAnswers[currentQuestionIndex]) {
+            userAnswers[currentQuestionIndex] = answer;
+            // Appended to the attempt's log in the background, so navigation never waits on it
+            mainApp.getEvents().offer(new QuizEvent.QuestionAnswered(draw.answered(currentQuestionIndex, answer)));
         }
     }
 
@@ -148,20 +232,25 @@ public class QuizTaker {
 
     private void submitQuiz() {
         saveCurrentAnswer();
-        int score = 0;
-        for (int i = 0; i < questions.size(); i++) {
-            if (userAnswers[i] != null && questions.get(i).isCorrectAnswer(userAnswers[i])) {
-                score++;
-            }
-        }
-
-        double percentage = (questions.size() > 0) ? (double) score / questions.size() * 100 : 0;
+        int score = ScoringEngine.score(answerKey, userAnswers);
+        double percentage = ScoringEngine.percentage(score, questions.size());
         String dateTaken = LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss"));
 
         QuizResult result = new QuizResult(0, currentUser.getId(), quiz.getId(), quiz.getTitle(), score, questions.size(), percentage, dateTaken);
-        dbManager.saveQuizResult(result);
-
-        showResultsScreen(result);
+        result.setAttempt(draw.getAttemptId(), userAnswers.clone());
+        showLoadingScreen("Saving your result...", null);
+        FxAsync.onFx(asyncDb.saveQuizResult(result), saved -> {
+            if (saved) {
+                mainApp.getEvents().offer(new QuizEvent.QuizSubmitted(draw, result));
+            }
+            showResultsScreen(result);
+            if (!saved) {
+                showAlert("Not Saved", "Your result could not be saved and will not appear in your scores.");
+            }
+        }, error -> {
+            showResultsScreen(result);
+            showAlert("Not Saved", "Your result could not be saved: " + error.getMessage());
+        });
     }
 
     private void showResultsScreen(QuizResult result) {
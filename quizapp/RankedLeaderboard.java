@@ -0,0 +1,273 @@
+package com.quizapp;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Order-statistic treap of users ranked by average score (highest first, ties
+ * broken by user id). Every node tracks its subtree size, so "top K",
+ * "page N" and "rank of user X" are all O(log n) plus the size of the page.
+ */
+public class RankedLeaderboard {
+
+    private static final class Node {
+        final int userId;
+        final String username;
+        final int attempts;
+        final long scoreSum;
+        final double percentageSum;
+        final double average;
+        final int priority;
+        Node left, right;
+        int size = 1;
+
+        Node(int userId, String username, int attempts, long scoreSum, double percentageSum, int priority) {
+            this.userId = userId;
+            this.username = username;
+            this.attempts = attempts;
+            this.scoreSum = scoreSum;
+            this.percentageSum = percentageSum;
+            this.average = attempts == 0 ? 0 : percentageSum / attempts;
+            this.priority = priority;
+        }
+    }
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<Integer, Node> byUser = new HashMap<>();
+    private final SplittableRandom random = new SplittableRandom();
+    private Node root;
+
+    /** Adds one attempt to a user's totals. */
+    public void record(int userId, String username, int score, double percentage) {
+        lock.writeLock().lock();
+        try {
+            Node old = byUser.get(userId);
+            if (old == null) {
+                put(userId, username, 1, score, percentage);
+            } else {
+                put(userId, username != null ? username : old.username,
+                        old.attempts + 1, old.scoreSum + score, old.percentageSum + percentage);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /** Replaces a user's totals, e.g. when loading aggregates from the database. */
+    public void set(int userId, String username, int attempts, long scoreSum, double percentageSum) {
+        lock.writeLock().lock();
+        try {
+            put(userId, username, attempts, scoreSum, percentageSum);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /** Drops a user, e.g. once none of their results are left in a window. */
+    public void remove(int userId) {
+        lock.writeLock().lock();
+        try {
+            Node old = byUser.remove(userId);
+            if (old != null) {
+                root = remove(root, old);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void clear() {
+        lock.writeLock().lock();
+        try {
+            root = null;
+            byUser.clear();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return size(root);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public List<LeaderboardEntry> top(int k) {
+        return range(0, k);
+    }
+
+    public List<LeaderboardEntry> page(int page, int pageSize) {
+        return range((long) page * pageSize, pageSize);
+    }
+
+    /** Returns the 1-based rank of the user, or -1 if they have no attempts. */
+    public int rankOf(int userId) {
+        lock.readLock().lock();
+        try {
+            Node target = byUser.get(userId);
+            if (target == null) {
+                return -1;
+            }
+            int rank = 0;
+            Node n = root;
+            while (n != null) {
+                int cmp = compare(target, n);
+                if (cmp < 0) {
+                    n = n.left;
+                } else {
+                    rank += size(n.left) + 1;
+                    if (cmp == 0) {
+                        return rank;
+                    }
+                    n = n.right;
+                }
+            }
+            return -1;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public LeaderboardEntry entryFor(int userId) {
+        int rank = rankOf(userId);
+        if (rank < 0) {
+            return null;
+        }
+        List<LeaderboardEntry> entry = range(rank - 1, 1);
+        return entry.isEmpty() ? null : entry.get(0);
+    }
+
+    private List<LeaderboardEntry> range(long offset, int count) {
+        lock.readLock().lock();
+        try {
+            int total = size(root);
+            if (offset < 0 || offset >= total || count <= 0) {
+                return new ArrayList<>();
+            }
+            List<LeaderboardEntry> out = new ArrayList<>((int) Math.min(count, total - offset));
+            collect(root, offset, count, 0, out);
+            return out;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // In-order walk from index 'from'; 'offset' is the index of the subtree's leftmost
+    // node, so subtrees lying entirely before 'from' are skipped by their size
+    private void collect(Node node, long from, int count, long offset, List<LeaderboardEntry> out) {
+        if (node == null || out.size() == count) {
+            return;
+        }
+        long index = offset + size(node.left);
+        if (from < index) {
+            collect(node.left, from, count, offset, out);
+        }
+        if (out.size() < count && index >= from) {
+            out.add(new LeaderboardEntry((int) index + 1, node.userId, node.username,
+                    node.average, node.attempts, node.scoreSum));
+        }
+        if (out.size() < count) {
+            collect(node.right, from, count, index + 1, out);
+        }
+    }
+
+    // --- Treap internals (callers hold the write lock) ---
+
+    private void put(int userId, String username, int attempts, long scoreSum, double percentageSum) {
+        Node old = byUser.remove(userId);
+        if (old != null) {
+            root = remove(root, old);
+        }
+        Node node = new Node(userId, username, attempts, scoreSum, percentageSum, random.nextInt());
+        byUser.put(userId, node);
+        root = insert(root, node);
+    }
+
+    private Node insert(Node n, Node node) {
+        if (n == null) {
+            return node;
+        }
+        if (compare(node, n) < 0) {
+            n.left = insert(n.left, node);
+            if (n.left.priority > n.priority) {
+                n = rotateRight(n);
+            }
+        } else {
+            n.right = insert(n.right, node);
+            if (n.right.priority > n.priority) {
+                n = rotateLeft(n);
+            }
+        }
+        update(n);
+        return n;
+    }
+
+    private Node remove(Node n, Node node) {
+        if (n == null) {
+            return null;
+        }
+        int cmp = compare(node, n);
+        if (cmp < 0) {
+            n.left = remove(n.left, node);
+        } else if (cmp > 0) {
+            n.right = remove(n.right, node);
+        } else {
+            return merge(n.left, n.right);
+        }
+        update(n);
+        return n;
+    }
+
+    private Node merge(Node a, Node b) {
+        if (a == null) return b;
+        if (b == null) return a;
+        if (a.priority > b.priority) {
+            a.right = merge(a.right, b);
+            update(a);
+            return a;
+        }
+        b.left = merge(a, b.left);
+        update(b);
+        return b;
+    }
+
+    private Node rotateRight(Node n) {
+        Node l = n.left;
+        n.left = l.right;
+        l.right = n;
+        update(n);
+        update(l);
+        return l;
+    }
+
+    private Node rotateLeft(Node n) {
+        Node r = n.right;
+        n.right = r.left;
+        r.left = n;
+        update(n);
+        update(r);
+        return r;
+    }
+
+    private static void update(Node n) {
+        n.size = 1 + size(n.left) + size(n.right);
+    }
+
+    private static int size(Node n) {
+        return n == null ? 0 : n.size;
+    }
+
+    // Higher average first; equal averages fall back to user id for a stable order
+    private static int compare(Node a, Node b) {
+        int cmp = Double.compare(b.average, a.average);
+        return cmp != 0 ? cmp : Integer.compare(a.userId, b.userId);
+    }
+}
@@ -0,0 +1,74 @@
+package com.quizapp;
+
+import javafx.scene.control.Label;
+import javafx.scene.control.TableColumn;
+import javafx.scene.control.TableRow;
+import javafx.scene.control.TableView;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Fills a TableView with a user's quiz history one keyset page at a time.
+ * The first page is requested up front; the next one is requested when a row
+ * within half a page of the end is shown. Rows are only fetched as far as
+ * the user scrolls, so opening the screen costs the same for a user with ten
+ * results as for one with ten thousand.
+ */
+final class ResultHistoryPager {
+    private final AsyncDatabase asyncDb;
+    private final int userId;
+    private final TableView<QuizResult> table;
+    private final int pageSize;
+    private CompletableFuture<List<QuizResult>> pending;
+    private boolean exhausted;
+
+    ResultHistoryPager(AsyncDatabase asyncDb, int userId, TableView<QuizResult> table, int pageSize) {
+        this.asyncDb = asyncDb;
+        this.userId = userId;
+        this.table = table;
+        this.pageSize = pageSize;
+        // Pages arrive newest first and the cursor is the last row, so the
+        // table must keep that order
+        for (TableColumn<QuizResult, ?> column : table.getColumns()) {
+            column.setSortable(false);
+        }
+        table.setRowFactory(tv -> new TableRow<>() {
+            @Override
+            protected void updateItem(QuizResult item, boolean empty) {
+                super.updateItem(item, empty);
+                if (!empty && getIndex() >= tv.getItems().size() - pageSize / 2) {
+                    loadMore();
+                }
+            }
+        });
+    }
+
+    /** Requests the next page unless one is already on its way or the history is exhausted. FX thread only. */
+    void loadMore() {
+        if (pending != null || exhausted) {
+            return;
+        }
+        List<QuizResult> items = table.getItems();
+        QuizResult last = items.isEmpty() ? null : items.get(items.size() - 1);
+        pending = FxAsync.onFx(asyncDb.getUserQuizResultsPage(userId,
+                last == null ? null : last.getDateTaken(), last == null ? 0 : last.getId(), pageSize), page -> {
+            pending = null;
+            exhausted = page.size() < pageSize;
+            if (items.isEmpty() && page.isEmpty()) {
+                table.setPlaceholder(new Label("You have not taken any quizzes yet."));
+            }
+            items.addAll(page);
+        }, error -> {
+            pending = null;
+            exhausted = true;
+            table.setPlaceholder(new Label("Could not load scores: " + error.getMessage()));
+        });
+    }
+
+    void cancel() {
+        if (pending != null) {
+            pending.cancel(false);
+        }
+    }
+}
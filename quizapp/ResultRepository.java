@@ -0,0 +1,72 @@
+package com.quizapp;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Consumer;
+
+/**
+ * Quiz results and the leaderboards ranked from them. Saving a result that
+ * carries an attempt also marks that attempt submitted.
+ */
+public interface ResultRepository {
+
+    boolean saveQuizResult(QuizResult result);
+
+    /** Completes with true once the result is durable, or false if it could not be saved. */
+    CompletableFuture<Boolean> saveQuizResultAsync(QuizResult result);
+
+    /** Saves all of the results or none of them. */
+    boolean saveQuizResults(List<QuizResult> results);
+
+    /** The user's whole history, newest first. */
+    List<QuizResult> getUserQuizResults(int userId);
+
+    /**
+     * One page of a user's history, newest first by (date taken, id). Pass a
+     * null beforeDate for the first page, then the date and id of the last
+     * result received.
+     */
+    List<QuizResult> getUserQuizResultsPage(int userId, String beforeDate, int beforeId, int limit);
+
+    /**
+     * Hands a user's whole history to the consumer, newest first, one page at
+     * a time, so only a page is in memory at once. Returns the number of
+     * results delivered.
+     */
+    default int streamUserQuizResults(int userId, int pageSize, Consumer<QuizResult> consumer) {
+        int count = 0;
+        String beforeDate = null;
+        int beforeId = 0;
+        while (true) {
+            List<QuizResult> page = getUserQuizResultsPage(userId, beforeDate, beforeId, pageSize);
+            for (QuizResult result : page) {
+                consumer.accept(result);
+            }
+            count += page.size();
+            if (page.size() < pageSize) {
+                return count;
+            }
+            QuizResult last = page.get(page.size() - 1);
+            beforeDate = last.getDateTaken();
+            beforeId = last.getId();
+        }
+    }
+
+    /** Every ranked user, best first. */
+    List<LeaderboardEntry> getLeaderboard();
+
+    RankedLeaderboard getGlobalLeaderboard();
+
+    /** The quiz's leaderboard, empty if nobody has taken it yet. */
+    RankedLeaderboard getQuizLeaderboard(int quizId);
+
+    /**
+     * Rankings over the results of the last days days, today included,
+     * from 1 to WindowedLeaderboards.RETAINED_DAYS. The daily, weekly and
+     * monthly boards stay current; other windows are snapshots.
+     */
+    RankedLeaderboard getWindowedLeaderboard(int days);
+
+    /** The k best users over the last days days, in time proportional to the daily buckets read. */
+    List<LeaderboardEntry> getTopForDays(int days, int k);
+}
@@ -0,0 +1,181 @@
+package com.quizapp;
+
+/**
+ * The application's schema history. Append new steps with the next version
+ * number; never edit or reorder a step that has already shipped.
+ */
+final class SchemaMigrations {
+
+    private SchemaMigrations() {
+    }
+
+    static SchemaMigrator create() {
+        return new SchemaMigrator()
+                .add(1, "Secondary indexes for question, history and per-quiz result lookups",
+                        "CREATE INDEX IF NOT EXISTS idx_questions_quiz_id ON questions(quiz_id)",
+                        "CREATE INDEX IF NOT EXISTS idx_quiz_results_user_date ON quiz_results(user_id, date_taken)",
+                        "CREATE INDEX IF NOT EXISTS idx_quiz_results_quiz_id ON quiz_results(quiz_id)")
+                .add(2, "Per-user leaderboard aggregates maintained on every saved result",
+                        """
+                        CREATE TABLE IF NOT EXISTS user_stats (
+                            user_id INTEGER PRIMARY KEY,
+                            attempts INTEGER NOT NULL DEFAULT 0,
+                            score_sum INTEGER NOT NULL DEFAULT 0,
+                            percentage_sum REAL NOT NULL DEFAULT 0,
+                            FOREIGN KEY (user_id) REFERENCES users(id)
+                        )
+                        """,
+                        DatabaseManager.REBUILD_USER_STATS)
+                .add(3, "Server login sessions, keyed by a hash of the bearer token",
+                        """
+                        CREATE TABLE IF NOT EXISTS sessions (
+                            token_hash TEXT PRIMARY KEY,
+                            user_id INTEGER NOT NULL,
+                            created_at INTEGER NOT NULL,
+                            expires_at INTEGER NOT NULL,
+                            last_access INTEGER NOT NULL,
+                            FOREIGN KEY (user_id) REFERENCES users(id)
+                        )
+                        """)
+                .add(4, "Store each question's correct answer as an option index instead of a copy of its text",
+                        "ALTER TABLE questions ADD COLUMN correct_option INTEGER NOT NULL DEFAULT " + Question.NO_CORRECT_OPTION,
+                        // Answers that match no option keep scoring as wrong, as they did before
+                        """
+                        UPDATE questions SET correct_option = CASE correct_answer
+                            WHEN option_a THEN 0
+                            WHEN option_b THEN 1
+                            WHEN option_c THEN 2
+                            WHEN option_d THEN 3
+                            ELSE %d
+                        END
+                        """.formatted(Question.NO_CORRECT_OPTION),
+                        "ALTER TABLE questions DROP COLUMN correct_answer")
+                .add(5, "Per-attempt question draws from a quiz's bank, with optional option shuffling",
+                        "ALTER TABLE quizzes ADD COLUMN draw_count INTEGER NOT NULL DEFAULT 0",
+                        "ALTER TABLE quizzes ADD COLUMN shuffle_options INTEGER NOT NULL DEFAULT 0",
+                        // question_ids: little-endian int32 per question in the order shown;
+                        // option_orders: one byte per question (see QuestionDraw), NULL if not shuffled
+                        """
+                        CREATE TABLE IF NOT EXISTS quiz_attempts (
+                            id INTEGER PRIMARY KEY AUTOINCREMENT,
+                            user_id INTEGER NOT NULL,
+                            quiz_id INTEGER NOT NULL,
+                            seed INTEGER NOT NULL,
+                            question_ids BLOB NOT NULL,
+                            option_orders BLOB,
+                            started_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+                            FOREIGN KEY (user_id) REFERENCES users(id),
+                            FOREIGN KEY (quiz_id) REFERENCES quizzes(id) ON DELETE CASCADE
+                        )
+                        """,
+                        "CREATE INDEX IF NOT EXISTS idx_quiz_attempts_user ON quiz_attempts(user_id, quiz_id)")
+                .add(6, "Append-only answer log per attempt, so interrupted attempts can be resumed",
+                        // answers: the final option per question as shown, one byte each, set on submit
+                        "ALTER TABLE quiz_attempts ADD COLUMN submitted_at TIMESTAMP",
+                        "ALTER TABLE quiz_attempts ADD COLUMN answers BLOB",
+                        // One row per answer change; chosen_option is the index in the stored
+                        // option order (-1 when cleared), so shuffled attempts compare directly
+                        """
+                        CREATE TABLE IF NOT EXISTS attempt_answers (
+                            attempt_id INTEGER NOT NULL,
+                            seq INTEGER NOT NULL,
+                            question_id INTEGER NOT NULL,
+                            chosen_option INTEGER NOT NULL,
+                            answered_at INTEGER NOT NULL,
+                            PRIMARY KEY (attempt_id, seq),
+                            FOREIGN KEY (attempt_id) REFERENCES quiz_attempts(id) ON DELETE CASCADE
+                        ) WITHOUT ROWID
+                        """,
+                        "CREATE INDEX IF NOT EXISTS idx_attempt_answers_question ON attempt_answers(question_id)")
+                .add(7, "Index submitted attempts by quiz for item analytics",
+                        // Only submitted attempts carry answers, so open ones stay out of the index
+                        "CREATE INDEX IF NOT EXISTS idx_quiz_attempts_submitted ON quiz_attempts(quiz_id) WHERE answers IS NOT NULL")
+                .add(8, "Epoch timestamps on results and per-user daily aggregates for windowed leaderboards",
+                        "ALTER TABLE quiz_results ADD COLUMN taken_at INTEGER",
+                        // date_taken is local time; 'utc' converts it before taking epoch seconds
+                        "UPDATE quiz_results SET taken_at = CAST(strftime('%s', date_taken, 'utc') AS INTEGER)",
+                        "CREATE INDEX IF NOT EXISTS idx_quiz_results_taken_at ON quiz_results(taken_at)",
+                        """
+                        CREATE TABLE IF NOT EXISTS user_daily_stats (
+                            day INTEGER NOT NULL,
+                            user_id INTEGER NOT NULL,
+                            attempts INTEGER NOT NULL DEFAULT 0,
+                            score_sum INTEGER NOT NULL DEFAULT 0,
+                            percentage_sum REAL NOT NULL DEFAULT 0,
+                            PRIMARY KEY (day, user_id),
+                            FOREIGN KEY (user_id) REFERENCES users(id)
+                        ) WITHOUT ROWID
+                        """,
+                        DatabaseManager.REBUILD_DAILY_STATS)
+                .add(9, "Full-text indexes over quizzes and questions, kept in sync by triggers",
+                        // External content: the indexes hold only terms and read the text from the tables.
+                        // The prefix indexes keep the short prefixes of search-as-you-type cheap.
+                        """
+                        CREATE VIRTUAL TABLE IF NOT EXISTS quizzes_fts USING fts5(
+                            title, description,
+                            content = 'quizzes', content_rowid = 'id',
+                            tokenize = 'unicode61 remove_diacritics 2', prefix = '2 3'
+                        )
+                        """,
+                        """
+                        CREATE VIRTUAL TABLE IF NOT EXISTS questions_fts USING fts5(
+                            question_text, option_a, option_b, option_c, option_d,
+                            content = 'questions', content_rowid = 'id',
+                            tokenize = 'unicode61 remove_diacritics 2', prefix = '2 3'
+                        )
+                        """,
+                        // A 'delete' row must repeat the old values, so updates remove them and add the new ones
+                        """
+                        CREATE TRIGGER IF NOT EXISTS quizzes_fts_insert AFTER INSERT ON quizzes BEGIN
+                            INSERT INTO quizzes_fts(rowid, title, description) VALUES (new.id, new.title, new.description);
+                        END
+                        """,
+                        """
+                        CREATE TRIGGER IF NOT EXISTS quizzes_fts_delete AFTER DELETE ON quizzes BEGIN
+                            INSERT INTO quizzes_fts(quizzes_fts, rowid, title, description)
+                            VALUES ('delete', old.id, old.title, old.description);
+                        END
+                        """,
+                        """
+                        CREATE TRIGGER IF NOT EXISTS quizzes_fts_update AFTER UPDATE OF title, description ON quizzes BEGIN
+                            INSERT INTO quizzes_fts(quizzes_fts, rowid, title, description)
+                            VALUES ('delete', old.id, old.title, old.description);
+                            INSERT INTO quizzes_fts(rowid, title, description) VALUES (new.id, new.title, new.description);
+                        END
+                        """,
+                        """
+                        CREATE TRIGGER IF NOT EXISTS questions_fts_insert AFTER INSERT ON questions BEGIN
+                            INSERT INTO questions_fts(rowid, question_text, option_a, option_b, option_c, option_d)
+                            VALUES (new.id, new.question_text, new.option_a, new.option_b, new.option_c, new.option_d);
+                        END
+                        """,
+                        // Foreign keys are not enforced, so nothing cascades: deleteQuiz deletes the
+                        // quiz's questions itself, and this trigger removes each of them from the index
+                        """
+                        CREATE TRIGGER IF NOT EXISTS questions_fts_delete AFTER DELETE ON questions BEGIN
+                            INSERT INTO questions_fts(questions_fts, rowid, question_text, option_a, option_b, option_c, option_d)
+                            VALUES ('delete', old.id, old.question_text, old.option_a, old.option_b, old.option_c, old.option_d);
+                        END
+                        """,
+                        """
+                        CREATE TRIGGER IF NOT EXISTS questions_fts_update
+                        AFTER UPDATE OF question_text, option_a, option_b, option_c, option_d ON questions BEGIN
+                            INSERT INTO questions_fts(questions_fts, rowid, question_text, option_a, option_b, option_c, option_d)
+                            VALUES ('delete', old.id, old.question_text, old.option_a, old.option_b, old.option_c, old.option_d);
+                            INSERT INTO questions_fts(rowid, question_text, option_a, option_b, option_c, option_d)
+                            VALUES (new.id, new.question_text, new.option_a, new.option_b, new.option_c, new.option_d);
+                        END
+                        """,
+                        DatabaseManager.REBUILD_QUIZ_SEARCH,
+                        DatabaseManager.REBUILD_QUESTION_SEARCH)
+                .add(10, "Remove questions, attempts and answer logs left behind by deleted quizzes",
+                        // Quiz deletions used to rely on cascades that never fired; the question
+                        // deletes also take the leftovers out of questions_fts through its trigger
+                        """
+                        DELETE FROM attempt_answers WHERE attempt_id IN (
+                            SELECT id FROM quiz_attempts WHERE quiz_id NOT IN (SELECT id FROM quizzes))
+                        """,
+                        "DELETE FROM quiz_attempts WHERE quiz_id NOT IN (SELECT id FROM quizzes)",
+                        "DELETE FROM questions WHERE quiz_id NOT IN (SELECT id FROM quizzes)");
+    }
+}
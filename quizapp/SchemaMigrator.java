@@ -0,0 +1,115 @@
+package com.quizapp;
+
+import java.sql.*;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Applies ordered, versioned schema changes on top of the baseline tables
+ * created by DatabaseManager. The applied versions are recorded in the
+ * schema_version table, so each step runs exactly once per database.
+ */
+public class SchemaMigrator {
+
+    @FunctionalInterface
+    public interface Step {
+        void apply(Connection conn) throws SQLException;
+    }
+
+    private static final class Migration {
+        final int version;
+        final String description;
+        final Step step;
+
+        Migration(int version, String description, Step step) {
+            this.version = version;
+            this.description = description;
+            this.step = step;
+        }
+    }
+
+    private final List<Migration> migrations = new ArrayList<>();
+
+    public SchemaMigrator add(int version, String description, Step step) {
+        int last = migrations.isEmpty() ? 0 : migrations.get(migrations.size() - 1).version;
+        if (version <= last) {
+            throw new IllegalArgumentException("Migration " + version + " must come after version " + last);
+        }
+        migrations.add(new Migration(version, description, step));
+        return this;
+    }
+
+    /** Convenience step that runs plain SQL statements in order. */
+    public SchemaMigrator add(int version, String description, String... statements) {
+        return add(version, description, conn -> {
+            try (Statement stmt = conn.createStatement()) {
+                for (String sql : statements) {
+                    stmt.execute(sql);
+                }
+            }
+        });
+    }
+
+    public int getLatestVersion() {
+        return migrations.isEmpty() ? 0 : migrations.get(migrations.size() - 1).version;
+    }
+
+    /**
+     * Brings the database up to the latest version and returns the number of
+     * migrations applied. All pending steps run in one IMMEDIATE transaction,
+     * so two processes starting at once cannot both apply the same step and a
+     * failing step leaves the schema untouched.
+     */
+    public int migrate(Connection conn) throws SQLException {
+        try (Statement stmt = conn.createStatement()) {
+            stmt.execute("""
+                CREATE TABLE IF NOT EXISTS schema_version (
+                    version INTEGER PRIMARY KEY,
+                    description TEXT NOT NULL,
+                    applied_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP
+                )
+            """);
+            stmt.execute("BEGIN IMMEDIATE");
+        }
+
+        int applied = 0;
+        boolean committed = false;
+        try {
+            int current = getCurrentVersion(conn);
+            for (Migration m : migrations) {
+                if (m.version <= current) {
+                    continue;
+                }
+                m.step.apply(conn);
+                try (PreparedStatement pstmt = conn.prepareStatement(
+                        "INSERT INTO schema_version(version, description) VALUES(?, ?)")) {
+                    pstmt.setInt(1, m.version);
+                    pstmt.setString(2, m.description);
+                    pstmt.executeUpdate();
+                }
+                System.out.println("Applied schema migration " + m.version + ": " + m.description);
+                applied++;
+            }
+            try (Statement stmt = conn.createStatement()) {
+                stmt.execute("COMMIT");
+            }
+            committed = true;
+        } finally {
+            if (!committed) {
+                try (Statement stmt = conn.createStatement()) {
+                    stmt.execute("ROLLBACK");
+                } catch (SQLException e) {
+                    System.err.println("Error rolling back schema migration: " + e.getMessage());
+                }
+            }
+        }
+        return applied;
+    }
+
+    public static int getCurrentVersion(Connection conn) throws SQLException {
+        try (Statement stmt = conn.createStatement();
+             ResultSet rs = stmt.executeQuery("SELECT COALESCE(MAX(version), 0) FROM schema_version")) {
+            return rs.next() ? rs.getInt(1) : 0;
+        }
+    }
+}
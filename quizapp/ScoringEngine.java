@@ -0,0 +1,81 @@
+package com.quizapp;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.nio.ByteOrder;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * UI-independent quiz scoring. Submissions are byte arrays of option indices
+ * (AnswerKey.NO_ANSWER for skipped questions) compared against a per-quiz
+ * AnswerKey eight questions at a time; nothing is allocated per answer or per
+ * submission.
+ */
+public class ScoringEngine {
+    private static final VarHandle LONGS = MethodHandles.byteArrayViewVarHandle(long[].class, ByteOrder.LITTLE_ENDIAN);
+    private static final long LOW_SEVEN_BITS = 0x7F7F7F7F7F7F7F7FL;
+
+    private final ConcurrentHashMap<Integer, AnswerKey> keys = new ConcurrentHashMap<>();
+
+    /**
+     * Returns the cached key for a quiz, rebuilding it when the question list
+     * is not the snapshot the key was built from (i.e. the quiz was edited).
+     */
+    public AnswerKey keyFor(int quizId, List<Question> questions) {
+        AnswerKey key = keys.get(quizId);
+        if (key == null || key.getQuestions() != questions) {
+            key = AnswerKey.of(quizId, questions);
+            keys.put(quizId, key);
+        }
+        return key;
+    }
+
+    public void invalidate(int quizId) {
+        keys.remove(quizId);
+    }
+
+    public static int score(AnswerKey key, byte[] answers) {
+        return score(key, answers, 0);
+    }
+
+    /** Scores the submission stored at answers[offset .. offset + questionCount). */
+    public static int score(AnswerKey key, byte[] answers, int offset) {
+        byte[] correct = key.correctBytes();
+        int count = key.getQuestionCount();
+        int matches = 0;
+        int i = 0;
+        for (; i + 8 <= count; i += 8) {
+            long diff = (long) LONGS.get(answers, offset + i) ^ (long) LONGS.get(correct, i);
+            matches += zeroBytes(diff);
+        }
+        for (; i < count; i++) {
+            if (answers[offset + i] == correct[i]) {
+                matches++;
+            }
+        }
+        return matches;
+    }
+
+    /**
+     * Scores a batch of submissions packed back to back, questionCount bytes
+     * each, writing one score per submission into scores.
+     */
+    public static void scoreBatch(AnswerKey key, byte[] packed, int submissions, int[] scores) {
+        int stride = key.getQuestionCount();
+        for (int s = 0; s < submissions; s++) {
+            scores[s] = score(key, packed, s * stride);
+        }
+    }
+
+    public static double percentage(int score, int totalQuestions) {
+        return totalQuestions > 0 ? (double) score / totalQuestions * 100 : 0;
+    }
+
+    // Number of zero bytes in x: the high bit of each byte ends up set only if the byte was zero
+    private static int zeroBytes(long x) {
+        long y = (x & LOW_SEVEN_BITS) + LOW_SEVEN_BITS;
+        y = ~(y | x | LOW_SEVEN_BITS);
+        return Long.bitCount(y);
+    }
+}
@@ -0,0 +1,125 @@
+package com.quizapp;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Turns what a user typed into search terms: words of letters and digits,
+ * lower-cased with accents removed, split the way the FTS5 unicode61
+ * tokenizer splits the indexed text. Every term is required and matches any
+ * word that starts with it, so results narrow as the user types.
+ */
+public final class SearchQuery {
+    /** Words past this many are ignored, which bounds the cost of a pasted paragraph. */
+    static final int MAX_TERMS = 8;
+
+    private SearchQuery() {
+    }
+
+    /** The search terms in the text, at most MAX_TERMS; empty if it has no words. */
+    public static List<String> terms(String text) {
+        List<String> words = words(text);
+        return words.size() > MAX_TERMS ? new ArrayList<>(words.subList(0, MAX_TERMS)) : words;
+    }
+
+    /**
+     * An FTS5 MATCH expression requiring every term as a word prefix, or null
+     * if there are none. Terms are quoted, so nothing the user types is read
+     * as query syntax.
+     */
+    static String toFts5(List<String> terms) {
+        if (terms.isEmpty()) {
+            return null;
+        }
+        StringBuilder sb = new StringBuilder();
+        for (String term : terms) {
+            if (sb.length() > 0) {
+                sb.append(' ');
+            }
+            sb.append('"').append(term).append("\"*");
+        }
+        return sb.toString();
+    }
+
+    /** Whether every term starts some word of the texts; null texts have no words. */
+    static boolean matchesAll(List<String> terms, String... texts) {
+        if (terms.isEmpty()) {
+            return false;
+        }
+        String[] folded = new String[texts.length];
+        for (int i = 0; i < texts.length; i++) {
+            folded[i] = texts[i] == null ? "" : fold(texts[i]);
+        }
+        for (String term : terms) {
+            boolean found = false;
+            for (String text : folded) {
+                if (startsWord(text, term)) {
+                    found = true;
+                    break;
+                }
+            }
+            if (!found) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean startsWord(String text, String term) {
+        for (int i = text.indexOf(term); i >= 0; i = text.indexOf(term, i + 1)) {
+            if (i == 0 || !isWordChar(text.codePointBefore(i))) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static List<String> words(String text) {
+        List<String> words = new ArrayList<>();
+        if (text == null) {
+            return words;
+        }
+        String folded = fold(text);
+        int start = -1;
+        for (int i = 0; i < folded.length(); ) {
+            int cp = folded.codePointAt(i);
+            if (isWordChar(cp)) {
+                if (start < 0) {
+                    start = i;
+                }
+            } else if (start >= 0) {
+                words.add(folded.substring(start, i));
+                start = -1;
+            }
+            i += Character.charCount(cp);
+        }
+        if (start >= 0) {
+            words.add(folded.substring(start));
+        }
+        return words;
+    }
+
+    // Lower case without accents; plain ASCII, the common case, skips the normalizer
+    private static String fold(String text) {
+        for (int i = 0; i < text.length(); i++) {
+            if (text.charAt(i) >= 0x80) {
+                return Normalizer.normalize(text, Normalizer.Form.NFKD)
+                        .replaceAll("\\p{M}+", "")
+                        .toLowerCase(Locale.ROOT);
+            }
+        }
+        return text.toLowerCase(Locale.ROOT);
+    }
+
+    // Letters and numbers, as in the unicode61 tokenizer's default
+    private static boolean isWordChar(int cp) {
+        if (Character.isLetter(cp)) {
+            return true;
+        }
+        int type = Character.getType(cp);
+        return type == Character.DECIMAL_DIGIT_NUMBER || type == Character.LETTER_NUMBER
+                || type == Character.OTHER_NUMBER;
+    }
+}
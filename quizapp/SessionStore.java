@@ -0,0 +1,184 @@
+package com.quizapp;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Logged-in sessions keyed by opaque bearer tokens. Validating a token is a
+ * hash and a ConcurrentHashMap lookup with no locks and no database access.
+ * Sessions end after a fixed lifetime or after sitting idle, whichever comes
+ * first. With a DatabaseManager the sessions are also kept in the sessions
+ * table, so they survive a restart; only a SHA-256 of each token is stored,
+ * never the token itself.
+ */
+public class SessionStore {
+    // Only record an access when the stored time is at least this stale,
+    // so busy sessions are not rewriting the same field on every request
+    private static final long TOUCH_GRANULARITY_MILLIS = 1_000;
+    private static final ThreadLocal<MessageDigest> SHA256 = ThreadLocal.withInitial(() -> {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    });
+
+    /** One logged-in user; the token itself is only known to the client. */
+    public static final class Session {
+        private final String tokenHash;
+        private final User user;
+        private final long createdMillis;
+        private final long expiresMillis;
+        private volatile long lastAccessMillis;
+        private volatile long persistedAccessMillis;
+
+        Session(String tokenHash, User user, long createdMillis, long expiresMillis, long lastAccessMillis) {
+            this.tokenHash = tokenHash;
+            this.user = user;
+            this.createdMillis = createdMillis;
+            this.expiresMillis = expiresMillis;
+            this.lastAccessMillis = lastAccessMillis;
+            this.persistedAccessMillis = lastAccessMillis;
+        }
+
+        public String getTokenHash() { return tokenHash; }
+        public User getUser() { return user; }
+        public long getCreatedMillis() { return createdMillis; }
+        public long getExpiresMillis() { return expiresMillis; }
+        public long getLastAccessMillis() { return lastAccessMillis; }
+    }
+
+    private final DatabaseManager dbManager;
+    private final long ttlMillis;
+    private final long idleTimeoutMillis;
+    private final SecureRandom random = new SecureRandom();
+    private final ConcurrentHashMap<String, Session> sessions = new ConcurrentHashMap<>();
+
+    /** Pass a null DatabaseManager to keep sessions in memory only. */
+    public SessionStore(DatabaseManager dbManager, long ttlMillis, long idleTimeoutMillis) {
+        this.dbManager = dbManager;
+        this.ttlMillis = ttlMillis;
+        this.idleTimeoutMillis = idleTimeoutMillis;
+        if (dbManager != null) {
+            for (Session session : dbManager.loadSessions(System.currentTimeMillis() - idleTimeoutMillis)) {
+                sessions.put(session.tokenHash, session);
+            }
+        }
+    }
+
+    public boolean isPersistent() {
+        return dbManager != null;
+    }
+
+    public int size() {
+        return sessions.size();
+    }
+
+    /** Starts a session and returns its token, or null if it could not be stored. */
+    public String create(User user) {
+        byte[] bytes = new byte[24];
+        random.nextBytes(bytes);
+        String token = Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+        long now = System.currentTimeMillis();
+        Session session = new Session(hash(token), user, now, now + ttlMillis, now);
+        if (dbManager != null && !dbManager.saveSession(session)) {
+            return null;
+        }
+        sessions.put(session.tokenHash, session);
+        return token;
+    }
+
+    /** The user the token belongs to, or null if it is unknown, expired or idle too long. */
+    public User validate(String token) {
+        if (token == null) {
+            return null;
+        }
+        Session session = sessions.get(hash(token));
+        if (session == null) {
+            return null;
+        }
+        long now = System.currentTimeMillis();
+        if (isExpired(session, now)) {
+            remove(session);
+            return null;
+        }
+        if (now - session.lastAccessMillis >= TOUCH_GRANULARITY_MILLIS) {
+            session.lastAccessMillis = now;
+        }
+        return session.user;
+    }
+
+    public void invalidate(String token) {
+        if (token != null) {
+            Session session = sessions.get(hash(token));
+            if (session != null) {
+                remove(session);
+            }
+        }
+    }
+
+    /** Ends every session of the user, e.g. after a password change. */
+    public void invalidateUser(int userId) {
+        for (Session session : sessions.values()) {
+            if (session.user.getId() == userId) {
+                remove(session);
+            }
+        }
+    }
+
+    /**
+     * Drops expired and idle sessions. When persistent, also writes back the
+     * last access of sessions used since the previous sweep, so the idle
+     * timeout still holds after a restart. Meant to run on a schedule.
+     */
+    public void evictExpired() {
+        long now = System.currentTimeMillis();
+        List<String> removed = new ArrayList<>();
+        Map<String, Long> touched = new HashMap<>();
+        for (Session session : sessions.values()) {
+            if (isExpired(session, now)) {
+                if (sessions.remove(session.tokenHash, session)) {
+                    removed.add(session.tokenHash);
+                }
+            } else if (session.lastAccessMillis != session.persistedAccessMillis) {
+                touched.put(session.tokenHash, session.lastAccessMillis);
+            }
+        }
+        if (dbManager == null) {
+            return;
+        }
+        // Also clears rows left behind by sessions that lapsed while the server was down
+        dbManager.deleteSessions(removed, now - idleTimeoutMillis);
+        if (!touched.isEmpty() && dbManager.updateSessionAccess(touched)) {
+            for (Map.Entry<String, Long> e : touched.entrySet()) {
+                Session session = sessions.get(e.getKey());
+                if (session != null) {
+                    session.persistedAccessMillis = e.getValue();
+                }
+            }
+        }
+    }
+
+    private boolean isExpired(Session session, long now) {
+        return now >= session.expiresMillis || now - session.lastAccessMillis >= idleTimeoutMillis;
+    }
+
+    private void remove(Session session) {
+        if (sessions.remove(session.tokenHash, session) && dbManager != null) {
+            dbManager.deleteSessions(List.of(session.tokenHash), System.currentTimeMillis() - idleTimeoutMillis);
+        }
+    }
+
+    static String hash(String token) {
+        byte[] digest = SHA256.get().digest(token.getBytes(StandardCharsets.UTF_8));
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(digest);
+    }
+}
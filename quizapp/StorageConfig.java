@@ -0,0 +1,190 @@
+package com.quizapp;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Locale;
+import java.util.Properties;
+import java.util.Set;
+
+/**
+ * Storage settings: which engine to use and how to tune SQLite. Values come from an optional quizapp.properties
+ * file in the working directory, overridden by -D system properties with the
+ * same keys.
+ */
+public class StorageConfig {
+    public static final String CONFIG_FILE = "quizapp.properties";
+    public static final String ENGINE_SQLITE = "sqlite";
+    public static final String ENGINE_MEMORY = "memory";
+
+    private static final Set<String> ENGINES = Set.of(ENGINE_SQLITE, ENGINE_MEMORY);
+
+    private static final Set<String> JOURNAL_MODES = Set.of("DELETE", "TRUNCATE", "PERSIST", "MEMORY", "WAL", "OFF");
+    private static final Set<String> SYNCHRONOUS_MODES = Set.of("OFF", "NORMAL", "FULL", "EXTRA");
+    private static final Set<String> TEMP_STORES = Set.of("DEFAULT", "FILE", "MEMORY");
+
+    private String engine = ENGINE_SQLITE;
+    private String url = "jdbc:sqlite:quiz_app.db";
+    private String journalMode = "WAL";
+    private String synchronous = "NORMAL";
+    private long cacheSizeKb = 16_384;
+    private long mmapSizeBytes = 256L * 1024 * 1024;
+    private String tempStore = "MEMORY";
+    private int busyTimeoutMillis = 5_000;
+    private int readPoolSize = 4;
+    private long questionCacheMaxWeight = 50_000;
+    private int resultBatchMaxRows = 500;
+    private long resultBatchMaxDelayMillis = 5;
+    private int resultQueueCapacity = 10_000;
+    private long resultEnqueueTimeoutMillis = 1_000;
+    private boolean metricsEnabled;
+    private String metricsDumpFile;
+    private long metricsDumpIntervalSeconds = 60;
+    private String passwordAlgorithm = "PBKDF2WithHmacSHA256";
+    private int passwordIterations = 600_000;
+    private int passwordHashThreads = Math.max(1, Runtime.getRuntime().availableProcessors() / 2);
+    private int passwordHashQueueCapacity = 256;
+
+    public static StorageConfig load() {
+        return fromProperties(loadProperties());
+    }
+
+    /** The merged quizapp.properties file and system properties, for other components' settings. */
+    public static Properties loadProperties() {
+        Properties props = new Properties();
+        Path file = Paths.get(CONFIG_FILE);
+        if (Files.isRegularFile(file)) {
+            try (InputStream in = Files.newInputStream(file)) {
+                props.load(in);
+            } catch (IOException e) {
+                System.err.println("Error reading " + CONFIG_FILE + ": " + e.getMessage());
+            }
+        }
+        props.putAll(System.getProperties());
+        return props;
+    }
+
+    public static StorageConfig fromProperties(Properties props) {
+        StorageConfig config = new StorageConfig();
+        config.setEngine(props.getProperty("quizapp.db.engine", config.engine));
+        config.setUrl(props.getProperty("quizapp.db.url", config.url));
+        config.setJournalMode(props.getProperty("quizapp.db.journalMode", config.journalMode));
+        config.setSynchronous(props.getProperty("quizapp.db.synchronous", config.synchronous));
+        config.setCacheSizeKb(Long.parseLong(props.getProperty("quizapp.db.cacheSizeKb", Long.toString(config.cacheSizeKb))));
+        config.setMmapSizeBytes(Long.parseLong(props.getProperty("quizapp.db.mmapSizeBytes", Long.toString(config.mmapSizeBytes))));
+        config.setTempStore(props.getProperty("quizapp.db.tempStore", config.tempStore));
+        config.setBusyTimeoutMillis(Integer.parseInt(props.getProperty("quizapp.db.busyTimeoutMs", Integer.toString(config.busyTimeoutMillis))));
+        // quizapp.db.poolSize is the older name for the reader pool size
+        String readers = props.getProperty("quizapp.db.readPoolSize", props.getProperty("quizapp.db.poolSize"));
+        if (readers != null) {
+            config.setReadPoolSize(Integer.parseInt(readers));
+        }
+        config.setQuestionCacheMaxWeight(Long.parseLong(props.getProperty("quizapp.cache.questions.maxWeight",
+                Long.toString(config.questionCacheMaxWeight))));
+        config.setResultBatchMaxRows(Integer.parseInt(props.getProperty("quizapp.results.batchMaxRows",
+                Integer.toString(config.resultBatchMaxRows))));
+        config.setResultBatchMaxDelayMillis(Long.parseLong(props.getProperty("quizapp.results.batchMaxDelayMs",
+                Long.toString(config.resultBatchMaxDelayMillis))));
+        config.setResultQueueCapacity(Integer.parseInt(props.getProperty("quizapp.results.queueCapacity",
+                Integer.toString(config.resultQueueCapacity))));
+        config.setResultEnqueueTimeoutMillis(Long.parseLong(props.getProperty("quizapp.results.enqueueTimeoutMs",
+                Long.toString(config.resultEnqueueTimeoutMillis))));
+        config.setMetricsEnabled(Boolean.parseBoolean(props.getProperty("quizapp.metrics.enabled", "false")));
+        config.setMetricsDumpFile(props.getProperty("quizapp.metrics.dumpFile"));
+        config.setMetricsDumpIntervalSeconds(Long.parseLong(props.getProperty("quizapp.metrics.dumpIntervalSeconds",
+                Long.toString(config.metricsDumpIntervalSeconds))));
+        config.setPasswordAlgorithm(props.getProperty("quizapp.auth.algorithm", config.passwordAlgorithm));
+        config.setPasswordIterations(Integer.parseInt(props.getProperty("quizapp.auth.iterations",
+                Integer.toString(config.passwordIterations))));
+        config.setPasswordHashThreads(Integer.parseInt(props.getProperty("quizapp.auth.hashThreads",
+                Integer.toString(config.passwordHashThreads))));
+        config.setPasswordHashQueueCapacity(Integer.parseInt(props.getProperty("quizapp.auth.hashQueueCapacity",
+                Integer.toString(config.passwordHashQueueCapacity))));
+        return config;
+    }
+
+    /**
+     * Applies the per-connection pragmas. The journal mode is persistent in the
+     * database file, so only the writer sets it; readers are additionally made
+     * query-only so a stray write can never bypass the serialized writer.
+     */
+    public void apply(Connection conn, boolean writer) throws SQLException {
+        try (Statement stmt = conn.createStatement()) {
+            stmt.execute("PRAGMA busy_timeout = " + busyTimeoutMillis);
+            if (writer) {
+                stmt.execute("PRAGMA journal_mode = " + journalMode);
+            }
+            stmt.execute("PRAGMA synchronous = " + synchronous);
+            // A negative cache_size is interpreted by SQLite as KiB rather than pages
+            stmt.execute("PRAGMA cache_size = -" + cacheSizeKb);
+            stmt.execute("PRAGMA mmap_size = " + mmapSizeBytes);
+            stmt.execute("PRAGMA temp_store = " + tempStore);
+            if (!writer) {
+                stmt.execute("PRAGMA query_only = ON");
+            }
+        }
+    }
+
+    private static String checked(String value, Set<String> allowed, String name) {
+        String upper = value.trim().toUpperCase(Locale.ROOT);
+        if (!allowed.contains(upper)) {
+            throw new IllegalArgumentException("Unsupported " + name + ": " + value);
+        }
+        return upper;
+    }
+
+    /** ENGINE_SQLITE or ENGINE_MEMORY; the SQLite settings are ignored by the in-memory engine. */
+    public String getEngine() { return engine; }
+    public void setEngine(String engine) {
+        String lower = engine.trim().toLowerCase(Locale.ROOT);
+        if (!ENGINES.contains(lower)) {
+            throw new IllegalArgumentException("Unsupported storage engine: " + engine);
+        }
+        this.engine = lower;
+    }
+    public String getUrl() { return url; }
+    public void setUrl(String url) { this.url = url; }
+    public String getJournalMode() { return journalMode; }
+    public void setJournalMode(String journalMode) { this.journalMode = checked(journalMode, JOURNAL_MODES, "journal mode"); }
+    public String getSynchronous() { return synchronous; }
+    public void setSynchronous(String synchronous) { this.synchronous = checked(synchronous, SYNCHRONOUS_MODES, "synchronous mode"); }
+    public long getCacheSizeKb() { return cacheSizeKb; }
+    public void setCacheSizeKb(long cacheSizeKb) { this.cacheSizeKb = Math.max(0, cacheSizeKb); }
+    public long getMmapSizeBytes() { return mmapSizeBytes; }
+    public void setMmapSizeBytes(long mmapSizeBytes) { this.mmapSizeBytes = Math.max(0, mmapSizeBytes); }
+    public String getTempStore() { return tempStore; }
+    public void setTempStore(String tempStore) { this.tempStore = checked(tempStore, TEMP_STORES, "temp store"); }
+    public int getBusyTimeoutMillis() { return busyTimeoutMillis; }
+    public void setBusyTimeoutMillis(int busyTimeoutMillis) { this.busyTimeoutMillis = Math.max(0, busyTimeoutMillis); }
+    public int getReadPoolSize() { return readPoolSize; }
+    public void setReadPoolSize(int readPoolSize) { this.readPoolSize = Math.max(1, readPoolSize); }
+    public long getQuestionCacheMaxWeight() { return questionCacheMaxWeight; }
+    public void setQuestionCacheMaxWeight(long questionCacheMaxWeight) { this.questionCacheMaxWeight = Math.max(0, questionCacheMaxWeight); }
+    public int getResultBatchMaxRows() { return resultBatchMaxRows; }
+    public void setResultBatchMaxRows(int resultBatchMaxRows) { this.resultBatchMaxRows = Math.max(1, resultBatchMaxRows); }
+    public long getResultBatchMaxDelayMillis() { return resultBatchMaxDelayMillis; }
+    public void setResultBatchMaxDelayMillis(long resultBatchMaxDelayMillis) { this.resultBatchMaxDelayMillis = Math.max(0, resultBatchMaxDelayMillis); }
+    public int getResultQueueCapacity() { return resultQueueCapacity; }
+    public void setResultQueueCapacity(int resultQueueCapacity) { this.resultQueueCapacity = Math.max(1, resultQueueCapacity); }
+    public long getResultEnqueueTimeoutMillis() { return resultEnqueueTimeoutMillis; }
+    public void setResultEnqueueTimeoutMillis(long resultEnqueueTimeoutMillis) { this.resultEnqueueTimeoutMillis = Math.max(0, resultEnqueueTimeoutMillis); }
+    public boolean isMetricsEnabled() { return metricsEnabled; }
+    public void setMetricsEnabled(boolean metricsEnabled) { this.metricsEnabled = metricsEnabled; }
+    public String getMetricsDumpFile() { return metricsDumpFile; }
+    public void setMetricsDumpFile(String metricsDumpFile) { this.metricsDumpFile = metricsDumpFile; }
+    public long getMetricsDumpIntervalSeconds() { return metricsDumpIntervalSeconds; }
+    public void setMetricsDumpIntervalSeconds(long metricsDumpIntervalSeconds) { this.metricsDumpIntervalSeconds = Math.max(1, metricsDumpIntervalSeconds); }
+    public String getPasswordAlgorithm() { return passwordAlgorithm; }
+    public void setPasswordAlgorithm(String passwordAlgorithm) { this.passwordAlgorithm = passwordAlgorithm; }
+    public int getPasswordIterations() { return passwordIterations; }
+    public void setPasswordIterations(int passwordIterations) { this.passwordIterations = Math.max(1, passwordIterations); }
+    public int getPasswordHashThreads() { return passwordHashThreads; }
+    public void setPasswordHashThreads(int passwordHashThreads) { this.passwordHashThreads = Math.max(1, passwordHashThreads); }
+    public int getPasswordHashQueueCapacity() { return passwordHashQueueCapacity; }
+    public void setPasswordHashQueueCapacity(int passwordHashQueueCapacity) { this.passwordHashQueueCapacity = Math.max(1, passwordHashQueueCapacity); }
+}
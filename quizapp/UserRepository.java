@@ -0,0 +1,20 @@
+package com.quizapp;
+
+/** User accounts. Passwords are only ever kept as salted hashes. */
+public interface UserRepository {
+
+    /**
+     * Returns false if the username is taken or the user could not be saved.
+     * Throws RejectedExecutionException when the password hashing pool is
+     * saturated, so callers can ask the user to retry.
+     */
+    boolean registerUser(String username, String email, String password, boolean isAdmin);
+
+    /**
+     * The user, or null if the credentials are wrong or cannot be checked.
+     * Throws RejectedExecutionException when the password hashing pool is
+     * saturated, so callers can ask the user to retry rather than report a
+     * wrong password.
+     */
+    User authenticateUser(String username, String password);
+}
@@ -0,0 +1,305 @@
+package com.quizapp;
+
+import java.time.Clock;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.function.IntFunction;
+
+/**
+ * Leaderboards over the results of the last few days, ranked like the
+ * all-time one by average percentage. Results are summed per user per day
+ * into a ring of daily buckets covering RETAINED_DAYS. The daily, weekly and
+ * monthly boards are kept current: a result updates its user in each window
+ * it falls in, and when the day rolls over only the buckets that left a
+ * window are subtracted from it, so history is never rescanned. Any other
+ * window is merged from its buckets on request. Days are local calendar days
+ * (LocalDate.toEpochDay), the same days date_taken is written in; a window of
+ * N days ends with today.
+ */
+public class WindowedLeaderboards {
+    public static final int DAILY = 1;
+    public static final int WEEKLY = 7;
+    public static final int MONTHLY = 30;
+    /** Longest window that can be asked for. */
+    public static final int RETAINED_DAYS = 90;
+
+    private static final int[] WINDOWS = {DAILY, WEEKLY, MONTHLY};
+    private static final DateTimeFormatter DATE_TAKEN = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
+
+    private static final class Totals {
+        int attempts;
+        long scoreSum;
+        double percentageSum;
+
+        double average() {
+            return percentageSum / attempts;
+        }
+    }
+
+    private final IntFunction<String> usernames;
+    private final Clock clock;
+    // Slot day % RETAINED_DAYS holds that day's totals by user; bucketDays says which day a slot holds
+    private final List<IntObjectMap<Totals>> buckets = new ArrayList<>(RETAINED_DAYS);
+    private final long[] bucketDays = new long[RETAINED_DAYS];
+    private final List<IntObjectMap<Totals>> windowTotals = new ArrayList<>(WINDOWS.length);
+    private final RankedLeaderboard[] boards = new RankedLeaderboard[WINDOWS.length];
+    private long today;
+
+    public WindowedLeaderboards(IntFunction<String> usernames) {
+        this(usernames, Clock.systemDefaultZone());
+    }
+
+    public WindowedLeaderboards(IntFunction<String> usernames, Clock clock) {
+        this.usernames = usernames;
+        this.clock = clock;
+        for (int i = 0; i < RETAINED_DAYS; i++) {
+            buckets.add(new IntObjectMap<>());
+        }
+        for (int w = 0; w < WINDOWS.length; w++) {
+            windowTotals.add(new IntObjectMap<>());
+            boards[w] = new RankedLeaderboard();
+        }
+        clear();
+    }
+
+    /** The local calendar day a date_taken value falls on, or today if it cannot be read. */
+    public long epochDay(String dateTaken) {
+        try {
+            return LocalDate.parse(dateTaken.substring(0, Math.min(10, dateTaken.length()))).toEpochDay();
+        } catch (DateTimeParseException | NullPointerException e) {
+            return LocalDate.now(clock).toEpochDay();
+        }
+    }
+
+    /** Epoch seconds of a date_taken value in the local time zone, or now if it cannot be read. */
+    public long epochSecond(String dateTaken) {
+        ZoneId zone = clock.getZone();
+        try {
+            return LocalDateTime.parse(dateTaken, DATE_TAKEN).atZone(zone).toEpochSecond();
+        } catch (DateTimeParseException | NullPointerException e) {
+            return clock.instant().getEpochSecond();
+        }
+    }
+
+    /** Epoch seconds at the start of the local day. */
+    public long startOfDay(long epochDay) {
+        return LocalDate.ofEpochDay(epochDay).atStartOfDay(clock.getZone()).toEpochSecond();
+    }
+
+    /** Today's local day; the windows end with it. */
+    public synchronized long today() {
+        roll(LocalDate.now(clock).toEpochDay());
+        return today;
+    }
+
+    /** Adds one committed result. Results older than RETAINED_DAYS are ignored. */
+    public void record(QuizResult result) {
+        add(result.getUserId(), epochDay(result.getDateTaken()), 1, result.getScore(), result.getPercentage());
+    }
+
+    /** Adds a user's totals for a day, e.g. a row of user_daily_stats being loaded. */
+    public synchronized void add(int userId, long day, int attempts, long scoreSum, double percentageSum) {
+        // A result dated after today, e.g. from a clock that runs ahead, moves the windows forward
+        roll(Math.max(LocalDate.now(clock).toEpochDay(), day));
+        if (day <= today - RETAINED_DAYS || attempts <= 0) {
+            return;
+        }
+        addTo(bucket(day), userId, attempts, scoreSum, percentageSum);
+        for (int w = 0; w < WINDOWS.length; w++) {
+            if (day > today - WINDOWS[w]) {
+                updateBoard(w, userId, addTo(windowTotals.get(w), userId, attempts, scoreSum, percentageSum));
+            }
+        }
+    }
+
+    public synchronized void clear() {
+        for (int i = 0; i < RETAINED_DAYS; i++) {
+            buckets.get(i).clear();
+            bucketDays[i] = Long.MIN_VALUE;
+        }
+        for (int w = 0; w < WINDOWS.length; w++) {
+            windowTotals.get(w).clear();
+            boards[w].clear();
+        }
+        today = LocalDate.now(clock).toEpochDay();
+    }
+
+    /**
+     * Rankings over the last days days. The daily, weekly and monthly boards
+     * are live; any other window is a snapshot merged from its buckets.
+     */
+    public RankedLeaderboard board(int days) {
+        checkDays(days);
+        synchronized (this) {
+            roll(LocalDate.now(clock).toEpochDay());
+            for (int w = 0; w < WINDOWS.length; w++) {
+                if (WINDOWS[w] == days) {
+                    return boards[w];
+                }
+            }
+            RankedLeaderboard board = new RankedLeaderboard();
+            merge(days).forEachValue(entry -> board.set(entry.userId, usernames.apply(entry.userId),
+                    entry.totals.attempts, entry.totals.scoreSum, entry.totals.percentageSum));
+            return board;
+        }
+    }
+
+    /**
+     * The k best users over the last days days, merged from the buckets in
+     * that window: time is proportional to the user-days in them, plus
+     * log k per user for the selection.
+     */
+    public List<LeaderboardEntry> top(int days, int k) {
+        checkDays(days);
+        if (k <= 0) {
+            return new ArrayList<>();
+        }
+        IntObjectMap<Ranked> merged;
+        synchronized (this) {
+            roll(LocalDate.now(clock).toEpochDay());
+            merged = merge(days);
+        }
+        // Worst of the current top k at the head, so each user costs one comparison to reject
+        PriorityQueue<Ranked> best = new PriorityQueue<>(Math.min(k, merged.size()) + 1, (a, b) -> compare(b, a));
+        merged.forEachValue(entry -> {
+            if (best.size() < k) {
+                best.add(entry);
+            } else if (compare(entry, best.peek()) < 0) {
+                best.poll();
+                best.add(entry);
+            }
+        });
+        List<Ranked> ranked = new ArrayList<>(best);
+        ranked.sort(WindowedLeaderboards::compare);
+        List<LeaderboardEntry> entries = new ArrayList<>(ranked.size());
+        for (int i = 0; i < ranked.size(); i++) {
+            Ranked entry = ranked.get(i);
+            entries.add(new LeaderboardEntry(i + 1, entry.userId, usernames.apply(entry.userId),
+                    entry.totals.average(), entry.totals.attempts, entry.totals.scoreSum));
+        }
+        return entries;
+    }
+
+    private static final class Ranked {
+        final int userId;
+        final Totals totals = new Totals();
+
+        Ranked(int userId) {
+            this.userId = userId;
+        }
+    }
+
+    // Higher average first, then user id, as in RankedLeaderboard
+    private static int compare(Ranked a, Ranked b) {
+        int cmp = Double.compare(b.totals.average(), a.totals.average());
+        return cmp != 0 ? cmp : Integer.compare(a.userId, b.userId);
+    }
+
+    private static void checkDays(int days) {
+        if (days < 1 || days > RETAINED_DAYS) {
+            throw new IllegalArgumentException("Windows run from 1 to " + RETAINED_DAYS + " days, not " + days);
+        }
+    }
+
+    // Caller holds the monitor
+    private IntObjectMap<Ranked> merge(int days) {
+        IntObjectMap<Ranked> merged = new IntObjectMap<>();
+        for (long day = today - days + 1; day <= today; day++) {
+            int slot = slot(day);
+            if (bucketDays[slot] != day) {
+                continue;
+            }
+            buckets.get(slot).forEachEntry((userId, totals) -> {
+                Ranked entry = merged.get(userId);
+                if (entry == null) {
+                    entry = new Ranked(userId);
+                    merged.put(userId, entry);
+                }
+                entry.totals.attempts += totals.attempts;
+                entry.totals.scoreSum += totals.scoreSum;
+                entry.totals.percentageSum += totals.percentageSum;
+            });
+        }
+        return merged;
+    }
+
+    private IntObjectMap<Totals> bucket(long day) {
+        int slot = slot(day);
+        if (bucketDays[slot] != day) {
+            buckets.get(slot).clear();
+            bucketDays[slot] = day;
+        }
+        return buckets.get(slot);
+    }
+
+    private static int slot(long day) {
+        return (int) Math.floorMod(day, (long) RETAINED_DAYS);
+    }
+
+    private static Totals addTo(IntObjectMap<Totals> totalsByUser, int userId, int attempts, long scoreSum,
+                                double percentageSum) {
+        Totals totals = totalsByUser.get(userId);
+        if (totals == null) {
+            totals = new Totals();
+            totalsByUser.put(userId, totals);
+        }
+        totals.attempts += attempts;
+        totals.scoreSum += scoreSum;
+        totals.percentageSum += percentageSum;
+        return totals;
+    }
+
+    private void updateBoard(int w, int userId, Totals totals) {
+        if (totals.attempts <= 0) {
+            windowTotals.get(w).remove(userId);
+            boards[w].remove(userId);
+        } else {
+            boards[w].set(userId, usernames.apply(userId), totals.attempts, totals.scoreSum, totals.percentageSum);
+        }
+    }
+
+    /**
+     * Moves today forward: each window gives back the days that left it,
+     * and buckets older than RETAINED_DAYS are freed for reuse.
+     */
+    private void roll(long newToday) {
+        if (newToday <= today) {
+            return;
+        }
+        for (int w = 0; w < WINDOWS.length; w++) {
+            int window = WINDOWS[w];
+            if (newToday - today >= window) {
+                // Every day in the window has left it
+                windowTotals.get(w).clear();
+                boards[w].clear();
+                continue;
+            }
+            for (long day = today - window + 1; day <= newToday - window; day++) {
+                int slot = slot(day);
+                if (bucketDays[slot] != day) {
+                    continue;
+                }
+                IntObjectMap<Totals> leaving = buckets.get(slot);
+                IntObjectMap<Totals> current = windowTotals.get(w);
+                int index = w;
+                leaving.forEachEntry((userId, gone) -> updateBoard(index, userId,
+                        addTo(current, userId, -gone.attempts, -gone.scoreSum, -gone.percentageSum)));
+            }
+        }
+        long expired = newToday - RETAINED_DAYS;
+        for (long day = Math.max(today - RETAINED_DAYS + 1, expired - RETAINED_DAYS + 1); day <= expired; day++) {
+            int slot = slot(day);
+            if (bucketDays[slot] == day) {
+                buckets.get(slot).clear();
+                bucketDays[slot] = Long.MIN_VALUE;
+            }
+        }
+        today = newToday;
+    }
+}
@@ -0,0 +1,225 @@
+package com.quizapp;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Write-behind queue for rows such as quiz results. A single flusher thread
+ * groups queued rows into one transaction per batch, closing a batch when it
+ * reaches the row limit or when the first row in it has waited for the
+ * latency budget, so a burst of writes shares one commit instead of paying
+ * one each. Producers block while the queue is full, and each row's future
+ * completes once its batch has committed.
+ */
+public class WriteBehind<T> implements AutoCloseable {
+
+    @FunctionalInterface
+    public interface BatchSink<T> {
+        /** Persists the rows atomically; returns false if nothing was saved. */
+        boolean save(List<T> rows);
+    }
+
+    private static final class Pending<T> {
+        final T row;
+        final CompletableFuture<Boolean> ack = new CompletableFuture<>();
+
+        Pending(T row) {
+            this.row = row;
+        }
+    }
+
+    // Longest the flusher waits for more rows before looking at closed again
+    private static final long CLOSE_CHECK_NANOS = TimeUnit.MILLISECONDS.toNanos(100);
+
+    private final String name;
+    private final BatchSink<T> sink;
+    private final BlockingQueue<Pending<T>> queue;
+    private final int maxBatchRows;
+    private final long maxDelayNanos;
+    private final long enqueueTimeoutMillis;
+    private final Thread flusher;
+    private volatile boolean closed;
+
+    private final LongAdder batches = new LongAdder();
+    private final LongAdder rows = new LongAdder();
+    private final LongAdder failures = new LongAdder();
+    private final LongAdder rejections = new LongAdder();
+    private volatile int largestBatch;
+
+    /** The name labels the flusher thread and error messages, e.g. "result". */
+    public WriteBehind(String name, BatchSink<T> sink, int maxBatchRows, long maxDelayMillis, int queueCapacity,
+                       long enqueueTimeoutMillis) {
+        this.name = name;
+        this.sink = sink;
+        this.maxBatchRows = Math.max(1, maxBatchRows);
+        this.maxDelayNanos = TimeUnit.MILLISECONDS.toNanos(Math.max(0, maxDelayMillis));
+        this.queue = new ArrayBlockingQueue<>(Math.max(1, queueCapacity));
+        this.enqueueTimeoutMillis = Math.max(0, enqueueTimeoutMillis);
+        this.flusher = new Thread(this::run, "quizapp-" + name + "-writer");
+        flusher.setDaemon(true);
+        flusher.start();
+    }
+
+    /**
+     * Queues a row. The future completes with true once the row is committed
+     * and false if saving failed; it fails with a RejectedExecutionException
+     * if the queue stayed full for the enqueue timeout or the writer is closed.
+     */
+    public CompletableFuture<Boolean> submit(T row) {
+        return enqueue(row, enqueueTimeoutMillis);
+    }
+
+    /**
+     * Queues a row without ever waiting for space, for callers such as UI
+     * event handlers that must not block; the future fails at once with a
+     * RejectedExecutionException if the queue is full.
+     */
+    public CompletableFuture<Boolean> offer(T row) {
+        return enqueue(row, 0);
+    }
+
+    private CompletableFuture<Boolean> enqueue(T row, long timeoutMillis) {
+        Pending<T> pending = new Pending<>(row);
+        if (closed) {
+            pending.ack.completeExceptionally(new RejectedExecutionException("The " + name + " writer is closed"));
+            return pending.ack;
+        }
+        try {
+            if (!queue.offer(pending, timeoutMillis, TimeUnit.MILLISECONDS)) {
+                rejections.increment();
+                pending.ack.completeExceptionally(new RejectedExecutionException("The " + name + " queue is full"));
+            } else if (closed && queue.remove(pending)) {
+                // Raced with close() after its final drain; nobody would flush this one
+                pending.ack.completeExceptionally(new RejectedExecutionException("The " + name + " writer is closed"));
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            pending.ack.completeExceptionally(e);
+        }
+        return pending.ack;
+    }
+
+    private void run() {
+        List<Pending<T>> batch = new ArrayList<>(maxBatchRows);
+        while (!closed || !queue.isEmpty()) {
+            try {
+                Pending<T> first = queue.poll(100, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                long deadline = System.nanoTime() + maxDelayNanos;
+                while (batch.size() < maxBatchRows) {
+                    queue.drainTo(batch, maxBatchRows - batch.size());
+                    long remaining = deadline - System.nanoTime();
+                    // Once closed, flush now rather than wait out the latency budget
+                    if (batch.size() >= maxBatchRows || remaining <= 0 || closed) {
+                        break;
+                    }
+                    Pending<T> next = queue.poll(Math.min(remaining, CLOSE_CHECK_NANOS), TimeUnit.NANOSECONDS);
+                    if (next != null) {
+                        batch.add(next);
+                    }
+                }
+                flush(batch);
+            } catch (InterruptedException e) {
+                // Only close() interrupts, and it drains whatever is left itself
+                flush(batch);
+                return;
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    private void flush(List<Pending<T>> batch) {
+        if (batch.isEmpty()) {
+            return;
+        }
+        List<T> items = new ArrayList<>(batch.size());
+        for (Pending<T> p : batch) {
+            items.add(p.row);
+        }
+        boolean saved = saveQuietly(items);
+        if (saved || batch.size() == 1) {
+            record(batch.size(), saved);
+            for (Pending<T> p : batch) {
+                p.ack.complete(saved);
+            }
+            return;
+        }
+        // Retry one by one so a single bad row does not fail the whole batch
+        for (Pending<T> p : batch) {
+            boolean one = saveQuietly(List.of(p.row));
+            record(1, one);
+            p.ack.complete(one);
+        }
+    }
+
+    private boolean saveQuietly(List<T> items) {
+        try {
+            return sink.save(items);
+        } catch (RuntimeException e) {
+            System.err.println("Error saving " + name + " batch: " + e.getMessage());
+            return false;
+        }
+    }
+
+    private void record(int size, boolean saved) {
+        batches.increment();
+        if (saved) {
+            rows.add(size);
+            if (size > largestBatch) {
+                largestBatch = size;
+            }
+        } else {
+            failures.add(size);
+        }
+    }
+
+    /** Stops accepting rows and waits for everything already queued to commit. */
+    @Override
+    public void close() {
+        closed = true;
+        try {
+            flusher.join(TimeUnit.SECONDS.toMillis(30));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        if (flusher.isAlive()) {
+            flusher.interrupt();
+        }
+        // Anything that slipped in after the flusher exited is saved here
+        List<Pending<T>> rest = new ArrayList<>();
+        queue.drainTo(rest);
+        for (int i = 0; i < rest.size(); i += maxBatchRows) {
+            flush(rest.subList(i, Math.min(rest.size(), i + maxBatchRows)));
+        }
+    }
+
+    // --- Statistics ---
+
+    public int getQueueDepth() { return queue.size(); }
+    public long getBatchCount() { return batches.sum(); }
+    public long getSavedCount() { return rows.sum(); }
+    public long getFailedCount() { return failures.sum(); }
+    public long getRejectedCount() { return rejections.sum(); }
+    public int getLargestBatch() { return largestBatch; }
+
+    public double getAverageBatchSize() {
+        long b = batches.sum();
+        return b == 0 ? 0 : rows.sum() / (double) b;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%sWriter[queued=%d, batches=%d, saved=%d, failed=%d, rejected=%d, avgBatch=%.1f]",
+                name, getQueueDepth(), getBatchCount(), getSavedCount(), getFailedCount(), getRejectedCount(), getAverageBatchSize());
+    }
+}
@@ -0,0 +1,107 @@
+package com.quizapp;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.Test;
+
+class EventBusTest {
+
+    @Test
+    void everyConsumerSeesOneOrderKeepingEachProducersOrder() throws InterruptedException {
+        int producers = 4;
+        int perProducer = 20_000;
+        // A small ring, so producers keep wrapping around and waiting on the consumers
+        EventBus bus = new EventBus("test", 64, 16, TimeUnit.SECONDS.toMillis(30));
+        List<Integer> first = Collections.synchronizedList(new ArrayList<>());
+        List<Integer> second = Collections.synchronizedList(new ArrayList<>());
+        bus.subscribe("first", batch -> record(batch, first));
+        bus.subscribe("second", batch -> record(batch, second));
+        bus.start();
+
+        List<Thread> threads = new ArrayList<>();
+        for (int p = 0; p < producers; p++) {
+            int producer = p;
+            Thread t = new Thread(() -> {
+                for (int i = 0; i < perProducer; i++) {
+                    assertTrue(bus.publish(edited(producer * perProducer + i)));
+                }
+            });
+            threads.add(t);
+            t.start();
+        }
+        for (Thread t : threads) {
+            t.join();
+        }
+        bus.close();
+
+        assertEquals(producers * perProducer, bus.getPublished());
+        assertEquals(0, bus.getRejected());
+        assertEquals(producers * perProducer, first.size());
+        assertEquals(first, second);
+        int[] last = new int[producers];
+        Arrays.fill(last, -1);
+        for (int id : first) {
+            int producer = id / perProducer;
+            int seq = id % perProducer;
+            assertEquals(last[producer] + 1, seq, "producer " + producer);
+            last[producer] = seq;
+        }
+    }
+
+    @Test
+    void slotsWaitForTheSlowestConsumer() throws InterruptedException {
+        EventBus bus = new EventBus("test", 4, 16, TimeUnit.SECONDS.toMillis(30));
+        CountDownLatch entered = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        List<Integer> fast = Collections.synchronizedList(new ArrayList<>());
+        List<Integer> slow = Collections.synchronizedList(new ArrayList<>());
+        bus.subscribe("fast", batch -> record(batch, fast));
+        bus.subscribe("slow", batch -> {
+            entered.countDown();
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            record(batch, slow);
+        });
+        bus.start();
+
+        assertTrue(bus.offer(edited(0)));
+        assertTrue(entered.await(10, TimeUnit.SECONDS));
+        // The slow consumer holds sequence 0 until its handler returns, so only the other 3 slots are free
+        for (int i = 1; i < 4; i++) {
+            assertTrue(bus.offer(edited(i)));
+        }
+        assertFalse(bus.offer(edited(4)));
+        assertEquals(1, bus.getRejected());
+
+        release.countDown();
+        for (int i = 4; i < 10; i++) {
+            assertTrue(bus.publish(edited(i)));
+        }
+        bus.close();
+
+        List<Integer> expected = List.of(0, 1, 2, 3, 4, 5, 6, 7, 8, 9);
+        assertEquals(expected, slow);
+        assertEquals(expected, fast);
+    }
+
+    private static QuizEvent edited(int id) {
+        return new QuizEvent.QuizEdited(id, QuizEvent.QuizEdited.Change.QUIZ_UPDATED);
+    }
+
+    private static void record(List<QuizEvent> batch, List<Integer> seen) {
+        for (QuizEvent event : batch) {
+            seen.add(((QuizEvent.QuizEdited) event).getQuizId());
+        }
+    }
+}
@@ -0,0 +1,112 @@
+package com.quizapp;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import org.junit.jupiter.api.Test;
+
+/** Checks the treap's ranks and pages against a plain sorted list of the same users. */
+class RankedLeaderboardTest {
+
+    // What the leaderboard should hold for a user
+    private static final class Expected {
+        final int userId;
+        final int attempts;
+        final long scoreSum;
+        final double percentageSum;
+
+        Expected(int userId, int attempts, long scoreSum, double percentageSum) {
+            this.userId = userId;
+            this.attempts = attempts;
+            this.scoreSum = scoreSum;
+            this.percentageSum = percentageSum;
+        }
+
+        double average() {
+            return percentageSum / attempts;
+        }
+    }
+
+    private static final Comparator<Expected> ORDER = Comparator.comparingDouble(Expected::average).reversed()
+            .thenComparingInt(e -> e.userId);
+
+    @Test
+    void ranksAndPagesMatchSortedList() {
+        Random random = new Random(42);
+        RankedLeaderboard board = new RankedLeaderboard();
+        Map<Integer, Expected> expected = new HashMap<>();
+        for (int i = 0; i < 5_000; i++) {
+            int userId = random.nextInt(800);
+            int op = random.nextInt(10);
+            if (op == 0) {
+                board.remove(userId);
+                expected.remove(userId);
+            } else if (op < 4) {
+                // Few distinct averages, so many ties fall back to the user id
+                int attempts = 1 + random.nextInt(4);
+                double percentageSum = attempts * 25.0 * random.nextInt(5);
+                board.set(userId, "user" + userId, attempts, attempts * 3L, percentageSum);
+                expected.put(userId, new Expected(userId, attempts, attempts * 3L, percentageSum));
+            } else {
+                int score = random.nextInt(11);
+                board.record(userId, "user" + userId, score, score * 10.0);
+                Expected old = expected.get(userId);
+                expected.put(userId, old == null
+                        ? new Expected(userId, 1, score, score * 10.0)
+                        : new Expected(userId, old.attempts + 1, old.scoreSum + score, old.percentageSum + score * 10.0));
+            }
+        }
+        List<Expected> sorted = new ArrayList<>(expected.values());
+        sorted.sort(ORDER);
+
+        assertEquals(sorted.size(), board.size());
+        for (int i = 0; i < sorted.size(); i++) {
+            assertEquals(i + 1, board.rankOf(sorted.get(i).userId));
+        }
+        for (int pageSize : new int[] {1, 7, 50, 1_000}) {
+            int pages = (sorted.size() + pageSize - 1) / pageSize;
+            for (int page = 0; page <= pages; page++) {
+                int from = Math.min(sorted.size(), page * pageSize);
+                int to = Math.min(sorted.size(), from + pageSize);
+                assertEntries(sorted.subList(from, to), from, board.page(page, pageSize));
+            }
+        }
+        assertEntries(sorted.subList(0, 10), 0, board.top(10));
+    }
+
+    @Test
+    void unknownUsersHaveNoRank() {
+        RankedLeaderboard board = new RankedLeaderboard();
+        board.record(1, "one", 5, 50.0);
+        board.record(2, "two", 9, 90.0);
+        board.remove(2);
+
+        assertEquals(-1, board.rankOf(2));
+        assertEquals(-1, board.rankOf(3));
+        assertNull(board.entryFor(2));
+        assertEquals(1, board.entryFor(1).getRank());
+        assertTrue(board.page(1, 1).isEmpty());
+        assertTrue(board.page(-1, 1).isEmpty());
+        assertTrue(board.top(0).isEmpty());
+    }
+
+    private static void assertEntries(List<Expected> expected, int offset, List<LeaderboardEntry> actual) {
+        assertEquals(expected.size(), actual.size());
+        for (int i = 0; i < expected.size(); i++) {
+            Expected e = expected.get(i);
+            LeaderboardEntry entry = actual.get(i);
+            assertEquals(offset + i + 1, entry.getRank());
+            assertEquals(e.userId, entry.getUserId());
+            assertEquals(e.average(), entry.getAverageScore(), 1e-9);
+            assertEquals(e.attempts, entry.getTotalAttempts());
+            assertEquals(e.scoreSum, entry.getTotalScore());
+        }
+    }
+}
@@ -0,0 +1,122 @@
+package com.quizapp;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import org.junit.jupiter.api.Test;
+
+/** Checks the word-at-a-time scorer against a question-by-question count. */
+class ScoringEngineTest {
+
+    @Test
+    void matchesSimpleCountForEveryLength() {
+        Random random = new Random(7);
+        for (int count = 0; count <= 41; count++) {
+            List<Question> questions = questions(random, count);
+            AnswerKey key = AnswerKey.of(1, questions);
+            for (int trial = 0; trial < 50; trial++) {
+                byte[] answers = answers(random, count);
+                assertEquals(expectedScore(questions, answers, 0), ScoringEngine.score(key, answers),
+                        "count " + count + ", answers " + Arrays.toString(answers));
+            }
+        }
+    }
+
+    @Test
+    void keyIsPaddedWithNoCorrectOption() {
+        for (int count = 0; count <= 17; count++) {
+            byte[] correct = AnswerKey.of(1, questions(new Random(count), count)).correctBytes();
+            assertEquals(0, correct.length % 8);
+            assertEquals((count + 7) / 8 * 8, correct.length);
+            for (int i = count; i < correct.length; i++) {
+                assertEquals(AnswerKey.NO_CORRECT_OPTION, correct[i]);
+            }
+        }
+    }
+
+    @Test
+    void skippedAnswersAndQuestionsWithoutACorrectOptionNeverScore() {
+        List<Question> questions = new ArrayList<>();
+        for (int i = 0; i < 11; i++) {
+            questions.add(question(i, i % 2 == 0 ? Question.NO_CORRECT_OPTION : 1));
+        }
+        AnswerKey key = AnswerKey.of(1, questions);
+        byte[] skipped = new byte[11];
+        Arrays.fill(skipped, AnswerKey.NO_ANSWER);
+        assertEquals(0, ScoringEngine.score(key, skipped));
+
+        // Every answer a session accepts, against every question
+        for (byte option = AnswerKey.NO_ANSWER; option < 4; option++) {
+            byte[] same = new byte[11];
+            Arrays.fill(same, option);
+            assertEquals(option == 1 ? 5 : 0, ScoringEngine.score(key, same), "option " + option);
+        }
+    }
+
+    @Test
+    void batchScoresPackedSubmissionsIndependently() {
+        Random random = new Random(11);
+        for (int count : new int[] {1, 5, 8, 13, 16, 23}) {
+            List<Question> questions = questions(random, count);
+            AnswerKey key = AnswerKey.of(1, questions);
+            int submissions = 9;
+            byte[] packed = answers(random, count * submissions);
+            int[] scores = new int[submissions];
+            ScoringEngine.scoreBatch(key, packed, submissions, scores);
+            for (int s = 0; s < submissions; s++) {
+                assertEquals(expectedScore(questions, packed, s * count), scores[s], "count " + count + ", submission " + s);
+            }
+        }
+    }
+
+    @Test
+    void keyIsRebuiltWhenTheQuestionListChanges() {
+        ScoringEngine engine = new ScoringEngine();
+        List<Question> questions = List.of(question(1, 0), question(2, 3));
+        AnswerKey key = engine.keyFor(1, questions);
+        assertSame(key, engine.keyFor(1, questions));
+
+        List<Question> edited = List.of(question(1, 2), question(2, 3));
+        AnswerKey rebuilt = engine.keyFor(1, edited);
+        assertEquals(2, rebuilt.getCorrectOption(0));
+        engine.invalidate(1);
+        assertEquals(2, engine.keyFor(1, edited).getCorrectOption(0));
+    }
+
+    private static int expectedScore(List<Question> questions, byte[] answers, int offset) {
+        int score = 0;
+        for (int i = 0; i < questions.size(); i++) {
+            byte answer = answers[offset + i];
+            if (answer != AnswerKey.NO_ANSWER && questions.get(i).isCorrectAnswer(answer)) {
+                score++;
+            }
+        }
+        return score;
+    }
+
+    // Roughly one question in six has no correct option
+    private static List<Question> questions(Random random, int count) {
+        List<Question> questions = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            questions.add(question(i + 1, random.nextInt(6) == 0 ? Question.NO_CORRECT_OPTION : random.nextInt(4)));
+        }
+        return questions;
+    }
+
+    private static Question question(int id, int correctOption) {
+        return new Question(id, 1, "Question " + id, "A", "B", "C", "D", correctOption);
+    }
+
+    // Options 0-3, with some skipped
+    private static byte[] answers(Random random, int count) {
+        byte[] answers = new byte[count];
+        for (int i = 0; i < count; i++) {
+            answers[i] = (byte) (random.nextInt(5) - 1);
+        }
+        return answers;
+    }
+}
@@ -0,0 +1,96 @@
+package com.quizapp;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.Test;
+
+class WriteBehindTest {
+
+    @Test
+    void closeCommitsEverythingQueued() {
+        List<Integer> saved = Collections.synchronizedList(new ArrayList<>());
+        // A long latency budget, so rows are still waiting in the queue or batch when close() is called
+        WriteBehind<Integer> writer = new WriteBehind<>("test", rows -> saved.addAll(rows), 16, 60_000, 1_000, 1_000);
+        List<CompletableFuture<Boolean>> acks = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            acks.add(writer.submit(i));
+        }
+        writer.close();
+
+        for (CompletableFuture<Boolean> ack : acks) {
+            assertTrue(ack.isDone());
+            assertTrue(ack.join());
+        }
+        assertEquals(100, saved.size());
+        assertEquals(100, writer.getSavedCount());
+
+        CompletableFuture<Boolean> late = writer.submit(100);
+        ExecutionException e = assertThrows(ExecutionException.class, late::get);
+        assertInstanceOf(RejectedExecutionException.class, e.getCause());
+    }
+
+    @Test
+    void badRowFailsAloneAfterRetry() {
+        List<String> saved = Collections.synchronizedList(new ArrayList<>());
+        WriteBehind<String> writer = new WriteBehind<>("test", rows -> {
+            if (rows.contains("bad")) {
+                throw new IllegalStateException("constraint failed");
+            }
+            saved.addAll(rows);
+            return true;
+        }, 8, 500, 100, 1_000);
+        List<String> rows = List.of("a", "b", "bad", "c", "d", "e");
+        List<CompletableFuture<Boolean>> acks = new ArrayList<>();
+        for (String row : rows) {
+            acks.add(writer.submit(row));
+        }
+        writer.close();
+
+        for (int i = 0; i < rows.size(); i++) {
+            assertEquals(!rows.get(i).equals("bad"), acks.get(i).join(), rows.get(i));
+        }
+        assertEquals(List.of("a", "b", "c", "d", "e"), saved);
+        assertEquals(5, writer.getSavedCount());
+        assertEquals(1, writer.getFailedCount());
+    }
+
+    @Test
+    void offerFailsAtOnceWhenQueueIsFull() throws InterruptedException {
+        CountDownLatch saving = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        WriteBehind<Integer> writer = new WriteBehind<>("test", rows -> {
+            saving.countDown();
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return true;
+        }, 1, 0, 1, 1_000);
+        CompletableFuture<Boolean> first = writer.submit(1);
+        assertTrue(saving.await(10, TimeUnit.SECONDS));
+        // The flusher is stuck saving the first row; the second fills the queue
+        CompletableFuture<Boolean> second = writer.submit(2);
+        CompletableFuture<Boolean> third = writer.offer(3);
+
+        assertTrue(third.isCompletedExceptionally());
+        assertEquals(1, writer.getRejectedCount());
+        release.countDown();
+        writer.close();
+        assertTrue(first.join());
+        assertTrue(second.join());
+        assertFalse(second.isCompletedExceptionally());
+    }
+}